@@ -0,0 +1,125 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.api.utils.internal.DefaultTempFolder;
+import org.sonar.batch.index.Cache;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.index.CachesManager;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the batch caches, with data sets larger than the buffer pool of Persistit,
+ * and with concurrent threads sharing the same cache. The default buffer pool, sized from memory,
+ * is compared to the former pool of 10 buffers.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+public class CachesBenchmark {
+
+  @Param({"1000", "100000"})
+  public int entries;
+
+  @Param({"default", "10_buffers"})
+  public String bufferPool;
+
+  File tempDir;
+  CachesManager cachesManager;
+  Caches caches;
+  Cache<String> cache;
+
+  @Setup
+  public void setup() throws Exception {
+    tempDir = Files.createTempDirectory("caches").toFile();
+    if ("10_buffers".equals(bufferPool)) {
+      cachesManager = new CachesManager(new DefaultTempFolder(tempDir), "buffer.count.8192", "10");
+    } else {
+      cachesManager = new CachesManager(new DefaultTempFolder(tempDir));
+    }
+    caches = new Caches(cachesManager);
+    caches.start();
+    cache = caches.createCache("benchmark");
+    for (int i = 0; i < entries; i++) {
+      cache.put("module", i, "value of entry " + i);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    caches.stop();
+    cachesManager.stop();
+    FileUtils.deleteQuietly(tempDir);
+  }
+
+  @Benchmark
+  public String get() {
+    return cache.get("module", ThreadLocalRandom.current().nextInt(entries));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String concurrent_get() {
+    return cache.get("module", ThreadLocalRandom.current().nextInt(entries));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void concurrent_put() {
+    int i = ThreadLocalRandom.current().nextInt(entries);
+    cache.put("module", i, "value of entry " + i);
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(CachesBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
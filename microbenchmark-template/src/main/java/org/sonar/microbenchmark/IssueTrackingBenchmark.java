@@ -0,0 +1,116 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.batch.issue.tracking.IssueTracking;
+import org.sonar.batch.issue.tracking.ServerIssue;
+import org.sonar.batch.issue.tracking.ServerIssueFromDb;
+import org.sonar.core.issue.db.IssueDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracking of the issues of a single file, for example a generated file, with thousands of
+ * issues on the same rule.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+public class IssueTrackingBenchmark {
+
+  private static final RuleKey RULE_KEY = RuleKey.of("squid", "AvoidCycle");
+
+  @Param({"10000", "50000"})
+  public int issues;
+
+  IssueTracking tracking = new IssueTracking();
+  List<ServerIssue> previousIssues;
+  List<DefaultIssue> movedIssues;
+  List<DefaultIssue> editedIssues;
+
+  @Setup
+  public void setup() {
+    previousIssues = new ArrayList<>(issues);
+    movedIssues = new ArrayList<>(issues);
+    editedIssues = new ArrayList<>(issues);
+    for (int i = 0; i < issues; i++) {
+      IssueDto dto = new IssueDto();
+      dto.setId((long) i);
+      dto.setKee("ISSUE_" + i);
+      dto.setLine(i + 1);
+      dto.setMessage("message " + i);
+      dto.setRuleKey(RULE_KEY.repository(), RULE_KEY.rule());
+      dto.setChecksum("checksum" + i);
+      dto.setStatus(Issue.STATUS_OPEN);
+      previousIssues.add(new ServerIssueFromDb(dto));
+
+      // lines and messages changed, issues are matched on checksum only
+      movedIssues.add(new DefaultIssue().setMessage("new message " + i).setLine(i + 2).setRuleKey(RULE_KEY)
+        .setChecksum("checksum" + i).setStatus(Issue.STATUS_OPEN));
+      // checksums changed, issues are matched on line and message
+      editedIssues.add(new DefaultIssue().setMessage("message " + i).setLine(i + 1).setRuleKey(RULE_KEY)
+        .setChecksum("new checksum" + i).setStatus(Issue.STATUS_OPEN));
+    }
+  }
+
+  @Benchmark
+  public Object track_moved_issues() {
+    return tracking.track(null, previousIssues, movedIssues);
+  }
+
+  @Benchmark
+  public Object track_edited_issues() {
+    return tracking.track(null, previousIssues, editedIssues);
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(IssueTrackingBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.fs.internal.PathPattern;
+import org.sonar.batch.scan.filesystem.PathPatternSet;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching of files against exclusion or language patterns: {@link PathPatternSet} compared to the loop
+ * on {@link PathPattern}s previously done by the batch.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+public class PathPatternSetBenchmark {
+
+  @Param({"10", "60"})
+  public int nbPatterns;
+
+  PathPattern[] patterns;
+  PathPatternSet set;
+  List<InputFile> inputFiles;
+
+  @Setup
+  public void setup() {
+    patterns = PathPattern.create(patterns(nbPatterns));
+    set = new PathPatternSet(patterns);
+    Path baseDir = Paths.get("/tmp/benchmark");
+    inputFiles = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      String path = String.format("module%d/src/main/java/org/package%d/File%d.%s", i % 20, i % 100, i, i % 3 == 0 ? "java" : ("ext" + (i % 40)));
+      inputFiles.add(new DefaultInputFile("foo", path).setModuleBaseDir(baseDir));
+    }
+  }
+
+  @Benchmark
+  public int match_one_by_one() {
+    int matches = 0;
+    for (InputFile inputFile : inputFiles) {
+      for (PathPattern pattern : patterns) {
+        if (pattern.match(inputFile, false)) {
+          matches++;
+          break;
+        }
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public int match_set() {
+    int matches = 0;
+    for (InputFile inputFile : inputFiles) {
+      if (set.match(inputFile, false)) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Mostly suffixes of file names and directories, as in usual exclusions and language settings, plus
+   * a few patterns which can't be compiled.
+   */
+  private static String[] patterns(int count) {
+    List<String> patterns = new ArrayList<>();
+    for (int i = 0; patterns.size() < count; i++) {
+      switch (i % 6) {
+        case 0:
+        case 1:
+        case 2:
+          patterns.add("**/*.ext" + i);
+          break;
+        case 3:
+          patterns.add("**/*Generated" + i + ".java");
+          break;
+        case 4:
+          patterns.add("module" + i + "/target/**");
+          break;
+        default:
+          patterns.add("**/test" + i + "/**/*.java");
+          break;
+      }
+    }
+    return patterns.toArray(new String[patterns.size()]);
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(PathPatternSetBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
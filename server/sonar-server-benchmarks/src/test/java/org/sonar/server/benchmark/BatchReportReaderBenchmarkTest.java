@@ -0,0 +1,153 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipFile;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.LineIterator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.utils.ZipUtils;
+import org.sonar.batch.protocol.Constants;
+import org.sonar.batch.protocol.output.BatchReport;
+import org.sonar.batch.protocol.output.BatchReportWriter;
+import org.sonar.server.computation.batch.BatchReportReaderImpl;
+import org.sonar.server.computation.batch.BatchReportZipHolderImpl;
+import org.sonar.server.util.CloseableIterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the extraction of the batch report to a temp directory followed by the reading of its files,
+ * with the reading of the entries directly from the zip.
+ */
+public class BatchReportReaderBenchmarkTest {
+
+  public static final Logger LOGGER = LoggerFactory.getLogger("benchmarkBatchReportReader");
+
+  public static final int NUMBER_OF_FILES = 5000;
+  public static final int NUMBER_OF_LINES = 500;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Rule
+  public Benchmark benchmark = new Benchmark();
+
+  @Test
+  public void benchmark() throws Exception {
+    File zip = prepareZippedReport();
+
+    long extractDuration = extractAndRead(zip);
+    long zipDuration = readFromZip(zip);
+
+    LOGGER.info(String.format("Report extracted and read in %d ms, read from zip in %d ms", extractDuration, zipDuration));
+    benchmark.expectBetween("Duration to read report from zip", zipDuration, 0L, extractDuration);
+  }
+
+  private long extractAndRead(File zip) throws IOException {
+    LOGGER.info("Extract and read report");
+    long start = System.currentTimeMillis();
+
+    File reportDir = temp.newFolder();
+    ZipUtils.unzip(zip, reportDir);
+    org.sonar.batch.protocol.output.BatchReportReader reader = new org.sonar.batch.protocol.output.BatchReportReader(reportDir);
+    long lines = 0L;
+    for (int fileRef = 2; fileRef <= NUMBER_OF_FILES + 1; fileRef++) {
+      assertThat(reader.readComponent(fileRef).getLines()).isEqualTo(NUMBER_OF_LINES);
+      LineIterator lineIterator = FileUtils.lineIterator(reader.readFileSource(fileRef));
+      try {
+        while (lineIterator.hasNext()) {
+          lineIterator.next();
+          lines++;
+        }
+      } finally {
+        lineIterator.close();
+      }
+    }
+
+    long duration = System.currentTimeMillis() - start;
+    assertThat(lines).isEqualTo((long) NUMBER_OF_FILES * NUMBER_OF_LINES);
+    return duration;
+  }
+
+  private long readFromZip(File zip) throws IOException {
+    LOGGER.info("Read report from zip");
+    long start = System.currentTimeMillis();
+
+    BatchReportZipHolderImpl zipHolder = new BatchReportZipHolderImpl();
+    zipHolder.setZipFile(new ZipFile(zip));
+    BatchReportReaderImpl reader = new BatchReportReaderImpl(zipHolder);
+    long lines = 0L;
+    for (int fileRef = 2; fileRef <= NUMBER_OF_FILES + 1; fileRef++) {
+      assertThat(reader.readComponent(fileRef).getLines()).isEqualTo(NUMBER_OF_LINES);
+      try (CloseableIterator<String> lineIterator = reader.readFileSource(fileRef)) {
+        while (lineIterator.hasNext()) {
+          lineIterator.next();
+          lines++;
+        }
+      }
+    }
+    zipHolder.stop();
+
+    long duration = System.currentTimeMillis() - start;
+    assertThat(lines).isEqualTo((long) NUMBER_OF_FILES * NUMBER_OF_LINES);
+    return duration;
+  }
+
+  private File prepareZippedReport() throws IOException {
+    LOGGER.info("Create report");
+    File reportDir = temp.newFolder();
+
+    BatchReportWriter writer = new BatchReportWriter(reportDir);
+    writer.writeMetadata(BatchReport.Metadata.newBuilder()
+      .setRootComponentRef(1)
+      .build());
+    BatchReport.Component.Builder project = BatchReport.Component.newBuilder()
+      .setRef(1)
+      .setType(Constants.ComponentType.PROJECT);
+
+    List<String> lines = new ArrayList<>();
+    for (int line = 1; line <= NUMBER_OF_LINES; line++) {
+      lines.add("line-" + line);
+    }
+    for (int fileRef = 2; fileRef <= NUMBER_OF_FILES + 1; fileRef++) {
+      writer.writeComponent(BatchReport.Component.newBuilder()
+        .setRef(fileRef)
+        .setType(Constants.ComponentType.FILE)
+        .setLines(NUMBER_OF_LINES)
+        .build());
+      FileUtils.writeLines(writer.getSourceFile(fileRef), lines);
+      project.addChildRef(fileRef);
+    }
+    writer.writeComponent(project.build());
+
+    File zip = temp.newFile();
+    ZipUtils.zipDir(reportDir, zip);
+    return zip;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.benchmark;
+
+import java.io.File;
+import java.util.Date;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.IssueChangeContext;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rule.Severity;
+import org.sonar.api.utils.Duration;
+import org.sonar.api.utils.System2;
+import org.sonar.api.utils.internal.Uuids;
+import org.sonar.server.computation.issue.DefaultIssueSerializer;
+import org.sonar.server.util.CloseableIterator;
+import org.sonar.server.util.cache.DiskCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares Java serialization and {@link DefaultIssueSerializer} when writing and traversing
+ * the issues of {@link org.sonar.server.computation.issue.IssueCache}.
+ */
+public class IssueCacheBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger("benchmarkIssueCache");
+
+  static final int ISSUES = 500000;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Rule
+  public Benchmark benchmark = new Benchmark();
+
+  @Test
+  public void benchmark() throws Exception {
+    // warm-up
+    benchmark("warm-up java serialization", new DiskCache<DefaultIssue>(temp.newFile(), System2.INSTANCE), ISSUES / 10);
+    benchmark("warm-up serializer", new DiskCache<>(temp.newFile(), System2.INSTANCE, new DefaultIssueSerializer()), ISSUES / 10);
+
+    File javaFile = temp.newFile();
+    long javaDuration = benchmark("java serialization", new DiskCache<DefaultIssue>(javaFile, System2.INSTANCE), ISSUES);
+    File serializerFile = temp.newFile();
+    long serializerDuration = benchmark("serializer", new DiskCache<>(serializerFile, System2.INSTANCE, new DefaultIssueSerializer()), ISSUES);
+
+    LOGGER.info(String.format("File size: %d bytes with java serialization, %d bytes with serializer", javaFile.length(), serializerFile.length()));
+    benchmark.expectBetween("Serializer duration compared to java serialization (%)", 100L * serializerDuration / javaDuration, 0L, 50L);
+    benchmark.expectBetween("Serializer file size compared to java serialization (%)", 100L * serializerFile.length() / javaFile.length(), 0L, 60L);
+  }
+
+  private long benchmark(String label, DiskCache<DefaultIssue> cache, int nbIssues) {
+    long start = System.currentTimeMillis();
+    DiskCache<DefaultIssue>.DiskAppender appender = cache.newAppender();
+    for (int i = 0; i < nbIssues; i++) {
+      appender.append(newIssue(i));
+    }
+    appender.close();
+    long writeDuration = System.currentTimeMillis() - start;
+
+    start = System.currentTimeMillis();
+    int count = 0;
+    try (CloseableIterator<DefaultIssue> issues = cache.traverse()) {
+      while (issues.hasNext()) {
+        issues.next();
+        count++;
+      }
+    }
+    long readDuration = System.currentTimeMillis() - start;
+    assertThat(count).isEqualTo(nbIssues);
+
+    LOGGER.info(String.format("%s: %d issues written in %d ms, traversed in %d ms", label, nbIssues, writeDuration, readDuration));
+    return writeDuration + readDuration;
+  }
+
+  private static DefaultIssue newIssue(int index) {
+    DefaultIssue issue = new DefaultIssue()
+      .setKey(Uuids.create())
+      .setComponentUuid("FILE" + (index % 1000))
+      .setComponentKey("org.sonar:project:src/main/java/File" + (index % 1000) + ".java")
+      .setModuleUuid("MODULE")
+      .setModuleUuidPath(".PROJECT.MODULE.")
+      .setProjectUuid("PROJECT")
+      .setProjectKey("org.sonar:project")
+      .setRuleKey(RuleKey.of("squid", "S" + (index % 300)))
+      .setLanguage("java")
+      .setSeverity(Severity.MAJOR)
+      .setMessage("Message of issue " + index)
+      .setLine(1 + index % 500)
+      .setDebt(Duration.create(10L))
+      .setStatus(Issue.STATUS_OPEN)
+      .setChecksum("c6ee4a8f2ed2e2d1fae3b8a5fb5c47a9")
+      .setAssignee("john")
+      .setCreationDate(new Date())
+      .setUpdateDate(new Date())
+      .setNew(index % 2 == 0);
+    if (index % 10 == 0) {
+      issue.setFieldChange(IssueChangeContext.createScan(new Date()), "severity", Severity.MINOR, Severity.MAJOR);
+    }
+    return issue;
+  }
+}
@@ -32,6 +32,9 @@ public class ProjectAction implements BatchWsAction {
   private static final String PARAM_KEY = "key";
   private static final String PARAM_PROFILE = "profile";
   private static final String PARAM_PREVIEW = "preview";
+  private static final String PARAM_FORMAT = "format";
+  private static final String FORMAT_JSON = "json";
+  private static final String FORMAT_PROTOBUF = "protobuf";
 
   private final ProjectRepositoryLoader projectReferentialsLoader;
 
@@ -63,16 +66,28 @@ public class ProjectAction implements BatchWsAction {
       .setDescription("Preview mode or not")
       .setDefaultValue(false)
       .setBooleanPossibleValues();
+
+    action
+      .createParam(PARAM_FORMAT)
+      .setDescription("Format of response, since 5.2. Protobuf response is a stream of messages described by ProjectRepositoriesHeader in batch_input.proto")
+      .setDefaultValue(FORMAT_JSON)
+      .setPossibleValues(FORMAT_JSON, FORMAT_PROTOBUF);
   }
 
   @Override
   public void handle(Request request, Response response) throws Exception {
-    ProjectRepositories ref = projectReferentialsLoader.load(ProjectRepositoryQuery.create()
+    ProjectRepositoryQuery query = ProjectRepositoryQuery.create()
       .setModuleKey(request.mandatoryParam(PARAM_KEY))
       .setProfileName(request.param(PARAM_PROFILE))
-      .setPreview(request.mandatoryParamAsBoolean(PARAM_PREVIEW)));
-    response.stream().setMediaType(MimeTypes.JSON);
-    IOUtils.write(ref.toJson(), response.stream().output());
+      .setPreview(request.mandatoryParamAsBoolean(PARAM_PREVIEW));
+    if (FORMAT_PROTOBUF.equals(request.mandatoryParam(PARAM_FORMAT))) {
+      response.stream().setMediaType(MimeTypes.PROTOBUF);
+      projectReferentialsLoader.write(query, response.stream().output());
+    } else {
+      ProjectRepositories ref = projectReferentialsLoader.load(query);
+      response.stream().setMediaType(MimeTypes.JSON);
+      IOUtils.write(ref.toJson(), response.stream().output());
+    }
   }
 
 }
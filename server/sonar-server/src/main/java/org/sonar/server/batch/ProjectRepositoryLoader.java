@@ -24,12 +24,16 @@ import com.google.common.base.Function;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.sonar.api.resources.Language;
 import org.sonar.api.resources.Languages;
 import org.sonar.api.rule.RuleKey;
@@ -39,6 +43,7 @@ import org.sonar.api.utils.log.Loggers;
 import org.sonar.api.web.UserRole;
 import org.sonar.batch.protocol.input.FileData;
 import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.protocol.input.ProjectRepositoriesWriter;
 import org.sonar.core.UtcDateUtils;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.component.FilePathWithHashDto;
@@ -86,14 +91,30 @@ public class ProjectRepositoryLoader {
   }
 
   public ProjectRepositories load(ProjectRepositoryQuery query) {
+    ProjectRepositories ref = new ProjectRepositories();
+    load(query, new RepositoriesOutput(ref));
+    return ref;
+  }
+
+  /**
+   * Writes the project repositories in protobuf format. Unlike {@link #load(ProjectRepositoryQuery)}, each section is
+   * written as soon as it is loaded, so that the repositories of large projects are never held in memory.
+   */
+  public void write(ProjectRepositoryQuery query, OutputStream output) throws IOException {
+    ProjectRepositoriesWriter writer = new ProjectRepositoriesWriter(output);
+    load(query, new StreamOutput(writer));
+    writer.finish();
+  }
+
+  private void load(ProjectRepositoryQuery query, Output output) {
     boolean hasScanPerm = userSession.hasGlobalPermission(GlobalPermissions.SCAN_EXECUTION);
     checkPermission(query.isPreview());
 
     DbSession session = dbClient.openSession(false);
     try {
-      ProjectRepositories ref = new ProjectRepositories();
       String projectKey = query.getModuleKey();
       ComponentDto module = dbClient.componentDao().selectNullableByKey(session, query.getModuleKey());
+      List<ComponentDto> modulesTree = null;
       // Current project/module can be null when analysing a new project
       if (module != null) {
         // Scan permission is enough to analyze all projects but preview permission is limited to projects user can access
@@ -103,34 +124,34 @@ public class ProjectRepositoryLoader {
 
         ComponentDto project = getProject(module, session);
         if (!project.key().equals(module.key())) {
-          addSettings(ref, module.getKey(), getSettingsFromParents(module, hasScanPerm, session));
+          addSettings(output, module.getKey(), getSettingsFromParents(module, hasScanPerm, session));
           projectKey = project.key();
         }
 
-        List<ComponentDto> modulesTree = dbClient.componentDao().selectEnabledDescendantModules(session, module.uuid());
+        modulesTree = dbClient.componentDao().selectEnabledDescendantModules(session, module.uuid());
         Map<String, String> moduleUuidsByKey = moduleUuidsByKey(module, modulesTree);
         Map<String, Long> moduleIdsByKey = moduleIdsByKey(module, modulesTree);
 
         List<PropertyDto> modulesTreeSettings = dbClient.propertiesDao().selectEnabledDescendantModuleProperties(module.uuid(), session);
         TreeModuleSettings treeModuleSettings = new TreeModuleSettings(moduleUuidsByKey, moduleIdsByKey, modulesTree, modulesTreeSettings, module);
 
-        addSettingsToChildrenModules(ref, query.getModuleKey(), Maps.<String, String>newHashMap(), treeModuleSettings, hasScanPerm, session);
-        List<FilePathWithHashDto> files = module.isRootProject() ?
-          dbClient.componentDao().selectEnabledFilesFromProject(session, module.uuid()) :
-          dbClient.componentDao().selectEnabledDescendantFiles(session, module.uuid());
-        addFileData(session, ref, modulesTree, files);
+        addSettingsToChildrenModules(output, query.getModuleKey(), Maps.<String, String>newHashMap(), treeModuleSettings, hasScanPerm, session);
 
         // FIXME need real value but actually only used to know if there is a previous analysis in local issue tracking mode so any value is
         // ok
-        ref.setLastAnalysisDate(new Date());
+        output.setLastAnalysisDate(new Date());
       } else {
-        ref.setLastAnalysisDate(null);
+        output.setLastAnalysisDate(null);
       }
 
-      addProfiles(ref, projectKey, query.getProfileName(), session);
-      addActiveRules(ref);
-      addManualRules(ref);
-      return ref;
+      List<org.sonar.batch.protocol.input.QProfile> qProfiles = addProfiles(output, projectKey, query.getProfileName(), session);
+      addActiveRules(output, qProfiles);
+      addManualRules(output);
+
+      if (module != null) {
+        // file data are written last, as they are read from the database
+        addFileData(session, output, module, modulesTree);
+      }
     } finally {
       MyBatis.closeQuietly(session);
     }
@@ -167,22 +188,22 @@ public class ProjectRepositoryLoader {
     }
   }
 
-  private void addSettingsToChildrenModules(ProjectRepositories ref, String moduleKey, Map<String, String> parentProperties, TreeModuleSettings treeModuleSettings,
+  private void addSettingsToChildrenModules(Output output, String moduleKey, Map<String, String> parentProperties, TreeModuleSettings treeModuleSettings,
     boolean hasScanPerm, DbSession session) {
     Map<String, String> currentParentProperties = newHashMap();
     currentParentProperties.putAll(parentProperties);
     currentParentProperties.putAll(getPropertiesMap(treeModuleSettings.findModuleSettings(moduleKey), hasScanPerm));
-    addSettings(ref, moduleKey, currentParentProperties);
+    addSettings(output, moduleKey, currentParentProperties);
 
     for (ComponentDto childModule : treeModuleSettings.findChildrenModule(moduleKey)) {
-      addSettings(ref, childModule.getKey(), currentParentProperties);
-      addSettingsToChildrenModules(ref, childModule.getKey(), currentParentProperties, treeModuleSettings, hasScanPerm, session);
+      addSettings(output, childModule.getKey(), currentParentProperties);
+      addSettingsToChildrenModules(output, childModule.getKey(), currentParentProperties, treeModuleSettings, hasScanPerm, session);
     }
   }
 
-  private void addSettings(ProjectRepositories ref, String module, Map<String, String> properties) {
+  private static void addSettings(Output output, String module, Map<String, String> properties) {
     if (!properties.isEmpty()) {
-      ref.addSettings(module, properties);
+      output.addSettings(module, properties);
     }
   }
 
@@ -202,16 +223,20 @@ public class ProjectRepositoryLoader {
     return !key.contains(".secured") || hasScanPerm;
   }
 
-  private void addProfiles(ProjectRepositories ref, @Nullable String projectKey, @Nullable String profileName, DbSession session) {
+  private List<org.sonar.batch.protocol.input.QProfile> addProfiles(Output output, @Nullable String projectKey, @Nullable String profileName, DbSession session) {
+    List<org.sonar.batch.protocol.input.QProfile> qProfiles = newArrayList();
     for (Language language : languages.all()) {
       String languageKey = language.getKey();
       QualityProfileDto qualityProfileDto = getProfile(languageKey, projectKey, profileName, session);
-      ref.addQProfile(new org.sonar.batch.protocol.input.QProfile(
+      org.sonar.batch.protocol.input.QProfile qProfile = new org.sonar.batch.protocol.input.QProfile(
         qualityProfileDto.getKey(),
         qualityProfileDto.getName(),
         qualityProfileDto.getLanguage(),
-        UtcDateUtils.parseDateTime(qualityProfileDto.getRulesUpdatedAt())));
+        UtcDateUtils.parseDateTime(qualityProfileDto.getRulesUpdatedAt()));
+      output.addQProfile(qProfile);
+      qProfiles.add(qProfile);
     }
+    return qProfiles;
   }
 
   /**
@@ -234,8 +259,8 @@ public class ProjectRepositoryLoader {
     }
   }
 
-  private void addActiveRules(ProjectRepositories ref) {
-    for (org.sonar.batch.protocol.input.QProfile qProfile : ref.qProfiles()) {
+  private void addActiveRules(Output output, List<org.sonar.batch.protocol.input.QProfile> qProfiles) {
+    for (org.sonar.batch.protocol.input.QProfile qProfile : qProfiles) {
       // Load all rules of the profile language (only needed fields are loaded)
       Map<RuleKey, Rule> languageRules = ruleByRuleKey(ruleService.search(new RuleQuery().setLanguages(newArrayList(qProfile.language())),
         new QueryContext(userSession).setLimit(100).setFieldsToReturn(newArrayList(
@@ -261,7 +286,7 @@ public class ProjectRepositoryLoader {
           for (Map.Entry<String, String> entry : activeRule.params().entrySet()) {
             inputActiveRule.addParam(entry.getKey(), entry.getValue());
           }
-          ref.addActiveRule(inputActiveRule);
+          output.addActiveRule(inputActiveRule);
         }
       }
     }
@@ -276,13 +301,13 @@ public class ProjectRepositoryLoader {
     });
   }
 
-  private void addManualRules(ProjectRepositories ref) {
+  private void addManualRules(Output output) {
     Result<Rule> ruleSearchResult = ruleService.search(new RuleQuery().setRepositories(newArrayList(RuleKey.MANUAL_REPOSITORY_KEY)), new QueryContext(userSession).setScroll(true)
       .setFieldsToReturn(newArrayList(RuleNormalizer.RuleField.KEY.field(), RuleNormalizer.RuleField.NAME.field())));
     Iterator<Rule> rules = ruleSearchResult.scroll();
     while (rules.hasNext()) {
       Rule rule = rules.next();
-      ref.addActiveRule(new org.sonar.batch.protocol.input.ActiveRule(
+      output.addActiveRule(new org.sonar.batch.protocol.input.ActiveRule(
         RuleKey.MANUAL_REPOSITORY_KEY,
         rule.key().rule(),
         null, rule.name(),
@@ -290,16 +315,25 @@ public class ProjectRepositoryLoader {
     }
   }
 
-  private static void addFileData(DbSession session, ProjectRepositories ref, List<ComponentDto> moduleChildren, List<FilePathWithHashDto> files) {
-    Map<String, String> moduleKeysByUuid = newHashMap();
-    for (ComponentDto module : moduleChildren) {
-      moduleKeysByUuid.put(module.uuid(), module.key());
+  private void addFileData(DbSession session, final Output output, ComponentDto module, List<ComponentDto> moduleChildren) {
+    final Map<String, String> moduleKeysByUuid = newHashMap();
+    for (ComponentDto moduleChild : moduleChildren) {
+      moduleKeysByUuid.put(moduleChild.uuid(), moduleChild.key());
     }
 
-    for (FilePathWithHashDto file : files) {
-      // TODO should query E/S to know if blame is missing on this file
-      FileData fileData = new FileData(file.getSrcHash(), true);
-      ref.addFileData(moduleKeysByUuid.get(file.getModuleUuid()), file.getPath(), fileData);
+    ResultHandler handler = new ResultHandler() {
+      @Override
+      public void handleResult(ResultContext context) {
+        FilePathWithHashDto file = (FilePathWithHashDto) context.getResultObject();
+        // TODO should query E/S to know if blame is missing on this file
+        FileData fileData = new FileData(file.getSrcHash(), true);
+        output.addFileData(moduleKeysByUuid.get(file.getModuleUuid()), file.getPath(), fileData);
+      }
+    };
+    if (module.isRootProject()) {
+      dbClient.componentDao().selectEnabledFilesFromProject(session, module.uuid(), handler);
+    } else {
+      dbClient.componentDao().selectEnabledDescendantFiles(session, module.uuid(), handler);
     }
   }
 
@@ -370,4 +404,105 @@ public class ProjectRepositoryLoader {
       return newArrayList(moduleChildrenByModuleUuid.get(moduleUuid));
     }
   }
+
+  /**
+   * Receives the sections of the project repositories as soon as they are loaded
+   */
+  private interface Output {
+    void addSettings(String moduleKey, Map<String, String> settings);
+
+    void setLastAnalysisDate(@Nullable Date lastAnalysisDate);
+
+    void addQProfile(org.sonar.batch.protocol.input.QProfile qProfile);
+
+    void addActiveRule(org.sonar.batch.protocol.input.ActiveRule activeRule);
+
+    void addFileData(@Nullable String moduleKey, String path, FileData fileData);
+  }
+
+  private static class RepositoriesOutput implements Output {
+    private final ProjectRepositories ref;
+
+    private RepositoriesOutput(ProjectRepositories ref) {
+      this.ref = ref;
+    }
+
+    @Override
+    public void addSettings(String moduleKey, Map<String, String> settings) {
+      ref.addSettings(moduleKey, settings);
+    }
+
+    @Override
+    public void setLastAnalysisDate(@Nullable Date lastAnalysisDate) {
+      ref.setLastAnalysisDate(lastAnalysisDate);
+    }
+
+    @Override
+    public void addQProfile(org.sonar.batch.protocol.input.QProfile qProfile) {
+      ref.addQProfile(qProfile);
+    }
+
+    @Override
+    public void addActiveRule(org.sonar.batch.protocol.input.ActiveRule activeRule) {
+      ref.addActiveRule(activeRule);
+    }
+
+    @Override
+    public void addFileData(@Nullable String moduleKey, String path, FileData fileData) {
+      ref.addFileData(moduleKey, path, fileData);
+    }
+  }
+
+  private static class StreamOutput implements Output {
+    private final ProjectRepositoriesWriter writer;
+
+    private StreamOutput(ProjectRepositoriesWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void addSettings(String moduleKey, Map<String, String> settings) {
+      try {
+        writer.addSettings(moduleKey, settings);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to write settings of module " + moduleKey, e);
+      }
+    }
+
+    @Override
+    public void setLastAnalysisDate(@Nullable Date lastAnalysisDate) {
+      try {
+        writer.setLastAnalysisDate(lastAnalysisDate);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to write last analysis date", e);
+      }
+    }
+
+    @Override
+    public void addQProfile(org.sonar.batch.protocol.input.QProfile qProfile) {
+      try {
+        writer.addQProfile(qProfile);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to write quality profile " + qProfile.key(), e);
+      }
+    }
+
+    @Override
+    public void addActiveRule(org.sonar.batch.protocol.input.ActiveRule activeRule) {
+      try {
+        writer.addActiveRule(activeRule);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to write active rule " + activeRule.ruleKey(), e);
+      }
+    }
+
+    @Override
+    public void addFileData(@Nullable String moduleKey, String path, FileData fileData) {
+      try {
+        writer.addFileData(moduleKey, path, fileData);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to write data of file " + path, e);
+      }
+    }
+  }
 }
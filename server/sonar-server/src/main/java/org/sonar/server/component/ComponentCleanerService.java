@@ -28,9 +28,11 @@ import org.sonar.core.component.ComponentDto;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.IdUuidPair;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.source.index.SourceLineIndexer;
 import org.sonar.server.test.index.TestIndexer;
 
@@ -44,15 +46,19 @@ public class ComponentCleanerService {
   private final IssueIndexer issueIndexer;
   private final SourceLineIndexer sourceLineIndexer;
   private final TestIndexer testIndexer;
+  private final ComponentIndexer componentIndexer;
+  private final MeasureIndexer measureIndexer;
   private final ResourceTypes resourceTypes;
 
   public ComponentCleanerService(DbClient dbClient, IssueAuthorizationIndexer issueAuthorizationIndexer, IssueIndexer issueIndexer,
-    SourceLineIndexer sourceLineIndexer, TestIndexer testIndexer, ResourceTypes resourceTypes) {
+    SourceLineIndexer sourceLineIndexer, TestIndexer testIndexer, ComponentIndexer componentIndexer, MeasureIndexer measureIndexer, ResourceTypes resourceTypes) {
     this.dbClient = dbClient;
     this.issueAuthorizationIndexer = issueAuthorizationIndexer;
     this.issueIndexer = issueIndexer;
     this.sourceLineIndexer = sourceLineIndexer;
     this.testIndexer = testIndexer;
+    this.componentIndexer = componentIndexer;
+    this.measureIndexer = measureIndexer;
     this.resourceTypes = resourceTypes;
   }
 
@@ -88,6 +94,8 @@ public class ComponentCleanerService {
     issueIndexer.deleteProject(projectUuid, true);
     sourceLineIndexer.deleteByProject(projectUuid);
     testIndexer.deleteByProject(projectUuid);
+    componentIndexer.deleteProject(projectUuid);
+    measureIndexer.deleteProject(projectUuid);
   }
 
   private static boolean hasNotProjectScope(ComponentDto project) {
@@ -44,9 +44,11 @@ import org.sonar.core.permission.GlobalPermissions;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.resource.ResourceIndexerDao;
 import org.sonar.core.resource.ResourceKeyUpdaterDao;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.user.UserSession;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -59,15 +61,19 @@ public class ComponentService {
   private final ResourceKeyUpdaterDao resourceKeyUpdaterDao;
   private final I18n i18n;
   private final ResourceIndexerDao resourceIndexerDao;
+  private final ComponentIndexer componentIndexer;
+  private final MeasureIndexer measureIndexer;
   private final UserSession userSession;
   private final System2 system2;
 
   public ComponentService(DbClient dbClient, ResourceKeyUpdaterDao resourceKeyUpdaterDao, I18n i18n, ResourceIndexerDao resourceIndexerDao,
-                          UserSession userSession, System2 system2) {
+                          ComponentIndexer componentIndexer, MeasureIndexer measureIndexer, UserSession userSession, System2 system2) {
     this.dbClient = dbClient;
     this.resourceKeyUpdaterDao = resourceKeyUpdaterDao;
     this.i18n = i18n;
     this.resourceIndexerDao = resourceIndexerDao;
+    this.componentIndexer = componentIndexer;
+    this.measureIndexer = measureIndexer;
     this.userSession = userSession;
     this.system2 = system2;
   }
@@ -118,7 +124,8 @@ public class ComponentService {
       resourceKeyUpdaterDao.updateKey(projectOrModule.getId(), newKey);
       session.commit();
 
-      session.commit();
+      componentIndexer.index(projectOrModule.projectUuid());
+      measureIndexer.index(projectOrModule.projectUuid());
     } finally {
       session.close();
     }
@@ -143,6 +150,9 @@ public class ComponentService {
       userSession.checkProjectUuidPermission(UserRole.ADMIN, project.projectUuid());
       resourceKeyUpdaterDao.bulkUpdateKey(session, project.getId(), stringToReplace, replacementString);
       session.commit();
+
+      componentIndexer.index(project.projectUuid());
+      measureIndexer.index(project.projectUuid());
     } finally {
       session.close();
     }
@@ -180,6 +190,8 @@ public class ComponentService {
       resourceIndexerDao.indexResource(session, component.getId());
       session.commit();
 
+      componentIndexer.index(uuid);
+
       return component.key();
     } finally {
       session.close();
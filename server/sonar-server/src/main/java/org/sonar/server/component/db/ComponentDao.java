@@ -21,6 +21,7 @@
 package org.sonar.server.component.db;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.sonar.api.resources.Qualifiers;
 import org.sonar.api.resources.Scopes;
@@ -103,6 +105,21 @@ public class ComponentDao implements DaoComponent {
     return mapper(session).selectEnabledFilesFromProject(rootComponentUuid);
   }
 
+  /**
+   * Same as {@link #selectEnabledDescendantFiles(DbSession, String)}, but files are passed to the handler as they are read
+   */
+  public void selectEnabledDescendantFiles(DbSession session, String rootComponentUuid, ResultHandler handler) {
+    session.select("org.sonar.core.component.db.ComponentMapper.selectDescendantFiles",
+      ImmutableMap.of("moduleUuid", rootComponentUuid, "scope", Scopes.FILE, "excludeDisabled", true), handler);
+  }
+
+  /**
+   * Same as {@link #selectEnabledFilesFromProject(DbSession, String)}, but files are passed to the handler as they are read
+   */
+  public void selectEnabledFilesFromProject(DbSession session, String rootComponentUuid, ResultHandler handler) {
+    session.select("org.sonar.core.component.db.ComponentMapper.selectEnabledFilesFromProject", ImmutableMap.of("projectUuid", rootComponentUuid), handler);
+  }
+
   public List<ComponentDto> selectByIds(final DbSession session, Collection<Long> ids) {
     return DaoUtils.executeLargeInputs(ids, new Function<List<Long>, List<ComponentDto>>() {
       @Override
@@ -0,0 +1,106 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.collect.Maps;
+import org.sonar.server.search.BaseDoc;
+
+import javax.annotation.Nullable;
+
+import java.util.Date;
+import java.util.Map;
+
+public class ComponentDoc extends BaseDoc {
+
+  public ComponentDoc(Map<String, Object> fields) {
+    super(fields);
+  }
+
+  public ComponentDoc() {
+    super(Maps.<String, Object>newHashMapWithExpectedSize(7));
+  }
+
+  public String uuid() {
+    return getField(ComponentIndexDefinition.FIELD_UUID);
+  }
+
+  public String projectUuid() {
+    return getField(ComponentIndexDefinition.FIELD_PROJECT_UUID);
+  }
+
+  public String key() {
+    return getField(ComponentIndexDefinition.FIELD_KEY);
+  }
+
+  public String name() {
+    return getField(ComponentIndexDefinition.FIELD_NAME);
+  }
+
+  /**
+   * Long name if any, else name, as displayed by the web application
+   */
+  public String longName() {
+    String longName = getNullableField(ComponentIndexDefinition.FIELD_LONG_NAME);
+    return longName != null ? longName : name();
+  }
+
+  public String qualifier() {
+    return getField(ComponentIndexDefinition.FIELD_QUALIFIER);
+  }
+
+  public Date updatedAt() {
+    return getFieldAsDate(ComponentIndexDefinition.FIELD_UPDATED_AT);
+  }
+
+  public ComponentDoc setUuid(String s) {
+    setField(ComponentIndexDefinition.FIELD_UUID, s);
+    return this;
+  }
+
+  public ComponentDoc setProjectUuid(String s) {
+    setField(ComponentIndexDefinition.FIELD_PROJECT_UUID, s);
+    return this;
+  }
+
+  public ComponentDoc setKey(String s) {
+    setField(ComponentIndexDefinition.FIELD_KEY, s);
+    return this;
+  }
+
+  public ComponentDoc setName(String s) {
+    setField(ComponentIndexDefinition.FIELD_NAME, s);
+    return this;
+  }
+
+  public ComponentDoc setLongName(@Nullable String s) {
+    setField(ComponentIndexDefinition.FIELD_LONG_NAME, s);
+    return this;
+  }
+
+  public ComponentDoc setQualifier(String s) {
+    setField(ComponentIndexDefinition.FIELD_QUALIFIER, s);
+    return this;
+  }
+
+  public ComponentDoc setUpdatedAt(Date d) {
+    setField(ComponentIndexDefinition.FIELD_UPDATED_AT, d);
+    return this;
+  }
+}
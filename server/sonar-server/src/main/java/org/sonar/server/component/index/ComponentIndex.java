@@ -0,0 +1,178 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.query.BoolFilterBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.MatchQueryBuilder;
+import org.elasticsearch.index.query.OrFilterBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.tophits.TopHits;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.sonar.api.server.ServerSide;
+import org.sonar.core.util.NonNullInputFunction;
+import org.sonar.server.es.EsClient;
+import org.sonar.server.es.SearchOptions;
+import org.sonar.server.es.SearchResult;
+import org.sonar.server.issue.index.IssueIndex;
+import org.sonar.server.search.IndexField;
+import org.sonar.server.user.UserSession;
+import org.sonar.server.view.index.ViewIndexDefinition;
+
+import java.util.Map;
+
+/**
+ * Searches components by name or key. Only the components of the projects that
+ * the current user is allowed to browse are returned.
+ */
+@ServerSide
+public class ComponentIndex {
+
+  private static final String QUALIFIERS_AGGREGATION = "qualifiers";
+  private static final String DOCS_AGGREGATION = "docs";
+
+  private static final Function<Map<String, Object>, ComponentDoc> DOC_CONVERTER = new NonNullInputFunction<Map<String, Object>, ComponentDoc>() {
+    @Override
+    protected ComponentDoc doApply(Map<String, Object> input) {
+      return new ComponentDoc(input);
+    }
+  };
+
+  private final EsClient esClient;
+  private final UserSession userSession;
+
+  public ComponentIndex(EsClient esClient, UserSession userSession) {
+    this.esClient = esClient;
+    this.userSession = userSession;
+  }
+
+  public SearchResult<ComponentDoc> search(ComponentIndexQuery query, SearchOptions options) {
+    SearchRequestBuilder request = esClient.prepareSearch(ComponentIndexDefinition.INDEX)
+      .setTypes(ComponentIndexDefinition.TYPE_COMPONENT)
+      .setFrom(options.getOffset())
+      .setSize(options.getLimit())
+      .setQuery(QueryBuilders.filteredQuery(createTextQuery(query.getText()), createFilter(query)))
+      .addSort(SortBuilders.scoreSort())
+      .addSort(ComponentIndexDefinition.FIELD_NAME + "." + IndexField.SORT_SUFFIX, SortOrder.ASC);
+    return new SearchResult<>(request.get(), DOC_CONVERTER);
+  }
+
+  /**
+   * Best matching components of each qualifier, for the search engine of the web application
+   */
+  public Suggestions suggest(ComponentIndexQuery query, int limitPerQualifier) {
+    SearchRequestBuilder request = esClient.prepareSearch(ComponentIndexDefinition.INDEX)
+      .setTypes(ComponentIndexDefinition.TYPE_COMPONENT)
+      .setSize(0)
+      .setQuery(QueryBuilders.filteredQuery(createTextQuery(query.getText()), createFilter(query)))
+      .addAggregation(AggregationBuilders.terms(QUALIFIERS_AGGREGATION)
+        .field(ComponentIndexDefinition.FIELD_QUALIFIER)
+        .size(0)
+        .subAggregation(AggregationBuilders.topHits(DOCS_AGGREGATION)
+          .setSize(limitPerQualifier)
+          .addSort(SortBuilders.scoreSort())
+          .addSort(ComponentIndexDefinition.FIELD_NAME + "." + IndexField.SORT_SUFFIX, SortOrder.ASC)));
+    SearchResponse response = request.get();
+
+    Suggestions suggestions = new Suggestions(response.getHits().getTotalHits());
+    Terms qualifiers = response.getAggregations().get(QUALIFIERS_AGGREGATION);
+    for (Terms.Bucket qualifier : qualifiers.getBuckets()) {
+      TopHits docs = qualifier.getAggregations().get(DOCS_AGGREGATION);
+      for (SearchHit hit : docs.getHits()) {
+        suggestions.docsByQualifier.put(qualifier.getKey(), DOC_CONVERTER.apply(hit.getSource()));
+      }
+    }
+    return suggestions;
+  }
+
+  private static QueryBuilder createTextQuery(String text) {
+    return QueryBuilders.multiMatchQuery(text,
+      ComponentIndexDefinition.FIELD_NAME + "." + IndexField.SEARCH_PARTIAL_SUFFIX + "^2",
+      ComponentIndexDefinition.FIELD_NAME + "." + ComponentIndexDefinition.SEARCH_SUB_SUFFIX,
+      ComponentIndexDefinition.FIELD_KEY + "." + IndexField.SEARCH_PARTIAL_SUFFIX)
+      .operator(MatchQueryBuilder.Operator.AND);
+  }
+
+  private BoolFilterBuilder createFilter(ComponentIndexQuery query) {
+    BoolFilterBuilder filter = FilterBuilders.boolFilter().must(createAuthorizationFilter());
+    if (!query.getQualifiers().isEmpty()) {
+      filter.must(FilterBuilders.termsFilter(ComponentIndexDefinition.FIELD_QUALIFIER, query.getQualifiers()));
+    }
+    String viewUuid = query.getViewUuid();
+    if (viewUuid != null) {
+      filter.must(FilterBuilders.termsLookupFilter(ComponentIndexDefinition.FIELD_PROJECT_UUID)
+        .lookupIndex(ViewIndexDefinition.INDEX)
+        .lookupType(ViewIndexDefinition.TYPE_VIEW)
+        .lookupId(viewUuid)
+        .lookupPath(ViewIndexDefinition.FIELD_PROJECTS)
+        // same key as issues, so that the cache is cleared when the view is reindexed
+        .cacheKey(IssueIndex.viewsLookupCacheKey(viewUuid)));
+    }
+    return filter;
+  }
+
+  private FilterBuilder createAuthorizationFilter() {
+    OrFilterBuilder groupsAndUser = FilterBuilders.orFilter();
+    String login = userSession.getLogin();
+    if (login != null) {
+      groupsAndUser.add(FilterBuilders.termFilter(ComponentIndexDefinition.FIELD_AUTHORIZATION_USERS, login));
+    }
+    for (String group : userSession.getUserGroups()) {
+      groupsAndUser.add(FilterBuilders.termFilter(ComponentIndexDefinition.FIELD_AUTHORIZATION_GROUPS, group));
+    }
+    return FilterBuilders.hasParentFilter(ComponentIndexDefinition.TYPE_AUTHORIZATION,
+      QueryBuilders.filteredQuery(
+        QueryBuilders.matchAllQuery(),
+        FilterBuilders.boolFilter()
+          .must(groupsAndUser)
+          .cache(true)));
+  }
+
+  public static class Suggestions {
+    private final long total;
+    private final ListMultimap<String, ComponentDoc> docsByQualifier = ArrayListMultimap.create();
+
+    private Suggestions(long total) {
+      this.total = total;
+    }
+
+    /**
+     * Total number of matching components
+     */
+    public long getTotal() {
+      return total;
+    }
+
+    public ListMultimap<String, ComponentDoc> getDocsByQualifier() {
+      return docsByQualifier;
+    }
+  }
+}
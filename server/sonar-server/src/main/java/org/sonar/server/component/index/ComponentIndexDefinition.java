@@ -0,0 +1,113 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import org.sonar.api.config.Settings;
+import org.sonar.server.es.IndexDefinition;
+import org.sonar.server.es.NewIndex;
+
+import java.util.SortedMap;
+
+/**
+ * Definition of ES index "components", including settings and fields. Components are children of
+ * their project authorization, so that searches return only the components that users are allowed to browse.
+ */
+public class ComponentIndexDefinition implements IndexDefinition {
+
+  public static final String INDEX = "components";
+
+  public static final String TYPE_AUTHORIZATION = "authorization";
+  public static final String FIELD_AUTHORIZATION_PROJECT_UUID = "project";
+  public static final String FIELD_AUTHORIZATION_GROUPS = "groups";
+  public static final String FIELD_AUTHORIZATION_USERS = "users";
+  public static final String FIELD_AUTHORIZATION_UPDATED_AT = "updatedAt";
+
+  public static final String TYPE_COMPONENT = "component";
+  public static final String FIELD_UUID = "uuid";
+  public static final String FIELD_PROJECT_UUID = "projectUuid";
+  public static final String FIELD_KEY = "key";
+  public static final String FIELD_NAME = "name";
+  public static final String FIELD_LONG_NAME = "longName";
+  public static final String FIELD_QUALIFIER = "qualifier";
+  public static final String FIELD_UPDATED_AT = "updatedAt";
+
+  public static final String SEARCH_SUB_SUFFIX = "ngrams";
+
+  private final Settings settings;
+
+  public ComponentIndexDefinition(Settings settings) {
+    this.settings = settings;
+  }
+
+  @Override
+  public void define(IndexDefinitionContext context) {
+    NewIndex index = context.create(INDEX);
+
+    index.setShards(settings);
+
+    index.getSettings()
+      // NGram filter (not edge) for names, so that any substring of a name can be searched
+      .put("index.analysis.filter.ngram_filter.type", "nGram")
+      .put("index.analysis.filter.ngram_filter.min_gram", 2)
+      .put("index.analysis.filter.ngram_filter.max_gram", 15)
+      .putArray("index.analysis.filter.ngram_filter.token_chars", "letter", "digit", "punctuation", "symbol")
+
+      // NGram index analyzer
+      .put("index.analysis.analyzer.index_ngrams.type", "custom")
+      .put("index.analysis.analyzer.index_ngrams.tokenizer", "whitespace")
+      .putArray("index.analysis.analyzer.index_ngrams.filter", "trim", "lowercase", "ngram_filter")
+
+      // NGram search analyzer
+      .put("index.analysis.analyzer.search_ngrams.type", "custom")
+      .put("index.analysis.analyzer.search_ngrams.tokenizer", "whitespace")
+      .putArray("index.analysis.analyzer.search_ngrams.filter", "trim", "lowercase");
+
+    // type "authorization"
+    NewIndex.NewIndexType authorizationMapping = index.createType(TYPE_AUTHORIZATION);
+    authorizationMapping.setAttribute("_id", ImmutableMap.of("path", FIELD_AUTHORIZATION_PROJECT_UUID));
+    authorizationMapping.createDateTimeField(FIELD_AUTHORIZATION_UPDATED_AT);
+    authorizationMapping.stringFieldBuilder(FIELD_AUTHORIZATION_PROJECT_UUID).build();
+    authorizationMapping.stringFieldBuilder(FIELD_AUTHORIZATION_GROUPS).build();
+    authorizationMapping.stringFieldBuilder(FIELD_AUTHORIZATION_USERS).build();
+
+    // type "component"
+    NewIndex.NewIndexType mapping = index.createType(TYPE_COMPONENT);
+    mapping.setAttribute("_id", ImmutableMap.of("path", FIELD_UUID));
+    mapping.setAttribute("_parent", ImmutableMap.of("type", TYPE_AUTHORIZATION));
+    mapping.setAttribute("_routing", ImmutableMap.of("required", true, "path", FIELD_PROJECT_UUID));
+    mapping.stringFieldBuilder(FIELD_UUID).build();
+    mapping.stringFieldBuilder(FIELD_PROJECT_UUID).build();
+    mapping.stringFieldBuilder(FIELD_KEY).enableSorting().enableGramSearch().build();
+    mapping.stringFieldBuilder(FIELD_NAME).enableSorting().enableGramSearch().addSubField(SEARCH_SUB_SUFFIX, buildGramSearchField()).build();
+    mapping.stringFieldBuilder(FIELD_LONG_NAME).disableSearch().build();
+    mapping.stringFieldBuilder(FIELD_QUALIFIER).build();
+    mapping.createDateTimeField(FIELD_UPDATED_AT);
+  }
+
+  private static SortedMap<String, String> buildGramSearchField() {
+    return ImmutableSortedMap.of(
+      "type", "string",
+      "index", "analyzed",
+      "index_analyzer", "index_ngrams",
+      "search_analyzer", "search_ngrams");
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+
+public class ComponentIndexQuery {
+
+  public static final int MINIMUM_SEARCH_CHARACTERS = 2;
+
+  private final String text;
+  private Collection<String> qualifiers = Collections.emptyList();
+  private String viewUuid;
+
+  public ComponentIndexQuery(String text) {
+    Preconditions.checkArgument(text.length() >= MINIMUM_SEARCH_CHARACTERS, "Minimum search is %s characters", MINIMUM_SEARCH_CHARACTERS);
+    this.text = text;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public Collection<String> getQualifiers() {
+    return qualifiers;
+  }
+
+  /**
+   * Restricts results to the given qualifiers. All qualifiers are accepted if empty.
+   */
+  public ComponentIndexQuery setQualifiers(Collection<String> qualifiers) {
+    this.qualifiers = qualifiers;
+    return this;
+  }
+
+  @CheckForNull
+  public String getViewUuid() {
+    return viewUuid;
+  }
+
+  /**
+   * Restricts results to the projects of a view or sub-view
+   */
+  public ComponentIndexQuery setViewUuid(@Nullable String viewUuid) {
+    this.viewUuid = viewUuid;
+    return this;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import org.apache.commons.dbutils.DbUtils;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.BaseIndexer;
+import org.sonar.server.es.BulkIndexer;
+import org.sonar.server.es.EsClient;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.util.Date;
+import java.util.Iterator;
+
+/**
+ * Populates the index {@link ComponentIndexDefinition#INDEX} from db table PROJECTS. The authorization documents
+ * are populated by {@link org.sonar.server.issue.index.IssueAuthorizationIndexer}.
+ */
+public class ComponentIndexer extends BaseIndexer {
+
+  private final DbClient dbClient;
+
+  public ComponentIndexer(DbClient dbClient, EsClient esClient) {
+    super(esClient, 300, ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT, ComponentIndexDefinition.FIELD_UPDATED_AT);
+    this.dbClient = dbClient;
+  }
+
+  /**
+   * Index all components if the index is empty (only used on startup). Table PROJECTS has
+   * no technical update date, so components are then indexed project by project by {@link #index(String)}.
+   */
+  @Override
+  protected long doIndex(long lastUpdatedAt) {
+    long count = esClient.prepareCount(ComponentIndexDefinition.INDEX).setTypes(ComponentIndexDefinition.TYPE_COMPONENT).get().getCount();
+    if (count == 0) {
+      doIndex(null);
+    }
+    return 0L;
+  }
+
+  /**
+   * Index the components of a project, including modules and files. Components that
+   * have been removed from project are removed from index.
+   * Used by the compute engine and when a project is renamed.
+   */
+  public void index(final String projectUuid) {
+    index(new IndexerTask() {
+      @Override
+      public long index(long lastUpdatedAt) {
+        doIndex(projectUuid);
+        return 0L;
+      }
+    });
+  }
+
+  private void doIndex(@Nullable String projectUuid) {
+    final BulkIndexer bulk = new BulkIndexer(esClient, ComponentIndexDefinition.INDEX);
+    bulk.setLarge(projectUuid == null);
+
+    DbSession dbSession = dbClient.openSession(false);
+    Connection dbConnection = dbSession.getConnection();
+    try {
+      ComponentResultSetIterator rowIt = ComponentResultSetIterator.create(dbClient, dbConnection, projectUuid);
+      try {
+        doIndex(bulk, rowIt);
+      } finally {
+        rowIt.close();
+      }
+
+    } finally {
+      DbUtils.closeQuietly(dbConnection);
+      dbSession.close();
+    }
+  }
+
+  private static void doIndex(BulkIndexer bulk, Iterator<ComponentResultSetIterator.Row> rows) {
+    // table PROJECTS has no technical update date, so documents are dated when they are indexed
+    Date indexedAt = new Date();
+    bulk.start();
+    while (rows.hasNext()) {
+      ComponentResultSetIterator.Row row = rows.next();
+      ComponentDoc doc = row.getDoc();
+      if (row.isEnabled()) {
+        doc.setUpdatedAt(indexedAt);
+        bulk.add(newUpsertRequest(doc));
+      } else {
+        bulk.add(new DeleteRequest(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT, doc.uuid())
+          .routing(doc.projectUuid()));
+      }
+    }
+    bulk.stop();
+  }
+
+  public void deleteProject(String uuid) {
+    SearchRequestBuilder search = esClient.prepareSearch(ComponentIndexDefinition.INDEX)
+      .setTypes(ComponentIndexDefinition.TYPE_COMPONENT)
+      .setRouting(uuid)
+      .setQuery(QueryBuilders.filteredQuery(
+        QueryBuilders.matchAllQuery(),
+        FilterBuilders.termFilter(ComponentIndexDefinition.FIELD_PROJECT_UUID, uuid).cache(false)));
+    BulkIndexer.delete(esClient, ComponentIndexDefinition.INDEX, search);
+  }
+
+  private static UpdateRequest newUpsertRequest(ComponentDoc doc) {
+    String projectUuid = doc.projectUuid();
+
+    // type of parent doc is "authorization"
+    doc.setField("_parent", projectUuid);
+
+    return new UpdateRequest(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT, doc.uuid())
+      .routing(projectUuid)
+      .parent(projectUuid)
+      .doc(doc.getFields())
+      .upsert(doc.getFields());
+  }
+}
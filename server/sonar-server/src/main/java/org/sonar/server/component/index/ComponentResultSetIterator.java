@@ -0,0 +1,119 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.base.Joiner;
+import org.apache.commons.lang.StringUtils;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.db.ResultSetIterator;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Scrolls over table PROJECTS and reads the components to be searched. Directories, packages
+ * and copies of projects in views are not indexed.
+ */
+class ComponentResultSetIterator extends ResultSetIterator<ComponentResultSetIterator.Row> {
+
+  private static final String[] QUALIFIERS = {Qualifiers.PROJECT, Qualifiers.MODULE, Qualifiers.VIEW, Qualifiers.SUBVIEW,
+    Qualifiers.FILE, Qualifiers.UNIT_TEST_FILE, Qualifiers.CLASS};
+
+  private static final String[] FIELDS = {
+    // column 1
+    "p.uuid",
+    "p.project_uuid",
+    "p.kee",
+    "p.name",
+    "p.qualifier",
+    "p.enabled",
+    "p.long_name"
+  };
+
+  private static final String SQL_ALL = "select " + StringUtils.join(FIELDS, ",") + " from projects p " +
+    "where p.copy_resource_id is null and p.qualifier in ('" + Joiner.on("','").join(QUALIFIERS) + "')";
+
+  // disabled components are loaded in order to be removed from index
+  private static final String SQL_PROJECT = SQL_ALL + " and p.project_uuid=?";
+
+  private static final String SQL_ENABLED = SQL_ALL + " and p.enabled=?";
+
+  static ComponentResultSetIterator create(DbClient dbClient, Connection connection, @Nullable String projectUuid) {
+    try {
+      PreparedStatement stmt;
+      if (projectUuid == null) {
+        stmt = dbClient.newScrollingSelectStatement(connection, SQL_ENABLED);
+        stmt.setBoolean(1, true);
+      } else {
+        stmt = dbClient.newScrollingSelectStatement(connection, SQL_PROJECT);
+        stmt.setString(1, projectUuid);
+      }
+      return new ComponentResultSetIterator(stmt);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Fail to prepare SQL request to select components", e);
+    }
+  }
+
+  private ComponentResultSetIterator(PreparedStatement stmt) throws SQLException {
+    super(stmt);
+  }
+
+  @Override
+  protected Row read(ResultSet rs) throws SQLException {
+    ComponentDoc doc = new ComponentDoc();
+    doc.setUuid(rs.getString(1));
+    doc.setProjectUuid(rs.getString(2));
+    doc.setKey(rs.getString(3));
+    doc.setName(rs.getString(4));
+    doc.setQualifier(fixQualifier(rs.getString(5)));
+    doc.setLongName(rs.getString(7));
+    return new Row(doc, rs.getBoolean(6));
+  }
+
+  /**
+   * Classes of old analyses are searched as files
+   */
+  private static String fixQualifier(String qualifier) {
+    return Qualifiers.CLASS.equals(qualifier) ? Qualifiers.FILE : qualifier;
+  }
+
+  static class Row {
+    private final ComponentDoc doc;
+    private final boolean enabled;
+
+    Row(ComponentDoc doc, boolean enabled) {
+      this.doc = doc;
+      this.enabled = enabled;
+    }
+
+    ComponentDoc getDoc() {
+      return doc;
+    }
+
+    boolean isEnabled() {
+      return enabled;
+    }
+  }
+}
@@ -17,24 +17,7 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
+@ParametersAreNonnullByDefault
+package org.sonar.server.component.index;
 
-import java.io.File;
-import java.util.Objects;
-
-public class BatchReportDirectoryHolderImpl implements MutableBatchReportDirectoryHolder {
-  private File directory;
-
-  @Override
-  public void setDirectory(File newDirectory) {
-    this.directory = Objects.requireNonNull(newDirectory);
-  }
-
-  @Override
-  public File getDirectory() {
-    if (this.directory == null) {
-      throw new IllegalStateException("Directory has not been set yet");
-    }
-    return this.directory;
-  }
-}
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -20,18 +20,18 @@
 
 package org.sonar.server.component.ws;
 
-import com.google.common.io.Resources;
-import org.sonar.api.server.ws.RailsHandler;
 import org.sonar.api.server.ws.WebService;
 
 public class ComponentsWs implements WebService {
 
   private final AppAction appAction;
   private final SearchAction searchAction;
+  private final SuggestionsAction suggestionsAction;
 
-  public ComponentsWs(AppAction appAction, SearchAction searchAction) {
+  public ComponentsWs(AppAction appAction, SearchAction searchAction, SuggestionsAction suggestionsAction) {
     this.appAction = appAction;
     this.searchAction = searchAction;
+    this.suggestionsAction = suggestionsAction;
   }
 
   @Override
@@ -42,25 +42,9 @@ public class ComponentsWs implements WebService {
 
     appAction.define(controller);
     searchAction.define(controller);
-    defineSuggestionsAction(controller);
+    suggestionsAction.define(controller);
 
     controller.done();
   }
 
-  private void defineSuggestionsAction(NewController controller) {
-    NewAction action = controller.createAction("suggestions")
-      .setDescription("Internal WS for the top-right search engine")
-      .setSince("4.2")
-      .setInternal(true)
-      .setHandler(RailsHandler.INSTANCE)
-      .setResponseExample(Resources.getResource(this.getClass(), "components-example-suggestions.json"));
-
-    action.createParam("s")
-      .setRequired(true)
-      .setDescription("Substring of project key (minimum 2 characters)")
-      .setExampleValue("sonar");
-
-    RailsHandler.addJsonOnlyFormatParam(action);
-  }
-
 }
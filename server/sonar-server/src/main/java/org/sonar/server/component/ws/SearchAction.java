@@ -20,10 +20,8 @@
 
 package org.sonar.server.component.ws;
 
-import com.google.common.collect.Sets;
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
+import java.util.Collections;
+import org.sonar.api.resources.Qualifiers;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.RequestHandler;
 import org.sonar.api.server.ws.Response;
@@ -34,25 +32,28 @@ import org.sonar.api.web.UserRole;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
+import org.sonar.server.component.index.ComponentDoc;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.component.index.ComponentIndexQuery;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.SearchOptions;
+import org.sonar.server.es.SearchResult;
 import org.sonar.server.user.UserSession;
 
-import static com.google.common.collect.Sets.newLinkedHashSet;
 import static org.sonar.api.server.ws.WebService.Param.PAGE;
 import static org.sonar.api.server.ws.WebService.Param.PAGE_SIZE;
 
 public class SearchAction implements RequestHandler {
 
-  private static final short MINIMUM_SEARCH_CHARACTERS = 2;
-
   private static final String PARAM_COMPONENT_UUID = "componentUuid";
 
   private final DbClient dbClient;
+  private final ComponentIndex componentIndex;
   private final UserSession userSession;
 
-  public SearchAction(DbClient dbClient, UserSession userSession) {
+  public SearchAction(DbClient dbClient, ComponentIndex componentIndex, UserSession userSession) {
     this.dbClient = dbClient;
+    this.componentIndex = componentIndex;
     this.userSession = userSession;
   }
 
@@ -80,57 +81,35 @@ public class SearchAction implements RequestHandler {
 
   @Override
   public void handle(Request request, Response response) {
-    String query = request.mandatoryParam(Param.TEXT_QUERY);
-    if (query.length() < MINIMUM_SEARCH_CHARACTERS) {
-      throw new IllegalArgumentException(String.format("Minimum search is %s characters", MINIMUM_SEARCH_CHARACTERS));
-    }
+    ComponentIndexQuery query = new ComponentIndexQuery(request.mandatoryParam(Param.TEXT_QUERY))
+      .setQualifiers(Collections.singletonList(Qualifiers.PROJECT));
     String viewOrSubUuid = request.mandatoryParam(PARAM_COMPONENT_UUID);
 
-    JsonWriter json = response.newJsonWriter();
-    json.beginObject();
-
     DbSession session = dbClient.openSession(false);
     try {
       ComponentDto componentDto = dbClient.componentDao().selectByUuid(session, viewOrSubUuid);
       userSession.checkProjectUuidPermission(UserRole.USER, componentDto.projectUuid());
-
-      Set<Long> projectIds = newLinkedHashSet(dbClient.componentIndexDao().selectProjectIdsFromQueryAndViewOrSubViewUuid(session, query, componentDto.uuid()));
-      Collection<Long> authorizedProjectIds = dbClient.authorizationDao().keepAuthorizedProjectIds(session, projectIds, userSession.getUserId(), UserRole.USER);
-
-      SearchOptions options = new SearchOptions();
-      options.setPage(request.mandatoryParamAsInt(PAGE), request.mandatoryParamAsInt(PAGE_SIZE));
-      Set<Long> pagedProjectIds = pagedProjectIds(authorizedProjectIds, options);
-
-      List<ComponentDto> projects = dbClient.componentDao().selectByIds(session, pagedProjectIds);
-
-      options.writeJson(json, authorizedProjectIds.size());
-      json.name("components").beginArray();
-      for (ComponentDto project : projects) {
-        json.beginObject();
-        json.prop("uuid", project.uuid());
-        json.prop("name", project.name());
-        json.endObject();
-      }
-      json.endArray();
+      query.setViewUuid(componentDto.uuid());
     } finally {
       MyBatis.closeQuietly(session);
     }
 
-    json.endObject();
-    json.close();
-  }
+    SearchOptions options = new SearchOptions();
+    options.setPage(request.mandatoryParamAsInt(PAGE), request.mandatoryParamAsInt(PAGE_SIZE));
+    SearchResult<ComponentDoc> result = componentIndex.search(query, options);
 
-  private static Set<Long> pagedProjectIds(Collection<Long> projectIds, SearchOptions options) {
-    Set<Long> results = Sets.newLinkedHashSet();
-    int index = 0;
-    for (Long projectId : projectIds) {
-      if (index >= options.getOffset() && results.size() < options.getLimit()) {
-        results.add(projectId);
-      } else if (results.size() >= options.getLimit()) {
-        break;
-      }
-      index++;
+    JsonWriter json = response.newJsonWriter();
+    json.beginObject();
+    options.writeJson(json, result.getTotal());
+    json.name("components").beginArray();
+    for (ComponentDoc project : result.getDocs()) {
+      json.beginObject();
+      json.prop("uuid", project.uuid());
+      json.prop("name", project.name());
+      json.endObject();
     }
-    return results;
+    json.endArray();
+    json.endObject();
+    json.close();
   }
 }
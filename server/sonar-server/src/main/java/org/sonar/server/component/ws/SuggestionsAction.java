@@ -0,0 +1,101 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.ws;
+
+import com.google.common.io.Resources;
+import java.util.List;
+import org.sonar.api.i18n.I18n;
+import org.sonar.api.resources.ResourceType;
+import org.sonar.api.resources.ResourceTypes;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.RequestHandler;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.api.utils.text.JsonWriter;
+import org.sonar.server.component.index.ComponentDoc;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.component.index.ComponentIndexQuery;
+import org.sonar.server.user.UserSession;
+
+public class SuggestionsAction implements RequestHandler {
+
+  private static final String PARAM_SEARCH = "s";
+  private static final int MAX_RESULTS_PER_QUALIFIER = 6;
+
+  private final ComponentIndex componentIndex;
+  private final ResourceTypes resourceTypes;
+  private final I18n i18n;
+  private final UserSession userSession;
+
+  public SuggestionsAction(ComponentIndex componentIndex, ResourceTypes resourceTypes, I18n i18n, UserSession userSession) {
+    this.componentIndex = componentIndex;
+    this.resourceTypes = resourceTypes;
+    this.i18n = i18n;
+    this.userSession = userSession;
+  }
+
+  void define(WebService.NewController controller) {
+    WebService.NewAction action = controller.createAction("suggestions")
+      .setDescription("Internal WS for the top-right search engine")
+      .setSince("4.2")
+      .setInternal(true)
+      .setHandler(this)
+      .setResponseExample(Resources.getResource(getClass(), "components-example-suggestions.json"));
+
+    action.createParam(PARAM_SEARCH)
+      .setRequired(true)
+      .setDescription("Substring of component name or key (minimum 2 characters)")
+      .setExampleValue("sonar");
+  }
+
+  @Override
+  public void handle(Request request, Response response) {
+    ComponentIndexQuery query = new ComponentIndexQuery(request.mandatoryParam(PARAM_SEARCH));
+    ComponentIndex.Suggestions suggestions = componentIndex.suggest(query, MAX_RESULTS_PER_QUALIFIER);
+
+    JsonWriter json = response.newJsonWriter();
+    json.beginObject();
+    json.prop("total", suggestions.getTotal());
+    json.name("results").beginArray();
+    for (ResourceType resourceType : resourceTypes.getAll()) {
+      String qualifier = resourceType.getQualifier();
+      json.beginObject()
+        .prop("q", qualifier)
+        .prop("icon", resourceType.getIconPath())
+        .prop("name", i18n.message(userSession.locale(), "qualifiers." + qualifier, null));
+      writeItems(json, suggestions.getDocsByQualifier().get(qualifier));
+      json.endObject();
+    }
+    json.endArray();
+    json.endObject();
+    json.close();
+  }
+
+  private static void writeItems(JsonWriter json, List<ComponentDoc> docs) {
+    json.name("items").beginArray();
+    for (ComponentDoc doc : docs) {
+      json.beginObject()
+        .prop("key", doc.key())
+        .prop("name", doc.longName())
+        .endObject();
+    }
+    json.endArray();
+  }
+}
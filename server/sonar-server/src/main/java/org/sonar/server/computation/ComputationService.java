@@ -20,6 +20,14 @@
 package org.sonar.server.computation;
 
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.sonar.api.server.ServerSide;
 import org.sonar.api.utils.System2;
 import org.sonar.api.utils.log.Logger;
@@ -55,20 +63,76 @@ public class ComputationService {
       String.format("Analysis of project %s (report %d)", projectKey, item.dto.getId())
       );
 
+    // a single pool is shared by all the concurrent stages of the task
+    ExecutorService executor = null;
     try {
-      for (ComputationStep step : steps.instances()) {
-        Profiler stepProfiler = Profiler.createIfDebug(LOG).startDebug(step.getDescription());
-        step.execute();
-        stepProfiler.stopDebug();
+      List<List<ComputationStep>> stages = steps.stages();
+      for (List<ComputationStep> stage : stages) {
+        if (stage.size() == 1) {
+          execute(stage.get(0));
+        } else {
+          if (executor == null) {
+            executor = Executors.newFixedThreadPool(maxSize(stages), new ThreadFactoryBuilder()
+              .setNameFormat(String.format("computation-%d-step-%%d", item.dto.getId())).build());
+          }
+          executeConcurrently(executor, stage);
+        }
       }
       item.dto.setStatus(SUCCESS);
     } catch (Throwable e) {
       item.dto.setStatus(FAILED);
       throw Throwables.propagate(e);
     } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
       item.dto.setFinishedAt(system.now());
       activityManager.saveActivity(item.dto);
       profiler.stopInfo();
     }
   }
+
+  private static void execute(ComputationStep step) {
+    Profiler stepProfiler = Profiler.createIfDebug(LOG).startDebug(step.getDescription());
+    step.execute();
+    stepProfiler.stopDebug();
+  }
+
+  private static int maxSize(List<List<ComputationStep>> stages) {
+    int max = 1;
+    for (List<ComputationStep> stage : stages) {
+      max = Math.max(max, stage.size());
+    }
+    return max;
+  }
+
+  /**
+   * Executes the steps of a stage in parallel and waits for all of them. The first failure
+   * is propagated once all the steps are finished.
+   */
+  private static void executeConcurrently(ExecutorService executor, List<ComputationStep> stage) throws Throwable {
+    List<Future<Void>> futures = new ArrayList<>();
+    for (final ComputationStep step : stage) {
+      futures.add(executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          execute(step);
+          return null;
+        }
+      }));
+    }
+    Throwable failure = null;
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
 }
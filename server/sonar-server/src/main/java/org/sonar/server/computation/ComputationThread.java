@@ -45,6 +45,15 @@ public class ComputationThread implements Runnable {
 
   @Override
   public void run() {
+    processNext();
+  }
+
+  /**
+   * Pops a report from the queue and integrates it.
+   *
+   * @return true if a report has been popped, false if the queue has no report available
+   */
+  boolean processNext() {
     ReportQueue.Item item = null;
     try {
       item = queue.pop();
@@ -52,7 +61,7 @@ public class ComputationThread implements Runnable {
       LOG.error("Failed to pop the queue of analysis reports", e);
     }
     if (item == null) {
-      return;
+      return false;
     }
 
     ComputeEngineContainer computeEngineContainer = containerFactory.create(sqContainer, item);
@@ -66,6 +75,7 @@ public class ComputationThread implements Runnable {
 
       removeSilentlyFromQueue(item);
     }
+    return true;
   }
 
   private void removeSilentlyFromQueue(ReportQueue.Item item) {
@@ -23,10 +23,12 @@ package org.sonar.server.computation;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import org.picocontainer.Startable;
+import org.sonar.api.config.Settings;
 import org.sonar.api.platform.Server;
 import org.sonar.api.platform.ServerStartHandler;
 import org.sonar.core.platform.ComponentContainer;
@@ -36,20 +38,24 @@ import org.sonar.server.computation.container.ContainerFactoryImpl;
 public class ComputationThreadLauncher implements Startable, ServerStartHandler {
 
   public static final String THREAD_NAME_PREFIX = "computation-";
+  public static final String WORKERS_PROPERTY = "sonar.ce.workerCount";
+  static final int DEFAULT_WORKERS = 1;
 
   private final ReportQueue queue;
   private final ComponentContainer sqContainer;
   private final ScheduledExecutorService executorService;
   private final ContainerFactory containerFactory;
+  private final int workers;
 
   private final long delayBetweenTasks;
   private final long delayForFirstStart;
   private final TimeUnit timeUnit;
 
-  public ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer) {
+  public ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer, Settings settings) {
     this.queue = queue;
     this.sqContainer = sqContainer;
-    this.executorService = Executors.newSingleThreadScheduledExecutor(newThreadFactory());
+    this.workers = numberOfWorkers(settings);
+    this.executorService = Executors.newScheduledThreadPool(workers, newThreadFactory());
     this.containerFactory = new ContainerFactoryImpl();
 
     this.delayBetweenTasks = 10;
@@ -58,12 +64,13 @@ public class ComputationThreadLauncher implements Startable, ServerStartHandler
   }
 
   @VisibleForTesting
-  ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer, ContainerFactory containerFactory,
+  ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer, ContainerFactory containerFactory, int workers,
     long delayForFirstStart, long delayBetweenTasks, TimeUnit timeUnit) {
     this.queue = queue;
     this.sqContainer = sqContainer;
     this.containerFactory = containerFactory;
-    this.executorService = Executors.newSingleThreadScheduledExecutor(newThreadFactory());
+    this.workers = workers;
+    this.executorService = Executors.newScheduledThreadPool(workers, newThreadFactory());
 
     this.delayBetweenTasks = delayBetweenTasks;
     this.delayForFirstStart = delayForFirstStart;
@@ -80,13 +87,55 @@ public class ComputationThreadLauncher implements Startable, ServerStartHandler
     executorService.shutdown();
   }
 
+  /**
+   * Wakes up a worker immediately, for example when a report has just been added to the queue,
+   * instead of waiting for the next polling.
+   */
   public void startAnalysisTaskNow() {
-    executorService.execute(new ComputationThread(queue, sqContainer, containerFactory));
+    submitQuietly(new DrainQueueTask());
   }
 
   @Override
   public void onServerStart(Server server) {
-    executorService.scheduleAtFixedRate(new ComputationThread(queue, sqContainer, containerFactory), delayForFirstStart, delayBetweenTasks, timeUnit);
+    for (int i = 0; i < workers; i++) {
+      executorService.scheduleAtFixedRate(new DrainQueueTask(), delayForFirstStart, delayBetweenTasks, timeUnit);
+    }
+  }
+
+  private void submitQuietly(Runnable task) {
+    if (!executorService.isShutdown()) {
+      try {
+        executorService.execute(task);
+      } catch (RejectedExecutionException e) {
+        // executor is being shut down, the report stays in queue and will be processed at next startup
+      }
+    }
+  }
+
+  static int numberOfWorkers(Settings settings) {
+    int workers = settings.getInt(WORKERS_PROPERTY);
+    if (workers < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", WORKERS_PROPERTY, workers));
+    }
+    if (workers == 0) {
+      workers = DEFAULT_WORKERS;
+    }
+    return workers;
+  }
+
+  /**
+   * Processes reports until the queue is empty, so that a burst of submitted reports does not wait
+   * for the next polling. Several tasks can run in parallel: {@link ReportQueue#pop()} never returns
+   * a report of a project that is already being processed.
+   */
+  private class DrainQueueTask implements Runnable {
+    @Override
+    public void run() {
+      ComputationThread thread = new ComputationThread(queue, sqContainer, containerFactory);
+      while (!executorService.isShutdown() && thread.processNext()) {
+        // process next report
+      }
+    }
   }
 
   private static ThreadFactory newThreadFactory() {
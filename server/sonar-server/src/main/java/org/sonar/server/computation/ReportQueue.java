@@ -97,8 +97,13 @@ public class ReportQueue {
     }
   }
 
+  /**
+   * Books the oldest pending report whose project has no report being processed.
+   * Synchronized so that concurrent compute workers can not book two reports of the
+   * same project at the same time.
+   */
   @CheckForNull
-  public Item pop() {
+  public synchronized Item pop() {
     DbSession session = dbClient.openSession(false);
     try {
       AnalysisReportDto dto = dao().pop(session);
@@ -22,117 +22,134 @@ package org.sonar.server.computation.batch;
 import com.google.common.base.Throwables;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Parser;
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import javax.annotation.CheckForNull;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
 import org.sonar.batch.protocol.output.BatchReport;
+import org.sonar.batch.protocol.output.FileStructure;
+import org.sonar.batch.protocol.output.FileStructure.Domain;
 import org.sonar.server.util.CloseableIterator;
 
+/**
+ * Reads the entries of the zipped Batch report on demand. Report is not extracted to disk, each entry is located
+ * through the central directory of the zip and decompressed while being parsed.
+ */
 public class BatchReportReaderImpl implements BatchReportReader {
-  private final org.sonar.batch.protocol.output.BatchReportReader delegate;
-  // caching of metadata which are read often
-  private BatchReport.Metadata metadata;
+  private final BatchReportZipHolder zipHolder;
+  // caching of metadata which are read often, possibly by steps executed concurrently
+  private volatile BatchReport.Metadata metadata;
 
-  public BatchReportReaderImpl(BatchReportDirectoryHolder batchReportDirectoryHolder) {
-    this.delegate = new org.sonar.batch.protocol.output.BatchReportReader(batchReportDirectoryHolder.getDirectory());
+  public BatchReportReaderImpl(BatchReportZipHolder zipHolder) {
+    this.zipHolder = zipHolder;
   }
 
   @Override
   public BatchReport.Metadata readMetadata() {
     if (this.metadata == null) {
-      this.metadata = delegate.readMetadata();
+      BatchReport.Metadata res = readMessage(FileStructure.METADATA_FILENAME, BatchReport.Metadata.PARSER);
+      if (res == null) {
+        throw new IllegalStateException("Metadata file is missing in analysis report: " + FileStructure.METADATA_FILENAME);
+      }
+      this.metadata = res;
     }
     return this.metadata;
   }
 
   @Override
   public List<BatchReport.Measure> readComponentMeasures(int componentRef) {
-    return delegate.readComponentMeasures(componentRef);
+    BatchReport.Measures measures = readMessage(Domain.MEASURES, componentRef, BatchReport.Measures.PARSER);
+    if (measures == null) {
+      return Collections.emptyList();
+    }
+    // all the measures are loaded in memory
+    return measures.getMeasureList();
   }
 
   @Override
   @CheckForNull
   public BatchReport.Changesets readChangesets(int componentRef) {
-    return delegate.readChangesets(componentRef);
+    return readMessage(Domain.CHANGESETS, componentRef, BatchReport.Changesets.PARSER);
   }
 
   @Override
   public BatchReport.Component readComponent(int componentRef) {
-    return delegate.readComponent(componentRef);
+    BatchReport.Component component = readMessage(Domain.COMPONENT, componentRef, BatchReport.Component.PARSER);
+    if (component == null) {
+      throw new IllegalStateException("Unable to find report for component #" + componentRef + ". Entry does not exist: "
+        + FileStructure.fileNameFor(Domain.COMPONENT, componentRef));
+    }
+    return component;
   }
 
   @Override
   public List<BatchReport.Issue> readComponentIssues(int componentRef) {
-    return delegate.readComponentIssues(componentRef);
+    BatchReport.Issues issues = readMessage(Domain.ISSUES, componentRef, BatchReport.Issues.PARSER);
+    if (issues == null) {
+      return Collections.emptyList();
+    }
+    // all the issues are loaded in memory
+    return issues.getIssueList();
   }
 
   @Override
   public BatchReport.Issues readDeletedComponentIssues(int deletedComponentRef) {
-    return delegate.readDeletedComponentIssues(deletedComponentRef);
+    BatchReport.Issues issues = readMessage(Domain.ISSUES_ON_DELETED, deletedComponentRef, BatchReport.Issues.PARSER);
+    if (issues == null) {
+      throw new IllegalStateException("Unable to find report for deleted component #" + deletedComponentRef);
+    }
+    // all the issues are loaded in memory
+    return issues;
   }
 
   @Override
   public List<BatchReport.Duplication> readComponentDuplications(int componentRef) {
-    return delegate.readComponentDuplications(componentRef);
+    BatchReport.Duplications duplications = readMessage(Domain.DUPLICATIONS, componentRef, BatchReport.Duplications.PARSER);
+    if (duplications == null) {
+      return Collections.emptyList();
+    }
+    // all the duplications are loaded in memory
+    return duplications.getDuplicationList();
   }
 
   @Override
   public List<BatchReport.Symbols.Symbol> readComponentSymbols(int componentRef) {
-    return delegate.readComponentSymbols(componentRef);
+    BatchReport.Symbols symbols = readMessage(Domain.SYMBOLS, componentRef, BatchReport.Symbols.PARSER);
+    if (symbols == null) {
+      return Collections.emptyList();
+    }
+    // all the symbols are loaded in memory
+    return symbols.getSymbolList();
   }
 
   @Override
   @CheckForNull
   public CloseableIterator<BatchReport.SyntaxHighlighting> readComponentSyntaxHighlighting(int fileRef) {
-    File file = delegate.readComponentSyntaxHighlighting(fileRef);
-    if (file == null) {
-      return CloseableIterator.emptyCloseableIterator();
-    }
-
-    try {
-      return new ParserCloseableIterator<>(BatchReport.SyntaxHighlighting.PARSER, FileUtils.openInputStream(file));
-    } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
-    }
+    return readMessages(Domain.SYNTAX_HIGHLIGHTINGS, fileRef, BatchReport.SyntaxHighlighting.PARSER);
   }
 
   @Override
   public CloseableIterator<BatchReport.Coverage> readComponentCoverage(int fileRef) {
-    File file = delegate.readComponentCoverage(fileRef);
-    if (file == null) {
-      return CloseableIterator.emptyCloseableIterator();
-    }
-
-    try {
-      return new ParserCloseableIterator<>(BatchReport.Coverage.PARSER, FileUtils.openInputStream(file));
-    } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
-    }
+    return readMessages(Domain.COVERAGES, fileRef, BatchReport.Coverage.PARSER);
   }
 
   @Override
   public CloseableIterator<String> readFileSource(int fileRef) {
-    File file = delegate.readFileSource(fileRef);
-    if (file == null) {
+    String entryName = FileStructure.fileNameFor(Domain.SOURCE, fileRef);
+    InputStream input = openEntry(entryName);
+    if (input == null) {
       throw new IllegalStateException("Unable to find source for file #" + fileRef);
     }
-
-    try {
-      return new CloseableLineIterator(IOUtils.lineIterator(FileUtils.openInputStream(file), StandardCharsets.UTF_8));
-    } catch (IOException e) {
-      throw new IllegalStateException("Fail to traverse file: " + file, e);
-    }
+    return new CloseableLineIterator(new LineIterator(new InputStreamReader(input, StandardCharsets.UTF_8)));
   }
 
   private static class CloseableLineIterator extends CloseableIterator<String> {
@@ -166,49 +183,72 @@ public class BatchReportReaderImpl implements BatchReportReader {
 
   @Override
   public CloseableIterator<BatchReport.Test> readTests(int testFileRef) {
-    File file = delegate.readTests(testFileRef);
-    if (file == null) {
-      return CloseableIterator.emptyCloseableIterator();
-    }
+    return readMessages(Domain.TESTS, testFileRef, BatchReport.Test.PARSER);
+  }
 
+  @Override
+  public CloseableIterator<BatchReport.CoverageDetail> readCoverageDetails(int testFileRef) {
+    return readMessages(Domain.COVERAGE_DETAILS, testFileRef, BatchReport.CoverageDetail.PARSER);
+  }
+
+  @CheckForNull
+  private <T> T readMessage(Domain domain, int componentRef, Parser<T> parser) {
+    return readMessage(FileStructure.fileNameFor(domain, componentRef), parser);
+  }
+
+  @CheckForNull
+  private <T> T readMessage(String entryName, Parser<T> parser) {
+    InputStream input = openEntry(entryName);
+    if (input == null) {
+      return null;
+    }
     try {
-      return new ParserCloseableIterator<>(BatchReport.Test.PARSER, FileUtils.openInputStream(file));
-    } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
+      return parser.parseFrom(input);
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalStateException("Failed to read report entry: " + entryName, e);
+    } finally {
+      IOUtils.closeQuietly(input);
     }
   }
 
-  @Override
-  public CloseableIterator<BatchReport.CoverageDetail> readCoverageDetails(int testFileRef) {
-    File file = delegate.readCoverageDetails(testFileRef);
-    if (file == null) {
+  private <T> CloseableIterator<T> readMessages(Domain domain, int componentRef, Parser<T> parser) {
+    InputStream input = openEntry(FileStructure.fileNameFor(domain, componentRef));
+    if (input == null) {
       return CloseableIterator.emptyCloseableIterator();
     }
+    return new ParserCloseableIterator<>(parser, input);
+  }
 
+  /**
+   * @return the buffered content of the entry, or {@code null} if the entry does not exist
+   */
+  @CheckForNull
+  private InputStream openEntry(String entryName) {
+    ZipFile zipFile = zipHolder.getZipFile();
+    ZipEntry entry = zipFile.getEntry(entryName);
+    if (entry == null || entry.isDirectory()) {
+      return null;
+    }
     try {
-      return new ParserCloseableIterator<>(BatchReport.CoverageDetail.PARSER, FileUtils.openInputStream(file));
+      return new BufferedInputStream(zipFile.getInputStream(entry));
     } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
+      throw new IllegalStateException("Fail to read entry " + entryName + " of " + zipFile.getName(), e);
     }
   }
 
   private static class ParserCloseableIterator<T> extends CloseableIterator<T> {
     private final Parser<T> parser;
-    private final FileInputStream fileInputStream;
+    private final InputStream inputStream;
 
-    public ParserCloseableIterator(Parser<T> parser, FileInputStream fileInputStream) {
+    public ParserCloseableIterator(Parser<T> parser, InputStream inputStream) {
       this.parser = parser;
-      this.fileInputStream = fileInputStream;
+      this.inputStream = inputStream;
     }
 
     @Override
     protected T doNext() {
       try {
-        return parser.parseDelimitedFrom(fileInputStream);
+        return parser.parseDelimitedFrom(inputStream);
       } catch (InvalidProtocolBufferException e) {
         Throwables.propagate(e);
         // actually never reached
@@ -218,7 +258,7 @@ public class BatchReportReaderImpl implements BatchReportReader {
 
     @Override
     protected void doClose() throws Exception {
-      fileInputStream.close();
+      inputStream.close();
     }
   }
 }
@@ -19,15 +19,16 @@
  */
 package org.sonar.server.computation.batch;
 
-import java.io.File;
+import java.util.zip.ZipFile;
 import org.sonar.server.computation.ReportQueue;
 
-public interface BatchReportDirectoryHolder {
+public interface BatchReportZipHolder {
   /**
-   * The File of the directory where the Batch report files for the current {@link ReportQueue.Item} are stored.
+   * The zipped Batch report of the current {@link ReportQueue.Item}. Its entries are read directly from the zip,
+   * without being extracted to disk.
    *
-   * @throws IllegalStateException if the holder is empty (ie. there is no directory yet)
+   * @throws IllegalStateException if the holder is empty (ie. there is no zip yet)
    */
-  File getDirectory();
+  ZipFile getZipFile();
 
 }
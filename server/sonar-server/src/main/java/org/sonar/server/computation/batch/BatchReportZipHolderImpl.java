@@ -0,0 +1,62 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.batch;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.zip.ZipFile;
+import org.picocontainer.Startable;
+import org.sonar.api.utils.log.Loggers;
+
+public class BatchReportZipHolderImpl implements MutableBatchReportZipHolder, Startable {
+  private ZipFile zipFile;
+
+  @Override
+  public void setZipFile(ZipFile newZipFile) {
+    if (this.zipFile != null) {
+      throw new IllegalStateException("Zip of Batch report has already been set");
+    }
+    this.zipFile = Objects.requireNonNull(newZipFile);
+  }
+
+  @Override
+  public ZipFile getZipFile() {
+    if (this.zipFile == null) {
+      throw new IllegalStateException("Zip of Batch report has not been set yet");
+    }
+    return this.zipFile;
+  }
+
+  @Override
+  public void start() {
+    // nothing to do
+  }
+
+  @Override
+  public void stop() {
+    if (zipFile != null) {
+      try {
+        zipFile.close();
+      } catch (IOException e) {
+        Loggers.get(BatchReportZipHolderImpl.class).warn("Fail to close " + zipFile.getName(), e);
+      }
+    }
+  }
+}
@@ -19,16 +19,17 @@
  */
 package org.sonar.server.computation.batch;
 
-import java.io.File;
+import java.util.zip.ZipFile;
 
-public interface MutableBatchReportDirectoryHolder extends BatchReportDirectoryHolder {
+public interface MutableBatchReportZipHolder extends BatchReportZipHolder {
   /**
-   * Sets the File of the directory in the BatchReportDirectoryHolder. Settings a File more than once is allowed but it
-   * can never be set to {@code null}.
+   * Sets the zip of the Batch report in the BatchReportZipHolder. The zip is closed when the holder is stopped. It can
+   * never be set to {@code null}.
    *
-   * @param newDirectory a {@link File}, can not be {@code null}
+   * @param zipFile a {@link ZipFile}, can not be {@code null}
    *
-   * @throws NullPointerException if {@code newDirectory} is {@code null}
+   * @throws NullPointerException if {@code zipFile} is {@code null}
+   * @throws IllegalStateException if the zip has already been set
    */
-  void setDirectory(File newDirectory);
+  void setZipFile(ZipFile zipFile);
 }
@@ -35,8 +35,8 @@ import org.sonar.core.platform.ComponentContainer;
 import org.sonar.server.computation.ComputationService;
 import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.computation.activity.ActivityManager;
-import org.sonar.server.computation.batch.BatchReportDirectoryHolderImpl;
 import org.sonar.server.computation.batch.BatchReportReaderImpl;
+import org.sonar.server.computation.batch.BatchReportZipHolderImpl;
 import org.sonar.server.computation.component.DbIdsRepository;
 import org.sonar.server.computation.component.ProjectSettingsRepository;
 import org.sonar.server.computation.component.TreeRootHolderImpl;
@@ -128,7 +128,7 @@ public class ComputeEngineContainerImpl extends ComponentContainer implements Co
       ActivityManager.class,
 
       // holders
-      BatchReportDirectoryHolderImpl.class,
+      BatchReportZipHolderImpl.class,
       TreeRootHolderImpl.class,
       PeriodsHolderImpl.class,
       QualityGateHolderImpl.class,
@@ -0,0 +1,412 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.issue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.issue.IssueComment;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.issue.internal.FieldDiffs;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.utils.Duration;
+import org.sonar.server.util.cache.Serializer;
+
+/**
+ * Binary codec of {@link DefaultIssue}, including changelog and comments, used by {@link IssueCache}.
+ * Nullable fields are preceded by a presence flag. The current change of an issue, which is
+ * generally the last element of its changelog, is written as an index in the changelog so
+ * that the instance is shared again after deserialization.
+ */
+public class DefaultIssueSerializer implements Serializer<DefaultIssue> {
+
+  private static final int NO_CURRENT_CHANGE = -1;
+  private static final int DETACHED_CURRENT_CHANGE = -2;
+
+  // types of the values of FieldDiffs.Diff
+  private static final byte NULL_VALUE = 0;
+  private static final byte STRING_VALUE = 1;
+  private static final byte LONG_VALUE = 2;
+  private static final byte INTEGER_VALUE = 3;
+  private static final byte DOUBLE_VALUE = 4;
+  private static final byte SERIALIZED_VALUE = 5;
+
+  @Override
+  public void write(DefaultIssue issue, DataOutput output) throws IOException {
+    writeString(issue.key(), output);
+    writeString(issue.componentUuid(), output);
+    writeString(issue.componentKey(), output);
+    writeString(issue.moduleUuid(), output);
+    writeString(issue.moduleUuidPath(), output);
+    writeString(issue.projectUuid(), output);
+    writeString(issue.projectKey(), output);
+    RuleKey ruleKey = issue.ruleKey();
+    output.writeBoolean(ruleKey != null);
+    if (ruleKey != null) {
+      output.writeUTF(ruleKey.repository());
+      output.writeUTF(ruleKey.rule());
+    }
+    writeString(issue.language(), output);
+    writeString(issue.severity(), output);
+    output.writeBoolean(issue.manualSeverity());
+    writeString(issue.message(), output);
+    writeInteger(issue.line(), output);
+    Double effortToFix = issue.effortToFix();
+    output.writeBoolean(effortToFix != null);
+    if (effortToFix != null) {
+      output.writeDouble(effortToFix);
+    }
+    writeLong(issue.debtInMinutes(), output);
+    writeString(issue.status(), output);
+    writeString(issue.resolution(), output);
+    writeString(issue.reporter(), output);
+    writeString(issue.assignee(), output);
+    writeString(issue.checksum(), output);
+    writeString(issue.authorLogin(), output);
+    writeString(issue.actionPlanKey(), output);
+    writeDate(issue.creationDate(), output);
+    writeDate(issue.updateDate(), output);
+    writeDate(issue.closeDate(), output);
+    writeLong(issue.selectedAt(), output);
+    output.writeBoolean(issue.isNew());
+    output.writeBoolean(issue.isEndOfLife());
+    output.writeBoolean(issue.isOnDisabledRule());
+    output.writeBoolean(issue.isChanged());
+    output.writeBoolean(issue.mustSendNotifications());
+
+    Map<String, String> attributes = issue.attributes();
+    output.writeInt(attributes.size());
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+      output.writeUTF(attribute.getKey());
+      writeString(attribute.getValue(), output);
+    }
+
+    writeTags(issue, output);
+    writeComments(issue.comments(), output);
+    writeChanges(issue, output);
+  }
+
+  @Override
+  public DefaultIssue read(DataInput input) throws IOException {
+    DefaultIssue issue = new DefaultIssue();
+    issue.setKey(readString(input));
+    issue.setComponentUuid(readString(input));
+    issue.setComponentKey(readString(input));
+    issue.setModuleUuid(readString(input));
+    issue.setModuleUuidPath(readString(input));
+    issue.setProjectUuid(readString(input));
+    issue.setProjectKey(readString(input));
+    if (input.readBoolean()) {
+      issue.setRuleKey(RuleKey.of(input.readUTF(), input.readUTF()));
+    }
+    issue.setLanguage(readString(input));
+    issue.setSeverity(readString(input));
+    issue.setManualSeverity(input.readBoolean());
+    issue.setMessage(readString(input));
+    issue.setLine(readInteger(input));
+    if (input.readBoolean()) {
+      issue.setEffortToFix(input.readDouble());
+    }
+    Long debt = readLong(input);
+    if (debt != null) {
+      issue.setDebt(Duration.create(debt));
+    }
+    String status = readString(input);
+    if (status != null) {
+      issue.setStatus(status);
+    }
+    issue.setResolution(readString(input));
+    issue.setReporter(readString(input));
+    issue.setAssignee(readString(input));
+    issue.setChecksum(readString(input));
+    issue.setAuthorLogin(readString(input));
+    issue.setActionPlanKey(readString(input));
+    issue.setCreationDate(readDate(input));
+    issue.setUpdateDate(readDate(input));
+    issue.setCloseDate(readDate(input));
+    issue.setSelectedAt(readLong(input));
+    issue.setNew(input.readBoolean());
+    issue.setEndOfLife(input.readBoolean());
+    issue.setOnDisabledRule(input.readBoolean());
+    issue.setChanged(input.readBoolean());
+    issue.setSendNotifications(input.readBoolean());
+
+    int nbAttributes = input.readInt();
+    if (nbAttributes > 0) {
+      Map<String, String> attributes = new HashMap<>(nbAttributes);
+      for (int i = 0; i < nbAttributes; i++) {
+        attributes.put(input.readUTF(), readString(input));
+      }
+      issue.setAttributes(attributes);
+    }
+
+    readTags(issue, input);
+    readComments(issue, input);
+    readChanges(issue, input);
+    return issue;
+  }
+
+  private static void writeTags(DefaultIssue issue, DataOutput output) throws IOException {
+    output.writeInt(issue.tags().size());
+    for (String tag : issue.tags()) {
+      output.writeUTF(tag);
+    }
+  }
+
+  private static void readTags(DefaultIssue issue, DataInput input) throws IOException {
+    int nbTags = input.readInt();
+    if (nbTags > 0) {
+      List<String> tags = new ArrayList<>(nbTags);
+      for (int i = 0; i < nbTags; i++) {
+        tags.add(input.readUTF());
+      }
+      issue.setTags(tags);
+    }
+  }
+
+  private static void writeComments(List<IssueComment> comments, DataOutput output) throws IOException {
+    output.writeInt(comments.size());
+    for (IssueComment comment : comments) {
+      writeString(comment.key(), output);
+      writeString(comment.issueKey(), output);
+      writeString(comment.userLogin(), output);
+      writeString(comment.markdownText(), output);
+      writeDate(comment.createdAt(), output);
+      writeDate(comment.updatedAt(), output);
+      output.writeBoolean(((DefaultIssueComment) comment).isNew());
+    }
+  }
+
+  private static void readComments(DefaultIssue issue, DataInput input) throws IOException {
+    int nbComments = input.readInt();
+    for (int i = 0; i < nbComments; i++) {
+      DefaultIssueComment comment = new DefaultIssueComment()
+        .setKey(readString(input))
+        .setIssueKey(readString(input))
+        .setUserLogin(readString(input))
+        .setMarkdownText(readString(input))
+        .setCreatedAt(readDate(input))
+        .setUpdatedAt(readDate(input))
+        .setNew(input.readBoolean());
+      issue.addComment(comment);
+    }
+  }
+
+  private static void writeChanges(DefaultIssue issue, DataOutput output) throws IOException {
+    List<FieldDiffs> changes = issue.changes();
+    output.writeInt(changes.size());
+    for (FieldDiffs change : changes) {
+      writeFieldDiffs(change, output);
+    }
+    FieldDiffs currentChange = issue.currentChange();
+    if (currentChange == null) {
+      output.writeInt(NO_CURRENT_CHANGE);
+    } else {
+      int index = indexOfInstance(changes, currentChange);
+      if (index >= 0) {
+        output.writeInt(index);
+      } else {
+        output.writeInt(DETACHED_CURRENT_CHANGE);
+        writeFieldDiffs(currentChange, output);
+      }
+    }
+  }
+
+  private static void readChanges(DefaultIssue issue, DataInput input) throws IOException {
+    int nbChanges = input.readInt();
+    List<FieldDiffs> changes = new ArrayList<>(nbChanges);
+    for (int i = 0; i < nbChanges; i++) {
+      changes.add(readFieldDiffs(input));
+    }
+    int currentChangeIndex = input.readInt();
+    if (currentChangeIndex == DETACHED_CURRENT_CHANGE) {
+      issue.setCurrentChange(readFieldDiffs(input));
+    } else if (currentChangeIndex != NO_CURRENT_CHANGE) {
+      issue.setCurrentChange(changes.get(currentChangeIndex));
+    }
+    // replaces the changelog, as setCurrentChange() adds the current change to it
+    if (nbChanges > 0 || currentChangeIndex != NO_CURRENT_CHANGE) {
+      issue.setChanges(changes);
+    }
+  }
+
+  private static int indexOfInstance(List<FieldDiffs> changes, FieldDiffs change) {
+    for (int i = changes.size() - 1; i >= 0; i--) {
+      if (changes.get(i) == change) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static void writeFieldDiffs(FieldDiffs diffs, DataOutput output) throws IOException {
+    writeString(diffs.issueKey(), output);
+    writeString(diffs.userLogin(), output);
+    writeDate(diffs.creationDate(), output);
+    output.writeInt(diffs.diffs().size());
+    for (Map.Entry<String, FieldDiffs.Diff> diff : diffs.diffs().entrySet()) {
+      output.writeUTF(diff.getKey());
+      writeDiffValue(diff.getValue().oldValue(), output);
+      writeDiffValue(diff.getValue().newValue(), output);
+    }
+  }
+
+  private static FieldDiffs readFieldDiffs(DataInput input) throws IOException {
+    FieldDiffs diffs = new FieldDiffs()
+      .setIssueKey(readString(input))
+      .setUserLogin(readString(input))
+      .setCreationDate(readDate(input));
+    int nbDiffs = input.readInt();
+    for (int i = 0; i < nbDiffs; i++) {
+      diffs.setDiff(input.readUTF(), readDiffValue(input), readDiffValue(input));
+    }
+    return diffs;
+  }
+
+  private static void writeDiffValue(@Nullable Object value, DataOutput output) throws IOException {
+    if (value == null) {
+      output.writeByte(NULL_VALUE);
+    } else if (value instanceof String) {
+      output.writeByte(STRING_VALUE);
+      writeLongString((String) value, output);
+    } else if (value instanceof Long) {
+      output.writeByte(LONG_VALUE);
+      output.writeLong((Long) value);
+    } else if (value instanceof Integer) {
+      output.writeByte(INTEGER_VALUE);
+      output.writeInt((Integer) value);
+    } else if (value instanceof Double) {
+      output.writeByte(DOUBLE_VALUE);
+      output.writeDouble((Double) value);
+    } else {
+      // unusual types are still supported through Java serialization
+      output.writeByte(SERIALIZED_VALUE);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes)) {
+        objectOutput.writeObject(value);
+      }
+      output.writeInt(bytes.size());
+      output.write(bytes.toByteArray());
+    }
+  }
+
+  @CheckForNull
+  private static Serializable readDiffValue(DataInput input) throws IOException {
+    byte type = input.readByte();
+    switch (type) {
+      case NULL_VALUE:
+        return null;
+      case STRING_VALUE:
+        return readLongString(input);
+      case LONG_VALUE:
+        return input.readLong();
+      case INTEGER_VALUE:
+        return input.readInt();
+      case DOUBLE_VALUE:
+        return input.readDouble();
+      case SERIALIZED_VALUE:
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+          return (Serializable) objectInput.readObject();
+        } catch (ClassNotFoundException e) {
+          throw new IllegalStateException("Fail to deserialize value of issue change", e);
+        }
+      default:
+        throw new IllegalStateException("Unknown type of value of issue change: " + type);
+    }
+  }
+
+  private static void writeString(@Nullable String s, DataOutput output) throws IOException {
+    output.writeBoolean(s != null);
+    if (s != null) {
+      writeLongString(s, output);
+    }
+  }
+
+  @CheckForNull
+  private static String readString(DataInput input) throws IOException {
+    return input.readBoolean() ? readLongString(input) : null;
+  }
+
+  /**
+   * {@link DataOutput#writeUTF(String)} is limited to 64Kb, which can be exceeded by comments
+   * or changelog values.
+   */
+  private static void writeLongString(String s, DataOutput output) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readLongString(DataInput input) throws IOException {
+    byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeInteger(@Nullable Integer i, DataOutput output) throws IOException {
+    output.writeBoolean(i != null);
+    if (i != null) {
+      output.writeInt(i);
+    }
+  }
+
+  @CheckForNull
+  private static Integer readInteger(DataInput input) throws IOException {
+    return input.readBoolean() ? input.readInt() : null;
+  }
+
+  private static void writeLong(@Nullable Long l, DataOutput output) throws IOException {
+    output.writeBoolean(l != null);
+    if (l != null) {
+      output.writeLong(l);
+    }
+  }
+
+  @CheckForNull
+  private static Long readLong(DataInput input) throws IOException {
+    return input.readBoolean() ? input.readLong() : null;
+  }
+
+  private static void writeDate(@Nullable Date date, DataOutput output) throws IOException {
+    writeLong(date == null ? null : date.getTime(), output);
+  }
+
+  @CheckForNull
+  private static Date readDate(DataInput input) throws IOException {
+    Long time = readLong(input);
+    return time == null ? null : new Date(time);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.measure;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.core.measure.db.MeasureDto;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.computation.component.Component;
+import org.sonar.server.computation.component.TreeRootHolder;
+import org.sonar.server.computation.metric.Metric;
+import org.sonar.server.db.DbClient;
+
+/**
+ * In-memory copy of the measures of the last snapshots of the components of the project, so that
+ * base measures are not loaded with one query per component and metric.
+ * <p/>
+ * All the measures of the project are loaded by a single streamed query when the first base measure is
+ * requested. If they are more than {@code maxMeasures}, then measures are loaded module per module
+ * instead: only the measures of the module of the last requested component are kept in memory.
+ * <p/>
+ * Large data (column measure_data) is not kept in memory, it is loaded on demand for the textual metrics which have
+ * no data in column text_value.
+ */
+class BaseMeasures {
+
+  static final int DEFAULT_MAX_MEASURES = 500_000;
+
+  private final DbClient dbClient;
+  private final TreeRootHolder treeRootHolder;
+  private final int maxMeasures;
+
+  // initialized on first call
+  private Map<String, Integer> refsByKey;
+  private Map<Integer, Component> modulesByRef;
+  private boolean loadedByModule = false;
+  private Component loadedModule;
+
+  // measures by metric id, by component ref
+  private final Map<Integer, Map<Integer, MeasureDto>> measuresByRef = new HashMap<>();
+
+  BaseMeasures(DbClient dbClient, TreeRootHolder treeRootHolder, int maxMeasures) {
+    this.dbClient = dbClient;
+    this.treeRootHolder = treeRootHolder;
+    this.maxMeasures = maxMeasures;
+  }
+
+  /**
+   * Whether the component belongs to the tree of the project, in which case {@link #get(Component, Metric)}
+   * can be called.
+   */
+  boolean supports(Component component) {
+    init();
+    Integer ref = refsByKey.get(component.getKey());
+    return ref != null && ref == component.getRef();
+  }
+
+  @CheckForNull
+  MeasureDto get(Component component, Metric metric) {
+    init();
+    if (loadedByModule) {
+      Component module = modulesByRef.get(component.getRef());
+      if (module != loadedModule) {
+        loadModule(module);
+      }
+    }
+    Map<Integer, MeasureDto> measuresByMetricId = measuresByRef.get(component.getRef());
+    MeasureDto measure = measuresByMetricId == null ? null : measuresByMetricId.get(metric.getId());
+    if (measure != null && metric.getType().getValueType() == Measure.ValueType.STRING && measure.getData() == null) {
+      return loadWithLargeData(component, metric);
+    }
+    return measure;
+  }
+
+  @CheckForNull
+  private MeasureDto loadWithLargeData(Component component, Metric metric) {
+    try (DbSession session = dbClient.openSession(false)) {
+      return dbClient.measureDao().findByComponentKeyAndMetricKey(session, component.getKey(), metric.getKey());
+    }
+  }
+
+  private void init() {
+    if (refsByKey != null) {
+      return;
+    }
+    refsByKey = new HashMap<>();
+    modulesByRef = new HashMap<>();
+    Component root = treeRootHolder.getRoot();
+    index(root, root);
+
+    if (!loadProject(root)) {
+      Loggers.get(getClass()).debug("Project has more than {} measures, they are loaded module per module", maxMeasures);
+      loadedByModule = true;
+      measuresByRef.clear();
+    }
+  }
+
+  private void index(Component component, Component module) {
+    refsByKey.put(component.getKey(), component.getRef());
+    modulesByRef.put(component.getRef(), module);
+    for (Component child : component.getChildren()) {
+      index(child, child.getType() == Component.Type.MODULE ? child : module);
+    }
+  }
+
+  /**
+   * @return false if the limit of measures has been reached
+   */
+  private boolean loadProject(Component project) {
+    MeasureLoader loader = new MeasureLoader();
+    try (DbSession session = dbClient.openSession(false)) {
+      dbClient.measureDao().selectLastMeasuresByProjectUuid(session, project.getUuid(), loader);
+    }
+    return !loader.limitReached;
+  }
+
+  private void loadModule(Component module) {
+    measuresByRef.clear();
+    try (DbSession session = dbClient.openSession(false)) {
+      dbClient.measureDao().selectLastMeasuresByModuleUuid(session, module.getUuid(), new MeasureLoader());
+    }
+    loadedModule = module;
+  }
+
+  private class MeasureLoader implements ResultHandler {
+    private int count = 0;
+    private boolean limitReached = false;
+
+    @Override
+    public void handleResult(ResultContext context) {
+      MeasureDto dto = (MeasureDto) context.getResultObject();
+      Integer ref = refsByKey.get(dto.getComponentKey());
+      if (ref == null) {
+        // component has been removed from project
+        return;
+      }
+      Map<Integer, MeasureDto> measuresByMetricId = measuresByRef.get(ref);
+      if (measuresByMetricId == null) {
+        measuresByMetricId = new HashMap<>();
+        measuresByRef.put(ref, measuresByMetricId);
+      }
+      measuresByMetricId.put(dto.getMetricId(), dto);
+      count++;
+      if (!loadedByModule && count > maxMeasures) {
+        limitReached = true;
+        context.stop();
+      }
+    }
+  }
+}
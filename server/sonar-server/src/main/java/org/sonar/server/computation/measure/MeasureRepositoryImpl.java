@@ -19,6 +19,7 @@
  */
 package org.sonar.server.computation.measure;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.SetMultimap;
@@ -35,6 +36,7 @@ import org.sonar.core.persistence.DbSession;
 import org.sonar.core.rule.RuleDto;
 import org.sonar.server.computation.batch.BatchReportReader;
 import org.sonar.server.computation.component.Component;
+import org.sonar.server.computation.component.TreeRootHolder;
 import org.sonar.server.computation.debt.Characteristic;
 import org.sonar.server.computation.issue.RuleCache;
 import org.sonar.server.computation.metric.Metric;
@@ -53,13 +55,21 @@ public class MeasureRepositoryImpl implements MeasureRepository {
   private final MeasureDtoToMeasure measureDtoToMeasure = new MeasureDtoToMeasure();
   private final Set<Integer> loadedComponents = new HashSet<>();
   private final Map<Integer, Map<MeasureKey, Measure>> measures = new HashMap<>();
+  private final BaseMeasures baseMeasures;
 
   public MeasureRepositoryImpl(DbClient dbClient, BatchReportReader reportReader,
-    final MetricRepository metricRepository, final RuleCache ruleCache) {
+    final MetricRepository metricRepository, final RuleCache ruleCache, TreeRootHolder treeRootHolder) {
+    this(dbClient, reportReader, metricRepository, ruleCache, treeRootHolder, BaseMeasures.DEFAULT_MAX_MEASURES);
+  }
+
+  @VisibleForTesting
+  MeasureRepositoryImpl(DbClient dbClient, BatchReportReader reportReader,
+    MetricRepository metricRepository, RuleCache ruleCache, TreeRootHolder treeRootHolder, int maxBaseMeasuresInMemory) {
     this.dbClient = dbClient;
     this.reportReader = reportReader;
     this.batchMeasureToMeasure = new BatchMeasureToMeasure(ruleCache);
     this.metricRepository = metricRepository;
+    this.baseMeasures = new BaseMeasures(dbClient, treeRootHolder, maxBaseMeasuresInMemory);
   }
 
   @Override
@@ -68,6 +78,9 @@ public class MeasureRepositoryImpl implements MeasureRepository {
     requireNonNull(component);
     requireNonNull(metric);
 
+    if (baseMeasures.supports(component)) {
+      return measureDtoToMeasure.toMeasure(baseMeasures.get(component, metric), metric);
+    }
     try (DbSession dbSession = dbClient.openSession(false)) {
       MeasureDto measureDto = dbClient.measureDao().findByComponentKeyAndMetricKey(dbSession, component.getKey(), metric.getKey());
       return measureDtoToMeasure.toMeasure(measureDto, metric);
@@ -20,9 +20,14 @@
 package org.sonar.server.computation.step;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.CheckForNull;
 import org.sonar.server.computation.container.ComputeEngineContainer;
 
 /**
@@ -36,8 +41,8 @@ public class ComputationSteps {
    */
   public List<Class<? extends ComputationStep>> orderedStepClasses() {
     return Arrays.asList(
-      // extract report to a temp directory
-      ReportExtractionStep.class,
+      // open zipped report, its entries are not extracted to disk
+      OpenReportStep.class,
 
       // Builds Component tree
       BuildComponentTreeStep.class,
@@ -90,11 +95,33 @@ public class ComputationSteps {
       IndexIssuesStep.class,
       IndexSourceLinesStep.class,
       IndexTestsStep.class,
+      IndexMeasuresStep.class,
 
       // notifications are sent at the end, so that webapp displays up-to-date information
       SendIssueNotificationsStep.class);
   }
 
+  /**
+   * Steps which do not consume what the other steps of the same group produce, and which write
+   * to distinct tables or indices. Consecutive steps of {@link #orderedStepClasses()} that belong
+   * to the same group can be executed concurrently.
+   */
+  private static final Map<Class<? extends ComputationStep>, String> CONCURRENT_GROUPS = ImmutableMap.<Class<? extends ComputationStep>, String>builder()
+    // all of them only read TreeRootHolder, DbIdsRepository, IssueCache or the report.
+    // PersistTestsStep is not part of the group as it writes FILE_SOURCES too.
+    .put(PersistIssuesStep.class, "persist")
+    .put(PersistProjectLinksStep.class, "persist")
+    .put(PersistEventsStep.class, "persist")
+    .put(PersistDuplicationsStep.class, "persist")
+    .put(PersistFileSourcesStep.class, "persist")
+
+    // each of them feeds its own index from already persisted data
+    .put(IndexIssuesStep.class, "index")
+    .put(IndexSourceLinesStep.class, "index")
+    .put(IndexTestsStep.class, "index")
+    .put(IndexMeasuresStep.class, "index")
+    .build();
+
   private final ComputeEngineContainer computeEngineContainer;
 
   public ComputationSteps(ComputeEngineContainer computeEngineContainer) {
@@ -114,4 +141,33 @@ public class ComputationSteps {
     });
   }
 
+  /**
+   * Steps grouped by stages, ordered by execution sequence. The steps of a stage can be executed
+   * concurrently, a stage must be fully executed before starting the next one.
+   */
+  public List<List<ComputationStep>> stages() {
+    List<List<ComputationStep>> stages = new ArrayList<>();
+    List<ComputationStep> currentStage = null;
+    String currentGroup = null;
+    for (ComputationStep step : instances()) {
+      String group = groupOf(step);
+      if (currentStage == null || group == null || !Objects.equals(group, currentGroup)) {
+        currentStage = new ArrayList<>();
+        stages.add(currentStage);
+      }
+      currentStage.add(step);
+      currentGroup = group;
+    }
+    return stages;
+  }
+
+  @CheckForNull
+  private static String groupOf(ComputationStep step) {
+    for (Map.Entry<Class<? extends ComputationStep>, String> entry : CONCURRENT_GROUPS.entrySet()) {
+      if (entry.getKey().isInstance(step)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
 }
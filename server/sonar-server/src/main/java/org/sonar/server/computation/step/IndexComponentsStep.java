@@ -21,19 +21,24 @@
 package org.sonar.server.computation.step;
 
 import org.sonar.core.resource.ResourceIndexerDao;
+import org.sonar.server.component.index.ComponentIndexer;
+import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DbIdsRepository;
 import org.sonar.server.computation.component.TreeRootHolder;
 
 /**
- * Components are currently indexed in db table RESOURCE_INDEX, not in Elasticsearch
+ * Components are indexed in Elasticsearch for search. They are still indexed in db table RESOURCE_INDEX
+ * as long as measure filters and quality gate associations rely on it.
  */
 public class IndexComponentsStep implements ComputationStep {
 
+  private final ComponentIndexer componentIndexer;
   private final ResourceIndexerDao resourceIndexerDao;
   private final DbIdsRepository dbIdsRepository;
   private final TreeRootHolder treeRootHolder;
 
-  public IndexComponentsStep(ResourceIndexerDao resourceIndexerDao, DbIdsRepository dbIdsRepository, TreeRootHolder treeRootHolder) {
+  public IndexComponentsStep(ComponentIndexer componentIndexer, ResourceIndexerDao resourceIndexerDao, DbIdsRepository dbIdsRepository, TreeRootHolder treeRootHolder) {
+    this.componentIndexer = componentIndexer;
     this.resourceIndexerDao = resourceIndexerDao;
     this.dbIdsRepository = dbIdsRepository;
     this.treeRootHolder = treeRootHolder;
@@ -41,7 +46,9 @@ public class IndexComponentsStep implements ComputationStep {
 
   @Override
   public void execute() {
-    resourceIndexerDao.indexProject(dbIdsRepository.getComponentId(treeRootHolder.getRoot()));
+    Component root = treeRootHolder.getRoot();
+    componentIndexer.index(root.getUuid());
+    resourceIndexerDao.indexProject(dbIdsRepository.getComponentId(root));
   }
 
   @Override
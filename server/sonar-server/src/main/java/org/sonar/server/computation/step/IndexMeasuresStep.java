@@ -17,26 +17,29 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
+package org.sonar.server.computation.step;
 
-import java.io.File;
-import org.junit.Test;
+import org.sonar.server.computation.component.TreeRootHolder;
+import org.sonar.server.measure.index.MeasureIndexer;
 
-import static org.assertj.core.api.Assertions.assertThat;
+public class IndexMeasuresStep implements ComputationStep {
 
-public class BatchReportDirectoryHolderImplTest {
+  private final MeasureIndexer indexer;
+  private final TreeRootHolder treeRootHolder;
 
-  @Test(expected = IllegalStateException.class)
-  public void getDirectory_throws_ISE_if_holder_is_empty() {
-    new BatchReportDirectoryHolderImpl().getDirectory();
+  public IndexMeasuresStep(MeasureIndexer indexer, TreeRootHolder treeRootHolder) {
+    this.indexer = indexer;
+    this.treeRootHolder = treeRootHolder;
   }
 
-  @Test
-  public void getDirectory_returns_File_set_with_setDirectory() {
-    File file = new File("");
-    BatchReportDirectoryHolderImpl holder = new BatchReportDirectoryHolderImpl();
-    holder.setDirectory(file);
+  @Override
+  public void execute() {
+    indexer.index(treeRootHolder.getRoot().getUuid());
+  }
 
-    assertThat(holder.getDirectory()).isSameAs(file);
+  @Override
+  public String getDescription() {
+    return "Index measures";
   }
+
 }
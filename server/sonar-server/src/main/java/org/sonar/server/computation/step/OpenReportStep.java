@@ -17,56 +17,52 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
+
 package org.sonar.server.computation.step;
 
-import java.io.File;
 import java.io.IOException;
+import java.util.zip.ZipFile;
 import org.apache.commons.io.FileUtils;
-import org.sonar.api.utils.TempFolder;
-import org.sonar.api.utils.ZipUtils;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.api.utils.log.Profiler;
 import org.sonar.server.computation.ReportQueue;
-import org.sonar.server.computation.batch.MutableBatchReportDirectoryHolder;
+import org.sonar.server.computation.batch.MutableBatchReportZipHolder;
 
 /**
- * Extracts the content zip file of the {@link ReportQueue.Item} to a temp directory and adds a {@link File}
- * representing that temp directory to the {@link MutableBatchReportDirectoryHolder}.
+ * Opens the zip file of the {@link ReportQueue.Item} and adds it to the {@link MutableBatchReportZipHolder}.
+ * Entries are not extracted to disk, they are decompressed on demand when the report is read.
  */
-public class ReportExtractionStep implements ComputationStep {
-  private static final Logger LOG = Loggers.get(ReportExtractionStep.class);
+public class OpenReportStep implements ComputationStep {
+  private static final Logger LOG = Loggers.get(OpenReportStep.class);
 
   private final ReportQueue.Item item;
-  private final TempFolder tempFolder;
-  private final MutableBatchReportDirectoryHolder reportDirectoryHolder;
+  private final MutableBatchReportZipHolder reportZipHolder;
 
-  public ReportExtractionStep(ReportQueue.Item item, TempFolder tempFolder, MutableBatchReportDirectoryHolder reportDirectoryHolder) {
+  public OpenReportStep(ReportQueue.Item item, MutableBatchReportZipHolder reportZipHolder) {
     this.item = item;
-    this.tempFolder = tempFolder;
-    this.reportDirectoryHolder = reportDirectoryHolder;
+    this.reportZipHolder = reportZipHolder;
   }
 
   @Override
   public void execute() {
-    File dir = tempFolder.newDir();
     try {
       Profiler profiler = Profiler.createIfDebug(LOG).start();
-      ZipUtils.unzip(item.zipFile, dir);
+      ZipFile zipFile = new ZipFile(item.zipFile);
       if (profiler.isDebugEnabled()) {
-        String message = String.format("Report extracted | size=%s | project=%s",
-            FileUtils.byteCountToDisplaySize(FileUtils.sizeOf(dir)), item.dto.getProjectKey());
+        String message = String.format("Report opened | size=%s | entries=%d | project=%s",
+          FileUtils.byteCountToDisplaySize(FileUtils.sizeOf(item.zipFile)), zipFile.size(), item.dto.getProjectKey());
         profiler.stopDebug(message);
       }
-      reportDirectoryHolder.setDirectory(dir);
+      reportZipHolder.setZipFile(zipFile);
     } catch (IOException e) {
-      throw new IllegalStateException(String.format("Fail to unzip %s into %s", item.zipFile, dir), e);
+      throw new IllegalStateException(String.format("Fail to open zip %s", item.zipFile.getAbsolutePath()), e);
     }
   }
 
   @Override
   public String getDescription() {
-    return "Extracting batch report to temp directory";
+    return "Open batch report";
   }
 
 }
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
@@ -105,12 +106,17 @@ public class PersistFileSourcesStep implements ComputationStep {
     public void visitFile(Component file) {
       int fileRef = file.getRef();
       BatchReport.Component component = reportReader.readComponent(fileRef);
+      String reportDataHash = component.hasSourceDataHash() ? component.getSourceDataHash() : null;
+      if (isUnchanged(reportDataHash, previousFileSourcesByUuid.get(file.getUuid()))) {
+        // data of the file is the same as in previous analysis, there's no need to read it from report
+        return;
+      }
       CloseableIterator<String> linesIterator = reportReader.readFileSource(fileRef);
       LineReaders lineReaders = new LineReaders(reportReader, fileRef);
       try {
         ComputeFileSourceData computeFileSourceData = new ComputeFileSourceData(linesIterator, lineReaders.readers(), component.getLines());
         ComputeFileSourceData.Data fileSourceData = computeFileSourceData.compute();
-        persistSource(fileSourceData, file.getUuid());
+        persistSource(fileSourceData, file.getUuid(), reportDataHash);
       } catch (Exception e) {
         throw new IllegalStateException(String.format("Cannot persist sources of %s", file.getKey()), e);
       } finally {
@@ -119,11 +125,12 @@ public class PersistFileSourcesStep implements ComputationStep {
       }
     }
 
-    private void persistSource(ComputeFileSourceData.Data fileSourceData, String componentUuid) {
+    private void persistSource(ComputeFileSourceData.Data fileSourceData, String componentUuid, @Nullable String reportDataHash) {
       FileSourceDb.Data fileData = fileSourceData.getFileSourceData();
 
       byte[] data = FileSourceDto.encodeSourceData(fileData);
-      String dataHash = DigestUtils.md5Hex(data);
+      // Hash of report data is stored when available, so that the file can be skipped next time its data does not change
+      String dataHash = reportDataHash != null ? reportDataHash : DigestUtils.md5Hex(data);
       String srcHash = fileSourceData.getSrcHash();
       String lineHashes = fileSourceData.getLineHashes();
       FileSourceDto previousDto = previousFileSourcesByUuid.get(componentUuid);
@@ -162,6 +169,14 @@ public class PersistFileSourcesStep implements ComputationStep {
     }
   }
 
+  /**
+   * A file is skipped only when the report provides the hash of its data, and when this hash has been
+   * stored during previous analysis. Missing src_hash still requires an update (progressive migration).
+   */
+  private static boolean isUnchanged(@Nullable String reportDataHash, @Nullable FileSourceDto previousDto) {
+    return reportDataHash != null && previousDto != null && previousDto.getSrcHash() != null && reportDataHash.equals(previousDto.getDataHash());
+  }
+
   private static class LineReaders {
     private final List<LineReader> readers = new ArrayList<>();
     private final List<CloseableIterator<?>> iterators = new ArrayList<>();
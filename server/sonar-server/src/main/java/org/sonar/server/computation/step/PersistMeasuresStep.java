@@ -21,15 +21,16 @@
 package org.sonar.server.computation.step;
 
 import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import javax.annotation.Nonnull;
+import org.sonar.api.config.Settings;
 import org.sonar.api.measures.CoreMetrics;
-import org.sonar.core.measure.db.MeasureDto;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.api.utils.log.Profiler;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DbIdsRepository;
@@ -42,26 +43,35 @@ import org.sonar.server.computation.measure.MeasureToMeasureDto;
 import org.sonar.server.computation.metric.Metric;
 import org.sonar.server.computation.metric.MetricRepository;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.measure.persistence.MeasureBulkInserter;
 
-import static com.google.common.collect.FluentIterable.from;
 import static org.sonar.server.computation.component.DepthTraversalTypeAwareVisitor.Order.PRE_ORDER;
 
 public class PersistMeasuresStep implements ComputationStep {
 
+  /**
+   * Number of rows sent at once to the table project_measures
+   */
+  public static final String BATCH_SIZE_PROPERTY = "sonar.ce.measuresBatchSize";
+
+  private static final Logger LOG = Loggers.get(PersistMeasuresStep.class);
+
   /**
    * List of metrics that should not be received from the report, as they should only by fed by the compute engine
    */
   private static final List<String> FORBIDDEN_METRIC_KEYS = ImmutableList.of(CoreMetrics.DUPLICATIONS_DATA_KEY);
 
   private final DbClient dbClient;
+  private final Settings settings;
   private final MetricRepository metricRepository;
   private final DbIdsRepository dbIdsRepository;
   private final TreeRootHolder treeRootHolder;
   private final MeasureRepository measureRepository;
 
-  public PersistMeasuresStep(DbClient dbClient, MetricRepository metricRepository, DbIdsRepository dbIdsRepository,
+  public PersistMeasuresStep(DbClient dbClient, Settings settings, MetricRepository metricRepository, DbIdsRepository dbIdsRepository,
     TreeRootHolder treeRootHolder, MeasureRepository measureRepository) {
     this.dbClient = dbClient;
+    this.settings = settings;
     this.metricRepository = metricRepository;
     this.dbIdsRepository = dbIdsRepository;
     this.treeRootHolder = treeRootHolder;
@@ -75,26 +85,51 @@ public class PersistMeasuresStep implements ComputationStep {
 
   @Override
   public void execute() {
+    Profiler profiler = Profiler.createIfDebug(LOG).start();
+    long start = System.currentTimeMillis();
     DbSession dbSession = dbClient.openSession(true);
     try {
-      new MeasureVisitor(dbSession).visit(treeRootHolder.getRoot());
+      MeasureBulkInserter inserter = new MeasureBulkInserter(dbClient.measureDao(), dbSession, dbClient.database().getDialect(), batchSize(settings));
+      new MeasureVisitor(inserter).visit(treeRootHolder.getRoot());
+      inserter.flush();
       dbSession.commit();
+
+      long rows = inserter.getCount();
+      long durationMs = Math.max(1L, System.currentTimeMillis() - start);
+      profiler
+        .addContext("rows", rows)
+        .addContext("rowsPerSecond", rows * 1000L / durationMs)
+        .stopDebug("Measures persisted");
     } finally {
       dbSession.close();
     }
   }
 
+  static int batchSize(Settings settings) {
+    int size = settings.getInt(BATCH_SIZE_PROPERTY);
+    if (size < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", BATCH_SIZE_PROPERTY, size));
+    }
+    if (size == 0) {
+      size = MeasureBulkInserter.DEFAULT_BATCH_SIZE;
+    }
+    return size;
+  }
+
   private class MeasureVisitor extends DepthTraversalTypeAwareVisitor {
-    private final DbSession session;
+    private final MeasureBulkInserter inserter;
 
-    private MeasureVisitor(DbSession session) {
+    private MeasureVisitor(MeasureBulkInserter inserter) {
       super(Component.Type.FILE, PRE_ORDER);
-      this.session = session;
+      this.inserter = inserter;
     }
 
     @Override
     public void visitAny(Component component) {
       Multimap<String, Measure> measures = measureRepository.getRawMeasures(component);
+      if (measures.isEmpty()) {
+        return;
+      }
       long componentId = dbIdsRepository.getComponentId(component);
       long snapshotId = dbIdsRepository.getSnapshotId(component);
 
@@ -109,23 +144,19 @@ public class PersistMeasuresStep implements ComputationStep {
         }
 
         Metric metric = metricRepository.getByKey(metricKey);
-        Predicate<Measure> notBestValueOptimized = Predicates.not(BestValueOptimization.from(metric, component));
-        for (Measure measure : from(measures.getValue()).filter(NonEmptyMeasure.INSTANCE).filter(notBestValueOptimized)) {
-          MeasureDto measureDto = MeasureToMeasureDto.INSTANCE.toMeasureDto(measure, metric, componentId, snapshotId);
-          dbClient.measureDao().insert(session, measureDto);
+        Predicate<Measure> bestValueOptimization = BestValueOptimization.from(metric, component);
+        for (Measure measure : measures.getValue()) {
+          if (isNotEmpty(measure) && !bestValueOptimization.apply(measure)) {
+            inserter.insert(MeasureToMeasureDto.INSTANCE.toMeasureDto(measure, metric, componentId, snapshotId));
+          }
         }
       }
     }
 
   }
 
-  private enum NonEmptyMeasure implements Predicate<Measure> {
-    INSTANCE;
-
-    @Override
-    public boolean apply(@Nonnull Measure input) {
-      return input.getValueType() != Measure.ValueType.NO_VALUE || input.hasVariations() || input.getData() != null;
-    }
+  private static boolean isNotEmpty(Measure measure) {
+    return measure.getValueType() != Measure.ValueType.NO_VALUE || measure.hasVariations() || measure.getData() != null;
   }
 
 }
@@ -121,6 +121,15 @@ public class PersistTestsStep implements ComputationStep {
     }
 
     private void persistTestResults(Component component) {
+      String componentUuid = getUuid(component.getRef());
+      FileSourceDto existingDto = existingFileSourcesByUuid.get(componentUuid);
+      BatchReport.Component batchComponent = reportReader.readComponent(component.getRef());
+      String reportDataHash = batchComponent.hasTestDataHash() ? batchComponent.getTestDataHash() : null;
+      if (reportDataHash != null && existingDto != null && reportDataHash.equals(existingDto.getDataHash())) {
+        // tests and coverage details did not change since previous analysis
+        return;
+      }
+
       Multimap<String, FileSourceDb.Test.Builder> testsByName = buildDbTests(component.getRef());
       Table<String, String, FileSourceDb.Test.CoveredFile.Builder> coveredFilesByName = loadCoverageDetails(component.getRef());
       List<FileSourceDb.Test> tests = addCoveredFilesToTests(testsByName, coveredFilesByName);
@@ -132,19 +141,19 @@ public class PersistTestsStep implements ComputationStep {
         return;
       }
 
-      String componentUuid = getUuid(component.getRef());
-      FileSourceDto existingDto = existingFileSourcesByUuid.get(componentUuid);
       long now = system.now();
       if (existingDto != null) {
         // update
         existingDto
           .setTestData(tests)
+          .setDataHash(reportDataHash)
           .setUpdatedAt(now);
         dbClient.fileSourceDao().update(session, existingDto);
       } else {
         // insert
         FileSourceDto newDto = new FileSourceDto()
           .setTestData(tests)
+          .setDataHash(reportDataHash)
           .setFileUuid(componentUuid)
           .setProjectUuid(projectUuid)
           .setDataType(Type.TEST)
@@ -28,11 +28,14 @@ import org.sonar.server.util.ProgressLogger;
 
 public class MassUpdate {
 
+  static final long DEFAULT_CHUNK_SIZE = 10_000L;
+
   public static interface Handler {
     /**
      * Convert some column values of a given row.
      *
      * @return true if the row must be updated, else false. If false, then the update parameter must not be touched.
+     * When the mass update is partitioned, the handler is called concurrently by the workers, so it must be thread-safe.
      */
     boolean handle(Select.Row row, SqlStatement update) throws SQLException;
   }
@@ -45,18 +48,73 @@ public class MassUpdate {
   private Select select;
   private Upsert update;
 
+  // see partitionById(String, int)
+  private String partitionedTable;
+  private int workers;
+  private long chunkSize = DEFAULT_CHUNK_SIZE;
+  private String selectSql, updateSql;
+  private RecordedParameters selectParameters;
+  private String checkpointKey;
+
   MassUpdate(Database db, Connection readConnection, Connection writeConnection) {
     this.db = db;
     this.readConnection = readConnection;
     this.writeConnection = writeConnection;
   }
 
+  /**
+   * Splits the rows of the table into ranges of ids which are processed concurrently by {@code workers} workers.
+   * Each worker has its own connections and commits after each range. Must be called before
+   * {@link #select(String)} and {@link #update(String)}.
+   * <p/>
+   * The two last parameters of the SELECT request must be the lower (inclusive) and upper (exclusive)
+   * bounds of the range, for example "SELECT i.id, i.created_at FROM issues i WHERE i.created_at_ms IS NULL AND i.id&gt;=? AND i.id&lt;?".
+   * They are set by the workers, the other parameters are set as usual on the statement returned by {@link #select(String)}.
+   */
+  public MassUpdate partitionById(String table, int workers) {
+    if (select != null || update != null || selectSql != null || updateSql != null) {
+      throw new IllegalStateException("Partitioning must be defined before SELECT and UPDATE requests");
+    }
+    if (workers < 1) {
+      throw new IllegalArgumentException("Number of workers must be positive: " + workers);
+    }
+    this.partitionedTable = table;
+    this.workers = workers;
+    return this;
+  }
+
+  MassUpdate setChunkSize(long chunkSize) {
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * Records the progress of a partitioned mass update, so that it restarts from the last processed range
+   * if it has been interrupted. The rows of the ranges processed after this checkpoint are processed again, so the
+   * handler must support rows which are already converted.
+   *
+   * @param key unique key of the migration, for example its class name
+   */
+  public MassUpdate checkpoint(String key) {
+    this.checkpointKey = key;
+    return this;
+  }
+
   public SqlStatement select(String sql) throws SQLException {
+    if (partitionedTable != null) {
+      this.selectSql = sql;
+      this.selectParameters = new RecordedParameters();
+      return this.selectParameters;
+    }
     this.select = SelectImpl.create(db, readConnection, sql);
     return this.select;
   }
 
   public MassUpdate update(String sql) throws SQLException {
+    if (partitionedTable != null) {
+      this.updateSql = sql;
+      return this;
+    }
     this.update = UpsertImpl.create(writeConnection, sql);
     return this;
   }
@@ -67,6 +125,13 @@ public class MassUpdate {
   }
 
   public void execute(final Handler handler) throws SQLException {
+    if (partitionedTable != null) {
+      executePartitioned(handler);
+      return;
+    }
+    if (checkpointKey != null) {
+      throw new IllegalStateException("Checkpoint requires the mass update to be partitioned");
+    }
     if (select == null || update == null) {
       throw new IllegalStateException("SELECT or UPDATE requests are not defined");
     }
@@ -94,4 +159,22 @@ public class MassUpdate {
     }
   }
 
+  private void executePartitioned(Handler handler) throws SQLException {
+    if (selectSql == null || updateSql == null) {
+      throw new IllegalStateException("SELECT or UPDATE requests are not defined");
+    }
+    MassUpdateCheckpoint checkpoint = checkpointKey == null ? null : new MassUpdateCheckpoint(writeConnection, checkpointKey);
+
+    progress.start();
+    try {
+      new PartitionedMassUpdate(db, readConnection, partitionedTable, workers, chunkSize,
+        selectSql, selectParameters, updateSql, checkpoint, counter).execute(handler);
+
+      // log the total number of processed rows
+      progress.log();
+    } finally {
+      progress.stop();
+    }
+  }
+
 }
@@ -0,0 +1,91 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.db.migrations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.annotation.CheckForNull;
+
+import org.apache.commons.dbutils.DbUtils;
+
+/**
+ * Progress of a partitioned {@link MassUpdate}, stored in table PROPERTIES so that it survives
+ * a restart of the server. The stored value is the id below which all the rows have been processed.
+ */
+class MassUpdateCheckpoint {
+
+  static final String PROPERTY_PREFIX = "sonar.internal.migration.checkpoint.";
+
+  private final Connection connection;
+  private final String propertyKey;
+
+  MassUpdateCheckpoint(Connection connection, String key) {
+    this.connection = connection;
+    this.propertyKey = PROPERTY_PREFIX + key;
+  }
+
+  @CheckForNull
+  Long load() throws SQLException {
+    PreparedStatement pstmt = connection.prepareStatement("SELECT text_value FROM properties WHERE prop_key=? AND resource_id IS NULL AND user_id IS NULL");
+    ResultSet rs = null;
+    try {
+      pstmt.setString(1, propertyKey);
+      rs = pstmt.executeQuery();
+      if (rs.next()) {
+        return Long.parseLong(rs.getString(1));
+      }
+      return null;
+    } finally {
+      DbUtils.closeQuietly(rs);
+      DbUtils.closeQuietly(pstmt);
+    }
+  }
+
+  void save(long id) throws SQLException {
+    deleteProperty();
+    PreparedStatement pstmt = connection.prepareStatement("INSERT INTO properties (prop_key, text_value) VALUES (?, ?)");
+    try {
+      pstmt.setString(1, propertyKey);
+      pstmt.setString(2, String.valueOf(id));
+      pstmt.executeUpdate();
+    } finally {
+      DbUtils.closeQuietly(pstmt);
+    }
+    connection.commit();
+  }
+
+  void delete() throws SQLException {
+    deleteProperty();
+    connection.commit();
+  }
+
+  private void deleteProperty() throws SQLException {
+    PreparedStatement pstmt = connection.prepareStatement("DELETE FROM properties WHERE prop_key=? AND resource_id IS NULL AND user_id IS NULL");
+    try {
+      pstmt.setString(1, propertyKey);
+      pstmt.executeUpdate();
+    } finally {
+      DbUtils.closeQuietly(pstmt);
+    }
+  }
+}
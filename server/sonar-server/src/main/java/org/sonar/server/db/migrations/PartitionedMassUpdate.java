@@ -0,0 +1,233 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.db.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.dbutils.DbUtils;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.core.persistence.Database;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Execution of a {@link MassUpdate} split into chunks of ids. Chunks are processed by workers,
+ * each of them having its own read and write connections and committing at the end of every chunk.
+ * When a checkpoint is defined, the id below which all chunks are processed is saved after each commit,
+ * so that an interrupted execution restarts from there.
+ */
+class PartitionedMassUpdate {
+
+  private static final Logger LOG = Loggers.get(PartitionedMassUpdate.class);
+
+  private final Database db;
+  private final Connection connection;
+  private final String table;
+  private final int workers;
+  private final long chunkSize;
+  private final String selectSql;
+  private final RecordedParameters selectParameters;
+  private final String updateSql;
+  private final MassUpdateCheckpoint checkpoint;
+  private final AtomicLong counter;
+
+  private final AtomicBoolean failed = new AtomicBoolean(false);
+  private final SortedSet<Long> completedChunks = new TreeSet<>();
+  private AtomicLong nextChunk;
+  private long maxId;
+  // all the rows with lower ids are processed
+  private long watermark;
+
+  PartitionedMassUpdate(Database db, Connection connection, String table, int workers, long chunkSize,
+    String selectSql, RecordedParameters selectParameters, String updateSql,
+    @Nullable MassUpdateCheckpoint checkpoint, AtomicLong counter) {
+    this.db = db;
+    this.connection = connection;
+    this.table = table;
+    this.workers = workers;
+    this.chunkSize = chunkSize;
+    this.selectSql = selectSql;
+    this.selectParameters = selectParameters;
+    this.updateSql = updateSql;
+    this.checkpoint = checkpoint;
+    this.counter = counter;
+  }
+
+  void execute(MassUpdate.Handler handler) throws SQLException {
+    long[] range = selectIdRange();
+    if (range != null) {
+      long minId = range[0];
+      Long resumeId = checkpoint == null ? null : checkpoint.load();
+      if (resumeId != null && resumeId > minId) {
+        LOG.info(String.format("Resume update of table %s from id %d", table, resumeId));
+        minId = resumeId;
+      }
+      this.maxId = range[1];
+      this.watermark = minId;
+      this.nextChunk = new AtomicLong(minId);
+      executeWorkers(handler);
+    }
+    if (checkpoint != null) {
+      checkpoint.delete();
+    }
+  }
+
+  @CheckForNull
+  private long[] selectIdRange() throws SQLException {
+    return SelectImpl.create(db, connection, "SELECT MIN(id), MAX(id) FROM " + table).get(new Select.RowReader<long[]>() {
+      @Override
+      public long[] read(Select.Row row) throws SQLException {
+        Long min = row.getNullableLong(1);
+        return min == null ? null : new long[] {min, row.getLong(2)};
+      }
+    });
+  }
+
+  private void executeWorkers(final MassUpdate.Handler handler) throws SQLException {
+    ExecutorService executor = Executors.newFixedThreadPool(workers,
+      new ThreadFactoryBuilder().setNameFormat("MassUpdate-" + table + "-%d").setDaemon(true).build());
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < workers; i++) {
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            work(handler);
+            return null;
+          }
+        }));
+      }
+      Throwable failure = null;
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+        }
+      }
+      if (failure != null) {
+        throwUnchecked(failure);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during update of table " + table, e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void throwUnchecked(Throwable failure) throws SQLException {
+    if (failure instanceof SQLException) {
+      throw (SQLException) failure;
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    throw new IllegalStateException(failure);
+  }
+
+  private void work(MassUpdate.Handler handler) throws SQLException {
+    Connection readConnection = null;
+    Connection writeConnection = null;
+    try {
+      readConnection = openConnection();
+      writeConnection = openConnection();
+      long chunkStart = nextChunk.getAndAdd(chunkSize);
+      while (!failed.get() && chunkStart <= maxId) {
+        executeChunk(readConnection, writeConnection, chunkStart, handler);
+        markAsCompleted(chunkStart);
+        chunkStart = nextChunk.getAndAdd(chunkSize);
+      }
+    } catch (SQLException | RuntimeException e) {
+      failed.set(true);
+      throw e;
+    } finally {
+      DbUtils.closeQuietly(readConnection);
+      DbUtils.closeQuietly(writeConnection);
+    }
+  }
+
+  private void executeChunk(Connection readConnection, Connection writeConnection, long chunkStart, final MassUpdate.Handler handler) throws SQLException {
+    SelectImpl select = SelectImpl.create(db, readConnection, selectSql);
+    selectParameters.applyTo(select);
+    int index = selectParameters.getMaxIndex();
+    select.setLong(index + 1, chunkStart).setLong(index + 2, chunkStart + chunkSize);
+
+    final UpsertImpl update = UpsertImpl.create(writeConnection, updateSql);
+    try {
+      select.scroll(new Select.RowHandler() {
+        @Override
+        public void handle(Select.Row row) throws SQLException {
+          if (handler.handle(row, update)) {
+            update.addBatch();
+          }
+          counter.getAndIncrement();
+        }
+      });
+      if (update.getBatchCount() > 0L) {
+        update.execute();
+      }
+      update.commit();
+    } finally {
+      update.close();
+    }
+  }
+
+  private synchronized void markAsCompleted(long chunkStart) throws SQLException {
+    completedChunks.add(chunkStart);
+    long previousWatermark = watermark;
+    while (completedChunks.remove(watermark)) {
+      watermark += chunkSize;
+    }
+    if (checkpoint != null && watermark > previousWatermark) {
+      checkpoint.save(watermark);
+    }
+  }
+
+  private Connection openConnection() throws SQLException {
+    Connection c = db.getDataSource().getConnection();
+    c.setAutoCommit(false);
+    if (c.getMetaData().supportsTransactionIsolationLevel(Connection.TRANSACTION_READ_UNCOMMITTED)) {
+      c.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
+    }
+    return c;
+  }
+}
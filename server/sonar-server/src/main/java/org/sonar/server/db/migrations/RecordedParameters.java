@@ -0,0 +1,127 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.db.migrations;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Records the parameters of a statement so that they can be applied later to the statements
+ * prepared by the workers of a partitioned {@link MassUpdate}.
+ */
+class RecordedParameters implements SqlStatement<RecordedParameters> {
+
+  private final List<Parameter> parameters = new ArrayList<>();
+  private int maxIndex = 0;
+
+  @Override
+  public RecordedParameters setBoolean(int columnIndex, @Nullable Boolean value) {
+    return record(columnIndex, Boolean.class, value);
+  }
+
+  @Override
+  public RecordedParameters setDate(int columnIndex, @Nullable Date value) {
+    return record(columnIndex, Date.class, value);
+  }
+
+  @Override
+  public RecordedParameters setDouble(int columnIndex, @Nullable Double value) {
+    return record(columnIndex, Double.class, value);
+  }
+
+  @Override
+  public RecordedParameters setInt(int columnIndex, @Nullable Integer value) {
+    return record(columnIndex, Integer.class, value);
+  }
+
+  @Override
+  public RecordedParameters setLong(int columnIndex, @Nullable Long value) {
+    return record(columnIndex, Long.class, value);
+  }
+
+  @Override
+  public RecordedParameters setString(int columnIndex, @Nullable String value) {
+    return record(columnIndex, String.class, value);
+  }
+
+  @Override
+  public RecordedParameters setBytes(int columnIndex, @Nullable byte[] data) {
+    return record(columnIndex, byte[].class, data);
+  }
+
+  @Override
+  public RecordedParameters close() {
+    // nothing to close
+    return this;
+  }
+
+  /**
+   * Highest index of the recorded parameters, 0 if no parameters have been recorded.
+   */
+  int getMaxIndex() {
+    return maxIndex;
+  }
+
+  void applyTo(SqlStatement statement) throws SQLException {
+    for (Parameter parameter : parameters) {
+      parameter.applyTo(statement);
+    }
+  }
+
+  private RecordedParameters record(int columnIndex, Class type, @Nullable Object value) {
+    parameters.add(new Parameter(columnIndex, type, value));
+    maxIndex = Math.max(maxIndex, columnIndex);
+    return this;
+  }
+
+  private static class Parameter {
+    private final int index;
+    private final Class type;
+    private final Object value;
+
+    private Parameter(int index, Class type, @Nullable Object value) {
+      this.index = index;
+      this.type = type;
+      this.value = value;
+    }
+
+    private void applyTo(SqlStatement statement) throws SQLException {
+      if (type == Boolean.class) {
+        statement.setBoolean(index, (Boolean) value);
+      } else if (type == Date.class) {
+        statement.setDate(index, (Date) value);
+      } else if (type == Double.class) {
+        statement.setDouble(index, (Double) value);
+      } else if (type == Integer.class) {
+        statement.setInt(index, (Integer) value);
+      } else if (type == Long.class) {
+        statement.setLong(index, (Long) value);
+      } else if (type == String.class) {
+        statement.setString(index, (String) value);
+      } else {
+        statement.setBytes(index, (byte[]) value);
+      }
+    }
+  }
+}
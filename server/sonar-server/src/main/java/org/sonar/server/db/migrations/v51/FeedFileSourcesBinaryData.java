@@ -45,14 +45,19 @@ import com.google.common.collect.Iterables;
 
 public class FeedFileSourcesBinaryData extends BaseDataChange {
 
+  // conversion of CSV to protobuf is CPU-bound, rows are converted concurrently
+  private static final int WORKERS = 4;
+
   public FeedFileSourcesBinaryData(Database db) {
     super(db);
   }
 
   @Override
   public void execute(Context context) throws SQLException {
-    MassUpdate update = context.prepareMassUpdate().rowPluralName("issues");
-    update.select("SELECT id,data FROM file_sources WHERE binary_data is null");
+    MassUpdate update = context.prepareMassUpdate().rowPluralName("issues")
+      .partitionById("file_sources", WORKERS)
+      .checkpoint(getClass().getSimpleName());
+    update.select("SELECT id,data FROM file_sources WHERE binary_data is null AND id>=? AND id<?");
     update.update("UPDATE file_sources SET binary_data=? WHERE id=?");
     update.execute(new MassUpdate.Handler() {
       @Override
@@ -32,6 +32,11 @@ import org.sonar.api.server.ServerSide;
 @ServerSide
 public class IndexDefinitions implements Startable {
 
+  /**
+   * Internal property that disables the Elasticsearch indices, for example in medium tests
+   */
+  public static final String DISABLE_INDEXES_PROPERTY = "sonar.internal.es.disableIndexes";
+
   /**
    * Immutable copy of {@link org.sonar.server.es.NewIndex}
    */
@@ -103,7 +108,7 @@ public class IndexDefinitions implements Startable {
     // collect definitions
     IndexDefinition.IndexDefinitionContext context = new IndexDefinition.IndexDefinitionContext();
 
-    if (!settings.getBoolean("sonar.internal.es.disableIndexes")) {
+    if (!settings.getBoolean(DISABLE_INDEXES_PROPERTY)) {
       for (IndexDefinition definition : defs) {
         definition.define(context);
       }
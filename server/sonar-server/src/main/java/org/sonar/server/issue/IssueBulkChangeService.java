@@ -28,7 +28,6 @@ import com.google.common.collect.Lists;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,6 +36,7 @@ import javax.annotation.Nullable;
 import org.sonar.api.issue.Issue;
 import org.sonar.api.issue.internal.DefaultIssue;
 import org.sonar.api.issue.internal.IssueChangeContext;
+import org.sonar.api.notifications.Notification;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.rules.Rule;
 import org.sonar.api.utils.log.Logger;
@@ -94,7 +94,7 @@ public class IssueBulkChangeService {
 
     List<Action> bulkActions = getActionsToApply(issueBulkChangeQuery, issues, userSession);
     IssueChangeContext issueChangeContext = IssueChangeContext.createUser(new Date(), userSession.getLogin());
-    Set<String> concernedProjects = new HashSet<>();
+    List<DefaultIssue> changedIssues = newArrayList();
     for (Issue issue : issues) {
       ActionContext actionContext = new ActionContext(issue, issueChangeContext);
       for (Action action : bulkActions) {
@@ -105,26 +105,38 @@ public class IssueBulkChangeService {
         if (issueBulkChangeQuery.hasComment()) {
           applyAction(getAction(CommentAction.KEY), actionContext, issueBulkChangeQuery, result);
         }
-        issueStorage.save((DefaultIssue) issue);
-        if (issueBulkChangeQuery.sendNotifications()) {
-          String projectKey = issue.projectKey();
-          if (projectKey != null) {
-            Rule rule = repository.rule(issue.ruleKey());
-            notificationService.scheduleForSending(new IssueChangeNotification()
-              .setIssue((DefaultIssue) issue)
-              .setChangeAuthorLogin(issueChangeContext.login())
-              .setRuleName(rule != null ? rule.getName() : null)
-              .setProject(projectKey, repository.project(projectKey).name())
-              .setComponent(repository.component(issue.componentKey())));
-          }
-        }
-        concernedProjects.add(issue.projectKey());
+        changedIssues.add((DefaultIssue) issue);
+      }
+    }
+
+    if (!changedIssues.isEmpty()) {
+      // issues are persisted through JDBC batches, then indexed with a single bulk request
+      issueStorage.save(changedIssues);
+      if (issueBulkChangeQuery.sendNotifications()) {
+        notificationService.scheduleForSending(createNotifications(changedIssues, repository, issueChangeContext));
       }
     }
     LOG.debug("BulkChange execution time : {} ms", System.currentTimeMillis() - start);
     return result;
   }
 
+  private static List<Notification> createNotifications(List<DefaultIssue> issues, Repository repository, IssueChangeContext issueChangeContext) {
+    List<Notification> notifications = newArrayList();
+    for (DefaultIssue issue : issues) {
+      String projectKey = issue.projectKey();
+      if (projectKey != null) {
+        Rule rule = repository.rule(issue.ruleKey());
+        notifications.add(new IssueChangeNotification()
+          .setIssue(issue)
+          .setChangeAuthorLogin(issueChangeContext.login())
+          .setRuleName(rule != null ? rule.getName() : null)
+          .setProject(projectKey, repository.project(projectKey).name())
+          .setComponent(repository.component(issue.componentKey())));
+      }
+    }
+    return notifications;
+  }
+
   private Collection<Issue> getByKeysForUpdate(List<String> issueKeys) {
     // Load from index to check permission
     SearchOptions options = new SearchOptions().setLimit(SearchOptions.MAX_LIMIT);
@@ -67,6 +67,14 @@ public class ServerIssueStorage extends IssueStorage {
     indexer.index();
   }
 
+  /**
+   * Conflicts are not detected on server-side, so issues are updated through JDBC batches
+   */
+  @Override
+  protected boolean useBatchSessionForUpdates() {
+    return true;
+  }
+
   protected ComponentDto component(DbSession session, DefaultIssue issue) {
     return dbClient.componentDao().selectByKey(session, issue.componentKey());
   }
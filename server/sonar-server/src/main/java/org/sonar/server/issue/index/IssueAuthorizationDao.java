@@ -92,7 +92,7 @@ public class IssueAuthorizationDao {
       "      NULL  AS permission_group " +
       "      FROM projects " +
       "      WHERE " +
-      "        projects.qualifier = 'TRK' " +
+      "        projects.qualifier IN ('TRK', 'VW') " +
       "        AND projects.copy_resource_id is NULL " +
       "        {dateCondition} " +
       "      UNION " +
@@ -108,7 +108,7 @@ public class IssueAuthorizationDao {
       "      INNER JOIN user_roles ON user_roles.resource_id = projects.id AND user_roles.role = 'user' " +
       "      INNER JOIN users ON users.id = user_roles.user_id " +
       "      WHERE " +
-      "        projects.qualifier = 'TRK' " +
+      "        projects.qualifier IN ('TRK', 'VW') " +
       "        AND projects.copy_resource_id is NULL " +
       "        {dateCondition} " +
       "      UNION " +
@@ -124,7 +124,7 @@ public class IssueAuthorizationDao {
       "      INNER JOIN group_roles ON group_roles.resource_id = projects.id AND group_roles.role = 'user' " +
       "      INNER JOIN groups ON groups.id = group_roles.group_id " +
       "      WHERE " +
-      "        projects.qualifier = 'TRK' " +
+      "        projects.qualifier IN ('TRK', 'VW') " +
       "        AND projects.copy_resource_id is NULL " +
       "        {dateCondition} " +
       "        AND group_id IS NOT NULL " +
@@ -140,7 +140,7 @@ public class IssueAuthorizationDao {
       "      FROM projects " +
       "      INNER JOIN group_roles ON group_roles.resource_id = projects.id AND group_roles.role='user' " +
       "      WHERE " +
-      "        projects.qualifier = 'TRK' " +
+      "        projects.qualifier IN ('TRK', 'VW') " +
       "        AND projects.copy_resource_id is NULL " +
       "        {dateCondition} " +
       "        AND group_roles.group_id IS NULL " +
@@ -25,6 +25,7 @@ import org.apache.commons.dbutils.DbUtils;
 import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.sonar.core.persistence.DbSession;
+import org.sonar.server.component.index.ComponentIndexDefinition;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.BaseIndexer;
 import org.sonar.server.es.BulkIndexer;
@@ -36,7 +37,7 @@ import java.util.Date;
 import java.util.Map;
 
 /**
- * Manages the synchronization of index issues/authorization with authorization settings defined in database :
+ * Manages the synchronization of indices issues/authorization and components/authorization with authorization settings defined in database :
  * <ul>
  *   <li>index the projects with recent permission changes</li>
  *   <li>delete project orphans from index</li>
@@ -46,6 +47,9 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
 
   private final DbClient dbClient;
 
+  // once index components/authorization is populated, it is updated incrementally and does not need to be counted again
+  private volatile boolean componentsAuthorizationPopulated = false;
+
   public IssueAuthorizationIndexer(DbClient dbClient, EsClient esClient) {
     super(esClient, 0L, IssueIndexDefinition.INDEX, IssueIndexDefinition.TYPE_AUTHORIZATION, IssueIndexDefinition.FIELD_ISSUE_TECHNICAL_UPDATED_AT);
     this.dbClient = dbClient;
@@ -61,7 +65,9 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
     Connection dbConnection = dbSession.getConnection();
     try {
       IssueAuthorizationDao dao = new IssueAuthorizationDao();
-      Collection<IssueAuthorizationDao.Dto> authorizations = dao.selectAfterDate(dbClient, dbConnection, lastUpdatedAt);
+      // index components/authorization is empty when it has just been created, for example after upgrade
+      long afterDate = isComponentsAuthorizationEmpty() ? 0L : lastUpdatedAt;
+      Collection<IssueAuthorizationDao.Dto> authorizations = dao.selectAfterDate(dbClient, dbConnection, afterDate);
       return doIndex(bulk, authorizations);
 
     } finally {
@@ -70,6 +76,13 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
     }
   }
 
+  private boolean isComponentsAuthorizationEmpty() {
+    if (!componentsAuthorizationPopulated) {
+      componentsAuthorizationPopulated = esClient.prepareCount(ComponentIndexDefinition.INDEX).setTypes(ComponentIndexDefinition.TYPE_AUTHORIZATION).get().getCount() > 0L;
+    }
+    return !componentsAuthorizationPopulated;
+  }
+
   @VisibleForTesting
   public void index(Collection<IssueAuthorizationDao.Dto> authorizations) {
     final BulkIndexer bulk = new BulkIndexer(esClient, IssueIndexDefinition.INDEX);
@@ -77,12 +90,16 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
   }
 
   private long doIndex(BulkIndexer bulk, Collection<IssueAuthorizationDao.Dto> authorizations) {
+    BulkIndexer componentsBulk = new BulkIndexer(esClient, ComponentIndexDefinition.INDEX);
     long maxDate = 0L;
     bulk.start();
+    componentsBulk.start();
     for (IssueAuthorizationDao.Dto authorization : authorizations) {
-      bulk.add(newUpdateRequest(authorization));
+      bulk.add(newIssueUpdateRequest(authorization));
+      componentsBulk.add(newComponentUpdateRequest(authorization));
       maxDate = Math.max(maxDate, authorization.getUpdatedAt());
     }
+    componentsBulk.stop();
     bulk.stop();
     return maxDate;
   }
@@ -92,9 +109,13 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
       .prepareDelete(IssueIndexDefinition.INDEX, IssueIndexDefinition.TYPE_AUTHORIZATION, uuid)
       .setRefresh(refresh)
       .get();
+    esClient
+      .prepareDelete(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_AUTHORIZATION, uuid)
+      .setRefresh(refresh)
+      .get();
   }
 
-  private ActionRequest newUpdateRequest(IssueAuthorizationDao.Dto dto) {
+  private static ActionRequest newIssueUpdateRequest(IssueAuthorizationDao.Dto dto) {
     Map<String, Object> doc = ImmutableMap.of(
       IssueIndexDefinition.FIELD_AUTHORIZATION_PROJECT_UUID, dto.getProjectUuid(),
       IssueIndexDefinition.FIELD_AUTHORIZATION_GROUPS, dto.getGroups(),
@@ -106,4 +127,17 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
       .upsert(doc);
     return request;
   }
+
+  private static ActionRequest newComponentUpdateRequest(IssueAuthorizationDao.Dto dto) {
+    Map<String, Object> doc = ImmutableMap.of(
+      ComponentIndexDefinition.FIELD_AUTHORIZATION_PROJECT_UUID, dto.getProjectUuid(),
+      ComponentIndexDefinition.FIELD_AUTHORIZATION_GROUPS, dto.getGroups(),
+      ComponentIndexDefinition.FIELD_AUTHORIZATION_USERS, dto.getUsers(),
+      ComponentIndexDefinition.FIELD_AUTHORIZATION_UPDATED_AT, new Date(dto.getUpdatedAt()));
+    ActionRequest<?> request = new UpdateRequest(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_AUTHORIZATION, dto.getProjectUuid())
+      .routing(dto.getProjectUuid())
+      .doc(doc)
+      .upsert(doc);
+    return request;
+  }
 }
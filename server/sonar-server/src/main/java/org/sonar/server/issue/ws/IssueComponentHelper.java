@@ -20,6 +20,7 @@
 package org.sonar.server.issue.ws;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +29,7 @@ import org.sonar.core.persistence.DbSession;
 import org.sonar.server.db.DbClient;
 
 import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * This class computes some collections of {@link ComponentDto}s used to serialize issues.
@@ -42,7 +44,15 @@ public class IssueComponentHelper {
 
   public Map<String, ComponentDto> prepareComponentsAndProjects(Set<String> projectUuids, Set<String> componentUuids, Map<String, ComponentDto> componentsByUuid,
       Collection<ComponentDto> componentDtos, List<ComponentDto> projectDtos, DbSession session) {
-    Map<String, ComponentDto> projectsByComponentUuid;
+    return prepareComponentsAndProjects(projectUuids, componentUuids, Collections.<String, ComponentDto>emptyMap(), componentsByUuid, componentDtos, projectDtos, session);
+  }
+
+  /**
+   * Same as {@link #prepareComponentsAndProjects(Set, Set, Map, Collection, List, DbSession)}, except that the projects
+   * that have already been loaded are not requested again. They are not added to {@code componentDtos} and {@code projectDtos}.
+   */
+  public Map<String, ComponentDto> prepareComponentsAndProjects(Set<String> projectUuids, Set<String> componentUuids, Map<String, ComponentDto> loadedProjectsByUuid,
+      Map<String, ComponentDto> componentsByUuid, Collection<ComponentDto> componentDtos, List<ComponentDto> projectDtos, DbSession session) {
     List<ComponentDto> fileDtos = dbClient.componentDao().selectByUuids(session, componentUuids);
     List<ComponentDto> subProjectDtos = dbClient.componentDao().selectSubProjectsByComponentUuids(session, componentUuids);
     componentDtos.addAll(fileDtos);
@@ -50,20 +60,20 @@ public class IssueComponentHelper {
     for (ComponentDto component : componentDtos) {
       projectUuids.add(component.projectUuid());
     }
-    projectDtos.addAll(dbClient.componentDao().selectByUuids(session, projectUuids));
+    Set<String> missingProjectUuids = newHashSet(projectUuids);
+    missingProjectUuids.removeAll(loadedProjectsByUuid.keySet());
+    if (!missingProjectUuids.isEmpty()) {
+      projectDtos.addAll(dbClient.componentDao().selectByUuids(session, missingProjectUuids));
+    }
     componentDtos.addAll(projectDtos);
 
     for (ComponentDto componentDto : componentDtos) {
       componentsByUuid.put(componentDto.uuid(), componentDto);
     }
 
-    projectsByComponentUuid = getProjectsByComponentUuid(componentDtos, projectDtos);
-    return projectsByComponentUuid;
-  }
-
-  private Map<String, ComponentDto> getProjectsByComponentUuid(Collection<ComponentDto> components, Collection<ComponentDto> projects) {
-    Map<String, ComponentDto> projectsByUuid = buildProjectsByUuid(projects);
-    return buildProjectsByComponentUuid(components, projectsByUuid);
+    Map<String, ComponentDto> projectsByUuid = newHashMap(loadedProjectsByUuid);
+    projectsByUuid.putAll(buildProjectsByUuid(projectDtos));
+    return buildProjectsByComponentUuid(componentDtos, projectsByUuid);
   }
 
   private static Map<String, ComponentDto> buildProjectsByUuid(Collection<ComponentDto> projects) {
@@ -78,6 +78,8 @@ public class SearchAction implements IssuesWsAction {
 
   private static final String EXTRA_FIELDS_PARAM = "extra_fields";
 
+  private static final int ISSUES_BATCH_SIZE = 100;
+
   private static final String INTERNAL_PARAMETER_DISCLAIMER = "This parameter is mostly used by the Issues page, please prefer usage of the componentKeys parameter. ";
 
   private final IssueService service;
@@ -308,70 +310,143 @@ public class SearchAction implements IssuesWsAction {
   }
 
   private void writeResponse(Request request, SearchResult<IssueDoc> result, JsonWriter json) {
-    List<String> issueKeys = newArrayList();
     Set<RuleKey> ruleKeys = newHashSet();
     Set<String> projectUuids = newHashSet();
     Set<String> componentUuids = newHashSet();
     Set<String> actionPlanKeys = newHashSet();
     List<String> userLogins = newArrayList();
-    Map<String, User> usersByLogin = newHashMap();
-    Map<String, ComponentDto> componentsByUuid = newHashMap();
-    Multimap<String, DefaultIssueComment> commentsByIssues = ArrayListMultimap.create();
-    Collection<ComponentDto> componentDtos = newHashSet();
-    List<ComponentDto> projectDtos = Lists.newArrayList();
-    Map<String, ComponentDto> projectsByComponentUuid = newHashMap();
-
-    for (IssueDoc issueDoc : result.getDocs()) {
-      issueKeys.add(issueDoc.key());
-      ruleKeys.add(issueDoc.ruleKey());
-      projectUuids.add(issueDoc.projectUuid());
-      componentUuids.add(issueDoc.componentUuid());
-      actionPlanKeys.add(issueDoc.actionPlanKey());
-      if (issueDoc.reporter() != null) {
-        userLogins.add(issueDoc.reporter());
-      }
-      if (issueDoc.assignee() != null) {
-        userLogins.add(issueDoc.assignee());
-      }
-    }
 
     collectRuleKeys(request, result, ruleKeys);
-
     collectFacetsData(request, result, projectUuids, componentUuids, userLogins, actionPlanKeys);
-
     if (userSession.isLoggedIn()) {
       userLogins.add(userSession.getLogin());
     }
 
+    boolean hideComments = BooleanUtils.isTrue(request.paramAsBoolean(IssueFilterParameters.HIDE_COMMENTS));
+    List<String> extraFields = request.paramAsStrings(EXTRA_FIELDS_PARAM);
+    LinkedData linkedData = new LinkedData();
+
     DbSession session = dbClient.openSession(false);
     try {
-      if (!BooleanUtils.isTrue(request.paramAsBoolean(IssueFilterParameters.HIDE_COMMENTS))) {
-        List<DefaultIssueComment> comments = dbClient.issueChangeDao().selectCommentsByIssues(session, issueKeys);
-        for (DefaultIssueComment issueComment : comments) {
-          userLogins.add(issueComment.userLogin());
-          commentsByIssues.put(issueComment.issueKey(), issueComment);
+      // Issues are written by batches, so that comments and linked data are loaded with a few requests
+      // without keeping all of them in memory
+      json.name("issues").beginArray();
+      for (List<IssueDoc> issues : Lists.partition(result.getDocs(), ISSUES_BATCH_SIZE)) {
+        Multimap<String, DefaultIssueComment> commentsByIssues = hideComments ? ArrayListMultimap.<String, DefaultIssueComment>create() : loadComments(session, issues);
+        loadLinkedData(session, issues, commentsByIssues.values(), linkedData);
+        for (IssueDoc issue : issues) {
+          ruleKeys.add(issue.ruleKey());
+          issueWriter.write(json, issue, linkedData.usersByLogin, linkedData.componentsByUuid, linkedData.projectsByComponentUuid, commentsByIssues,
+            linkedData.actionPlansByKey, extraFields);
         }
       }
-      usersByLogin = getUsersByLogin(userLogins);
-
-      projectsByComponentUuid = issueComponentHelper.prepareComponentsAndProjects(projectUuids, componentUuids, componentsByUuid, componentDtos, projectDtos, session);
+      json.endArray();
 
-      writeProjects(json, projectDtos);
-      writeComponents(json, componentDtos, projectsByComponentUuid);
+      // components, users and action plans referenced by facets and request
+      linkedData.loadComponents(session, projectUuids, componentUuids);
     } finally {
       session.close();
     }
+    linkedData.loadUsers(userLogins);
+    linkedData.loadActionPlans(actionPlanKeys);
 
-    Map<String, ActionPlan> actionPlanByKeys = getActionPlanByKeys(actionPlanKeys);
-
-    writeIssues(result, commentsByIssues, usersByLogin, actionPlanByKeys, componentsByUuid, projectsByComponentUuid,
-      request.paramAsStrings(EXTRA_FIELDS_PARAM), json);
+    writeProjects(json, linkedData.projectsByUuid.values());
+    writeComponents(json, linkedData.componentsByUuid.values(), linkedData.projectsByComponentUuid);
     writeRules(json, !request.mandatoryParamAsBoolean(IssueFilterParameters.HIDE_RULES) ? ruleService.getByKeys(ruleKeys) : Collections.<Rule>emptyList());
-    writeUsers(json, usersByLogin);
-    writeActionPlans(json, actionPlanByKeys.values());
+    writeUsers(json, linkedData.usersByLogin);
+    writeActionPlans(json, linkedData.actionPlansByKey.values());
     writeLanguages(json);
   }
 
+  private Multimap<String, DefaultIssueComment> loadComments(DbSession session, List<IssueDoc> issues) {
+    List<String> issueKeys = newArrayList();
+    for (IssueDoc issue : issues) {
+      issueKeys.add(issue.key());
+    }
+    Multimap<String, DefaultIssueComment> commentsByIssues = ArrayListMultimap.create();
+    for (DefaultIssueComment comment : dbClient.issueChangeDao().selectCommentsByIssues(session, issueKeys)) {
+      commentsByIssues.put(comment.issueKey(), comment);
+    }
+    return commentsByIssues;
+  }
+
+  private void loadLinkedData(DbSession session, List<IssueDoc> issues, Collection<DefaultIssueComment> comments, LinkedData linkedData) {
+    Set<String> projectUuids = newHashSet();
+    Set<String> componentUuids = newHashSet();
+    Set<String> actionPlanKeys = newHashSet();
+    List<String> userLogins = newArrayList();
+    for (IssueDoc issue : issues) {
+      projectUuids.add(issue.projectUuid());
+      componentUuids.add(issue.componentUuid());
+      if (issue.actionPlanKey() != null) {
+        actionPlanKeys.add(issue.actionPlanKey());
+      }
+      if (issue.reporter() != null) {
+        userLogins.add(issue.reporter());
+      }
+      if (issue.assignee() != null) {
+        userLogins.add(issue.assignee());
+      }
+    }
+    for (DefaultIssueComment comment : comments) {
+      userLogins.add(comment.userLogin());
+    }
+    linkedData.loadComponents(session, projectUuids, componentUuids);
+    linkedData.loadUsers(userLogins);
+    linkedData.loadActionPlans(actionPlanKeys);
+  }
+
+  /**
+   * Components, users and action plans referenced by the issues. They are loaded only once per request.
+   */
+  private class LinkedData {
+    private final Map<String, ComponentDto> componentsByUuid = new LinkedHashMap<>();
+    private final Map<String, ComponentDto> projectsByUuid = new LinkedHashMap<>();
+    private final Map<String, ComponentDto> projectsByComponentUuid = newHashMap();
+    private final Map<String, User> usersByLogin = new LinkedHashMap<>();
+    private final Map<String, ActionPlan> actionPlansByKey = new LinkedHashMap<>();
+
+    private void loadComponents(DbSession session, Set<String> projectUuids, Set<String> componentUuids) {
+      Set<String> missingComponentUuids = newHashSet(componentUuids);
+      missingComponentUuids.removeAll(componentsByUuid.keySet());
+      Set<String> missingProjectUuids = newHashSet(projectUuids);
+      missingProjectUuids.removeAll(projectsByUuid.keySet());
+      if (missingComponentUuids.isEmpty() && missingProjectUuids.isEmpty()) {
+        return;
+      }
+      Map<String, ComponentDto> loadedComponentsByUuid = newHashMap();
+      Collection<ComponentDto> loadedComponents = newHashSet();
+      List<ComponentDto> loadedProjects = newArrayList();
+      projectsByComponentUuid.putAll(issueComponentHelper.prepareComponentsAndProjects(missingProjectUuids, missingComponentUuids, projectsByUuid,
+        loadedComponentsByUuid, loadedComponents, loadedProjects, session));
+      componentsByUuid.putAll(loadedComponentsByUuid);
+      for (ComponentDto project : loadedProjects) {
+        projectsByUuid.put(project.uuid(), project);
+      }
+    }
+
+    private void loadUsers(Collection<String> logins) {
+      List<String> missingLogins = newArrayList();
+      for (String login : logins) {
+        if (login != null && !usersByLogin.containsKey(login)) {
+          missingLogins.add(login);
+        }
+      }
+      if (!missingLogins.isEmpty()) {
+        usersByLogin.putAll(getUsersByLogin(missingLogins));
+      }
+    }
+
+    private void loadActionPlans(Collection<String> keys) {
+      Set<String> missingKeys = newHashSet(keys);
+      missingKeys.removeAll(actionPlansByKey.keySet());
+      missingKeys.remove(null);
+      if (!missingKeys.isEmpty()) {
+        actionPlansByKey.putAll(getActionPlanByKeys(missingKeys));
+      }
+    }
+  }
+
   private static void collectRuleKeys(Request request, SearchResult<IssueDoc> result, Set<RuleKey> ruleKeys) {
     Set<String> facetRules = result.getFacets().getBucketKeys(IssueFilterParameters.RULES);
     if (facetRules != null) {
@@ -490,18 +565,6 @@ public class SearchAction implements IssuesWsAction {
     json.endArray();
   }
 
-  private void writeIssues(SearchResult<IssueDoc> result, Multimap<String, DefaultIssueComment> commentsByIssues, Map<String, User> usersByLogin,
-    Map<String, ActionPlan> actionPlanByKeys,
-    Map<String, ComponentDto> componentsByUuid, Map<String, ComponentDto> projectsByComponentUuid, @Nullable List<String> extraFields, JsonWriter json) {
-    json.name("issues").beginArray();
-
-    for (IssueDoc issue : result.getDocs()) {
-      issueWriter.write(json, issue, usersByLogin, componentsByUuid, projectsByComponentUuid, commentsByIssues, actionPlanByKeys, extraFields);
-    }
-
-    json.endArray();
-  }
-
   private void writeComponents(JsonWriter json, Collection<ComponentDto> components, Map<String, ComponentDto> projectsByComponentUuid) {
     json.name("components").beginArray();
     for (ComponentDto component : components) {
@@ -511,7 +574,7 @@ public class SearchAction implements IssuesWsAction {
     json.endArray();
   }
 
-  private static void writeProjects(JsonWriter json, List<ComponentDto> projects) {
+  private static void writeProjects(JsonWriter json, Collection<ComponentDto> projects) {
     json.name("projects").beginArray();
     for (ComponentDto project : projects) {
       json.beginObject()
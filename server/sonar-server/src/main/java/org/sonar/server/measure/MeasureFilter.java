@@ -55,6 +55,10 @@ public class MeasureFilter {
   // sort
   private MeasureFilterSort sort = new MeasureFilterSort();
 
+  // pagination, all the rows are returned when page size is not set
+  private int pageIndex = 1;
+  private Integer pageSize = null;
+
   public String getBaseResourceKey() {
     return baseResourceKey;
   }
@@ -179,6 +183,42 @@ public class MeasureFilter {
     return sort;
   }
 
+  /**
+   * @param i index of page, starting with 1
+   */
+  public MeasureFilter setPageIndex(int i) {
+    this.pageIndex = Math.max(1, i);
+    return this;
+  }
+
+  public int getPageIndex() {
+    return pageIndex;
+  }
+
+  public MeasureFilter setPageSize(@Nullable Integer i) {
+    this.pageSize = i;
+    return this;
+  }
+
+  @CheckForNull
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Rows of the requested page, or all the rows if page size is not set
+   */
+  <T> List<T> selectPage(List<T> rows) {
+    if (pageSize == null) {
+      return rows;
+    }
+    int offset = (pageIndex - 1) * pageSize;
+    if (offset >= rows.size()) {
+      return Collections.emptyList();
+    }
+    return rows.subList(offset, Math.min(rows.size(), offset + pageSize));
+  }
+
   public boolean isEmpty() {
     return resourceQualifiers.isEmpty() && resourceScopes.isEmpty() && StringUtils.isEmpty(baseResourceKey) && !userFavourites;
   }
@@ -25,9 +25,13 @@ import org.sonar.core.component.SnapshotDto;
 
 import javax.annotation.Nullable;
 
+import java.util.Collections;
+import java.util.List;
+
 class MeasureFilterContext {
   private Long userId = null;
   private SnapshotDto baseSnapshot = null;
+  private List<Long> favouriteResourceIds = Collections.emptyList();
   private String sql;
   private String data;
 
@@ -49,6 +53,15 @@ class MeasureFilterContext {
     return this;
   }
 
+  List<Long> getFavouriteResourceIds() {
+    return favouriteResourceIds;
+  }
+
+  MeasureFilterContext setFavouriteResourceIds(List<Long> favouriteResourceIds) {
+    this.favouriteResourceIds = favouriteResourceIds;
+    return this;
+  }
+
   String getSql() {
     return sql;
   }
@@ -27,7 +27,6 @@ import org.sonar.api.utils.log.Profiler;
 
 import javax.annotation.Nullable;
 
-import java.util.List;
 import java.util.Map;
 
 @ServerSide
@@ -52,8 +51,7 @@ public class MeasureFilterEngine {
     try {
       profiler.addContext("request", context.getData());
       MeasureFilter filter = factory.create(filterMap);
-      List<MeasureFilterRow> rows = executor.execute(filter, context);
-      result.setRows(rows);
+      result = executor.executePage(filter, context);
 
     } catch (NumberFormatException e) {
       result.setError(MeasureFilterResult.Error.VALUE_SHOULD_BE_A_NUMBER);
@@ -20,29 +20,64 @@
 package org.sonar.server.measure;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.commons.dbutils.DbUtils;
-import org.apache.ibatis.session.SqlSession;
+import org.sonar.api.config.Settings;
+import org.sonar.api.resources.Qualifiers;
 import org.sonar.api.server.ServerSide;
+import org.sonar.api.web.UserRole;
+import org.sonar.core.component.SnapshotDto;
 import org.sonar.core.persistence.Database;
+import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
+import org.sonar.core.properties.PropertiesDao;
+import org.sonar.core.properties.PropertyDto;
+import org.sonar.core.properties.PropertyQuery;
 import org.sonar.core.resource.ResourceDao;
+import org.sonar.core.user.AuthorizationDao;
+import org.sonar.server.es.EsClient;
+import org.sonar.server.es.IndexDefinitions;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @ServerSide
 public class MeasureFilterExecutor {
 
+  /**
+   * Qualifiers of the components analysed by the compute engine, which reindexes their measures after each analysis.
+   * Other components, like views or developers, are not reindexed when their snapshots change.
+   */
+  private static final Set<String> INDEXED_QUALIFIERS = ImmutableSet.of(Qualifiers.PROJECT, Qualifiers.MODULE, Qualifiers.DIRECTORY,
+    Qualifiers.PACKAGE, Qualifiers.FILE, Qualifiers.CLASS, Qualifiers.UNIT_TEST_FILE);
+
   private MyBatis mybatis;
   private Database database;
   private ResourceDao resourceDao;
+  private PropertiesDao propertiesDao;
+  private EsClient esClient;
+  private AuthorizationDao authorizationDao;
+
+  /**
+   * Filters are executed on the index "measures", except when indices are disabled (medium tests) or when
+   * filtering components that are not reindexed
+   */
+  private final boolean useIndex;
 
-  public MeasureFilterExecutor(MyBatis mybatis, Database database, ResourceDao resourceDao) {
+  public MeasureFilterExecutor(MyBatis mybatis, Database database, ResourceDao resourceDao, PropertiesDao propertiesDao,
+    EsClient esClient, AuthorizationDao authorizationDao, Settings settings) {
     this.mybatis = mybatis;
     this.database = database;
     this.resourceDao = resourceDao;
+    this.propertiesDao = propertiesDao;
+    this.esClient = esClient;
+    this.authorizationDao = authorizationDao;
+    this.useIndex = !settings.getBoolean(IndexDefinitions.DISABLE_INDEXES_PROPERTY);
   }
 
   public List<MeasureFilterRow> execute(MeasureFilter filter, MeasureFilterContext context) throws SQLException {
@@ -51,19 +86,19 @@ public class MeasureFilterExecutor {
     }
 
     List<MeasureFilterRow> rows;
-    SqlSession session = null;
+    DbSession session = null;
     Connection connection = null;
     try {
       session = mybatis.openSession(false);
       prepareContext(context, filter, session);
 
-      if (isValid(filter, context)) {
-        MeasureFilterSql sql = new MeasureFilterSql(database, filter, context);
-        context.setSql(sql.sql());
-        connection = session.getConnection();
-        rows = sql.execute(connection);
-      } else {
+      if (!isValid(filter, context)) {
         rows = Collections.emptyList();
+      } else if (useIndex(filter, context)) {
+        rows = new MeasureFilterIndexQuery(esClient, filter, context).execute(null).getRows();
+      } else {
+        connection = session.getConnection();
+        rows = executeSql(filter, context, connection);
       }
     } finally {
       MyBatis.closeQuietly(session);
@@ -74,10 +109,108 @@ public class MeasureFilterExecutor {
     return rows;
   }
 
-  private void prepareContext(MeasureFilterContext context, MeasureFilter filter, SqlSession session) {
+  /**
+   * Same as {@link #execute(MeasureFilter, MeasureFilterContext)}, except that the rows are restricted to the projects
+   * that the user of the context is allowed to browse, then paginated.
+   */
+  public MeasureFilterResult executePage(MeasureFilter filter, MeasureFilterContext context) throws SQLException {
+    MeasureFilterResult result = new MeasureFilterResult();
+    if (filter.isEmpty()) {
+      return result.setRows(Collections.<MeasureFilterRow>emptyList());
+    }
+
+    DbSession session = null;
+    Connection connection = null;
+    try {
+      session = mybatis.openSession(false);
+      prepareContext(context, filter, session);
+
+      if (!isValid(filter, context)) {
+        result.setRows(Collections.<MeasureFilterRow>emptyList());
+      } else if (useIndex(filter, context)) {
+        MeasureFilterIndexQuery query = new MeasureFilterIndexQuery(esClient, filter, context);
+        Set<Long> rootProjectIds = query.selectRootProjectIds();
+        Set<Long> authorizedRootProjectIds = keepAuthorizedProjectIds(session, rootProjectIds, context);
+        result = query.execute(authorizedRootProjectIds)
+          .setSecurityExclusions(authorizedRootProjectIds.size() < rootProjectIds.size());
+      } else {
+        connection = session.getConnection();
+        List<MeasureFilterRow> rows = executeSql(filter, context, connection);
+        Set<Long> rootProjectIds = Sets.newHashSet();
+        for (MeasureFilterRow row : rows) {
+          rootProjectIds.add(row.getResourceRootId());
+        }
+        Set<Long> authorizedRootProjectIds = keepAuthorizedProjectIds(session, rootProjectIds, context);
+        List<MeasureFilterRow> authorizedRows = Lists.newArrayList();
+        for (MeasureFilterRow row : rows) {
+          if (authorizedRootProjectIds.contains(row.getResourceRootId())) {
+            authorizedRows.add(row);
+          }
+        }
+        result.setRows(filter.selectPage(authorizedRows))
+          .setTotal(authorizedRows.size())
+          .setSecurityExclusions(authorizedRows.size() < rows.size());
+      }
+    } finally {
+      MyBatis.closeQuietly(session);
+      // connection is supposed to be closed by the session
+      DbUtils.closeQuietly(connection);
+    }
+
+    return result;
+  }
+
+  private List<MeasureFilterRow> executeSql(MeasureFilter filter, MeasureFilterContext context, Connection connection) throws SQLException {
+    MeasureFilterSql sql = new MeasureFilterSql(database, filter, context);
+    context.setSql(sql.sql());
+    return sql.execute(connection);
+  }
+
+  private Set<Long> keepAuthorizedProjectIds(DbSession session, Set<Long> projectIds, MeasureFilterContext context) {
+    Long userId = context.getUserId();
+    return Sets.newHashSet(authorizationDao.keepAuthorizedProjectIds(session, projectIds, userId == null ? null : userId.intValue(), UserRole.USER));
+  }
+
+  private void prepareContext(MeasureFilterContext context, MeasureFilter filter, DbSession session) {
     if (filter.getBaseResourceKey() != null) {
       context.setBaseSnapshot(resourceDao.getLastSnapshot(filter.getBaseResourceKey(), session));
     }
+    if (filter.isOnFavourites() && context.getUserId() != null && useIndex(filter, context)) {
+      // favourites are joined by the SQL request, but they must be loaded before requesting the index
+      List<PropertyDto> favourites = propertiesDao.selectByQuery(PropertyQuery.builder()
+        .setKey("favourite")
+        .setUserId(context.getUserId().intValue())
+        .build(), session);
+      List<Long> resourceIds = Lists.newArrayList();
+      for (PropertyDto favourite : favourites) {
+        if (favourite.getResourceId() != null) {
+          resourceIds.add(favourite.getResourceId());
+        }
+      }
+      context.setFavouriteResourceIds(resourceIds);
+    }
+  }
+
+  /**
+   * The base snapshot must be loaded in context
+   */
+  private boolean useIndex(MeasureFilter filter, MeasureFilterContext context) {
+    return useIndex && isIndexed(filter, context);
+  }
+
+  /**
+   * Whether all the components that can be returned by the filter are reindexed by the compute engine
+   */
+  static boolean isIndexed(MeasureFilter filter, MeasureFilterContext context) {
+    SnapshotDto baseSnapshot = context.getBaseSnapshot();
+    if (baseSnapshot != null && !INDEXED_QUALIFIERS.contains(baseSnapshot.getQualifier())) {
+      return false;
+    }
+    if (filter.getResourceQualifiers().isEmpty()) {
+      // only the descendants of an indexed component are known to be indexed
+      return baseSnapshot != null;
+    }
+    return INDEXED_QUALIFIERS.containsAll(filter.getResourceQualifiers());
   }
 
   static boolean isValid(MeasureFilter filter, MeasureFilterContext context) {
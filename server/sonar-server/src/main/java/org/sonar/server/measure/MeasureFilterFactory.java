@@ -76,9 +76,21 @@ public class MeasureFilterFactory {
     fillDateConditions(filter, properties);
     fillSorting(filter, properties);
     fillMeasureConditions(properties, filter);
+    fillPagination(filter, properties);
     return filter;
   }
 
+  private static void fillPagination(MeasureFilter filter, Map<String, Object> properties) {
+    String page = toString(properties.get("page"));
+    if (page != null) {
+      filter.setPageIndex(Integer.parseInt(page));
+    }
+    String pageSize = toString(properties.get("pageSize"));
+    if (pageSize != null) {
+      filter.setPageSize(Integer.parseInt(pageSize));
+    }
+  }
+
   private void fillDateConditions(MeasureFilter filter, Map<String, Object> properties) {
     String fromDate = (String) properties.get("fromDate");
     if (fromDate != null) {
@@ -0,0 +1,384 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.commons.lang.StringUtils;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.BoolFilterBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.RangeFilterBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.sonar.core.component.SnapshotDto;
+import org.sonar.server.es.EsClient;
+import org.sonar.server.es.EsUtils;
+import org.sonar.server.search.IndexField;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ANALYZED_AT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_COPY;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_CREATED_AT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_DESCRIPTION;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_KEY;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_LONG_NAME;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_MEASURES;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_MEASURE_METRIC_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_MEASURE_TEXT_VALUE;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_MEASURE_VALUE;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_NAME;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_PARENT_SNAPSHOT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_QUALIFIER;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_RESOURCE_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ROOT_PROJECT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ROOT_SNAPSHOT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SCOPE;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SNAPSHOT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SNAPSHOT_PATH;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_VERSION;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.INDEX;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.TYPE_COMPONENT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.variationField;
+
+/**
+ * Equivalent of {@link MeasureFilterSql} executed on the index {@link org.sonar.server.measure.index.MeasureIndexDefinition#INDEX}.
+ * Filtering, sorting and pagination are done by Elasticsearch, except sorting on alert status which is not alphabetical.
+ */
+class MeasureFilterIndexQuery {
+
+  private static final int SCROLL_SIZE = 500;
+  // deep pages are not requested with from/size, as Elasticsearch sorts from + size hits on each shard
+  private static final int MAX_RESULT_WINDOW = 10000;
+  private static final String ROOT_PROJECTS_AGGREGATION = "rootProjects";
+  private static final String MISSING_FIRST = "_first";
+  private static final String MISSING_LAST = "_last";
+  private static final String[] FETCHED_FIELDS = {FIELD_SNAPSHOT_ID, FIELD_RESOURCE_ID, FIELD_ROOT_PROJECT_ID};
+
+  private final EsClient esClient;
+  private final MeasureFilter filter;
+  private final MeasureFilterContext context;
+
+  MeasureFilterIndexQuery(EsClient esClient, MeasureFilter filter, MeasureFilterContext context) {
+    this.esClient = esClient;
+    this.filter = filter;
+    this.context = context;
+  }
+
+  /**
+   * Ids of the root projects of the components matching the filter
+   */
+  Set<Long> selectRootProjectIds() {
+    Set<Long> ids = Sets.newHashSet();
+    if (filter.isOnFavourites() && context.getFavouriteResourceIds().isEmpty()) {
+      return ids;
+    }
+
+    SearchResponse response = esClient.prepareSearch(INDEX)
+      .setTypes(TYPE_COMPONENT)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), createFilter(null)))
+      .setSize(0)
+      .addAggregation(AggregationBuilders.terms(ROOT_PROJECTS_AGGREGATION).field(FIELD_ROOT_PROJECT_ID).size(0))
+      .get();
+    Terms rootProjects = response.getAggregations().get(ROOT_PROJECTS_AGGREGATION);
+    for (Terms.Bucket bucket : rootProjects.getBuckets()) {
+      ids.add(bucket.getKeyAsNumber().longValue());
+    }
+    return ids;
+  }
+
+  /**
+   * Loads the requested page of rows. Pagination is done by Elasticsearch, except for deep pages and when sorting on alert status.
+   *
+   * @param rootProjectIds if not null, the rows are restricted to these root projects
+   */
+  MeasureFilterResult execute(@Nullable Collection<Long> rootProjectIds) {
+    MeasureFilterResult result = new MeasureFilterResult();
+    if ((filter.isOnFavourites() && context.getFavouriteResourceIds().isEmpty()) || (rootProjectIds != null && rootProjectIds.isEmpty())) {
+      return result.setRows(Collections.<MeasureFilterRow>emptyList());
+    }
+
+    SearchRequestBuilder request = esClient.prepareSearch(INDEX)
+      .setTypes(TYPE_COMPONENT)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), createFilter(rootProjectIds)))
+      .setFetchSource(FETCHED_FIELDS, null)
+      .addSort(createSort())
+      .addSort(SortBuilders.fieldSort(FIELD_SNAPSHOT_ID).order(SortOrder.ASC));
+
+    Integer pageSize = filter.getPageSize();
+    if (pageSize == null || filter.getPageIndex() * (long) pageSize > MAX_RESULT_WINDOW || filter.sort().isOnAlert()) {
+      List<MeasureFilterRow> rows = scroll(request);
+      if (filter.sort().isOnAlert()) {
+        rows = new MeasureFilterSql.AlertSortRowProcessor().sort(rows, filter.sort().isAsc());
+      }
+      return result.setRows(filter.selectPage(rows)).setTotal(rows.size());
+    }
+
+    SearchResponse response = request
+      .setFrom((filter.getPageIndex() - 1) * pageSize)
+      .setSize(pageSize)
+      .get();
+    List<MeasureFilterRow> rows = Lists.newArrayList();
+    for (SearchHit hit : response.getHits().getHits()) {
+      rows.add(toRow(hit));
+    }
+    return result.setRows(rows).setTotal(response.getHits().getTotalHits());
+  }
+
+  private List<MeasureFilterRow> scroll(SearchRequestBuilder request) {
+    List<MeasureFilterRow> rows = Lists.newArrayList();
+    SearchResponse response = request
+      .setSize(SCROLL_SIZE)
+      .setScroll(TimeValue.timeValueMinutes(EsUtils.SCROLL_TIME_IN_MINUTES))
+      .get();
+    while (response.getHits().getHits().length > 0) {
+      for (SearchHit hit : response.getHits().getHits()) {
+        rows.add(toRow(hit));
+      }
+      response = esClient.prepareSearchScroll(response.getScrollId())
+        .setScroll(TimeValue.timeValueMinutes(EsUtils.SCROLL_TIME_IN_MINUTES))
+        .get();
+    }
+    return rows;
+  }
+
+  private MeasureFilterRow toRow(SearchHit hit) {
+    Map<String, Object> source = hit.getSource();
+    MeasureFilterRow row = new MeasureFilterRow(
+      ((Number) source.get(FIELD_SNAPSHOT_ID)).longValue(),
+      ((Number) source.get(FIELD_RESOURCE_ID)).longValue(),
+      ((Number) source.get(FIELD_ROOT_PROJECT_ID)).longValue());
+    // the values of sorting are not used by callers, except for re-sorting alerts
+    MeasureFilterSort sort = filter.sort();
+    Object sortValue = hit.getSortValues()[0];
+    if (sort.isOnDate() || sort.isOnTime()) {
+      row.setSortDate(((Number) sortValue).longValue());
+    } else if (!sort.isOnNumericMeasure()) {
+      row.setSortText(sortValueToString(sortValue));
+    }
+    return row;
+  }
+
+  @CheckForNull
+  private static String sortValueToString(@Nullable Object sortValue) {
+    if (sortValue instanceof BytesRef) {
+      return ((BytesRef) sortValue).utf8ToString();
+    }
+    return sortValue == null ? null : sortValue.toString();
+  }
+
+  private FilterBuilder createFilter(@Nullable Collection<Long> rootProjectIds) {
+    BoolFilterBuilder bool = FilterBuilders.boolFilter();
+    appendResourceConditions(bool);
+    if (rootProjectIds != null) {
+      bool.must(FilterBuilders.termsFilter(FIELD_ROOT_PROJECT_ID, rootProjectIds));
+    }
+    for (MeasureFilterCondition condition : filter.getMeasureConditions()) {
+      bool.must(FilterBuilders.nestedFilter(FIELD_MEASURES, FilterBuilders.boolFilter()
+        .must(FilterBuilders.termFilter(nested(FIELD_MEASURE_METRIC_ID), condition.metric().getId()))
+        .must(createMeasureFilter(condition))));
+    }
+    if (!bool.hasClauses()) {
+      return FilterBuilders.matchAllFilter();
+    }
+    return bool;
+  }
+
+  private void appendResourceConditions(BoolFilterBuilder bool) {
+    if (context.getBaseSnapshot() == null) {
+      bool.must(FilterBuilders.termFilter(FIELD_COPY, false));
+    }
+    if (!filter.getResourceQualifiers().isEmpty()) {
+      bool.must(FilterBuilders.termsFilter(FIELD_QUALIFIER, filter.getResourceQualifiers()));
+    }
+    if (!filter.getResourceScopes().isEmpty()) {
+      bool.must(FilterBuilders.termsFilter(FIELD_SCOPE, filter.getResourceScopes()));
+    }
+    appendDateConditions(bool);
+    if (filter.isOnFavourites()) {
+      bool.must(FilterBuilders.termsFilter(FIELD_RESOURCE_ID, context.getFavouriteResourceIds()));
+    }
+    if (StringUtils.isNotBlank(filter.getResourceName())) {
+      bool.must(containsFilter(FIELD_NAME, StringUtils.trim(filter.getResourceName())));
+    }
+    if (StringUtils.isNotBlank(filter.getResourceKey())) {
+      bool.must(containsFilter(FIELD_KEY, filter.getResourceKey()));
+    }
+    appendResourceBaseCondition(bool);
+  }
+
+  private void appendDateConditions(BoolFilterBuilder bool) {
+    Date fromDate = filter.getFromDate();
+    if (fromDate != null) {
+      bool.must(FilterBuilders.rangeFilter(FIELD_ANALYZED_AT).gte(fromDate));
+    }
+    Date toDate = filter.getToDate();
+    if (toDate != null) {
+      bool.must(FilterBuilders.rangeFilter(FIELD_ANALYZED_AT).lte(toDate));
+    }
+  }
+
+  private void appendResourceBaseCondition(BoolFilterBuilder bool) {
+    SnapshotDto baseSnapshot = context.getBaseSnapshot();
+    if (baseSnapshot != null) {
+      if (filter.isOnBaseResourceChildren()) {
+        bool.must(FilterBuilders.termFilter(FIELD_PARENT_SNAPSHOT_ID, baseSnapshot.getId()));
+      } else {
+        Long rootSnapshotId = baseSnapshot.getRootId() != null ? baseSnapshot.getRootId() : baseSnapshot.getId();
+        bool.must(FilterBuilders.termFilter(FIELD_ROOT_SNAPSHOT_ID, rootSnapshotId));
+        bool.must(FilterBuilders.prefixFilter(FIELD_SNAPSHOT_PATH, StringUtils.defaultString(baseSnapshot.getPath()) + baseSnapshot.getId() + "."));
+      }
+    }
+  }
+
+  /**
+   * Case-insensitive search of a substring, on the lower-cased sub-field used for sorting
+   */
+  private static FilterBuilder containsFilter(String field, String text) {
+    String escaped = StringUtils.lowerCase(text).replace("\\", "\\\\").replace("*", "\\*").replace("?", "\\?");
+    return FilterBuilders.queryFilter(QueryBuilders.wildcardQuery(sortField(field), "*" + escaped + "*"));
+  }
+
+  private static FilterBuilder createMeasureFilter(MeasureFilterCondition condition) {
+    String field = measureField(condition.period(), condition.textValue() == null);
+    if (condition.textValue() != null) {
+      return createTextMeasureFilter(field, condition.operator(), condition.textValue());
+    }
+    Double value = condition.value();
+    switch (condition.operator()) {
+      case GREATER:
+        return FilterBuilders.rangeFilter(field).gt(value);
+      case GREATER_OR_EQUALS:
+        return FilterBuilders.rangeFilter(field).gte(value);
+      case LESS:
+        return FilterBuilders.rangeFilter(field).lt(value);
+      case LESS_OR_EQUALS:
+        return FilterBuilders.rangeFilter(field).lte(value);
+      default:
+        return FilterBuilders.termFilter(field, value);
+    }
+  }
+
+  private static FilterBuilder createTextMeasureFilter(String field, MeasureFilterCondition.Operator operator, String textValue) {
+    RangeFilterBuilder range = FilterBuilders.rangeFilter(field);
+    switch (operator) {
+      case IN:
+        return FilterBuilders.termsFilter(field, parseTextValues(textValue));
+      case GREATER:
+        return range.gt(textValue);
+      case GREATER_OR_EQUALS:
+        return range.gte(textValue);
+      case LESS:
+        return range.lt(textValue);
+      case LESS_OR_EQUALS:
+        return range.lte(textValue);
+      default:
+        return FilterBuilders.termFilter(field, textValue);
+    }
+  }
+
+  /**
+   * Text values of the operator IN are formatted as SQL, for example "('OK', 'WARN')"
+   */
+  static List<String> parseTextValues(String textValue) {
+    List<String> values = Lists.newArrayList();
+    String list = StringUtils.removeEnd(StringUtils.removeStart(StringUtils.trim(textValue), "("), ")");
+    for (String value : Splitter.on(',').trimResults().omitEmptyStrings().split(list)) {
+      values.add(StringUtils.removeEnd(StringUtils.removeStart(value, "'"), "'"));
+    }
+    return values;
+  }
+
+  private FieldSortBuilder createSort() {
+    MeasureFilterSort sort = filter.sort();
+    SortOrder order = sort.isAsc() ? SortOrder.ASC : SortOrder.DESC;
+    // as in MeasureFilterSql, text values are sorted as empty strings when missing, whereas
+    // missing numeric values and dates are always sorted last
+    String missingText = sort.isAsc() ? MISSING_FIRST : MISSING_LAST;
+    switch (sort.field()) {
+      case KEY:
+        return SortBuilders.fieldSort(sortField(FIELD_KEY)).order(order).missing(missingText);
+      case NAME:
+        return SortBuilders.fieldSort(sortField(FIELD_LONG_NAME)).order(order).missing(missingText);
+      case SHORT_NAME:
+        return SortBuilders.fieldSort(sortField(FIELD_NAME)).order(order).missing(missingText);
+      case DESCRIPTION:
+        return SortBuilders.fieldSort(sortField(FIELD_DESCRIPTION)).order(order).missing(missingText);
+      case VERSION:
+        return SortBuilders.fieldSort(sortField(FIELD_VERSION)).order(order).missing(missingText);
+      case DATE:
+        return SortBuilders.fieldSort(FIELD_ANALYZED_AT).order(order).missing(MISSING_LAST);
+      case PROJECT_CREATION_DATE:
+        return SortBuilders.fieldSort(FIELD_CREATED_AT).order(order).missing(MISSING_LAST);
+      case METRIC:
+        boolean numeric = sort.isOnNumericMeasure();
+        String field;
+        if (numeric) {
+          field = measureField(sort.period(), true);
+        } else if (sort.isOnAlert()) {
+          // exact values are loaded in order to be re-sorted
+          field = nested(FIELD_MEASURE_TEXT_VALUE);
+        } else {
+          field = sortField(nested(FIELD_MEASURE_TEXT_VALUE));
+        }
+        return SortBuilders.fieldSort(field)
+          .order(order)
+          .missing(numeric ? MISSING_LAST : missingText)
+          .setNestedPath(FIELD_MEASURES)
+          .setNestedFilter(FilterBuilders.termFilter(nested(FIELD_MEASURE_METRIC_ID), sort.metric().getId()));
+      default:
+        throw new IllegalArgumentException("Unsupported sorting: " + sort.field());
+    }
+  }
+
+  private static String measureField(@Nullable Integer period, boolean numeric) {
+    if (period != null) {
+      return nested(variationField(period));
+    }
+    return nested(numeric ? FIELD_MEASURE_VALUE : FIELD_MEASURE_TEXT_VALUE);
+  }
+
+  private static String nested(String field) {
+    return FIELD_MEASURES + "." + field;
+  }
+
+  private static String sortField(String field) {
+    return field + "." + IndexField.SORT_SUFFIX;
+  }
+}
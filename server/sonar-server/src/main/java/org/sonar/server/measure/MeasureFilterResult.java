@@ -30,15 +30,34 @@ public class MeasureFilterResult {
   }
 
   private List<MeasureFilterRow> rows = null;
+  private long total = 0L;
+  private boolean securityExclusions = false;
   private Error error = null;
 
   MeasureFilterResult() {
   }
 
+  /**
+   * Rows of the requested page
+   */
   public List<MeasureFilterRow> getRows() {
     return rows;
   }
 
+  /**
+   * Number of rows of all the pages
+   */
+  public long getTotal() {
+    return total;
+  }
+
+  /**
+   * Whether some rows have been excluded because the user is not allowed to browse their project
+   */
+  public boolean hasSecurityExclusions() {
+    return securityExclusions;
+  }
+
   public Error getError() {
     return error;
   }
@@ -48,6 +67,16 @@ public class MeasureFilterResult {
     return this;
   }
 
+  MeasureFilterResult setTotal(long total) {
+    this.total = total;
+    return this;
+  }
+
+  MeasureFilterResult setSecurityExclusions(boolean b) {
+    this.securityExclusions = b;
+    return this;
+  }
+
   MeasureFilterResult setError(@Nullable Error err) {
     this.error = err;
     return this;
@@ -61,7 +90,7 @@ public class MeasureFilterResult {
   public String toString() {
     StringBuilder sb = new StringBuilder();
     if (rows != null) {
-      sb.append(rows.size()).append(" rows, ");
+      sb.append(rows.size()).append(" rows of ").append(total).append(", ");
     }
     if (error != null) {
       sb.append("error=").append(error).append(", ");
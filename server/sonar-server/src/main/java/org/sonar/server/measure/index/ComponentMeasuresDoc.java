@@ -0,0 +1,196 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.Maps;
+import org.sonar.server.search.BaseDoc;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Last snapshot of a component and its measures
+ */
+public class ComponentMeasuresDoc extends BaseDoc {
+
+  public ComponentMeasuresDoc(Map<String, Object> fields) {
+    super(fields);
+  }
+
+  public ComponentMeasuresDoc() {
+    super(Maps.<String, Object>newHashMapWithExpectedSize(20));
+    setField(MeasureIndexDefinition.FIELD_MEASURES, new ArrayList<Map<String, Object>>());
+  }
+
+  public String uuid() {
+    return getField(MeasureIndexDefinition.FIELD_UUID);
+  }
+
+  public String projectUuid() {
+    return getField(MeasureIndexDefinition.FIELD_PROJECT_UUID);
+  }
+
+  public long snapshotId() {
+    return ((Number) getField(MeasureIndexDefinition.FIELD_SNAPSHOT_ID)).longValue();
+  }
+
+  public long resourceId() {
+    return ((Number) getField(MeasureIndexDefinition.FIELD_RESOURCE_ID)).longValue();
+  }
+
+  public long rootProjectId() {
+    return ((Number) getField(MeasureIndexDefinition.FIELD_ROOT_PROJECT_ID)).longValue();
+  }
+
+  public List<Map<String, Object>> measures() {
+    return getField(MeasureIndexDefinition.FIELD_MEASURES);
+  }
+
+  public ComponentMeasuresDoc setUuid(String s) {
+    setField(MeasureIndexDefinition.FIELD_UUID, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setProjectUuid(@Nullable String s) {
+    setField(MeasureIndexDefinition.FIELD_PROJECT_UUID, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setResourceId(long l) {
+    setField(MeasureIndexDefinition.FIELD_RESOURCE_ID, l);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setRootProjectId(long l) {
+    setField(MeasureIndexDefinition.FIELD_ROOT_PROJECT_ID, l);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setSnapshotId(long l) {
+    setField(MeasureIndexDefinition.FIELD_SNAPSHOT_ID, l);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setRootSnapshotId(@Nullable Long l) {
+    setField(MeasureIndexDefinition.FIELD_ROOT_SNAPSHOT_ID, l);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setParentSnapshotId(@Nullable Long l) {
+    setField(MeasureIndexDefinition.FIELD_PARENT_SNAPSHOT_ID, l);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setSnapshotPath(@Nullable String s) {
+    setField(MeasureIndexDefinition.FIELD_SNAPSHOT_PATH, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setScope(String s) {
+    setField(MeasureIndexDefinition.FIELD_SCOPE, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setQualifier(String s) {
+    setField(MeasureIndexDefinition.FIELD_QUALIFIER, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setKey(String s) {
+    setField(MeasureIndexDefinition.FIELD_KEY, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setName(@Nullable String s) {
+    setField(MeasureIndexDefinition.FIELD_NAME, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setLongName(@Nullable String s) {
+    setField(MeasureIndexDefinition.FIELD_LONG_NAME, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setDescription(@Nullable String s) {
+    setField(MeasureIndexDefinition.FIELD_DESCRIPTION, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setVersion(@Nullable String s) {
+    setField(MeasureIndexDefinition.FIELD_VERSION, s);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setCopy(boolean b) {
+    setField(MeasureIndexDefinition.FIELD_COPY, b);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setAnalyzedAt(@Nullable Date d) {
+    setField(MeasureIndexDefinition.FIELD_ANALYZED_AT, d);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setCreatedAt(@Nullable Date d) {
+    setField(MeasureIndexDefinition.FIELD_CREATED_AT, d);
+    return this;
+  }
+
+  public ComponentMeasuresDoc setIndexedAt(Date d) {
+    setField(MeasureIndexDefinition.FIELD_INDEXED_AT, d);
+    return this;
+  }
+
+  /**
+   * @param variations the variations on periods 1 to 5. Array can contain null elements.
+   */
+  public ComponentMeasuresDoc addMeasure(int metricId, @Nullable Double value, @Nullable String textValue, Double[] variations) {
+    Map<String, Object> measure = Maps.newHashMapWithExpectedSize(3 + MeasureIndexDefinition.NB_PERIODS);
+    measure.put(MeasureIndexDefinition.FIELD_MEASURE_METRIC_ID, metricId);
+    putIfNotNull(measure, MeasureIndexDefinition.FIELD_MEASURE_VALUE, value);
+    putIfNotNull(measure, MeasureIndexDefinition.FIELD_MEASURE_TEXT_VALUE, textValue);
+    for (int i = 0; i < variations.length; i++) {
+      putIfNotNull(measure, MeasureIndexDefinition.variationField(i + 1), variations[i]);
+    }
+    measures().add(measure);
+    return this;
+  }
+
+  @CheckForNull
+  public Map<String, Object> measure(int metricId) {
+    for (Map<String, Object> measure : measures()) {
+      if (((Number) measure.get(MeasureIndexDefinition.FIELD_MEASURE_METRIC_ID)).intValue() == metricId) {
+        return measure;
+      }
+    }
+    return null;
+  }
+
+  private static void putIfNotNull(Map<String, Object> map, String key, @Nullable Object value) {
+    if (value != null) {
+      map.put(key, value);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import org.apache.commons.lang.StringUtils;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.db.ResultSetIterator;
+import org.sonar.server.db.migrations.SqlUtil;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Date;
+
+/**
+ * Scrolls over the last processed snapshots, ordered by snapshot id, and reads the components
+ * to be indexed. Measures are read by {@link MeasureResultSetIterator}.
+ */
+class LastSnapshotResultSetIterator extends ResultSetIterator<ComponentMeasuresDoc> {
+
+  private static final String[] FIELDS = {
+    // column 1
+    "p.uuid",
+    "p.project_uuid",
+    "s.id",
+    "s.project_id",
+    "s.root_project_id",
+    "s.root_snapshot_id",
+    "s.parent_snapshot_id",
+    "s.path",
+    "s.scope",
+    "s.qualifier",
+
+    // column 11
+    "p.kee",
+    "p.name",
+    "p.long_name",
+    "p.description",
+    "s.version",
+    "s.created_at",
+    "p.created_at",
+    "p.copy_resource_id"
+  };
+
+  private static final String SQL_ALL = "select " + StringUtils.join(FIELDS, ",") + " from snapshots s " +
+    "inner join projects p on p.id=s.project_id " +
+    "where s.islast=? and s.status='P' ";
+
+  private static final String SQL_PROJECT = SQL_ALL + "and p.project_uuid=? ";
+
+  private static final String ORDER_BY = "order by s.id";
+
+  private final Date indexedAt;
+
+  static LastSnapshotResultSetIterator create(DbClient dbClient, Connection connection, @Nullable String projectUuid, Date indexedAt) {
+    try {
+      PreparedStatement stmt = dbClient.newScrollingSelectStatement(connection, (projectUuid == null ? SQL_ALL : SQL_PROJECT) + ORDER_BY);
+      stmt.setBoolean(1, true);
+      if (projectUuid != null) {
+        stmt.setString(2, projectUuid);
+      }
+      return new LastSnapshotResultSetIterator(stmt, indexedAt);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Fail to prepare SQL request to select last snapshots", e);
+    }
+  }
+
+  private LastSnapshotResultSetIterator(PreparedStatement stmt, Date indexedAt) throws SQLException {
+    super(stmt);
+    this.indexedAt = indexedAt;
+  }
+
+  @Override
+  protected ComponentMeasuresDoc read(ResultSet rs) throws SQLException {
+    ComponentMeasuresDoc doc = new ComponentMeasuresDoc();
+    doc.setUuid(rs.getString(1));
+    doc.setProjectUuid(rs.getString(2));
+    doc.setSnapshotId(rs.getLong(3));
+    doc.setResourceId(rs.getLong(4));
+    doc.setRootProjectId(rs.getLong(5));
+    doc.setRootSnapshotId(SqlUtil.getLong(rs, 6));
+    doc.setParentSnapshotId(SqlUtil.getLong(rs, 7));
+    doc.setSnapshotPath(StringUtils.defaultString(rs.getString(8)));
+    doc.setScope(rs.getString(9));
+    doc.setQualifier(rs.getString(10));
+    doc.setKey(rs.getString(11));
+    doc.setName(rs.getString(12));
+    doc.setLongName(rs.getString(13));
+    doc.setDescription(rs.getString(14));
+    doc.setVersion(rs.getString(15));
+    doc.setAnalyzedAt(toDate(SqlUtil.getLong(rs, 16)));
+    doc.setCreatedAt(SqlUtil.getDate(rs, 17));
+    doc.setCopy(SqlUtil.getLong(rs, 18) != null);
+    doc.setIndexedAt(indexedAt);
+    return doc;
+  }
+
+  @CheckForNull
+  private static Date toDate(@Nullable Long time) {
+    return time == null ? null : new Date(time);
+  }
+}
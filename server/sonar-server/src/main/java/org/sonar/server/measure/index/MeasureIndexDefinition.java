@@ -0,0 +1,116 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.ImmutableMap;
+import org.sonar.api.config.Settings;
+import org.sonar.server.es.IndexDefinition;
+import org.sonar.server.es.NewIndex;
+
+/**
+ * Definition of ES index "measures". It contains a document per component having a last
+ * processed snapshot. Measures of the snapshot, including variations, are nested into the document. Only
+ * the measures that are not related to rules, characteristics or developers are indexed.
+ */
+public class MeasureIndexDefinition implements IndexDefinition {
+
+  public static final String INDEX = "measures";
+
+  public static final String TYPE_COMPONENT = "component";
+  public static final String FIELD_UUID = "uuid";
+  public static final String FIELD_PROJECT_UUID = "projectUuid";
+  public static final String FIELD_RESOURCE_ID = "resourceId";
+  public static final String FIELD_ROOT_PROJECT_ID = "rootProjectId";
+  public static final String FIELD_SNAPSHOT_ID = "snapshotId";
+  public static final String FIELD_ROOT_SNAPSHOT_ID = "rootSnapshotId";
+  public static final String FIELD_PARENT_SNAPSHOT_ID = "parentSnapshotId";
+  public static final String FIELD_SNAPSHOT_PATH = "snapshotPath";
+  public static final String FIELD_SCOPE = "scope";
+  public static final String FIELD_QUALIFIER = "qualifier";
+  public static final String FIELD_KEY = "key";
+  public static final String FIELD_NAME = "name";
+  public static final String FIELD_LONG_NAME = "longName";
+  public static final String FIELD_DESCRIPTION = "description";
+  public static final String FIELD_VERSION = "version";
+  public static final String FIELD_COPY = "copy";
+  public static final String FIELD_ANALYZED_AT = "analyzedAt";
+  public static final String FIELD_CREATED_AT = "createdAt";
+  public static final String FIELD_INDEXED_AT = "indexedAt";
+  public static final String FIELD_MEASURES = "measures";
+
+  public static final String FIELD_MEASURE_METRIC_ID = "metricId";
+  public static final String FIELD_MEASURE_VALUE = "value";
+  public static final String FIELD_MEASURE_TEXT_VALUE = "textValue";
+  public static final String FIELD_MEASURE_VARIATION_PREFIX = "variation";
+
+  public static final int NB_PERIODS = 5;
+
+  private final Settings settings;
+
+  public MeasureIndexDefinition(Settings settings) {
+    this.settings = settings;
+  }
+
+  /**
+   * Name of the nested field containing the variation of measures on the given period, from 1 to 5
+   */
+  public static String variationField(int period) {
+    return FIELD_MEASURE_VARIATION_PREFIX + period;
+  }
+
+  @Override
+  public void define(IndexDefinitionContext context) {
+    NewIndex index = context.create(INDEX);
+
+    index.refreshHandledByIndexer();
+    index.setShards(settings);
+
+    NewIndex.NewIndexType nestedMapping = index.createType(TYPE_COMPONENT);
+    nestedMapping.createIntegerField(FIELD_MEASURE_METRIC_ID);
+    nestedMapping.createDoubleField(FIELD_MEASURE_VALUE);
+    nestedMapping.stringFieldBuilder(FIELD_MEASURE_TEXT_VALUE).enableSorting().build();
+    for (int period = 1; period <= NB_PERIODS; period++) {
+      nestedMapping.createDoubleField(variationField(period));
+    }
+
+    NewIndex.NewIndexType mapping = index.createType(TYPE_COMPONENT);
+    mapping.setAttribute("_id", ImmutableMap.of("path", FIELD_UUID));
+    mapping.stringFieldBuilder(FIELD_UUID).build();
+    mapping.stringFieldBuilder(FIELD_PROJECT_UUID).build();
+    mapping.createLongField(FIELD_RESOURCE_ID);
+    mapping.createLongField(FIELD_ROOT_PROJECT_ID);
+    mapping.createLongField(FIELD_SNAPSHOT_ID);
+    mapping.createLongField(FIELD_ROOT_SNAPSHOT_ID);
+    mapping.createLongField(FIELD_PARENT_SNAPSHOT_ID);
+    mapping.stringFieldBuilder(FIELD_SNAPSHOT_PATH).build();
+    mapping.stringFieldBuilder(FIELD_SCOPE).build();
+    mapping.stringFieldBuilder(FIELD_QUALIFIER).build();
+    mapping.stringFieldBuilder(FIELD_KEY).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_NAME).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_LONG_NAME).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_DESCRIPTION).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_VERSION).enableSorting().build();
+    mapping.createBooleanField(FIELD_COPY);
+    mapping.createDateTimeField(FIELD_ANALYZED_AT);
+    mapping.createDateTimeField(FIELD_CREATED_AT);
+    mapping.createDateTimeField(FIELD_INDEXED_AT);
+    mapping.nestedObjectBuilder(FIELD_MEASURES, nestedMapping).build();
+  }
+}
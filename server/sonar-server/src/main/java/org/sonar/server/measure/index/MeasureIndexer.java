@@ -0,0 +1,148 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import org.apache.commons.dbutils.DbUtils;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.BaseIndexer;
+import org.sonar.server.es.BulkIndexer;
+import org.sonar.server.es.EsClient;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.util.Date;
+
+/**
+ * Populates the index {@link MeasureIndexDefinition#INDEX} from the last processed snapshots and
+ * their measures.
+ */
+public class MeasureIndexer extends BaseIndexer {
+
+  private final DbClient dbClient;
+
+  public MeasureIndexer(DbClient dbClient, EsClient esClient) {
+    super(esClient, 300, MeasureIndexDefinition.INDEX, MeasureIndexDefinition.TYPE_COMPONENT, MeasureIndexDefinition.FIELD_INDEXED_AT);
+    this.dbClient = dbClient;
+  }
+
+  /**
+   * Index all the last snapshots if the index is empty (only used on startup). Tables SNAPSHOTS and
+   * PROJECT_MEASURES have no technical update date, so measures are then indexed project by project
+   * by {@link #index(String)}.
+   */
+  @Override
+  protected long doIndex(long lastUpdatedAt) {
+    long count = esClient.prepareCount(MeasureIndexDefinition.INDEX).setTypes(MeasureIndexDefinition.TYPE_COMPONENT).get().getCount();
+    if (count == 0) {
+      doIndex(null);
+    }
+    return 0L;
+  }
+
+  /**
+   * Index the last snapshots of the components of a project, including modules and files, once a
+   * new analysis has been processed. Documents of the components that are no more part of the
+   * last analysis are removed from index.
+   */
+  public void index(final String projectUuid) {
+    index(new IndexerTask() {
+      @Override
+      public long index(long lastUpdatedAt) {
+        doIndex(projectUuid);
+        return 0L;
+      }
+    });
+  }
+
+  private void doIndex(@Nullable String projectUuid) {
+    Date indexedAt = new Date();
+    BulkIndexer bulk = new BulkIndexer(esClient, MeasureIndexDefinition.INDEX);
+    bulk.setLarge(projectUuid == null);
+
+    // Result sets are streamed, so on some databases (MySQL) they can't share the same connection
+    DbSession snapshotSession = dbClient.openSession(false);
+    DbSession measureSession = dbClient.openSession(false);
+    Connection snapshotConnection = snapshotSession.getConnection();
+    Connection measureConnection = measureSession.getConnection();
+    try {
+      LastSnapshotResultSetIterator snapshots = LastSnapshotResultSetIterator.create(dbClient, snapshotConnection, projectUuid, indexedAt);
+      MeasureResultSetIterator measures = MeasureResultSetIterator.create(dbClient, measureConnection, projectUuid);
+      try {
+        doIndex(bulk, snapshots, Iterators.peekingIterator(measures));
+      } finally {
+        snapshots.close();
+        measures.close();
+      }
+    } finally {
+      DbUtils.closeQuietly(snapshotConnection);
+      DbUtils.closeQuietly(measureConnection);
+      snapshotSession.close();
+      measureSession.close();
+    }
+
+    if (projectUuid != null) {
+      deleteProject(projectUuid, FilterBuilders.rangeFilter(MeasureIndexDefinition.FIELD_INDEXED_AT).lt(indexedAt));
+    }
+  }
+
+  /**
+   * Both iterators are sorted by snapshot id, so measures are attached to their snapshot
+   * without being loaded in memory.
+   */
+  private static void doIndex(BulkIndexer bulk, LastSnapshotResultSetIterator snapshots, PeekingIterator<MeasureResultSetIterator.Row> measures) {
+    bulk.start();
+    while (snapshots.hasNext()) {
+      ComponentMeasuresDoc doc = snapshots.next();
+      long snapshotId = doc.snapshotId();
+      while (measures.hasNext() && measures.peek().getSnapshotId() <= snapshotId) {
+        MeasureResultSetIterator.Row measure = measures.next();
+        if (measure.getSnapshotId() == snapshotId) {
+          doc.addMeasure(measure.getMetricId(), measure.getValue(), measure.getTextValue(), measure.getVariations());
+        }
+      }
+      bulk.add(new IndexRequest(MeasureIndexDefinition.INDEX, MeasureIndexDefinition.TYPE_COMPONENT, doc.uuid()).source(doc.getFields()));
+    }
+    bulk.stop();
+  }
+
+  public void deleteProject(String projectUuid) {
+    deleteProject(projectUuid, null);
+  }
+
+  private void deleteProject(String projectUuid, @Nullable FilterBuilder additionalFilter) {
+    FilterBuilder filter = FilterBuilders.termFilter(MeasureIndexDefinition.FIELD_PROJECT_UUID, projectUuid).cache(false);
+    if (additionalFilter != null) {
+      filter = FilterBuilders.andFilter(filter, additionalFilter);
+    }
+    SearchRequestBuilder search = esClient.prepareSearch(MeasureIndexDefinition.INDEX)
+      .setTypes(MeasureIndexDefinition.TYPE_COMPONENT)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), filter));
+    BulkIndexer.delete(esClient, MeasureIndexDefinition.INDEX, search);
+  }
+}
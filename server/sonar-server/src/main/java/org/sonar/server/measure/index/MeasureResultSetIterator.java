@@ -0,0 +1,127 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import org.apache.commons.lang.StringUtils;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.db.ResultSetIterator;
+import org.sonar.server.db.migrations.SqlUtil;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Scrolls over the measures of last processed snapshots, ordered by snapshot id. Measures
+ * related to rules, characteristics or developers are ignored, as well as the data of measures.
+ */
+class MeasureResultSetIterator extends ResultSetIterator<MeasureResultSetIterator.Row> {
+
+  private static final String[] FIELDS = {
+    // column 1
+    "pm.snapshot_id",
+    "pm.metric_id",
+    "pm.value",
+    "pm.text_value",
+    "pm.variation_value_1",
+    "pm.variation_value_2",
+    "pm.variation_value_3",
+    "pm.variation_value_4",
+    "pm.variation_value_5"
+  };
+
+  private static final String SQL_ALL = "select " + StringUtils.join(FIELDS, ",") + " from project_measures pm " +
+    "inner join snapshots s on s.id=pm.snapshot_id " +
+    "inner join projects p on p.id=s.project_id " +
+    "where s.islast=? and s.status='P' " +
+    "and pm.rule_id is null and pm.rule_priority is null and pm.characteristic_id is null and pm.person_id is null ";
+
+  private static final String SQL_PROJECT = SQL_ALL + "and p.project_uuid=? ";
+
+  private static final String ORDER_BY = "order by pm.snapshot_id";
+
+  static MeasureResultSetIterator create(DbClient dbClient, Connection connection, @Nullable String projectUuid) {
+    try {
+      PreparedStatement stmt = dbClient.newScrollingSelectStatement(connection, (projectUuid == null ? SQL_ALL : SQL_PROJECT) + ORDER_BY);
+      stmt.setBoolean(1, true);
+      if (projectUuid != null) {
+        stmt.setString(2, projectUuid);
+      }
+      return new MeasureResultSetIterator(stmt);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Fail to prepare SQL request to select measures of last snapshots", e);
+    }
+  }
+
+  private MeasureResultSetIterator(PreparedStatement stmt) throws SQLException {
+    super(stmt);
+  }
+
+  @Override
+  protected Row read(ResultSet rs) throws SQLException {
+    Double[] variations = new Double[MeasureIndexDefinition.NB_PERIODS];
+    for (int i = 0; i < variations.length; i++) {
+      variations[i] = SqlUtil.getDouble(rs, 5 + i);
+    }
+    return new Row(rs.getLong(1), rs.getInt(2), SqlUtil.getDouble(rs, 3), rs.getString(4), variations);
+  }
+
+  static class Row {
+    private final long snapshotId;
+    private final int metricId;
+    private final Double value;
+    private final String textValue;
+    private final Double[] variations;
+
+    Row(long snapshotId, int metricId, @Nullable Double value, @Nullable String textValue, Double[] variations) {
+      this.snapshotId = snapshotId;
+      this.metricId = metricId;
+      this.value = value;
+      this.textValue = textValue;
+      this.variations = variations;
+    }
+
+    long getSnapshotId() {
+      return snapshotId;
+    }
+
+    int getMetricId() {
+      return metricId;
+    }
+
+    @CheckForNull
+    Double getValue() {
+      return value;
+    }
+
+    @CheckForNull
+    String getTextValue() {
+      return textValue;
+    }
+
+    Double[] getVariations() {
+      return variations;
+    }
+  }
+}
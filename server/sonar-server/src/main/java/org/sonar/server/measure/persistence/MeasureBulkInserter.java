@@ -0,0 +1,121 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.persistence;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.sonar.core.measure.db.MeasureDto;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.persistence.dialect.Dialect;
+import org.sonar.core.persistence.dialect.H2;
+import org.sonar.core.persistence.dialect.MySql;
+import org.sonar.core.persistence.dialect.PostgreSql;
+
+/**
+ * Inserts rows into the table project_measures by batches of {@code batchSize} rows. Rows are buffered then flushed
+ * with multi-row INSERT statements on the databases that support them (H2, MySQL and PostgreSQL), otherwise with a
+ * JDBC batch of single-row INSERT statements.
+ * <p/>
+ * Measures with a large data value are always inserted with a single-row statement, so that the size of
+ * multi-row statements stays bounded.
+ * <p/>
+ * Rows are not committed. Caller is responsible for calling {@link #flush()} then committing the session.
+ */
+public class MeasureBulkInserter {
+
+  public static final int DEFAULT_BATCH_SIZE = 250;
+
+  private static final Set<String> MULTI_ROW_DIALECTS = ImmutableSet.of(H2.ID, MySql.ID, PostgreSql.ID);
+
+  private final MeasureDao dao;
+  private final DbSession session;
+  private final boolean multiRowInsert;
+  private final int batchSize;
+  private final List<MeasureDto> buffer;
+  private long count = 0L;
+
+  public MeasureBulkInserter(MeasureDao dao, DbSession session, Dialect dialect, int batchSize) {
+    Preconditions.checkArgument(batchSize > 0, "Batch size must be strictly positive: %s", batchSize);
+    this.dao = dao;
+    this.session = session;
+    this.multiRowInsert = MULTI_ROW_DIALECTS.contains(dialect.getId());
+    this.batchSize = batchSize;
+    this.buffer = new ArrayList<>(batchSize);
+  }
+
+  public void insert(MeasureDto measure) {
+    buffer.add(measure);
+    if (buffer.size() >= batchSize) {
+      flush();
+    }
+  }
+
+  /**
+   * Sends the buffered rows to database.
+   */
+  public void flush() {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    if (multiRowInsert) {
+      insertMultiRows();
+    } else {
+      for (MeasureDto measure : buffer) {
+        dao.insert(session, measure);
+      }
+    }
+    session.flushStatements();
+    count += buffer.size();
+    buffer.clear();
+  }
+
+  private void insertMultiRows() {
+    int start = 0;
+    for (int i = 0; i < buffer.size(); i++) {
+      MeasureDto measure = buffer.get(i);
+      if (measure.hasLargeData()) {
+        insertMultiRows(start, i);
+        dao.insert(session, measure);
+        start = i + 1;
+      }
+    }
+    insertMultiRows(start, buffer.size());
+  }
+
+  private void insertMultiRows(int fromIndex, int toIndex) {
+    if (fromIndex < toIndex) {
+      dao.insertMultiple(session, buffer.subList(fromIndex, toIndex));
+    }
+  }
+
+  /**
+   * Number of rows sent to database so far
+   */
+  public long getCount() {
+    return count;
+  }
+
+  boolean isMultiRowInsert() {
+    return multiRowInsert;
+  }
+}
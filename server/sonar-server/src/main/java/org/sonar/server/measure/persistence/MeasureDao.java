@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.CheckForNull;
+import org.apache.ibatis.session.ResultHandler;
 import org.sonar.api.server.ServerSide;
 import org.sonar.core.component.SnapshotDto;
 import org.sonar.core.measure.db.MeasureDto;
@@ -56,6 +57,23 @@ public class MeasureDao implements DaoComponent {
     });
   }
 
+  /**
+   * Streams the measures of the last snapshots of all the components of a project. Measures related to
+   * rules, characteristics or developers are excluded. Column measure_data is not loaded, so data too
+   * long to be stored in column text_value is missing from the returned measures.
+   */
+  public void selectLastMeasuresByProjectUuid(DbSession session, String projectUuid, ResultHandler handler) {
+    session.select("org.sonar.core.measure.db.MeasureMapper.selectLastMeasuresByProjectUuid", projectUuid, handler);
+  }
+
+  /**
+   * Same as {@link #selectLastMeasuresByProjectUuid(DbSession, String, ResultHandler)}, restricted to a module and to
+   * the components it directly contains.
+   */
+  public void selectLastMeasuresByModuleUuid(DbSession session, String moduleUuid, ResultHandler handler) {
+    session.select("org.sonar.core.measure.db.MeasureMapper.selectLastMeasuresByModuleUuid", moduleUuid, handler);
+  }
+
   public List<PastMeasureDto> selectByComponentUuidAndProjectSnapshotIdAndMetricIds(final DbSession session, final String componentUuid, final long projectSnapshotId,
     Set<Integer> metricIds) {
     return DaoUtils.executeLargeInputs(metricIds, new Function<List<Integer>, List<PastMeasureDto>>() {
@@ -81,6 +99,15 @@ public class MeasureDao implements DaoComponent {
     insert(session, Lists.asList(item, others));
   }
 
+  /**
+   * Inserts the measures with a single multi-row statement. Must not be used on Oracle.
+   *
+   * @see MeasureBulkInserter
+   */
+  public void insertMultiple(DbSession session, List<MeasureDto> items) {
+    mapper(session).insertMultiple(items);
+  }
+
   public List<String> selectMetricKeysForSnapshot(DbSession session, long snapshotId) {
     return mapper(session).selectMetricKeysForSnapshot(snapshotId);
   }
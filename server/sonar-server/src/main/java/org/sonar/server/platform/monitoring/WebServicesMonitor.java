@@ -0,0 +1,85 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import com.google.common.collect.Lists;
+import org.sonar.server.ws.WebServiceStatistics;
+import org.sonar.server.ws.WebServiceStatistics.ActionStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Latency and load of web services
+ */
+public class WebServicesMonitor extends BaseMonitorMBean implements WebServicesMonitorMBean {
+
+  private final WebServiceStatistics statistics;
+
+  public WebServicesMonitor(WebServiceStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public String name() {
+    return "Web Services";
+  }
+
+  @Override
+  public long getRequests() {
+    return statistics.requests();
+  }
+
+  @Override
+  public int getRequestsInProgress() {
+    return statistics.requestsInProgress();
+  }
+
+  @Override
+  public long getSlowRequests() {
+    return statistics.slowRequests();
+  }
+
+  @Override
+  public long getSlowRequestThresholdMillis() {
+    return statistics.slowRequestThreshold();
+  }
+
+  @Override
+  public String[] getActionLatencies() {
+    List<String> result = Lists.newArrayList();
+    for (ActionStatistics action : statistics.actions()) {
+      result.add(String.format("%s: requests=%d, inProgress=%d, failures=%d, p50=%dms, p95=%dms, p99=%dms, max=%dms",
+        action.path(), action.requests(), action.requestsInProgress(), action.failures(),
+        action.percentile(50.0), action.percentile(95.0), action.percentile(99.0), action.maxDuration()));
+    }
+    return result.toArray(new String[result.size()]);
+  }
+
+  @Override
+  public LinkedHashMap<String, Object> attributes() {
+    LinkedHashMap<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("Requests", getRequests());
+    attributes.put("Requests In Progress", getRequestsInProgress());
+    attributes.put("Slow Requests", getSlowRequests());
+    attributes.put("Slow Request Threshold (ms)", getSlowRequestThresholdMillis());
+    return attributes;
+  }
+}
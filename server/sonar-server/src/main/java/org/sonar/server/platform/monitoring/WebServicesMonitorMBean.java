@@ -17,20 +17,19 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
+package org.sonar.server.platform.monitoring;
 
-import java.io.File;
-import java.util.Objects;
+public interface WebServicesMonitorMBean {
+  long getRequests();
 
-public class ImmutableBatchReportDirectoryHolder implements BatchReportDirectoryHolder {
-  private final File directory;
+  int getRequestsInProgress();
 
-  public ImmutableBatchReportDirectoryHolder(File directory) {
-    this.directory = Objects.requireNonNull(directory);
-  }
+  long getSlowRequests();
 
-  @Override
-  public File getDirectory() {
-    return directory;
-  }
+  long getSlowRequestThresholdMillis();
+
+  /**
+   * Latency of the web service actions that have been requested since startup, slowest first
+   */
+  String[] getActionLatencies();
 }
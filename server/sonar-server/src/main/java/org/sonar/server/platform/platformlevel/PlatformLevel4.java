@@ -62,6 +62,9 @@ import org.sonar.server.component.ComponentService;
 import org.sonar.server.component.DefaultComponentFinder;
 import org.sonar.server.component.DefaultRubyComponentService;
 import org.sonar.server.component.ws.ComponentJsonWriter;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.component.index.ComponentIndexDefinition;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.component.ws.ComponentsWs;
 import org.sonar.server.component.ws.EventsWs;
 import org.sonar.server.component.ws.ResourcesWs;
@@ -164,6 +167,8 @@ import org.sonar.server.measure.MeasureFilterEngine;
 import org.sonar.server.measure.MeasureFilterExecutor;
 import org.sonar.server.measure.MeasureFilterFactory;
 import org.sonar.server.measure.custom.ws.CustomMeasuresWsModule;
+import org.sonar.server.measure.index.MeasureIndexDefinition;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.measure.template.MyFavouritesFilter;
 import org.sonar.server.measure.template.ProjectFilter;
 import org.sonar.server.measure.ws.ManualMeasuresWs;
@@ -188,6 +193,7 @@ import org.sonar.server.platform.monitoring.JvmPropertiesMonitor;
 import org.sonar.server.platform.monitoring.PluginsMonitor;
 import org.sonar.server.platform.monitoring.SonarQubeMonitor;
 import org.sonar.server.platform.monitoring.SystemMonitor;
+import org.sonar.server.platform.monitoring.WebServicesMonitor;
 import org.sonar.server.platform.ws.InfoAction;
 import org.sonar.server.platform.ws.L10nWs;
 import org.sonar.server.platform.ws.MigrateDbSystemAction;
@@ -196,6 +202,7 @@ import org.sonar.server.platform.ws.ServerWs;
 import org.sonar.server.platform.ws.StatusAction;
 import org.sonar.server.platform.ws.SystemWs;
 import org.sonar.server.platform.ws.UpgradesAction;
+import org.sonar.server.platform.ws.WsStatsAction;
 import org.sonar.server.plugins.PluginDownloader;
 import org.sonar.server.plugins.ServerExtensionInstaller;
 import org.sonar.server.plugins.UpdateCenterClient;
@@ -326,6 +333,7 @@ import org.sonar.server.view.index.ViewIndexDefinition;
 import org.sonar.server.view.index.ViewIndexer;
 import org.sonar.server.ws.ListingWs;
 import org.sonar.server.ws.WebServiceEngine;
+import org.sonar.server.ws.WebServiceStatistics;
 
 public class PlatformLevel4 extends PlatformLevel {
 
@@ -489,6 +497,8 @@ public class PlatformLevel4 extends PlatformLevel {
       MeasureFilterFactory.class,
       MeasureFilterExecutor.class,
       MeasureFilterEngine.class,
+      MeasureIndexDefinition.class,
+      MeasureIndexer.class,
       ManualMeasuresWs.class,
       MetricsWsModule.class,
       CustomMeasuresWsModule.class,
@@ -524,6 +534,7 @@ public class PlatformLevel4 extends PlatformLevel {
 
       // web services
       WebServiceEngine.class,
+      WebServiceStatistics.class,
       ListingWs.class,
 
       // localization
@@ -576,11 +587,15 @@ public class PlatformLevel4 extends PlatformLevel {
       ComponentsWs.class,
       org.sonar.server.component.ws.AppAction.class,
       org.sonar.server.component.ws.SearchAction.class,
+      org.sonar.server.component.ws.SuggestionsAction.class,
       EventsWs.class,
       NewAlerts.class,
       NewAlerts.newMetadata(),
       ComponentCleanerService.class,
       ComponentJsonWriter.class,
+      ComponentIndexDefinition.class,
+      ComponentIndexer.class,
+      ComponentIndex.class,
 
       // views
       ViewIndexDefinition.class,
@@ -717,6 +732,7 @@ public class PlatformLevel4 extends PlatformLevel {
       UpgradesAction.class,
       MigrateDbSystemAction.class,
       StatusAction.class,
+      WsStatsAction.class,
       SystemWs.class,
       SystemMonitor.class,
       SonarQubeMonitor.class,
@@ -724,6 +740,7 @@ public class PlatformLevel4 extends PlatformLevel {
       PluginsMonitor.class,
       JvmPropertiesMonitor.class,
       DatabaseMonitor.class,
+      WebServicesMonitor.class,
 
       // Plugins WS
       PluginWSCommons.class,
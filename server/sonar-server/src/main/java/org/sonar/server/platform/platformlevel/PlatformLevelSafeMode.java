@@ -24,6 +24,7 @@ import org.sonar.server.platform.ws.StatusAction;
 import org.sonar.server.platform.ws.SystemWs;
 import org.sonar.server.ws.ListingWs;
 import org.sonar.server.ws.WebServiceEngine;
+import org.sonar.server.ws.WebServiceStatistics;
 
 public class PlatformLevelSafeMode extends PlatformLevel {
   public PlatformLevelSafeMode(PlatformLevel parent) {
@@ -42,6 +43,7 @@ public class PlatformLevelSafeMode extends PlatformLevel {
       ListingWs.class,
 
       // WS engine
-      WebServiceEngine.class);
+      WebServiceEngine.class,
+      WebServiceStatistics.class);
   }
 }
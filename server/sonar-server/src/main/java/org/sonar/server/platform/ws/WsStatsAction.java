@@ -0,0 +1,80 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.ws;
+
+import com.google.common.io.Resources;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.api.utils.text.JsonWriter;
+import org.sonar.core.permission.GlobalPermissions;
+import org.sonar.server.user.UserSession;
+import org.sonar.server.ws.WebServiceStatistics;
+import org.sonar.server.ws.WebServiceStatistics.ActionStatistics;
+
+/**
+ * Implementation of the {@code ws_stats} action for the System WebService.
+ */
+public class WsStatsAction implements SystemWsAction {
+
+  private final WebServiceStatistics statistics;
+  private final UserSession userSession;
+
+  public WsStatsAction(WebServiceStatistics statistics, UserSession userSession) {
+    this.statistics = statistics;
+    this.userSession = userSession;
+  }
+
+  @Override
+  public void define(WebService.NewController controller) {
+    controller.createAction("ws_stats")
+      .setDescription("Latency of the web services requested since server startup, slowest first. " +
+        "Durations are in milliseconds. Percentiles are approximated.<br/>" +
+        "Requires user to be authenticated with Administer System permissions.")
+      .setSince("5.2")
+      .setInternal(true)
+      .setResponseExample(Resources.getResource(getClass(), "example-ws_stats.json"))
+      .setHandler(this);
+  }
+
+  @Override
+  public void handle(Request request, Response response) {
+    userSession.checkGlobalPermission(GlobalPermissions.SYSTEM_ADMIN);
+    JsonWriter json = response.newJsonWriter();
+    json.beginObject()
+      .prop("requestsInProgress", statistics.requestsInProgress())
+      .prop("slowRequests", statistics.slowRequests())
+      .prop("slowRequestThreshold", statistics.slowRequestThreshold());
+    json.name("actions").beginArray();
+    for (ActionStatistics action : statistics.actions()) {
+      json.beginObject()
+        .prop("path", action.path())
+        .prop("requests", action.requests())
+        .prop("requestsInProgress", action.requestsInProgress())
+        .prop("failures", action.failures())
+        .prop("p50", action.percentile(50.0))
+        .prop("p95", action.percentile(95.0))
+        .prop("p99", action.percentile(99.0))
+        .prop("max", action.maxDuration())
+        .endObject();
+    }
+    json.endArray().endObject().close();
+  }
+}
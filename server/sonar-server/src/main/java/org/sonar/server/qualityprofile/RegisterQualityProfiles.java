@@ -89,10 +89,11 @@ public class RegisterQualityProfiles {
     DbSession session = dbClient.openSession(false);
     try {
       ListMultimap<String, RulesProfile> profilesByLanguage = profilesByLanguage();
+      Set<String> registeredProfiles = loadRegisteredProfiles(session);
       for (String language : profilesByLanguage.keySet()) {
         List<RulesProfile> defs = profilesByLanguage.get(language);
         if (verifyLanguage(language, defs)) {
-          registerProfilesForLanguage(session, language, defs);
+          registerProfilesForLanguage(session, language, defs, registeredProfiles);
         }
       }
       profiler.stopDebug();
@@ -118,11 +119,12 @@ public class RegisterQualityProfiles {
     return true;
   }
 
-  private void registerProfilesForLanguage(DbSession session, String language, List<RulesProfile> defs) {
+  private void registerProfilesForLanguage(DbSession session, String language, List<RulesProfile> defs, Set<String> registeredProfiles) {
     for (Map.Entry<String, Collection<RulesProfile>> entry : profilesByName(defs).entrySet()) {
       String name = entry.getKey();
       QProfileName profileName = new QProfileName(language, name);
-      if (shouldRegister(profileName, session)) {
+      // check if the profile was already registered in the past
+      if (!registeredProfiles.contains(templateKey(profileName))) {
         register(profileName, entry.getValue(), session);
         session.commit();
       }
@@ -227,10 +229,15 @@ public class RegisterQualityProfiles {
     return names;
   }
 
-  private boolean shouldRegister(QProfileName key, DbSession session) {
-    // check if the profile was already registered in the past
-    return dbClient.loadedTemplateDao()
-      .countByTypeAndKey(LoadedTemplateDto.QUALITY_PROFILE_TYPE, templateKey(key), session) == 0;
+  /**
+   * @return the template keys of the profiles registered in the past, loaded in a single request
+   */
+  private Set<String> loadRegisteredProfiles(DbSession session) {
+    Set<String> keys = Sets.newHashSet();
+    for (LoadedTemplateDto template : dbClient.loadedTemplateDao().selectByType(session, LoadedTemplateDto.QUALITY_PROFILE_TYPE)) {
+      keys.add(template.getKey());
+    }
+    return keys;
   }
 
   static String templateKey(QProfileName key) {
@@ -20,8 +20,10 @@
 
 package org.sonar.server.qualityprofile.db;
 
+import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import org.sonar.api.utils.System2;
+import org.sonar.core.persistence.DaoUtils;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.qualityprofile.db.ActiveRuleDto;
 import org.sonar.core.qualityprofile.db.ActiveRuleKey;
@@ -36,6 +38,7 @@ import org.sonar.server.search.IndexDefinition;
 
 import javax.annotation.CheckForNull;
 
+import java.util.Collection;
 import java.util.List;
 
 public class ActiveRuleDao extends BaseDao<ActiveRuleMapper, ActiveRuleDto, ActiveRuleKey> {
@@ -78,6 +81,18 @@ public class ActiveRuleDao extends BaseDao<ActiveRuleMapper, ActiveRuleDto, Acti
     return null;
   }
 
+  /**
+   * Keys are not loaded, only ids of profile and rule are set
+   */
+  public List<ActiveRuleDto> findByIds(final DbSession session, Collection<Integer> ids) {
+    return DaoUtils.executeLargeInputs(ids, new Function<List<Integer>, List<ActiveRuleDto>>() {
+      @Override
+      public List<ActiveRuleDto> apply(List<Integer> partition) {
+        return mapper(session).selectByIds(partition);
+      }
+    });
+  }
+
   @Override
   protected ActiveRuleDto doGetNullableByKey(DbSession session, ActiveRuleKey key) {
     return mapper(session).selectByKey(key.qProfile(), key.ruleKey().repository(), key.ruleKey().rule());
@@ -188,6 +203,15 @@ public class ActiveRuleDao extends BaseDao<ActiveRuleMapper, ActiveRuleDto, Acti
     return mapper(session).selectParamsByActiveRuleId(activeRule.getId());
   }
 
+  public List<ActiveRuleParamDto> findParamsByActiveRuleIds(final DbSession session, Collection<Integer> activeRuleIds) {
+    return DaoUtils.executeLargeInputs(activeRuleIds, new Function<List<Integer>, List<ActiveRuleParamDto>>() {
+      @Override
+      public List<ActiveRuleParamDto> apply(List<Integer> partition) {
+        return mapper(session).selectParamsByActiveRuleIds(partition);
+      }
+    });
+  }
+
   @CheckForNull
   public ActiveRuleParamDto getParamByKeyAndName(ActiveRuleKey key, String name, DbSession session) {
     Preconditions.checkNotNull(key, ACTIVE_RULE_KEY_CANNOT_BE_NULL);
@@ -20,8 +20,10 @@
 package org.sonar.server.qualityprofile.index;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
 import org.elasticsearch.action.support.replication.ReplicationType;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.sonar.core.persistence.DbSession;
@@ -37,7 +39,9 @@ import org.sonar.server.search.IndexField;
 import org.sonar.server.search.Indexable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,6 +77,52 @@ public class ActiveRuleNormalizer extends BaseNormalizer<ActiveRuleDto, ActiveRu
 
   @Override
   public List<UpdateRequest> normalize(ActiveRuleDto activeRuleDto) {
+    return normalizeAll(Collections.singletonList(activeRuleDto)).get(0);
+  }
+
+  @Override
+  public List<List<UpdateRequest>> normalizeAll(List<ActiveRuleDto> activeRuleDtos) {
+    DbSession session = db.openSession(false);
+    try {
+      // TODO because DTO uses legacy ID pattern
+      Map<Integer, QualityProfileDto> profilesById = new HashMap<>();
+      for (QualityProfileDto profile : db.qualityProfileDao().findAll(session)) {
+        profilesById.put(profile.getId(), profile);
+      }
+
+      Set<Integer> activeRuleIds = new HashSet<>();
+      Set<Integer> parentIds = new HashSet<>();
+      for (ActiveRuleDto activeRuleDto : activeRuleDtos) {
+        if (activeRuleDto.getId() != null) {
+          activeRuleIds.add(activeRuleDto.getId());
+        }
+        if (activeRuleDto.getParentId() != null) {
+          parentIds.add(activeRuleDto.getParentId());
+        }
+      }
+
+      Map<Integer, ActiveRuleDto> parentsById = new HashMap<>();
+      for (ActiveRuleDto parentDto : db.activeRuleDao().findByIds(session, parentIds)) {
+        parentsById.put(parentDto.getId(), parentDto);
+      }
+
+      Multimap<Integer, ActiveRuleParamDto> paramsByActiveRuleId = ArrayListMultimap.create();
+      for (ActiveRuleParamDto param : db.activeRuleDao().findParamsByActiveRuleIds(session, activeRuleIds)) {
+        paramsByActiveRuleId.put(param.getActiveRuleId(), param);
+      }
+
+      List<List<UpdateRequest>> requests = new ArrayList<>(activeRuleDtos.size());
+      for (ActiveRuleDto activeRuleDto : activeRuleDtos) {
+        requests.add(normalize(activeRuleDto, profilesById, parentsById, paramsByActiveRuleId));
+      }
+      return requests;
+    } finally {
+      session.close();
+    }
+  }
+
+  private List<UpdateRequest> normalize(ActiveRuleDto activeRuleDto, Map<Integer, QualityProfileDto> profilesById,
+    Map<Integer, ActiveRuleDto> parentsById, Multimap<Integer, ActiveRuleParamDto> paramsByActiveRuleId) {
 
     List<UpdateRequest> requests = new ArrayList<>();
 
@@ -93,44 +143,42 @@ public class ActiveRuleNormalizer extends BaseNormalizer<ActiveRuleDto, ActiveRu
     newRule.put(ActiveRuleField.CREATED_AT.field(), activeRuleDto.getCreatedAt());
     newRule.put(ActiveRuleField.UPDATED_AT.field(), activeRuleDto.getUpdatedAt());
 
-    DbSession session = db.openSession(false);
-    try {
-      // TODO because DTO uses legacy ID pattern
-      QualityProfileDto profile = db.qualityProfileDao().getById(activeRuleDto.getProfileId(), session);
-      if (profile == null) {
-        throw new IllegalStateException("Profile is null : " + activeRuleDto.getProfileId());
-      }
-      newRule.put(ActiveRuleField.PROFILE_KEY.field(), profile.getKey());
-
-      // TODO this should be generated by RegisterRule and modified in DTO.
-      String parentKey = null;
-      Integer parentId = activeRuleDto.getParentId();
-      if (parentId != null) {
-        ActiveRuleDto parentDto = db.activeRuleDao().getById(session, parentId);
-        if (parentDto != null) {
-          parentKey = parentDto.getKey().toString();
+    QualityProfileDto profile = profilesById.get(activeRuleDto.getProfileId());
+    if (profile == null) {
+      throw new IllegalStateException("Profile is null : " + activeRuleDto.getProfileId());
+    }
+    newRule.put(ActiveRuleField.PROFILE_KEY.field(), profile.getKey());
+
+    // TODO this should be generated by RegisterRule and modified in DTO.
+    String parentKey = null;
+    Integer parentId = activeRuleDto.getParentId();
+    if (parentId != null) {
+      ActiveRuleDto parentDto = parentsById.get(parentId);
+      if (parentDto != null) {
+        // parent is the activation of the same rule in the parent profile
+        QualityProfileDto parentProfile = profilesById.get(parentDto.getProfileId());
+        if (parentProfile != null) {
+          parentKey = ActiveRuleKey.of(parentProfile.getKey(), key.ruleKey()).toString();
         }
       }
+    }
 
-      /* Creating updateRequest */
-      requests.add(new UpdateRequest()
-        .replicationType(ReplicationType.ASYNC)
-        .routing(key.ruleKey().toString())
-        .id(activeRuleDto.getKey().toString())
-        .parent(activeRuleDto.getKey().ruleKey().toString())
-        .doc(newRule)
-        .upsert(getUpsertFor(ActiveRuleField.ALL_FIELDS, newRule)));
-
-      // Get the RuleParameters
-      for (ActiveRuleParamDto param : db.activeRuleDao().findParamsByActiveRuleKey(session, key)) {
-        requests.addAll(normalizeNested(param, key));
-      }
-
-      newRule.put(ActiveRuleField.PARENT_KEY.field(), parentKey);
-    } finally {
-      session.close();
+    /* Creating updateRequest */
+    requests.add(new UpdateRequest()
+      .replicationType(ReplicationType.ASYNC)
+      .routing(key.ruleKey().toString())
+      .id(activeRuleDto.getKey().toString())
+      .parent(activeRuleDto.getKey().ruleKey().toString())
+      .doc(newRule)
+      .upsert(getUpsertFor(ActiveRuleField.ALL_FIELDS, newRule)));
+
+    // Get the RuleParameters
+    for (ActiveRuleParamDto param : paramsByActiveRuleId.get(activeRuleDto.getId())) {
+      requests.addAll(normalizeNested(param, key));
     }
 
+    newRule.put(ActiveRuleField.PARENT_KEY.field(), parentKey);
+
     return requests;
   }
 
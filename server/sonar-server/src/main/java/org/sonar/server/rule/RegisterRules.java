@@ -21,14 +21,17 @@ package org.sonar.server.rule;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.CheckForNull;
@@ -53,6 +56,7 @@ import org.sonar.core.rule.RuleDto.Format;
 import org.sonar.core.rule.RuleParamDto;
 import org.sonar.core.technicaldebt.db.CharacteristicDao;
 import org.sonar.core.technicaldebt.db.CharacteristicDto;
+import org.sonar.core.template.LoadedTemplateDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.qualityprofile.RuleActivator;
 import org.sonar.server.startup.RegisterDebtModel;
@@ -96,15 +100,31 @@ public class RegisterRules implements Startable {
     try {
       Map<RuleKey, RuleDto> allRules = loadRules(session);
       Map<String, CharacteristicDto> allCharacteristics = loadCharacteristics(session);
+      Map<String, LoadedTemplateDto> hashesByRepository = loadRepositoryHashes(session);
 
       RulesDefinition.Context context = defLoader.load();
-      for (RulesDefinition.ExtendedRepository repoDef : getRepositories(context)) {
-        if (languages.get(repoDef.language()) != null) {
+      for (Map.Entry<String, List<RulesDefinition.ExtendedRepository>> entry : getRepositoriesByKey(context).entrySet()) {
+        String repositoryKey = entry.getKey();
+        List<RulesDefinition.ExtendedRepository> repoDefs = entry.getValue();
+        String hash = RuleRepositoryHash.of(repoDefs, allCharacteristics);
+        LoadedTemplateDto previousHash = hashesByRepository.remove(repositoryKey);
+        boolean unchanged = previousHash != null && previousHash.getKey().equals(repositoryHashKey(repositoryKey, hash));
+
+        // parameters are loaded only if definitions changed since last startup, in a single request
+        ListMultimap<Integer, RuleParamDto> paramsByRuleId = unchanged ? null : loadParams(session, repositoryKey);
+        for (RulesDefinition.ExtendedRepository repoDef : repoDefs) {
           for (RulesDefinition.Rule ruleDef : repoDef.rules()) {
-            registerRule(ruleDef, allRules, allCharacteristics, session);
+            registerRule(ruleDef, allRules, allCharacteristics, paramsByRuleId, session);
           }
-          session.commit();
         }
+        if (!unchanged) {
+          saveRepositoryHash(session, previousHash, repositoryKey, hash);
+        }
+        session.commit();
+      }
+      // repositories which are not installed anymore
+      for (LoadedTemplateDto obsoleteHash : hashesByRepository.values()) {
+        dbClient.loadedTemplateDao().delete(session, obsoleteHash.getType(), obsoleteHash.getKey());
       }
       List<RuleDto> activeRules = processRemainingDbRules(allRules.values(), session);
       removeActiveRulesOnStillExistingRepositories(session, activeRules, context);
@@ -120,10 +140,17 @@ public class RegisterRules implements Startable {
     // nothing
   }
 
-  private void registerRule(RulesDefinition.Rule ruleDef, Map<RuleKey, RuleDto> allRules, Map<String, CharacteristicDto> allCharacteristics, DbSession session) {
+  /**
+   * @param paramsByRuleId the parameters of the rules of the repository, or null if the definitions of the repository
+   *                       did not change since last startup. In this case parameters are merged only for the rules which
+   *                       are not up-to-date in db.
+   */
+  private void registerRule(RulesDefinition.Rule ruleDef, Map<RuleKey, RuleDto> allRules, Map<String, CharacteristicDto> allCharacteristics,
+    @Nullable ListMultimap<Integer, RuleParamDto> paramsByRuleId, DbSession session) {
     RuleKey ruleKey = RuleKey.of(ruleDef.repository().key(), ruleDef.key());
 
-    RuleDto rule = allRules.containsKey(ruleKey) ? allRules.remove(ruleKey) : createRuleDto(ruleDef, session);
+    RuleDto existingRule = allRules.remove(ruleKey);
+    RuleDto rule = existingRule != null ? existingRule : createRuleDto(ruleDef, session);
 
     boolean executeUpdate = false;
     if (mergeRule(ruleDef, rule)) {
@@ -143,7 +170,11 @@ public class RegisterRules implements Startable {
       dbClient.ruleDao().update(session, rule);
     }
 
-    mergeParams(ruleDef, rule, session);
+    if (paramsByRuleId != null) {
+      mergeParams(ruleDef, rule, paramsByRuleId.get(rule.getId()), session);
+    } else if (existingRule == null || executeUpdate) {
+      mergeParams(ruleDef, rule, dbClient.ruleDao().findRuleParamsByRuleKey(session, rule.getKey()), session);
+    }
   }
 
   private Map<RuleKey, RuleDto> loadRules(DbSession session) {
@@ -154,6 +185,34 @@ public class RegisterRules implements Startable {
     return rules;
   }
 
+  private ListMultimap<Integer, RuleParamDto> loadParams(DbSession session, String repositoryKey) {
+    ListMultimap<Integer, RuleParamDto> paramsByRuleId = ArrayListMultimap.create();
+    for (RuleParamDto param : dbClient.ruleDao().findRuleParamsByRepositoryKey(session, repositoryKey)) {
+      paramsByRuleId.put(param.getRuleId(), param);
+    }
+    return paramsByRuleId;
+  }
+
+  private Map<String, LoadedTemplateDto> loadRepositoryHashes(DbSession session) {
+    Map<String, LoadedTemplateDto> hashes = new HashMap<>();
+    for (LoadedTemplateDto template : dbClient.loadedTemplateDao().selectByType(session, LoadedTemplateDto.RULE_REPOSITORY_TYPE)) {
+      String key = template.getKey();
+      hashes.put(key.substring(0, key.lastIndexOf(':')), template);
+    }
+    return hashes;
+  }
+
+  private void saveRepositoryHash(DbSession session, @Nullable LoadedTemplateDto previousHash, String repositoryKey, String hash) {
+    if (previousHash != null) {
+      dbClient.loadedTemplateDao().delete(session, previousHash.getType(), previousHash.getKey());
+    }
+    dbClient.loadedTemplateDao().insert(new LoadedTemplateDto(repositoryHashKey(repositoryKey, hash), LoadedTemplateDto.RULE_REPOSITORY_TYPE), session);
+  }
+
+  private static String repositoryHashKey(String repositoryKey, String hash) {
+    return repositoryKey + ":" + hash;
+  }
+
   private Map<String, CharacteristicDto> loadCharacteristics(DbSession session) {
     Map<String, CharacteristicDto> characteristics = new HashMap<>();
     for (CharacteristicDto characteristicDto : characteristicDao.selectEnabledCharacteristics(session)) {
@@ -184,21 +243,35 @@ public class RegisterRules implements Startable {
     return characteristicDto;
   }
 
-  private List<RulesDefinition.ExtendedRepository> getRepositories(RulesDefinition.Context context) {
-    List<RulesDefinition.ExtendedRepository> repositories = new ArrayList<>();
+  /**
+   * @return the definitions of the repositories related to installed languages, grouped with their extensions
+   */
+  private Map<String, List<RulesDefinition.ExtendedRepository>> getRepositoriesByKey(RulesDefinition.Context context) {
+    Map<String, List<RulesDefinition.ExtendedRepository>> repositories = new LinkedHashMap<>();
     for (RulesDefinition.Repository repoDef : context.repositories()) {
-      repositories.add(repoDef);
+      addRepository(repositories, repoDef);
     }
     for (RulesDefinition.ExtendedRepository extendedRepoDef : context.extendedRepositories()) {
       if (context.repository(extendedRepoDef.key()) == null) {
         LOG.warn(String.format("Extension is ignored, repository %s does not exist", extendedRepoDef.key()));
       } else {
-        repositories.add(extendedRepoDef);
+        addRepository(repositories, extendedRepoDef);
       }
     }
     return repositories;
   }
 
+  private void addRepository(Map<String, List<RulesDefinition.ExtendedRepository>> repositories, RulesDefinition.ExtendedRepository repoDef) {
+    if (languages.get(repoDef.language()) != null) {
+      List<RulesDefinition.ExtendedRepository> repoDefs = repositories.get(repoDef.key());
+      if (repoDefs == null) {
+        repoDefs = new ArrayList<>();
+        repositories.put(repoDef.key(), repoDefs);
+      }
+      repoDefs.add(repoDef);
+    }
+  }
+
   private RuleDto createRuleDto(RulesDefinition.Rule ruleDef, DbSession session) {
     RuleDto ruleDto = RuleDto.createFor(RuleKey.of(ruleDef.repository().key(), ruleDef.key()))
       .setIsTemplate(ruleDef.template())
@@ -315,8 +388,7 @@ public class RegisterRules implements Startable {
     return changed;
   }
 
-  private void mergeParams(RulesDefinition.Rule ruleDef, RuleDto rule, DbSession session) {
-    List<RuleParamDto> paramDtos = dbClient.ruleDao().findRuleParamsByRuleKey(session, rule.getKey());
+  private void mergeParams(RulesDefinition.Rule ruleDef, RuleDto rule, List<RuleParamDto> paramDtos, DbSession session) {
     Map<String, RuleParamDto> existingParamsByName = Maps.newHashMap();
 
     for (RuleParamDto paramDto : paramDtos) {
@@ -0,0 +1,82 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.rule;
+
+import com.google.common.collect.Ordering;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.sonar.api.server.debt.DebtRemediationFunction;
+import org.sonar.api.server.rule.RulesDefinition;
+import org.sonar.core.technicaldebt.db.CharacteristicDto;
+
+/**
+ * Hash of the definitions of a rule repository, including its extensions. It is stored in table LOADED_TEMPLATES
+ * by {@link RegisterRules} in order to detect that the definitions did not change since the last server startup.
+ * The technical debt characteristics referenced by the rules are part of the hash, as their ids are stored in rules.
+ */
+class RuleRepositoryHash {
+
+  private static final char DELIMITER = ',';
+
+  private RuleRepositoryHash() {
+    // only static methods
+  }
+
+  static String of(List<RulesDefinition.ExtendedRepository> repositories, Map<String, CharacteristicDto> characteristicsByKey) {
+    StringBuilder sb = new StringBuilder();
+    for (RulesDefinition.ExtendedRepository repository : repositories) {
+      append(sb, repository.key(), repository.language());
+      for (RulesDefinition.Rule rule : Ordering.usingToString().sortedCopy(repository.rules())) {
+        appendRule(sb, rule, characteristicsByKey);
+      }
+    }
+    return DigestUtils.md5Hex(sb.toString());
+  }
+
+  private static void appendRule(StringBuilder sb, RulesDefinition.Rule rule, Map<String, CharacteristicDto> characteristicsByKey) {
+    append(sb, rule.key(), rule.name(), rule.htmlDescription(), rule.markdownDescription(), rule.internalKey(), rule.severity(),
+      rule.template(), rule.status(), rule.effortToFixDescription(), Ordering.natural().sortedCopy(rule.tags()));
+
+    String subCharacteristicKey = rule.debtSubCharacteristic();
+    CharacteristicDto subCharacteristic = subCharacteristicKey == null ? null : characteristicsByKey.get(subCharacteristicKey);
+    if (subCharacteristic == null) {
+      append(sb, subCharacteristicKey);
+    } else {
+      append(sb, subCharacteristicKey, subCharacteristic.getId(), subCharacteristic.getParentId());
+    }
+    DebtRemediationFunction function = rule.debtRemediationFunction();
+    if (function != null) {
+      append(sb, function.type(), function.coefficient(), function.offset());
+    }
+
+    for (RulesDefinition.Param param : rule.params()) {
+      append(sb, param.key(), param.type(), param.defaultValue(), param.description());
+    }
+  }
+
+  private static void append(StringBuilder sb, @Nullable Object... values) {
+    for (Object value : values) {
+      sb.append(String.valueOf(value));
+      sb.append(DELIMITER);
+    }
+  }
+}
@@ -19,9 +19,11 @@
  */
 package org.sonar.server.rule.db;
 
+import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.System2;
+import org.sonar.core.persistence.DaoUtils;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.rule.RuleDto;
 import org.sonar.core.rule.RuleMapper;
@@ -31,6 +33,7 @@ import org.sonar.server.search.IndexDefinition;
 
 import javax.annotation.CheckForNull;
 
+import java.util.Collection;
 import java.util.List;
 
 public class RuleDao extends BaseDao<RuleMapper, RuleDto, RuleKey> {
@@ -134,6 +137,22 @@ public class RuleDao extends BaseDao<RuleMapper, RuleDto, RuleKey> {
     return mapper(session).selectParamsByRuleKey(key);
   }
 
+  public List<RuleParamDto> findRuleParamsByRuleIds(final DbSession session, Collection<Integer> ruleIds) {
+    return DaoUtils.executeLargeInputs(ruleIds, new Function<List<Integer>, List<RuleParamDto>>() {
+      @Override
+      public List<RuleParamDto> apply(List<Integer> partition) {
+        return mapper(session).selectParamsByRuleIds(partition);
+      }
+    });
+  }
+
+  /**
+   * Parameters of all the rules of a repository, loaded with a single request.
+   */
+  public List<RuleParamDto> findRuleParamsByRepositoryKey(DbSession session, String repositoryKey) {
+    return mapper(session).selectParamsByRepositoryKey(repositoryKey);
+  }
+
   public List<RuleDto> findRulesByDebtSubCharacteristicId(DbSession session, int id) {
     return mapper(session).selectBySubCharacteristicId(id);
   }
@@ -20,8 +20,10 @@
 package org.sonar.server.rule.index;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Sets;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.sonar.api.rule.RuleKey;
@@ -39,6 +41,7 @@ import org.sonar.server.search.IndexField;
 import org.sonar.server.search.Indexable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -135,159 +138,194 @@ public class RuleNormalizer extends BaseNormalizer<RuleDto, RuleKey> {
 
   @Override
   public List<UpdateRequest> normalize(RuleDto rule) {
+    return normalizeAll(Collections.singletonList(rule)).get(0);
+  }
 
-    List<UpdateRequest> requests = new ArrayList<>();
-
+  @Override
+  public List<List<UpdateRequest>> normalizeAll(List<RuleDto> rules) {
     DbSession session = db.openSession(false);
     try {
+      Map<Integer, CharacteristicDto> characteristicsById = new HashMap<>();
+      for (CharacteristicDto characteristic : db.debtCharacteristicDao().selectEnabledCharacteristics(session)) {
+        characteristicsById.put(characteristic.getId(), characteristic);
+      }
 
-      /** Update Fields */
-      Map<String, Object> update = new HashMap<>();
+      Map<Integer, RuleDto> templatesById = new HashMap<>();
+      Map<Integer, RuleKey> ruleKeysById = new HashMap<>();
+      ListMultimap<RuleKey, RuleParamDto> paramsByRuleKey = ArrayListMultimap.create();
+      for (RuleDto rule : rules) {
+        Integer templateId = rule.getTemplateId();
+        if (templateId != null && !templatesById.containsKey(templateId)) {
+          templatesById.put(templateId, db.ruleDao().getById(session, templateId));
+        }
+        if (rule.getId() != null) {
+          ruleKeysById.put(rule.getId(), rule.getKey());
+        } else if (!paramsByRuleKey.containsKey(rule.getKey())) {
+          paramsByRuleKey.putAll(rule.getKey(), db.ruleDao().findRuleParamsByRuleKey(session, rule.getKey()));
+        }
+      }
+      for (RuleParamDto param : db.ruleDao().findRuleParamsByRuleIds(session, ruleKeysById.keySet())) {
+        paramsByRuleKey.put(ruleKeysById.get(param.getRuleId()), param);
+      }
 
-      update.put(RuleField.ID.field(), rule.getId());
+      List<List<UpdateRequest>> requests = new ArrayList<>(rules.size());
+      for (RuleDto rule : rules) {
+        requests.add(normalize(rule, characteristicsById, templatesById, paramsByRuleKey.get(rule.getKey())));
+      }
+      return requests;
+    } finally {
+      session.close();
+    }
+  }
 
-      update.put(RuleField.KEY.field(), rule.getKey().toString());
-      update.put(RuleField._KEY.field(), ImmutableList.of(rule.getKey().repository(), rule.getKey().rule()));
+  private List<UpdateRequest> normalize(RuleDto rule, Map<Integer, CharacteristicDto> characteristicsById, Map<Integer, RuleDto> templatesById,
+    List<RuleParamDto> params) {
 
-      update.put(RuleField.REPOSITORY.field(), rule.getRepositoryKey());
-      update.put(RuleField.RULE_KEY.field(), rule.getRuleKey());
-      update.put(RuleField.NAME.field(), rule.getName());
-      update.put(RuleField.CREATED_AT.field(), rule.getCreatedAt());
-      update.put(RuleField.UPDATED_AT.field(), rule.getUpdatedAt());
+    List<UpdateRequest> requests = new ArrayList<>();
 
-      if (RuleDto.Format.HTML.equals(rule.getDescriptionFormat())) {
-        update.put(RuleField.HTML_DESCRIPTION.field(), rule.getDescription());
-        update.put(RuleField.MARKDOWN_DESCRIPTION.field(), null);
-      } else {
-        update.put(RuleField.HTML_DESCRIPTION.field(), rule.getDescription() == null ? null : Markdown.convertToHtml(rule.getDescription()));
-        update.put(RuleField.MARKDOWN_DESCRIPTION.field(), rule.getDescription());
-      }
+    /** Update Fields */
+    Map<String, Object> update = new HashMap<>();
 
-      update.put(RuleField.FIX_DESCRIPTION.field(), rule.getEffortToFixDescription());
-      update.put(RuleField.SEVERITY.field(), rule.getSeverityString());
-
-      RuleStatus status = rule.getStatus();
-      update.put(RuleField.STATUS.field(), status != null ? rule.getStatus().name() : null);
-
-      update.put(RuleField.LANGUAGE.field(), rule.getLanguage());
-      update.put(RuleField.INTERNAL_KEY.field(), rule.getConfigKey());
-      update.put(RuleField.IS_TEMPLATE.field(), rule.isTemplate());
-
-      update.put(RuleField.NOTE.field(), rule.getNoteData());
-      update.put(RuleField.NOTE_LOGIN.field(), rule.getNoteUserLogin());
-      update.put(RuleField.NOTE_CREATED_AT.field(), rule.getNoteCreatedAt());
-      update.put(RuleField.NOTE_UPDATED_AT.field(), rule.getNoteUpdatedAt());
-
-      // TODO Legacy PARENT_ID in DTO should be parent_key
-      Integer templateId = rule.getTemplateId();
-      String templateKeyFieldValue = null;
-      if (templateId != null) {
-        RuleDto templateRule = db.ruleDao().getById(session, templateId);
-        if (templateRule != null) {
-          RuleKey templateKey = templateRule.getKey();
-          templateKeyFieldValue = templateKey != null ? templateKey.toString() : null;
-        }
-      }
-      update.put(RuleField.TEMPLATE_KEY.field(), templateKeyFieldValue);
+    update.put(RuleField.ID.field(), rule.getId());
 
-      // TODO Legacy ID in DTO should be Key
-      update.put(RuleField.CHARACTERISTIC.field(), null);
-      update.put(RuleField.SUB_CHARACTERISTIC.field(), null);
-      update.put(RuleField.DEFAULT_CHARACTERISTIC.field(), null);
-      update.put(RuleField.DEFAULT_SUB_CHARACTERISTIC.field(), null);
+    update.put(RuleField.KEY.field(), rule.getKey().toString());
+    update.put(RuleField._KEY.field(), ImmutableList.of(rule.getKey().repository(), rule.getKey().rule()));
 
-      update.put(RuleField.DEFAULT_CHARACTERISTIC.field(), null);
-      update.put(RuleField.DEFAULT_SUB_CHARACTERISTIC.field(), null);
+    update.put(RuleField.REPOSITORY.field(), rule.getRepositoryKey());
+    update.put(RuleField.RULE_KEY.field(), rule.getRuleKey());
+    update.put(RuleField.NAME.field(), rule.getName());
+    update.put(RuleField.CREATED_AT.field(), rule.getCreatedAt());
+    update.put(RuleField.UPDATED_AT.field(), rule.getUpdatedAt());
 
-      String defaultCharacteristicKey = null;
-      String defaultSubCharacteristicKey = null;
+    if (RuleDto.Format.HTML.equals(rule.getDescriptionFormat())) {
+      update.put(RuleField.HTML_DESCRIPTION.field(), rule.getDescription());
+      update.put(RuleField.MARKDOWN_DESCRIPTION.field(), null);
+    } else {
+      update.put(RuleField.HTML_DESCRIPTION.field(), rule.getDescription() == null ? null : Markdown.convertToHtml(rule.getDescription()));
+      update.put(RuleField.MARKDOWN_DESCRIPTION.field(), rule.getDescription());
+    }
 
-      Integer defaultSubCharacteristicId = rule.getDefaultSubCharacteristicId();
-      if (defaultSubCharacteristicId != null) {
-        CharacteristicDto subCharacteristic = db.debtCharacteristicDao().selectById(defaultSubCharacteristicId, session);
-        if (subCharacteristic != null) {
-          Integer characteristicId = subCharacteristic.getParentId();
-          if (characteristicId != null) {
-            CharacteristicDto characteristic = db.debtCharacteristicDao().selectById(characteristicId);
-            if (characteristic != null) {
-              defaultCharacteristicKey = characteristic.getKey();
-              update.put(RuleField.DEFAULT_CHARACTERISTIC.field(), defaultCharacteristicKey);
-              defaultSubCharacteristicKey = subCharacteristic.getKey();
-              update.put(RuleField.DEFAULT_SUB_CHARACTERISTIC.field(), defaultSubCharacteristicKey);
-            }
+    update.put(RuleField.FIX_DESCRIPTION.field(), rule.getEffortToFixDescription());
+    update.put(RuleField.SEVERITY.field(), rule.getSeverityString());
+
+    RuleStatus status = rule.getStatus();
+    update.put(RuleField.STATUS.field(), status != null ? rule.getStatus().name() : null);
+
+    update.put(RuleField.LANGUAGE.field(), rule.getLanguage());
+    update.put(RuleField.INTERNAL_KEY.field(), rule.getConfigKey());
+    update.put(RuleField.IS_TEMPLATE.field(), rule.isTemplate());
+
+    update.put(RuleField.NOTE.field(), rule.getNoteData());
+    update.put(RuleField.NOTE_LOGIN.field(), rule.getNoteUserLogin());
+    update.put(RuleField.NOTE_CREATED_AT.field(), rule.getNoteCreatedAt());
+    update.put(RuleField.NOTE_UPDATED_AT.field(), rule.getNoteUpdatedAt());
+
+    // TODO Legacy PARENT_ID in DTO should be parent_key
+    Integer templateId = rule.getTemplateId();
+    String templateKeyFieldValue = null;
+    if (templateId != null) {
+      RuleDto templateRule = templatesById.get(templateId);
+      if (templateRule != null) {
+        RuleKey templateKey = templateRule.getKey();
+        templateKeyFieldValue = templateKey != null ? templateKey.toString() : null;
+      }
+    }
+    update.put(RuleField.TEMPLATE_KEY.field(), templateKeyFieldValue);
+
+    // TODO Legacy ID in DTO should be Key
+    update.put(RuleField.CHARACTERISTIC.field(), null);
+    update.put(RuleField.SUB_CHARACTERISTIC.field(), null);
+    update.put(RuleField.DEFAULT_CHARACTERISTIC.field(), null);
+    update.put(RuleField.DEFAULT_SUB_CHARACTERISTIC.field(), null);
+
+    update.put(RuleField.DEFAULT_CHARACTERISTIC.field(), null);
+    update.put(RuleField.DEFAULT_SUB_CHARACTERISTIC.field(), null);
+
+    String defaultCharacteristicKey = null;
+    String defaultSubCharacteristicKey = null;
+
+    Integer defaultSubCharacteristicId = rule.getDefaultSubCharacteristicId();
+    if (defaultSubCharacteristicId != null) {
+      CharacteristicDto subCharacteristic = characteristicsById.get(defaultSubCharacteristicId);
+      if (subCharacteristic != null) {
+        Integer characteristicId = subCharacteristic.getParentId();
+        if (characteristicId != null) {
+          CharacteristicDto characteristic = characteristicsById.get(characteristicId);
+          if (characteristic != null) {
+            defaultCharacteristicKey = characteristic.getKey();
+            update.put(RuleField.DEFAULT_CHARACTERISTIC.field(), defaultCharacteristicKey);
+            defaultSubCharacteristicKey = subCharacteristic.getKey();
+            update.put(RuleField.DEFAULT_SUB_CHARACTERISTIC.field(), defaultSubCharacteristicKey);
           }
         }
       }
+    }
 
-      Integer subCharacteristicId = rule.getSubCharacteristicId();
-      if (subCharacteristicId != null) {
-        if (subCharacteristicId.equals(-1)) {
-          update.put(RuleField.CHARACTERISTIC.field(), DebtCharacteristic.NONE);
-          update.put(RuleField.SUB_CHARACTERISTIC.field(), DebtCharacteristic.NONE);
-        } else {
-          CharacteristicDto subCharacteristic = db.debtCharacteristicDao().selectById(subCharacteristicId, session);
-          if (subCharacteristic != null) {
-            Integer characteristicId = subCharacteristic.getParentId();
-            if (characteristicId != null) {
-              CharacteristicDto characteristic = db.debtCharacteristicDao().selectById(characteristicId);
-              if (characteristic != null) {
-                update.put(RuleField.CHARACTERISTIC.field(), characteristic.getKey());
-                update.put(RuleField.SUB_CHARACTERISTIC.field(), subCharacteristic.getKey());
-              }
+    Integer subCharacteristicId = rule.getSubCharacteristicId();
+    if (subCharacteristicId != null) {
+      if (subCharacteristicId.equals(-1)) {
+        update.put(RuleField.CHARACTERISTIC.field(), DebtCharacteristic.NONE);
+        update.put(RuleField.SUB_CHARACTERISTIC.field(), DebtCharacteristic.NONE);
+      } else {
+        CharacteristicDto subCharacteristic = characteristicsById.get(subCharacteristicId);
+        if (subCharacteristic != null) {
+          Integer characteristicId = subCharacteristic.getParentId();
+          if (characteristicId != null) {
+            CharacteristicDto characteristic = characteristicsById.get(characteristicId);
+            if (characteristic != null) {
+              update.put(RuleField.CHARACTERISTIC.field(), characteristic.getKey());
+              update.put(RuleField.SUB_CHARACTERISTIC.field(), subCharacteristic.getKey());
             }
           }
         }
-        update.put(RuleField.CHARACTERISTIC_OVERLOADED.field(), true);
-        update.put(RuleField.SUB_CHARACTERISTIC_OVERLOADED.field(), true);
-      } else {
-        update.put(RuleField.CHARACTERISTIC.field(), defaultCharacteristicKey);
-        update.put(RuleField.SUB_CHARACTERISTIC.field(), defaultSubCharacteristicKey);
-        update.put(RuleField.CHARACTERISTIC_OVERLOADED.field(), false);
-        update.put(RuleField.SUB_CHARACTERISTIC_OVERLOADED.field(), false);
-      }
-
-      if (rule.getDefaultRemediationFunction() != null) {
-        update.put(RuleField.DEFAULT_DEBT_FUNCTION_TYPE.field(), rule.getDefaultRemediationFunction());
-        update.put(RuleField.DEFAULT_DEBT_FUNCTION_COEFFICIENT.field(), rule.getDefaultRemediationCoefficient());
-        update.put(RuleField.DEFAULT_DEBT_FUNCTION_OFFSET.field(), rule.getDefaultRemediationOffset());
-      } else {
-        update.put(RuleField.DEFAULT_DEBT_FUNCTION_TYPE.field(), null);
-        update.put(RuleField.DEFAULT_DEBT_FUNCTION_COEFFICIENT.field(), null);
-        update.put(RuleField.DEFAULT_DEBT_FUNCTION_OFFSET.field(), null);
       }
+      update.put(RuleField.CHARACTERISTIC_OVERLOADED.field(), true);
+      update.put(RuleField.SUB_CHARACTERISTIC_OVERLOADED.field(), true);
+    } else {
+      update.put(RuleField.CHARACTERISTIC.field(), defaultCharacteristicKey);
+      update.put(RuleField.SUB_CHARACTERISTIC.field(), defaultSubCharacteristicKey);
+      update.put(RuleField.CHARACTERISTIC_OVERLOADED.field(), false);
+      update.put(RuleField.SUB_CHARACTERISTIC_OVERLOADED.field(), false);
+    }
 
-      if (rule.getRemediationFunction() != null) {
-        update.put(RuleField.DEBT_FUNCTION_TYPE.field(), rule.getRemediationFunction());
-        update.put(RuleField.DEBT_FUNCTION_COEFFICIENT.field(), rule.getRemediationCoefficient());
-        update.put(RuleField.DEBT_FUNCTION_OFFSET.field(), rule.getRemediationOffset());
-        update.put(RuleField.DEBT_FUNCTION_TYPE_OVERLOADED.field(), true);
-      } else {
-        update.put(RuleField.DEBT_FUNCTION_TYPE.field(), rule.getDefaultRemediationFunction());
-        update.put(RuleField.DEBT_FUNCTION_COEFFICIENT.field(), rule.getDefaultRemediationCoefficient());
-        update.put(RuleField.DEBT_FUNCTION_OFFSET.field(), rule.getDefaultRemediationOffset());
-        update.put(RuleField.DEBT_FUNCTION_TYPE_OVERLOADED.field(), false);
-      }
+    if (rule.getDefaultRemediationFunction() != null) {
+      update.put(RuleField.DEFAULT_DEBT_FUNCTION_TYPE.field(), rule.getDefaultRemediationFunction());
+      update.put(RuleField.DEFAULT_DEBT_FUNCTION_COEFFICIENT.field(), rule.getDefaultRemediationCoefficient());
+      update.put(RuleField.DEFAULT_DEBT_FUNCTION_OFFSET.field(), rule.getDefaultRemediationOffset());
+    } else {
+      update.put(RuleField.DEFAULT_DEBT_FUNCTION_TYPE.field(), null);
+      update.put(RuleField.DEFAULT_DEBT_FUNCTION_COEFFICIENT.field(), null);
+      update.put(RuleField.DEFAULT_DEBT_FUNCTION_OFFSET.field(), null);
+    }
 
-      update.put(RuleField.TAGS.field(), rule.getTags());
-      update.put(RuleField.SYSTEM_TAGS.field(), rule.getSystemTags());
-      update.put(RuleField.ALL_TAGS.field(), Sets.union(rule.getSystemTags(), rule.getTags()));
+    if (rule.getRemediationFunction() != null) {
+      update.put(RuleField.DEBT_FUNCTION_TYPE.field(), rule.getRemediationFunction());
+      update.put(RuleField.DEBT_FUNCTION_COEFFICIENT.field(), rule.getRemediationCoefficient());
+      update.put(RuleField.DEBT_FUNCTION_OFFSET.field(), rule.getRemediationOffset());
+      update.put(RuleField.DEBT_FUNCTION_TYPE_OVERLOADED.field(), true);
+    } else {
+      update.put(RuleField.DEBT_FUNCTION_TYPE.field(), rule.getDefaultRemediationFunction());
+      update.put(RuleField.DEBT_FUNCTION_COEFFICIENT.field(), rule.getDefaultRemediationCoefficient());
+      update.put(RuleField.DEBT_FUNCTION_OFFSET.field(), rule.getDefaultRemediationOffset());
+      update.put(RuleField.DEBT_FUNCTION_TYPE_OVERLOADED.field(), false);
+    }
 
-      /** Upsert elements */
-      Map<String, Object> upsert = getUpsertFor(RuleField.ALL_FIELDS, update);
-      upsert.put(RuleField.KEY.field(), rule.getKey().toString());
+    update.put(RuleField.TAGS.field(), rule.getTags());
+    update.put(RuleField.SYSTEM_TAGS.field(), rule.getSystemTags());
+    update.put(RuleField.ALL_TAGS.field(), Sets.union(rule.getSystemTags(), rule.getTags()));
 
-      /** Creating updateRequest */
-      requests.add(new UpdateRequest()
-        .id(rule.getKey().toString())
-        .doc(update)
-        .upsert(upsert));
+    /** Upsert elements */
+    Map<String, Object> upsert = getUpsertFor(RuleField.ALL_FIELDS, update);
+    upsert.put(RuleField.KEY.field(), rule.getKey().toString());
 
-      for (RuleParamDto param : db.ruleDao().findRuleParamsByRuleKey(session, rule.getKey())) {
-        requests.addAll(normalizeNested(param, rule.getKey()));
-      }
+    /** Creating updateRequest */
+    requests.add(new UpdateRequest()
+      .id(rule.getKey().toString())
+      .doc(update)
+      .upsert(upsert));
 
-    } finally {
-      session.close();
+    for (RuleParamDto param : params) {
+      requests.addAll(normalizeNested(param, rule.getKey()));
     }
 
     return requests;
@@ -63,4 +63,16 @@ public abstract class BaseNormalizer<DTO extends Dto<KEY>, KEY extends Serializa
   }
 
   public abstract List<UpdateRequest> normalize(DTO dto);
+
+  /**
+   * Normalizes a batch of DTOs. The requests of each DTO are returned in the same order than the DTOs.
+   * Normalizers should override this method to load the related rows of the whole batch with a few requests.
+   */
+  public List<List<UpdateRequest>> normalizeAll(List<DTO> dtos) {
+    List<List<UpdateRequest>> requests = new ArrayList<>(dtos.size());
+    for (DTO dto : dtos) {
+      requests.add(normalize(dto));
+    }
+    return requests;
+  }
 }
@@ -19,6 +19,8 @@
  */
 package org.sonar.server.search;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.refresh.RefreshRequestBuilder;
@@ -28,36 +30,61 @@ import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.picocontainer.Startable;
 import org.sonar.api.server.ServerSide;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.cluster.WorkQueue;
+import org.sonar.core.persistence.Dto;
 import org.sonar.core.platform.ComponentContainer;
+import org.sonar.server.search.action.DtoIndexAction;
 import org.sonar.server.search.action.IndexAction;
+import org.sonar.server.search.action.RefreshIndex;
 
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 @ServerSide
-public class IndexQueue implements WorkQueue<IndexAction<?>> {
+public class IndexQueue implements WorkQueue<IndexAction<?>>, Startable {
 
   private final SearchClient searchClient;
   private final ComponentContainer container;
+  private final ExecutorService executorService;
 
   private static final Logger LOGGER = Loggers.get(IndexQueue.class);
 
-  private static final Integer CONCURRENT_NORMALIZATION_FACTOR = 1;
+  private static final Integer CONCURRENT_NORMALIZATION_FACTOR = Runtime.getRuntime().availableProcessors();
 
   public IndexQueue(SearchClient searchClient, ComponentContainer container) {
     this.searchClient = searchClient;
     this.container = container;
+    // threads are started on demand and are kept between two stacks of actions
+    this.executorService = Executors.newFixedThreadPool(CONCURRENT_NORMALIZATION_FACTOR,
+      new ThreadFactoryBuilder().setNameFormat("index-normalizer-%d").setDaemon(true).build());
+  }
+
+  @Override
+  public void start() {
+    // nothing to do
+  }
+
+  @Override
+  public void stop() {
+    executorService.shutdownNow();
   }
 
   @Override
@@ -80,7 +107,7 @@ public class IndexQueue implements WorkQueue<IndexAction<?>> {
 
     BulkRequestBuilder bulkRequestBuilder = searchClient.prepareBulk();
 
-    processActionsIntoQueries(bulkRequestBuilder, actions);
+    processActionsIntoQueries(bulkRequestBuilder, coalesce(actions), indexes);
 
     if (bulkRequestBuilder.numberOfActions() > 0) {
       // execute the request
@@ -109,14 +136,63 @@ public class IndexQueue implements WorkQueue<IndexAction<?>> {
     }
   }
 
-  private void processActionsIntoQueries(BulkRequestBuilder bulkRequestBuilder, List<IndexAction<?>> actions) {
+  /**
+   * Removes the actions on a DTO which are followed by an action of the same type on the same document,
+   * without any other action on this document in-between. The latest DTO is the one to be indexed.
+   */
+  @VisibleForTesting
+  static List<IndexAction<?>> coalesce(List<IndexAction<?>> actions) {
+    Map<String, IndexAction<?>> nextActionByDocument = new HashMap<>();
+    LinkedList<IndexAction<?>> coalescedActions = new LinkedList<>();
+    for (int i = actions.size() - 1; i >= 0; i--) {
+      IndexAction<?> action = actions.get(i);
+      if (action instanceof RefreshIndex) {
+        coalescedActions.addFirst(action);
+        continue;
+      }
+      String document = action.getIndexType() + ":" + action.getKey();
+      IndexAction<?> nextAction = nextActionByDocument.get(document);
+      if (action instanceof DtoIndexAction && nextAction != null && nextAction.getClass().equals(action.getClass())) {
+        continue;
+      }
+      nextActionByDocument.put(document, action);
+      coalescedActions.addFirst(action);
+    }
+    return coalescedActions;
+  }
+
+  private void processActionsIntoQueries(BulkRequestBuilder bulkRequestBuilder, List<IndexAction<?>> actions, Map<String, Index> indexes) {
     try {
       boolean hasInlineRefreshRequest = false;
-      ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_NORMALIZATION_FACTOR);
+
+      // DTOs of a same index are normalized together, so that normalizers can load related data in bulk
+      Map<String, List<DtoIndexAction>> dtoActionsByIndexType = new LinkedHashMap<>();
+      List<Callable<Map<IndexAction<?>, List<ActionRequest>>>> tasks = new ArrayList<>();
+      for (IndexAction<?> action : actions) {
+        if (action instanceof DtoIndexAction) {
+          List<DtoIndexAction> dtoActions = dtoActionsByIndexType.get(action.getIndexType());
+          if (dtoActions == null) {
+            dtoActions = new ArrayList<>();
+            dtoActionsByIndexType.put(action.getIndexType(), dtoActions);
+          }
+          dtoActions.add((DtoIndexAction) action);
+        } else {
+          tasks.add(new SingleActionTask(action));
+        }
+      }
+      for (Map.Entry<String, List<DtoIndexAction>> entry : dtoActionsByIndexType.entrySet()) {
+        tasks.add(new DtoActionsTask(indexes.get(entry.getKey()), entry.getValue()));
+      }
+
       // invokeAll() blocks until ALL tasks submitted to executor complete
-      List<Future<List<? extends ActionRequest>>> requests = (List) executorService.invokeAll(actions, 20, TimeUnit.MINUTES);
-      for (Future<List<? extends ActionRequest>> updates : requests) {
-        for (ActionRequest update : updates.get()) {
+      Map<IndexAction<?>, List<ActionRequest>> requestsByAction = new IdentityHashMap<>();
+      for (Future<Map<IndexAction<?>, List<ActionRequest>>> requests : executorService.invokeAll(tasks, 20, TimeUnit.MINUTES)) {
+        requestsByAction.putAll(requests.get());
+      }
+
+      // requests are added in the order of the actions
+      for (IndexAction<?> action : actions) {
+        for (ActionRequest update : requestsByAction.get(action)) {
 
           if (IndexRequest.class.isAssignableFrom(update.getClass())) {
             bulkRequestBuilder.add((IndexRequest) update);
@@ -131,7 +207,6 @@ public class IndexQueue implements WorkQueue<IndexAction<?>> {
           }
         }
       }
-      executorService.shutdown();
       bulkRequestBuilder.setRefresh(hasInlineRefreshRequest);
     } catch (Exception e) {
       LOGGER.error("Could not execute normalization for stack", e);
@@ -146,4 +221,48 @@ public class IndexQueue implements WorkQueue<IndexAction<?>> {
     }
     return indexes;
   }
+
+  private static class SingleActionTask implements Callable<Map<IndexAction<?>, List<ActionRequest>>> {
+    private final IndexAction<?> action;
+
+    SingleActionTask(IndexAction<?> action) {
+      this.action = action;
+    }
+
+    @Override
+    public Map<IndexAction<?>, List<ActionRequest>> call() {
+      Map<IndexAction<?>, List<ActionRequest>> requestsByAction = new IdentityHashMap<>();
+      requestsByAction.put(action, new ArrayList<ActionRequest>(action.call()));
+      return requestsByAction;
+    }
+  }
+
+  private static class DtoActionsTask implements Callable<Map<IndexAction<?>, List<ActionRequest>>> {
+    private final Index index;
+    private final List<DtoIndexAction> actions;
+
+    DtoActionsTask(@Nullable Index index, List<DtoIndexAction> actions) {
+      this.index = index;
+      this.actions = actions;
+    }
+
+    @Override
+    public Map<IndexAction<?>, List<ActionRequest>> call() {
+      if (index == null) {
+        throw new IllegalStateException(IndexAction.MISSING_INDEX_EXCEPTION);
+      }
+      List<Dto> dtos = new ArrayList<>();
+      for (DtoIndexAction action : actions) {
+        dtos.add(action.getDto());
+      }
+      List<List<UpdateRequest>> normalizedRequests = index.getNormalizer().normalizeAll(dtos);
+
+      Map<IndexAction<?>, List<ActionRequest>> requestsByAction = new IdentityHashMap<>();
+      for (int i = 0; i < actions.size(); i++) {
+        DtoIndexAction action = actions.get(i);
+        requestsByAction.put(action, new ArrayList<ActionRequest>(action.toRequests(index, normalizedRequests.get(i))));
+      }
+      return requestsByAction;
+    }
+  }
 }
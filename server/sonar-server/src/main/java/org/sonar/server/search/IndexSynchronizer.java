@@ -25,10 +25,13 @@ import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.server.activity.index.ActivityIndexer;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.Dao;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.es.IndexDefinitions;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.qualityprofile.index.ActiveRuleIndex;
 import org.sonar.server.rule.index.RuleIndex;
 import org.sonar.server.source.index.SourceLineIndexer;
@@ -49,16 +52,19 @@ public class IndexSynchronizer {
   private final UserIndexer userIndexer;
   private final ViewIndexer viewIndexer;
   private final ActivityIndexer activityIndexer;
+  private final ComponentIndexer componentIndexer;
+  private final MeasureIndexer measureIndexer;
   private final Settings settings;
 
   /**
    * Limitation - {@link org.sonar.server.es.BaseIndexer} are not injected through an array or a collection
    * because we need {@link org.sonar.server.issue.index.IssueAuthorizationIndexer} to be executed before
-   * {@link org.sonar.server.issue.index.IssueIndexer}
+   * {@link org.sonar.server.issue.index.IssueIndexer} and {@link ComponentIndexer}
    */
   public IndexSynchronizer(DbClient db, IndexClient index, SourceLineIndexer sourceLineIndexer,
     TestIndexer testIndexer, IssueAuthorizationIndexer issueAuthorizationIndexer, IssueIndexer issueIndexer,
-    UserIndexer userIndexer, ViewIndexer viewIndexer, ActivityIndexer activityIndexer, Settings settings) {
+    UserIndexer userIndexer, ViewIndexer viewIndexer, ActivityIndexer activityIndexer, ComponentIndexer componentIndexer,
+    MeasureIndexer measureIndexer, Settings settings) {
     this.db = db;
     this.index = index;
     this.sourceLineIndexer = sourceLineIndexer;
@@ -68,6 +74,8 @@ public class IndexSynchronizer {
     this.userIndexer = userIndexer;
     this.viewIndexer = viewIndexer;
     this.activityIndexer = activityIndexer;
+    this.componentIndexer = componentIndexer;
+    this.measureIndexer = measureIndexer;
     this.settings = settings;
   }
 
@@ -83,7 +91,7 @@ public class IndexSynchronizer {
   }
 
   public void execute() {
-    if (!settings.getBoolean("sonar.internal.es.disableIndexes")) {
+    if (!settings.getBoolean(IndexDefinitions.DISABLE_INDEXES_PROPERTY)) {
       LOG.info("Index activities");
       activityIndexer.setEnabled(true).index();
 
@@ -91,6 +99,12 @@ public class IndexSynchronizer {
       issueAuthorizationIndexer.setEnabled(true).index();
       issueIndexer.setEnabled(true).index();
 
+      LOG.info("Index components");
+      componentIndexer.setEnabled(true).index();
+
+      LOG.info("Index measures");
+      measureIndexer.setEnabled(true).index();
+
       LOG.info("Index source lines");
       sourceLineIndexer.setEnabled(true).index();
 
@@ -0,0 +1,60 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.search.action;
+
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.sonar.core.persistence.Dto;
+import org.sonar.server.search.Index;
+
+import java.util.List;
+
+/**
+ * Action indexing a DTO through the normalizer of the index. Actions of a same index
+ * can be normalized together with {@link org.sonar.server.search.BaseNormalizer#normalizeAll(java.util.List)}.
+ */
+public abstract class DtoIndexAction<DTO extends Dto, K extends ActionRequest> extends IndexAction<K> {
+
+  private final DTO dto;
+
+  protected DtoIndexAction(String indexType, DTO dto, boolean requiresRefresh) {
+    super(indexType, requiresRefresh);
+    this.dto = dto;
+  }
+
+  public DTO getDto() {
+    return dto;
+  }
+
+  @Override
+  public String getKey() {
+    return dto.getKey().toString();
+  }
+
+  @Override
+  public List<K> doCall(Index index) {
+    return toRequests(index, index.getNormalizer().normalize(dto));
+  }
+
+  /**
+   * Converts the requests returned by the normalizer for the DTO into the requests to be executed on the index
+   */
+  public abstract List<K> toRequests(Index index, List<UpdateRequest> normalizedRequests);
+}
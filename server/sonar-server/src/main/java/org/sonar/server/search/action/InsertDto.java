@@ -27,25 +27,16 @@ import org.sonar.server.search.Index;
 import java.util.ArrayList;
 import java.util.List;
 
-public class InsertDto<DTO extends Dto> extends IndexAction<ActionRequest> {
-
-  private final DTO dto;
+public class InsertDto<DTO extends Dto> extends DtoIndexAction<DTO, ActionRequest> {
 
   public InsertDto(String indexType, DTO dto, boolean requiresRefresh) {
-    super(indexType, requiresRefresh);
-    this.dto = dto;
-  }
-
-  @Override
-  public String getKey() {
-    return dto.getKey().toString();
+    super(indexType, dto, requiresRefresh);
   }
 
   @Override
-  public List<ActionRequest> doCall(Index index) {
+  public List<ActionRequest> toRequests(Index index, List<UpdateRequest> normalizedRequests) {
     List<ActionRequest> inserts = new ArrayList<>();
-    List<UpdateRequest> updates = index.getNormalizer().normalize(dto);
-    for (UpdateRequest update : updates) {
+    for (UpdateRequest update : normalizedRequests) {
       if (update.doc() != null) {
         inserts.add(update.upsertRequest()
           .index(index.getIndexName())
@@ -25,32 +25,23 @@ import org.sonar.server.search.Index;
 
 import java.util.List;
 
-public class UpsertDto<DTO extends Dto> extends IndexAction<UpdateRequest> {
-
-  private final DTO dto;
+public class UpsertDto<DTO extends Dto> extends DtoIndexAction<DTO, UpdateRequest> {
 
   public UpsertDto(String indexType, DTO dto) {
     this(indexType, dto, true);
   }
 
   public UpsertDto(String indexType, DTO dto, boolean requiresRefresh) {
-    super(indexType, requiresRefresh);
-    this.dto = dto;
-  }
-
-  @Override
-  public String getKey() {
-    return dto.getKey().toString();
+    super(indexType, dto, requiresRefresh);
   }
 
   @Override
-  public List<UpdateRequest> doCall(Index index) {
-    List<UpdateRequest> updates = index.getNormalizer().normalize(dto);
-    for (UpdateRequest update : updates) {
+  public List<UpdateRequest> toRequests(Index index, List<UpdateRequest> normalizedRequests) {
+    for (UpdateRequest update : normalizedRequests) {
       update.index(index.getIndexName())
         .type(index.getIndexType())
         .refresh(needsRefresh());
     }
-    return updates;
+    return normalizedRequests;
   }
 }
@@ -19,17 +19,40 @@
  */
 package org.sonar.server.source;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.api.server.ServerSide;
+import org.sonar.server.source.index.SourceLineDoc;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @ServerSide
 public class HtmlSourceDecorator {
 
+  /**
+   * Maximum number of decorated lines kept in memory, all files included
+   */
+  static final int DEFAULT_CACHE_MAX_LINES = 100_000;
+
+  private final HtmlTextDecorator textDecorator = new HtmlTextDecorator();
+  private final DecoratedLinesCache cache;
+
+  public HtmlSourceDecorator() {
+    this(DEFAULT_CACHE_MAX_LINES);
+  }
+
+  HtmlSourceDecorator(int cacheMaxLines) {
+    this.cache = new DecoratedLinesCache(cacheMaxLines);
+  }
+
   @CheckForNull
   public String getDecoratedSourceAsHtml(@Nullable String sourceLine, @Nullable String highlighting, @Nullable String symbols) {
     if (sourceLine == null) {
@@ -42,7 +65,6 @@ public class HtmlSourceDecorator {
     if (StringUtils.isNotBlank(symbols)) {
       decorationDataHolder.loadLineSymbolReferences(symbols);
     }
-    HtmlTextDecorator textDecorator = new HtmlTextDecorator();
     List<String> decoratedSource = textDecorator.decorateTextWithHtml(sourceLine, decorationDataHolder, 1, 1);
     if (decoratedSource == null) {
       return null;
@@ -55,4 +77,115 @@ public class HtmlSourceDecorator {
     }
   }
 
+  /**
+   * Decorates a range of lines of a file. Decorated lines are cached by file as long as the file is not reindexed,
+   * so that the same lines are not decorated again on the next views of the file. The version of the cached lines
+   * is the update date of the line documents, so that lines are never decorated from stale cached data.
+   *
+   * @return the decorated lines, in the same order as {@code lines}
+   */
+  public List<String> getDecoratedSourceAsHtml(String fileUuid, List<SourceLineDoc> lines) {
+    Long version = version(lines);
+    Map<Integer, String> cachedLines = version == null ? null : cache.get(fileUuid, version);
+    List<String> result = Lists.newArrayListWithCapacity(lines.size());
+    Map<Integer, String> newLines = Maps.newHashMap();
+    for (SourceLineDoc line : lines) {
+      String html = cachedLines == null ? null : cachedLines.get(line.line());
+      if (html == null) {
+        html = getDecoratedSourceAsHtml(line.source(), line.highlighting(), line.symbols());
+        if (html != null) {
+          newLines.put(line.line(), html);
+        }
+      }
+      result.add(html);
+    }
+    if (version != null && !newLines.isEmpty()) {
+      cache.put(fileUuid, version, newLines);
+    }
+    return result;
+  }
+
+  /**
+   * Update date shared by the lines, or null if lines are being reindexed
+   */
+  @CheckForNull
+  private static Long version(List<SourceLineDoc> lines) {
+    Long version = null;
+    for (SourceLineDoc line : lines) {
+      long updatedAt = line.updateDate().getTime();
+      if (version != null && version != updatedAt) {
+        return null;
+      }
+      version = updatedAt;
+    }
+    return version;
+  }
+
+  /**
+   * LRU cache of decorated lines by file, bounded by the total number of lines
+   */
+  private static class DecoratedLinesCache {
+    private final int maxLines;
+    private final LinkedHashMap<String, CachedFile> filesByUuid = new LinkedHashMap<>(16, 0.75f, true);
+    private int nbLines = 0;
+
+    DecoratedLinesCache(int maxLines) {
+      this.maxLines = maxLines;
+    }
+
+    @CheckForNull
+    synchronized Map<Integer, String> get(String fileUuid, long version) {
+      CachedFile file = filesByUuid.get(fileUuid);
+      if (file == null || file.version != version) {
+        return null;
+      }
+      return file.linesByNumber;
+    }
+
+    synchronized void put(String fileUuid, long version, Map<Integer, String> lines) {
+      if (lines.size() > maxLines) {
+        return;
+      }
+      CachedFile file = filesByUuid.get(fileUuid);
+      if (file == null || file.version != version) {
+        if (file != null) {
+          nbLines -= file.linesByNumber.size();
+        }
+        file = new CachedFile(version);
+        filesByUuid.put(fileUuid, file);
+      }
+      int sizeBefore = file.linesByNumber.size();
+      file.addLines(lines);
+      nbLines += file.linesByNumber.size() - sizeBefore;
+      evict(file);
+    }
+
+    private void evict(CachedFile lastUsed) {
+      Iterator<CachedFile> it = filesByUuid.values().iterator();
+      while (nbLines > maxLines && it.hasNext()) {
+        CachedFile eldest = it.next();
+        if (eldest != lastUsed) {
+          nbLines -= eldest.linesByNumber.size();
+          it.remove();
+        }
+      }
+    }
+  }
+
+  private static class CachedFile {
+    private final long version;
+    // replaced on each change, so that it can be read without being copied while lines are added concurrently
+    private Map<Integer, String> linesByNumber = Collections.emptyMap();
+
+    CachedFile(long version) {
+      this.version = version;
+    }
+
+    void addLines(Map<Integer, String> lines) {
+      Map<Integer, String> copy = Maps.newHashMap(linesByNumber);
+      copy.putAll(lines);
+      linesByNumber = Collections.unmodifiableMap(copy);
+    }
+  }
+
 }
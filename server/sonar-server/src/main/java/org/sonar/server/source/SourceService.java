@@ -60,10 +60,6 @@ public class SourceService {
   public List<String> getLinesAsHtml(String fileUuid, @Nullable Integer fromParam, @Nullable Integer toParam) {
     int from = (Integer) ObjectUtils.defaultIfNull(fromParam, 1);
     int to = (Integer) ObjectUtils.defaultIfNull(toParam, Integer.MAX_VALUE);
-    List<String> lines = Lists.newArrayList();
-    for (SourceLineDoc lineDoc : sourceLineIndex.getLines(fileUuid, from, to)) {
-      lines.add(sourceDecorator.getDecoratedSourceAsHtml(lineDoc.source(), lineDoc.highlighting(), lineDoc.symbols()));
-    }
-    return lines;
+    return sourceDecorator.getDecoratedSourceAsHtml(fileUuid, sourceLineIndex.getLines(fileUuid, from, to));
   }
 }
@@ -19,10 +19,15 @@
  */
 package org.sonar.server.source.index;
 
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.index.query.FilterBuilders;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.BaseIndexer;
@@ -32,9 +37,12 @@ import org.sonar.server.es.EsClient;
 import javax.annotation.Nullable;
 
 import java.sql.Connection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_FILE_UUID;
+import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_LINE;
 import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_PROJECT_UUID;
 
 /**
@@ -72,7 +80,8 @@ public class SourceLineIndexer extends BaseIndexer {
     Connection dbConnection = dbSession.getConnection();
     try {
       SourceLineResultSetIterator rowIt = SourceLineResultSetIterator.create(dbClient, dbConnection, lastUpdatedAt, projectUuid);
-      long maxUpdatedAt = doIndex(bulk, rowIt);
+      // index is empty when lastUpdatedAt is zero, so there are no lines to be deleted
+      long maxUpdatedAt = doIndex(bulk, rowIt, lastUpdatedAt > 0L);
       rowIt.close();
       return maxUpdatedAt;
 
@@ -83,15 +92,18 @@ public class SourceLineIndexer extends BaseIndexer {
 
   public long index(Iterator<FileSourcesUpdaterHelper.Row> dbRows) {
     BulkIndexer bulk = new BulkIndexer(esClient, SourceLineIndexDefinition.INDEX);
-    return doIndex(bulk, dbRows);
+    return doIndex(bulk, dbRows, true);
   }
 
-  private long doIndex(BulkIndexer bulk, Iterator<FileSourcesUpdaterHelper.Row> dbRows) {
+  private long doIndex(BulkIndexer bulk, Iterator<FileSourcesUpdaterHelper.Row> dbRows, boolean deleteRemovedLines) {
     long maxUpdatedAt = 0L;
+    IndexedLineCounts indexedLineCounts = new IndexedLineCounts();
     bulk.start();
     while (dbRows.hasNext()) {
       FileSourcesUpdaterHelper.Row row = dbRows.next();
-      addDeleteRequestsForLinesGreaterThan(bulk, row);
+      if (deleteRemovedLines) {
+        addDeleteRequestsForLinesGreaterThan(bulk, row, indexedLineCounts.get(row));
+      }
       for (UpdateRequest updateRequest : row.getUpdateRequests()) {
         bulk.add(updateRequest);
       }
@@ -105,21 +117,55 @@ public class SourceLineIndexer extends BaseIndexer {
    * Use-case:
    * - file had 10 lines in previous analysis
    * - same file has now 5 lines
-   * Lines 6 to 10 must be removed from index.
+   * Lines 6 to 10 must be removed from index. As ids of documents are known, they are removed
+   * without searching the index.
    */
-  private void addDeleteRequestsForLinesGreaterThan(BulkIndexer bulk, FileSourcesUpdaterHelper.Row fileRow) {
+  private static void addDeleteRequestsForLinesGreaterThan(BulkIndexer bulk, FileSourcesUpdaterHelper.Row fileRow, int indexedLines) {
     int numberOfLines = fileRow.getUpdateRequests().size();
-    SearchRequestBuilder searchRequest = esClient.prepareSearch(SourceLineIndexDefinition.INDEX)
+    for (int line = numberOfLines + 1; line <= indexedLines; line++) {
+      bulk.add(new DeleteRequest(SourceLineIndexDefinition.INDEX, SourceLineIndexDefinition.TYPE, SourceLineIndexDefinition.docKey(fileRow.getFileUuid(), line))
+        .routing(fileRow.getProjectUuid()));
+    }
+  }
+
+  /**
+   * Number of lines currently indexed for each file. Values are loaded with a single request
+   * per project, instead of a request per file. They are kept in memory during the whole run,
+   * as rows of different projects are not sorted. Only the projects of the updated rows are
+   * loaded.
+   */
+  private class IndexedLineCounts {
+    private final Map<String, Map<String, Integer>> countsByProjectUuid = new HashMap<>();
+
+    int get(FileSourcesUpdaterHelper.Row fileRow) {
+      Map<String, Integer> countsByFileUuid = countsByProjectUuid.get(fileRow.getProjectUuid());
+      if (countsByFileUuid == null) {
+        countsByFileUuid = loadIndexedLineCounts(fileRow.getProjectUuid());
+        countsByProjectUuid.put(fileRow.getProjectUuid(), countsByFileUuid);
+      }
+      Integer count = countsByFileUuid.get(fileRow.getFileUuid());
+      return count == null ? 0 : count;
+    }
+  }
+
+  private Map<String, Integer> loadIndexedLineCounts(String projectUuid) {
+    SearchResponse response = esClient.prepareSearch(SourceLineIndexDefinition.INDEX)
       .setTypes(SourceLineIndexDefinition.TYPE)
-      .setRouting(fileRow.getProjectUuid())
+      .setRouting(projectUuid)
       .setQuery(QueryBuilders.filteredQuery(
         QueryBuilders.matchAllQuery(),
-        FilterBuilders.boolFilter()
-          .must(FilterBuilders.termFilter(FIELD_FILE_UUID, fileRow.getFileUuid()).cache(false))
-          .must(FilterBuilders.rangeFilter(SourceLineIndexDefinition.FIELD_LINE).gt(numberOfLines).cache(false))
-          .cache(false)
-      ));
-    bulk.addDeletion(searchRequest);
+        FilterBuilders.termFilter(FIELD_PROJECT_UUID, projectUuid).cache(false)))
+      .setSize(0)
+      .addAggregation(AggregationBuilders.terms(FIELD_FILE_UUID).field(FIELD_FILE_UUID).size(0)
+        .subAggregation(AggregationBuilders.max(FIELD_LINE).field(FIELD_LINE)))
+      .get();
+    Map<String, Integer> result = new HashMap<>();
+    Terms files = response.getAggregations().get(FIELD_FILE_UUID);
+    for (Terms.Bucket file : files.getBuckets()) {
+      Max maxLine = file.getAggregations().get(FIELD_LINE);
+      result.put(file.getKey(), (int) maxLine.getValue());
+    }
+    return result;
   }
 
   public void deleteByFile(String fileUuid) {
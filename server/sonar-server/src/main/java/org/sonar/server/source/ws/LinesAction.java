@@ -114,19 +114,21 @@ public class LinesAction implements SourcesWsAction {
     if (sourceLines.isEmpty()) {
       throw new NotFoundException("File '" + component.key() + "' has no sources");
     }
+    List<String> htmlLines = htmlSourceDecorator.getDecoratedSourceAsHtml(component.uuid(), sourceLines);
 
     JsonWriter json = response.newJsonWriter().beginObject();
-    writeSource(sourceLines, json);
+    writeSource(sourceLines, htmlLines, json);
 
     json.endObject().close();
   }
 
-  private void writeSource(List<SourceLineDoc> lines, JsonWriter json) {
+  private static void writeSource(List<SourceLineDoc> lines, List<String> htmlLines, JsonWriter json) {
     json.name("sources").beginArray();
-    for (SourceLineDoc line : lines) {
+    for (int i = 0; i < lines.size(); i++) {
+      SourceLineDoc line = lines.get(i);
       json.beginObject()
         .prop("line", line.line())
-        .prop("code", htmlSourceDecorator.getDecoratedSourceAsHtml(line.source(), line.highlighting(), line.symbols()))
+        .prop("code", htmlLines.get(i))
         .prop("scmAuthor", line.scmAuthor())
         .prop("scmRevision", line.scmRevision());
       Date scmDate = line.scmDate();
@@ -19,12 +19,19 @@
  */
 package org.sonar.server.util.cache;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.sonar.api.utils.System2;
@@ -33,20 +40,34 @@ import org.sonar.server.util.ObjectInputStreamIterator;
 
 /**
  * Serialize and deserialize objects on disk. No search capabilities, only traversal (full scan).
+ * Objects are written with Java serialization, except if a {@link Serializer} is provided.
  */
 public class DiskCache<O extends Serializable> {
 
+  // written before each object when using a Serializer, so that end of file can be detected
+  private static final int OBJECT_MARKER = 1;
+
   private final File file;
   private final System2 system2;
+  @Nullable
+  private final Serializer<O> serializer;
 
   public DiskCache(File file, System2 system2) {
+    this(file, system2, null);
+  }
+
+  public DiskCache(File file, System2 system2, @Nullable Serializer<O> serializer) {
     this.system2 = system2;
     this.file = file;
+    this.serializer = serializer;
     OutputStream output = null;
     try {
-      // writes the serialization stream header required when calling "traverse()"
-      // on empty stream. Moreover it allows to call multiple times "newAppender()"
-      output = new ObjectOutputStream(new FileOutputStream(file));
+      output = new FileOutputStream(file);
+      if (serializer == null) {
+        // writes the serialization stream header required when calling "traverse()"
+        // on empty stream. Moreover it allows to call multiple times "newAppender()"
+        output = new ObjectOutputStream(output);
+      }
       output.flush();
 
       // raise an exception if can't close
@@ -64,23 +85,33 @@ public class DiskCache<O extends Serializable> {
 
   public CloseableIterator<O> traverse() {
     try {
-      return new ObjectInputStreamIterator<>(FileUtils.openInputStream(file));
+      if (serializer == null) {
+        return new ObjectInputStreamIterator<>(FileUtils.openInputStream(file));
+      }
+      return new SerializerIterator<>(serializer, new DataInputStream(new BufferedInputStream(FileUtils.openInputStream(file))));
     } catch (IOException e) {
       throw new IllegalStateException("Fail to traverse file: " + file, e);
     }
   }
 
   public class DiskAppender implements AutoCloseable {
-    private final ObjectOutputStream output;
+    private final ObjectOutputStream objectOutput;
+    private final DataOutputStream dataOutput;
 
     private DiskAppender() {
       try {
-        this.output = new ObjectOutputStream(new FileOutputStream(file, true)) {
-          @Override
-          protected void writeStreamHeader() throws IOException {
-            // do not write stream headers as it's already done in constructor of DiskCache
-          }
-        };
+        if (serializer == null) {
+          this.objectOutput = new ObjectOutputStream(new FileOutputStream(file, true)) {
+            @Override
+            protected void writeStreamHeader() throws IOException {
+              // do not write stream headers as it's already done in constructor of DiskCache
+            }
+          };
+          this.dataOutput = null;
+        } else {
+          this.objectOutput = null;
+          this.dataOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        }
       } catch (IOException e) {
         throw new IllegalStateException("Fail to open file " + file, e);
       }
@@ -88,8 +119,13 @@ public class DiskCache<O extends Serializable> {
 
     public DiskAppender append(O object) {
       try {
-        output.writeObject(object);
-        output.reset();
+        if (serializer == null) {
+          objectOutput.writeObject(object);
+          objectOutput.reset();
+        } else {
+          dataOutput.writeByte(OBJECT_MARKER);
+          serializer.write(object, dataOutput);
+        }
         return this;
       } catch (IOException e) {
         throw new IllegalStateException("Fail to write into file " + file, e);
@@ -98,7 +134,37 @@ public class DiskCache<O extends Serializable> {
 
     @Override
     public void close() {
-      system2.close(output);
+      system2.close(serializer == null ? objectOutput : dataOutput);
+    }
+  }
+
+  private static class SerializerIterator<O> extends CloseableIterator<O> {
+    private final Serializer<O> serializer;
+    private final DataInputStream input;
+
+    private SerializerIterator(Serializer<O> serializer, DataInputStream input) {
+      this.serializer = serializer;
+      this.input = input;
+    }
+
+    @Override
+    @CheckForNull
+    protected O doNext() {
+      try {
+        if (input.read() != OBJECT_MARKER) {
+          return null;
+        }
+        return serializer.read(input);
+      } catch (EOFException e) {
+        throw new IllegalStateException("Unexpected end of file, last object is truncated", e);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to read object", e);
+      }
+    }
+
+    @Override
+    protected void doClose() {
+      IOUtils.closeQuietly(input);
     }
   }
 }
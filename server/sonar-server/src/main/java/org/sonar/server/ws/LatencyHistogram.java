@@ -0,0 +1,81 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.ws;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of durations, in milliseconds. Durations are counted in buckets with
+ * fixed upper bounds, so percentiles are approximated by the upper bound of their bucket.
+ */
+class LatencyHistogram {
+
+  static final long[] BUCKET_UPPER_BOUNDS = {
+    1L, 2L, 5L, 10L, 20L, 50L, 100L, 200L, 500L, 1_000L, 2_000L, 5_000L, 10_000L, 30_000L, 60_000L, Long.MAX_VALUE
+  };
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_UPPER_BOUNDS.length);
+
+  void record(long durationMs) {
+    counts.incrementAndGet(bucket(durationMs));
+  }
+
+  /**
+   * @param percentile between 0.0 (excluded) and 100.0 (included)
+   * @return upper bound of the bucket that contains the given percentile, 0 if no durations have been
+   * recorded. The last bucket has no upper bound, so its lower bound is returned.
+   */
+  long percentile(double percentile) {
+    long[] snapshot = new long[BUCKET_UPPER_BOUNDS.length];
+    long total = 0L;
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0L) {
+      return 0L;
+    }
+    long rank = (long) Math.ceil(percentile / 100.0 * total);
+    long cumulated = 0L;
+    for (int i = 0; i < snapshot.length; i++) {
+      cumulated += snapshot[i];
+      if (cumulated >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(snapshot.length - 1);
+  }
+
+  private static long upperBound(int bucket) {
+    if (bucket == BUCKET_UPPER_BOUNDS.length - 1) {
+      return BUCKET_UPPER_BOUNDS[bucket - 1];
+    }
+    return BUCKET_UPPER_BOUNDS[bucket];
+  }
+
+  private static int bucket(long durationMs) {
+    for (int i = 0; i < BUCKET_UPPER_BOUNDS.length; i++) {
+      if (durationMs <= BUCKET_UPPER_BOUNDS[i]) {
+        return i;
+      }
+    }
+    return BUCKET_UPPER_BOUNDS.length - 1;
+  }
+}
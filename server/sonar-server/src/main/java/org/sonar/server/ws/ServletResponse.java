@@ -20,6 +20,7 @@
 package org.sonar.server.ws;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
@@ -27,19 +28,34 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletResponse;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.utils.text.JsonWriter;
 import org.sonar.api.utils.text.XmlWriter;
 import org.sonar.server.plugins.MimeTypes;
 
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Output is buffered in memory. When a servlet response is given, the response is committed as soon as the buffer
+ * is full, then output is written directly to the servlet response, so that large responses are not kept
+ * in memory.
+ */
 public class ServletResponse implements Response {
 
-  private Map<String, String> headers = new HashMap<String, String>();
+  static final int BUFFER_SIZE = 32 * 1024;
+
+  private final Map<String, String> headers = new HashMap<String, String>();
 
   public static class ServletStream implements Stream {
     private String mediaType;
     private int httpStatus = 200;
-    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final Output output;
+
+    ServletStream(@Nullable HttpServletResponse servletResponse, Map<String, String> headers) {
+      this.output = new Output(this, servletResponse, headers);
+    }
 
     @CheckForNull
     public String mediaType() {
@@ -67,17 +83,117 @@ public class ServletResponse implements Response {
       return output;
     }
 
+    /**
+     * Output that has not been written to the servlet response yet
+     */
+    public byte[] outputAsBytes() {
+      return output.buffer.toByteArray();
+    }
+
     public String outputAsString() {
-      return new String(output.toByteArray(), StandardCharsets.UTF_8);
+      return new String(outputAsBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether status, headers and the beginning of output have already been written to the servlet response.
+     * If false, the response must be written by the caller from {@link #httpStatus()}, {@link #mediaType()} and
+     * {@link #outputAsString()}.
+     */
+    public boolean isCommitted() {
+      return output.committed;
+    }
+
+    /**
+     * Writes the output buffered since the response has been committed. Does nothing if the response is not committed.
+     */
+    public void flush() throws IOException {
+      output.flush();
     }
 
     public ServletStream reset() {
-      output.reset();
+      checkState(!output.committed, "Response is already committed");
+      output.buffer.reset();
       return this;
     }
   }
 
-  private final ServletStream stream = new ServletStream();
+  private static class Output extends OutputStream {
+    private final ServletStream stream;
+    @Nullable
+    private final HttpServletResponse servletResponse;
+    private final Map<String, String> headers;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private boolean committed = false;
+
+    Output(ServletStream stream, @Nullable HttpServletResponse servletResponse, Map<String, String> headers) {
+      this.stream = stream;
+      this.servletResponse = servletResponse;
+      this.headers = headers;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      buffer.write(b);
+      writeIfFull();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      buffer.write(b, off, len);
+      writeIfFull();
+    }
+
+    private void writeIfFull() throws IOException {
+      if (servletResponse != null && buffer.size() >= BUFFER_SIZE) {
+        if (!committed) {
+          commit(servletResponse);
+        }
+        writeBuffer(servletResponse);
+      }
+    }
+
+    private void commit(HttpServletResponse response) {
+      response.setStatus(stream.httpStatus());
+      if (stream.mediaType() != null) {
+        response.setContentType(stream.mediaType());
+      }
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        response.setHeader(header.getKey(), header.getValue());
+      }
+      committed = true;
+    }
+
+    private void writeBuffer(HttpServletResponse response) throws IOException {
+      buffer.writeTo(response.getOutputStream());
+      buffer.reset();
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (committed) {
+        writeBuffer(servletResponse);
+        servletResponse.flushBuffer();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+
+  private final ServletStream stream;
+
+  /**
+   * The whole output is buffered in memory and must be written by the caller
+   */
+  public ServletResponse() {
+    this(null);
+  }
+
+  public ServletResponse(@Nullable HttpServletResponse servletResponse) {
+    this.stream = new ServletStream(servletResponse, headers);
+  }
 
   @Override
   public JsonWriter newJsonWriter() {
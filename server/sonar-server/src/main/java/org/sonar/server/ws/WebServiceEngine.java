@@ -48,9 +48,11 @@ public class WebServiceEngine implements Startable {
   private final WebService.Context context;
   private final I18n i18n;
   private final UserSession userSession;
+  private final WebServiceStatistics statistics;
 
-  public WebServiceEngine(WebService[] webServices, I18n i18n, UserSession userSession) {
+  public WebServiceEngine(WebService[] webServices, I18n i18n, UserSession userSession, WebServiceStatistics statistics) {
     this.userSession = userSession;
+    this.statistics = statistics;
     context = new WebService.Context();
     for (WebService webService : webServices) {
       webService.define(context);
@@ -78,11 +80,18 @@ public class WebServiceEngine implements Startable {
 
   public void execute(ValidatingRequest request, ServletResponse response,
     String controllerPath, String actionKey) {
+    WebService.Action action = null;
+    long startedAt = 0L;
+    boolean failed = true;
     try {
-      WebService.Action action = getAction(controllerPath, actionKey);
+      action = getAction(controllerPath, actionKey);
+      startedAt = statistics.requestStarted(action.path());
       request.setAction(action);
       verifyRequest(action, request);
       action.handler().handle(request, response);
+      // large responses are written to the servlet response while being generated
+      response.stream().flush();
+      failed = false;
 
     } catch (IllegalArgumentException e) {
       // TODO replace by BadRequestException in Request#mandatoryParam()
@@ -94,6 +103,11 @@ public class WebServiceEngine implements Startable {
     } catch (Exception e) {
       Loggers.get(getClass()).error("Fail to process request " + request, e);
       sendErrors(response, 500, new Errors().add(Message.of(e.getMessage())));
+    } finally {
+      // unknown actions are not recorded
+      if (action != null) {
+        statistics.requestFinished(action.path(), startedAt, failed, request);
+      }
     }
   }
 
@@ -111,6 +125,11 @@ public class WebServiceEngine implements Startable {
 
   private void sendErrors(ServletResponse response, int status, Errors errors) {
     ServletResponse.ServletStream stream = response.stream();
+    if (stream.isCommitted()) {
+      // status and beginning of output have already been sent
+      Loggers.get(getClass()).error("Fail to send errors, response is already committed: {}", errors.messages());
+      return;
+    }
     stream.reset();
     stream.setStatus(status);
     stream.setMediaType(MimeTypes.JSON);
@@ -0,0 +1,186 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.ws;
+
+import com.google.common.collect.Ordering;
+import org.sonar.api.config.Settings;
+import org.sonar.api.server.ServerSide;
+import org.sonar.api.utils.System2;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and load of web service actions, as measured by {@link WebServiceEngine}.
+ * @since 5.2
+ */
+@ServerSide
+public class WebServiceStatistics {
+
+  public static final String PROPERTY_SLOW_REQUEST_THRESHOLD = "sonar.web.slowRequestThresholdMs";
+  static final long DEFAULT_SLOW_REQUEST_THRESHOLD = 5_000L;
+
+  private static final Logger LOG = Loggers.get(WebServiceStatistics.class);
+
+  private static final Ordering<ActionStatistics> SLOWEST_FIRST = new Ordering<ActionStatistics>() {
+    @Override
+    public int compare(ActionStatistics a1, ActionStatistics a2) {
+      int result = Long.compare(a2.percentile(95.0), a1.percentile(95.0));
+      if (result == 0) {
+        result = a1.path().compareTo(a2.path());
+      }
+      return result;
+    }
+  };
+
+  private final System2 system2;
+  private final long slowRequestThreshold;
+  private final ConcurrentMap<String, ActionStatistics> byAction = new ConcurrentHashMap<>();
+  private final AtomicLong slowRequests = new AtomicLong();
+
+  public WebServiceStatistics(Settings settings, System2 system2) {
+    this.system2 = system2;
+    long threshold = settings.getLong(PROPERTY_SLOW_REQUEST_THRESHOLD);
+    this.slowRequestThreshold = threshold > 0L ? threshold : DEFAULT_SLOW_REQUEST_THRESHOLD;
+  }
+
+  /**
+   * @return the start date of the request, to be given to {@link #requestFinished(String, long, boolean, Object)}
+   */
+  long requestStarted(String actionPath) {
+    statisticsOf(actionPath).inProgress.incrementAndGet();
+    return system2.now();
+  }
+
+  /**
+   * @param request used only to log slow requests
+   */
+  void requestFinished(String actionPath, long startedAt, boolean failed, Object request) {
+    long duration = system2.now() - startedAt;
+    ActionStatistics statistics = statisticsOf(actionPath);
+    statistics.inProgress.decrementAndGet();
+    statistics.record(duration, failed);
+    if (duration >= slowRequestThreshold) {
+      slowRequests.incrementAndGet();
+      LOG.warn("Slow web service request ({} ms): {} {}", duration, actionPath, request);
+    }
+  }
+
+  private ActionStatistics statisticsOf(String actionPath) {
+    ActionStatistics statistics = byAction.get(actionPath);
+    if (statistics == null) {
+      ActionStatistics newStatistics = new ActionStatistics(actionPath);
+      statistics = byAction.putIfAbsent(actionPath, newStatistics);
+      if (statistics == null) {
+        statistics = newStatistics;
+      }
+    }
+    return statistics;
+  }
+
+  /**
+   * Statistics of the actions that have been requested at least once since server startup,
+   * sorted by descending 95th percentile of latency
+   */
+  public List<ActionStatistics> actions() {
+    return SLOWEST_FIRST.sortedCopy(byAction.values());
+  }
+
+  public long slowRequestThreshold() {
+    return slowRequestThreshold;
+  }
+
+  public long slowRequests() {
+    return slowRequests.get();
+  }
+
+  public long requests() {
+    long count = 0L;
+    for (ActionStatistics action : byAction.values()) {
+      count += action.requests();
+    }
+    return count;
+  }
+
+  public int requestsInProgress() {
+    int count = 0;
+    for (ActionStatistics action : byAction.values()) {
+      count += action.requestsInProgress();
+    }
+    return count;
+  }
+
+  public static class ActionStatistics {
+    private final String path;
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong maxDuration = new AtomicLong();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    ActionStatistics(String path) {
+      this.path = path;
+    }
+
+    private void record(long duration, boolean failed) {
+      requests.incrementAndGet();
+      if (failed) {
+        failures.incrementAndGet();
+      }
+      histogram.record(duration);
+      long max = maxDuration.get();
+      while (duration > max && !maxDuration.compareAndSet(max, duration)) {
+        max = maxDuration.get();
+      }
+    }
+
+    public String path() {
+      return path;
+    }
+
+    public int requestsInProgress() {
+      return inProgress.get();
+    }
+
+    public long requests() {
+      return requests.get();
+    }
+
+    public long failures() {
+      return failures.get();
+    }
+
+    public long maxDuration() {
+      return maxDuration.get();
+    }
+
+    /**
+     * Approximated percentile of durations, in milliseconds
+     */
+    public long percentile(double percentile) {
+      return histogram.percentile(percentile);
+    }
+  }
+}
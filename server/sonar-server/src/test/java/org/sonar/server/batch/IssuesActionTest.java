@@ -38,6 +38,7 @@ import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.DbTester;
 import org.sonar.server.component.ComponentTesting;
 import org.sonar.server.component.db.ComponentDao;
+import org.sonar.server.component.index.ComponentIndexDefinition;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.EsTester;
 import org.sonar.server.exceptions.ForbiddenException;
@@ -72,7 +73,7 @@ public class IssuesActionTest {
   @ClassRule
   public static DbTester db = new DbTester();
   @ClassRule
-  public static EsTester es = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()));
+  public static EsTester es = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()), new ComponentIndexDefinition(new Settings()));
   @Rule
   public UserSessionRule userSessionRule = UserSessionRule.standalone();
 
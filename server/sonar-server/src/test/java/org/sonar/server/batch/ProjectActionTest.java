@@ -29,8 +29,13 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.sonar.batch.protocol.input.ProjectRepositories;
 import org.sonar.server.ws.WsTester;
 
+import java.io.OutputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -67,4 +72,19 @@ public class ProjectActionTest {
     assertThat(queryArgumentCaptor.getValue().isPreview()).isFalse();
   }
 
+  @Test
+  public void project_referentials_as_protobuf() throws Exception {
+    ArgumentCaptor<ProjectRepositoryQuery> queryArgumentCaptor = ArgumentCaptor.forClass(ProjectRepositoryQuery.class);
+
+    tester.newGetRequest("batch", "project")
+      .setParam("key", "org.codehaus.sonar:sonar")
+      .setParam("format", "protobuf")
+      .execute();
+
+    // repositories are written to the response by the loader, instead of being loaded first
+    verify(projectRepositoryLoader).write(queryArgumentCaptor.capture(), any(OutputStream.class));
+    verify(projectRepositoryLoader, never()).load(any(ProjectRepositoryQuery.class));
+    assertThat(queryArgumentCaptor.getValue().getModuleKey()).isEqualTo("org.codehaus.sonar:sonar");
+  }
+
 }
@@ -21,6 +21,8 @@
 package org.sonar.server.batch;
 
 import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -830,6 +832,43 @@ public class ProjectRepositoryLoaderMediumTest {
     assertThat(ref.fileData(project.key(), projectFile.path())).isNull();
   }
 
+  @Test
+  public void write_same_repositories_than_loaded_ones_in_protobuf() throws Exception {
+    ComponentDto project = ComponentTesting.newProjectDto();
+    userSessionRule.login("john").setGlobalPermissions(GlobalPermissions.SCAN_EXECUTION);
+    tester.get(DbClient.class).componentDao().insert(dbSession, project);
+    addDefaultProfile();
+    tester.get(DbClient.class).propertiesDao().setProperty(
+      new PropertyDto().setKey("sonar.jira.project.key").setValue("SONAR").setResourceId(project.getId()),
+      dbSession);
+
+    ComponentDto projectFile = ComponentTesting.newFileDto(project, "projectFile");
+    tester.get(DbClient.class).componentDao().insert(dbSession, projectFile);
+    tester.get(FileSourceDao.class).insert(newFileSourceDto(projectFile).setSrcHash("123456"));
+
+    ComponentDto module = ComponentTesting.newModuleDto(project);
+    tester.get(DbClient.class).componentDao().insert(dbSession, module);
+    ComponentDto moduleFile = ComponentTesting.newFileDto(module, "moduleFile");
+    tester.get(DbClient.class).componentDao().insert(dbSession, moduleFile);
+    tester.get(FileSourceDao.class).insert(newFileSourceDto(moduleFile).setSrcHash("789456"));
+
+    dbSession.commit();
+
+    ProjectRepositoryQuery query = ProjectRepositoryQuery.create().setModuleKey(project.key());
+    ProjectRepositories loaded = loader.load(query);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    loader.write(query, output);
+    ProjectRepositories written = ProjectRepositories.fromProtobuf(new ByteArrayInputStream(output.toByteArray()));
+
+    assertThat(written.settings(project.key())).isEqualTo(loaded.settings(project.key())).containsEntry("sonar.jira.project.key", "SONAR");
+    assertThat(written.settings(module.key())).isEqualTo(loaded.settings(module.key()));
+    assertThat(written.qProfiles()).extracting("key").containsOnly("abcd");
+    assertThat(written.activeRules()).hasSameSizeAs(loaded.activeRules());
+    assertThat(written.lastAnalysisDate()).isNotNull();
+    assertThat(written.fileData(project.key(), projectFile.path()).hash()).isEqualTo("123456");
+    assertThat(written.fileData(module.key(), moduleFile.path()).hash()).isEqualTo("789456");
+  }
+
   private void addDefaultProfile() {
     QualityProfileDto profileDto = QProfileTesting.newDto(QProfileName.createFor(ServerTester.Xoo.KEY, "SonarQube way"), "abcd").setRulesUpdatedAt(
       DateUtils.formatDateTime(new Date())).setDefault(true);
@@ -41,16 +41,19 @@ import org.sonar.core.persistence.DbTester;
 import org.sonar.core.resource.ResourceIndexerDao;
 import org.sonar.core.resource.ResourceKeyUpdaterDao;
 import org.sonar.server.component.db.ComponentDao;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.ForbiddenException;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.test.DbTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Category(DbTests.class)
@@ -65,6 +68,8 @@ public class ComponentServiceTest {
   DbClient dbClient;
   DbSession session;
   I18n i18n = mock(I18n.class);
+  ComponentIndexer componentIndexer = mock(ComponentIndexer.class);
+  MeasureIndexer measureIndexer = mock(MeasureIndexer.class);
   ComponentService service;
 
   @Before
@@ -76,7 +81,7 @@ public class ComponentServiceTest {
     when(i18n.message(Locale.getDefault(), "qualifier.TRK", "Project")).thenReturn("Project");
 
     service = new ComponentService(dbClient, new ResourceKeyUpdaterDao(dbTester.myBatis()), i18n, new ResourceIndexerDao(dbTester.myBatis()),
-      userSessionRule, System2.INSTANCE);
+      componentIndexer, measureIndexer, userSessionRule, System2.INSTANCE);
   }
 
   @After
@@ -129,6 +134,9 @@ public class ComponentServiceTest {
     // Check file key has been updated
     assertThat(service.getNullableByKey(file.key())).isNull();
     assertThat(service.getNullableByKey("sample2:root:src/File.xoo")).isNotNull();
+
+    verify(componentIndexer).index(project.uuid());
+    verify(measureIndexer).index(project.uuid());
   }
 
   @Test
@@ -252,6 +260,9 @@ public class ComponentServiceTest {
     // Check file key has been updated
     assertThat(service.getNullableByKey(file.key())).isNull();
     assertThat(service.getNullableByKey("sample2:root:module:src/File.xoo")).isNotNull();
+
+    verify(componentIndexer).index(project.uuid());
+    verify(measureIndexer).index(project.uuid());
   }
 
   @Test
@@ -295,6 +306,8 @@ public class ComponentServiceTest {
     assertThat(project.scope()).isEqualTo("PRJ");
     assertThat(project.qualifier()).isEqualTo("TRK");
     assertThat(project.getCreatedAt()).isNotNull();
+
+    verify(componentIndexer).index(project.uuid());
   }
 
   @Test
@@ -20,8 +20,11 @@
 
 package org.sonar.server.component.db;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -439,6 +442,25 @@ public class ComponentDaoTest {
     assertThat(sut.selectEnabledFilesFromProject(session, "unknown")).isEmpty();
   }
 
+  @Test
+  public void select_enabled_module_files_tree_with_result_handler() {
+    db.prepareDbUnit(getClass(), "select_module_files_tree.xml");
+
+    FileCollector collector = new FileCollector();
+    sut.selectEnabledDescendantFiles(session, "EFGH", collector);
+    assertThat(collector.files).extracting("uuid").containsOnly("EFGHI", "HIJK");
+    assertThat(collector.files).extracting("path").containsOnly("src/org/struts/pom.xml", "src/org/struts/RequestContext.java");
+
+    collector = new FileCollector();
+    sut.selectEnabledFilesFromProject(session, "ABCD", collector);
+    assertThat(collector.files).extracting("uuid").containsOnly("EFGHI", "HIJK");
+    assertThat(collector.files).extracting("srcHash").containsOnly("srcEFGHI", "srcHIJK");
+
+    collector = new FileCollector();
+    sut.selectEnabledFilesFromProject(session, "unknown", collector);
+    assertThat(collector.files).isEmpty();
+  }
+
   @Test
   public void select_components_from_project() {
     db.prepareDbUnit(getClass(), "multi-modules.xml");
@@ -598,4 +620,13 @@ public class ComponentDaoTest {
 
     db.assertDbUnit(getClass(), "update-result.xml", "projects");
   }
+
+  private static class FileCollector implements ResultHandler {
+    private final List<FilePathWithHashDto> files = new ArrayList<>();
+
+    @Override
+    public void handleResult(ResultContext context) {
+      files.add((FilePathWithHashDto) context.getResultObject());
+    }
+  }
 }
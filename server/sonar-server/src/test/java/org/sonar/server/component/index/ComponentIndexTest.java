@@ -0,0 +1,201 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.security.DefaultGroups;
+import org.sonar.server.es.EsTester;
+import org.sonar.server.es.SearchOptions;
+import org.sonar.server.issue.index.IssueAuthorizationDao;
+import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.issue.index.IssueIndexDefinition;
+import org.sonar.server.tester.UserSessionRule;
+import org.sonar.server.view.index.ViewDoc;
+import org.sonar.server.view.index.ViewIndexDefinition;
+import org.sonar.server.view.index.ViewIndexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComponentIndexTest {
+
+  @ClassRule
+  public static EsTester esTester = new EsTester().addDefinitions(new ComponentIndexDefinition(new Settings()),
+    new IssueIndexDefinition(new Settings()), new ViewIndexDefinition(new Settings()));
+
+  @Rule
+  public UserSessionRule userSessionRule = UserSessionRule.standalone();
+
+  ComponentIndex index;
+
+  @Before
+  public void setUp() {
+    esTester.truncateIndices();
+    index = new ComponentIndex(esTester.client(), userSessionRule);
+  }
+
+  @Test
+  public void search_by_name_prefix() {
+    indexProject("P1", "org.struts:struts", "Struts");
+    indexProject("P2", "org.sonar:sonarqube", "SonarQube");
+
+    assertThat(searchUuids("stru")).containsExactly("P1");
+    assertThat(searchUuids("STRU")).containsExactly("P1");
+    assertThat(searchUuids("sonar")).containsExactly("P2");
+  }
+
+  @Test
+  public void search_by_name_infix() {
+    indexProject("P1", "org.elasticsearch:elasticsearch", "Elasticsearch");
+
+    assertThat(searchUuids("sticsea")).containsExactly("P1");
+    assertThat(searchUuids("unknown")).isEmpty();
+  }
+
+  @Test
+  public void search_by_key_prefix() {
+    indexProject("P1", "org.struts:struts", "Struts");
+
+    assertThat(searchUuids("org.str")).containsExactly("P1");
+  }
+
+  @Test
+  public void prefix_matches_are_first() {
+    indexProject("P1", "org.elasticsearch:elasticsearch", "Elasticsearch");
+    indexProject("P2", "org.struts:struts", "Struts");
+
+    assertThat(searchUuids("st")).containsExactly("P2", "P1");
+  }
+
+  @Test
+  public void search_only_authorized_components() {
+    indexComponents(newDoc("P1", "P1", "struts", "Struts", Qualifiers.PROJECT), newDoc("F1", "P1", "struts:Struts.java", "Struts.java", Qualifiers.FILE));
+    authorize("P1", null, "john");
+    indexComponents(newDoc("P2", "P2", "struts2", "Struts 2", Qualifiers.PROJECT));
+    authorize("P2", "sonar-users", null);
+
+    assertThat(searchUuids("struts")).isEmpty();
+
+    userSessionRule.login("john");
+    assertThat(searchUuids("struts")).containsOnly("P1", "F1");
+
+    userSessionRule.login("jane").setUserGroups("sonar-users");
+    assertThat(searchUuids("struts")).containsOnly("P2");
+  }
+
+  @Test
+  public void filter_by_qualifiers() {
+    indexComponents(newDoc("P1", "P1", "struts", "Struts", Qualifiers.PROJECT), newDoc("F1", "P1", "struts:Struts.java", "Struts.java", Qualifiers.FILE));
+    authorize("P1", DefaultGroups.ANYONE, null);
+
+    List<ComponentDoc> docs = index.search(new ComponentIndexQuery("struts").setQualifiers(Collections.singletonList(Qualifiers.FILE)), new SearchOptions()).getDocs();
+
+    assertThat(docs).hasSize(1);
+    assertThat(docs.get(0).uuid()).isEqualTo("F1");
+  }
+
+  @Test
+  public void filter_by_view() {
+    indexProject("P1", "org.struts:struts", "Struts");
+    indexProject("P2", "org.struts:struts2", "Struts 2");
+    new ViewIndexer(null, esTester.client()).index(new ViewDoc().setUuid("V1").setProjects(Arrays.asList("P2")));
+
+    List<ComponentDoc> docs = index.search(new ComponentIndexQuery("struts").setViewUuid("V1"), new SearchOptions()).getDocs();
+
+    assertThat(docs).hasSize(1);
+    assertThat(docs.get(0).uuid()).isEqualTo("P2");
+  }
+
+  @Test
+  public void paginate_results() {
+    indexProject("P1", "p1", "Struts 1");
+    indexProject("P2", "p2", "Struts 2");
+    indexProject("P3", "p3", "Struts 3");
+
+    ComponentIndexQuery query = new ComponentIndexQuery("struts");
+    assertThat(index.search(query, new SearchOptions().setPage(2, 2)).getTotal()).isEqualTo(3L);
+    assertThat(index.search(query, new SearchOptions().setPage(2, 2)).getDocs()).hasSize(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_query_is_too_short() {
+    new ComponentIndexQuery("s");
+  }
+
+  @Test
+  public void suggest_by_qualifier() {
+    indexComponents(newDoc("P1", "P1", "struts", "Struts", Qualifiers.PROJECT),
+      newDoc("M1", "P1", "struts:core", "Struts Core", Qualifiers.MODULE),
+      newDoc("F1", "P1", "struts:core:Struts.java", "Struts.java", Qualifiers.FILE),
+      newDoc("F2", "P1", "struts:core:StrutsAction.java", "StrutsAction.java", Qualifiers.FILE),
+      newDoc("F3", "P1", "struts:core:StrutsContext.java", "StrutsContext.java", Qualifiers.FILE));
+    authorize("P1", DefaultGroups.ANYONE, null);
+
+    ComponentIndex.Suggestions suggestions = index.suggest(new ComponentIndexQuery("struts"), 2);
+
+    assertThat(suggestions.getTotal()).isEqualTo(5L);
+    assertThat(suggestions.getDocsByQualifier().keySet()).containsOnly(Qualifiers.PROJECT, Qualifiers.MODULE, Qualifiers.FILE);
+    assertThat(suggestions.getDocsByQualifier().get(Qualifiers.PROJECT)).hasSize(1);
+    assertThat(suggestions.getDocsByQualifier().get(Qualifiers.FILE)).hasSize(2);
+  }
+
+  private List<String> searchUuids(String text) {
+    List<String> uuids = new ArrayList<>();
+    for (ComponentDoc doc : index.search(new ComponentIndexQuery(text), new SearchOptions()).getDocs()) {
+      uuids.add(doc.uuid());
+    }
+    return uuids;
+  }
+
+  private void indexProject(String uuid, String key, String name) {
+    indexComponents(newDoc(uuid, uuid, key, name, Qualifiers.PROJECT));
+    authorize(uuid, DefaultGroups.ANYONE, null);
+  }
+
+  private static ComponentDoc newDoc(String uuid, String projectUuid, String key, String name, String qualifier) {
+    return new ComponentDoc().setUuid(uuid).setProjectUuid(projectUuid).setKey(key).setName(name).setQualifier(qualifier);
+  }
+
+  private static void indexComponents(ComponentDoc... docs) {
+    BulkRequestBuilder bulk = esTester.client().prepareBulk().setRefresh(true);
+    for (ComponentDoc doc : docs) {
+      bulk.add(new IndexRequest(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT, doc.uuid())
+        .parent(doc.projectUuid())
+        .routing(doc.projectUuid())
+        .source(doc.getFields()));
+    }
+    bulk.get();
+  }
+
+  private static void authorize(String projectUuid, @Nullable String group, @Nullable String user) {
+    new IssueAuthorizationIndexer(null, esTester.client()).index(Arrays.asList(new IssueAuthorizationDao.Dto(projectUuid, 1L).addGroup(group).addUser(user)));
+  }
+}
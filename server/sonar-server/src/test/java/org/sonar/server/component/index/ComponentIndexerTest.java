@@ -0,0 +1,147 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.EsTester;
+import org.sonar.test.DbTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Category(DbTests.class)
+public class ComponentIndexerTest {
+
+  @ClassRule
+  public static DbTester dbTester = new DbTester();
+
+  @ClassRule
+  public static EsTester esTester = new EsTester().addDefinitions(new ComponentIndexDefinition(new Settings()));
+
+  ComponentIndexer indexer;
+
+  @Before
+  public void setUp() {
+    dbTester.truncateTables();
+    esTester.truncateIndices();
+    indexer = (ComponentIndexer) new ComponentIndexer(new DbClient(dbTester.database(), dbTester.myBatis()), esTester.client()).setEnabled(true);
+  }
+
+  @Test
+  public void index_nothing() {
+    indexer.index();
+    assertThat(esTester.countDocuments(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT)).isEqualTo(0L);
+  }
+
+  @Test
+  public void index_all_components() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    indexer.index();
+
+    Map<String, ComponentDoc> docsByUuid = docsByUuid();
+    assertThat(docsByUuid.keySet()).containsOnly("ABCD", "BCDE", "DEFG", "FGHI");
+
+    ComponentDoc file = docsByUuid.get("DEFG");
+    assertThat(file.projectUuid()).isEqualTo("ABCD");
+    assertThat(file.key()).isEqualTo("org.struts:struts-core:src/org/struts/RequestContext.java");
+    assertThat(file.name()).isEqualTo("RequestContext.java");
+    assertThat(file.longName()).isEqualTo("src/org/struts/RequestContext.java");
+    assertThat(file.qualifier()).isEqualTo("FIL");
+    assertThat(file.updatedAt()).isNotNull();
+    assertThat(docsByUuid.get("ABCD").longName()).isEqualTo("Apache Struts");
+  }
+
+  @Test
+  public void index_date_of_indexation() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    long before = System.currentTimeMillis();
+
+    indexer.index();
+
+    // used by BaseIndexer to know the date of the latest indexation
+    long maxUpdatedAt = esTester.client().getMaxFieldValue(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT,
+      ComponentIndexDefinition.FIELD_UPDATED_AT);
+    assertThat(maxUpdatedAt).isGreaterThanOrEqualTo(before).isLessThanOrEqualTo(System.currentTimeMillis());
+  }
+
+  @Test
+  public void index_only_if_index_is_empty() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    indexer.index();
+    dbTester.executeUpdateSql("UPDATE projects SET name='Struts 2' WHERE uuid='ABCD'");
+
+    indexer.index();
+
+    assertThat(docsByUuid().get("ABCD").name()).isEqualTo("Struts");
+  }
+
+  @Test
+  public void index_project() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    indexer.index("ABCD");
+
+    assertThat(docsByUuid().keySet()).containsOnly("ABCD", "BCDE", "DEFG");
+
+    // file is removed from project
+    dbTester.executeUpdateSql("UPDATE projects SET enabled=false WHERE uuid='DEFG'");
+    indexer.index("ABCD");
+
+    assertThat(docsByUuid().keySet()).containsOnly("ABCD", "BCDE");
+  }
+
+  @Test
+  public void delete_project() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    indexer.index();
+
+    indexer.deleteProject("ABCD");
+
+    assertThat(docsByUuid().keySet()).containsOnly("FGHI");
+  }
+
+  @Test
+  public void do_nothing_if_disabled() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    indexer.setEnabled(false).index();
+
+    assertThat(esTester.countDocuments(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT)).isEqualTo(0L);
+  }
+
+  private Map<String, ComponentDoc> docsByUuid() {
+    List<ComponentDoc> docs = esTester.getDocuments(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT, ComponentDoc.class);
+    return Maps.uniqueIndex(docs, new Function<ComponentDoc, String>() {
+      @Override
+      public String apply(ComponentDoc doc) {
+        return doc.uuid();
+      }
+    });
+  }
+}
@@ -104,7 +104,7 @@ public class AppActionTest {
 
     when(measureDao.findByComponentKeyAndMetricKeys(eq(session), anyString(), anyListOf(String.class))).thenReturn(measures);
 
-    tester = new WsTester(new ComponentsWs(new AppAction(dbClient, durations, i18n, userSessionRule), mock(SearchAction.class)));
+    tester = new WsTester(new ComponentsWs(new AppAction(dbClient, durations, i18n, userSessionRule), mock(SearchAction.class), mock(SuggestionsAction.class)));
   }
 
   @Test
@@ -24,9 +24,10 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.sonar.api.i18n.I18n;
-import org.sonar.api.server.ws.RailsHandler;
+import org.sonar.api.resources.ResourceTypes;
 import org.sonar.api.server.ws.WebService;
 import org.sonar.api.utils.Durations;
+import org.sonar.server.component.index.ComponentIndex;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.server.ws.WsTester;
@@ -42,7 +43,8 @@ public class ComponentsWsTest {
 
   @Before
   public void setUp() {
-    WsTester tester = new WsTester(new ComponentsWs(new AppAction(mock(DbClient.class), mock(Durations.class), mock(I18n.class), userSessionRule), new SearchAction(mock(DbClient.class), userSessionRule)));
+    WsTester tester = new WsTester(new ComponentsWs(new AppAction(mock(DbClient.class), mock(Durations.class), mock(I18n.class), userSessionRule), new SearchAction(mock(DbClient.class), mock(ComponentIndex.class), userSessionRule),
+      new SuggestionsAction(mock(ComponentIndex.class), mock(ResourceTypes.class), mock(I18n.class), userSessionRule)));
     controller = tester.controller("api/components");
   }
 
@@ -60,9 +62,9 @@ public class ComponentsWsTest {
     assertThat(action).isNotNull();
     assertThat(action.isInternal()).isTrue();
     assertThat(action.isPost()).isFalse();
-    assertThat(action.handler()).isInstanceOf(RailsHandler.class);
+    assertThat(action.handler()).isInstanceOf(SuggestionsAction.class);
     assertThat(action.responseExampleAsString()).isNotEmpty();
-    assertThat(action.params()).hasSize(2);
+    assertThat(action.params()).hasSize(1);
   }
 
   @Test
@@ -20,19 +20,28 @@
 
 package org.sonar.server.component.ws;
 
+import java.util.Arrays;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
 import org.sonar.api.server.ws.WebService.Param;
 import org.sonar.api.web.UserRole;
 import org.sonar.core.persistence.DbTester;
-import org.sonar.core.user.AuthorizationDao;
 import org.sonar.server.component.db.ComponentDao;
-import org.sonar.server.component.db.ComponentIndexDao;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.component.index.ComponentIndexDefinition;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.es.EsTester;
+import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.issue.index.IssueIndexDefinition;
 import org.sonar.server.tester.UserSessionRule;
+import org.sonar.server.view.index.ViewDoc;
+import org.sonar.server.view.index.ViewIndexDefinition;
+import org.sonar.server.view.index.ViewIndexer;
 import org.sonar.server.ws.WsTester;
 import org.sonar.test.DbTests;
 
@@ -45,23 +54,29 @@ public class SearchActionTest {
 
   @ClassRule
   public static DbTester dbTester = new DbTester();
+  @ClassRule
+  public static EsTester esTester = new EsTester().addDefinitions(new ComponentIndexDefinition(new Settings()),
+    new IssueIndexDefinition(new Settings()), new ViewIndexDefinition(new Settings()));
   @Rule
   public UserSessionRule userSessionRule = UserSessionRule.standalone();
 
+  DbClient dbClient;
   WsTester tester;
 
   @Before
   public void setUp() {
     dbTester.truncateTables();
-    DbClient dbClient = new DbClient(dbTester.database(), dbTester.myBatis(),
-      new ComponentDao(), new AuthorizationDao(dbTester.myBatis()), new ComponentIndexDao()
-      );
-    tester = new WsTester(new ComponentsWs(mock(AppAction.class), new SearchAction(dbClient, userSessionRule)));
+    esTester.truncateIndices();
+    dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), new ComponentDao());
+    tester = new WsTester(new ComponentsWs(mock(AppAction.class), new SearchAction(dbClient, new ComponentIndex(esTester.client(), userSessionRule), userSessionRule),
+      mock(SuggestionsAction.class)));
   }
 
   @Test
   public void return_projects_from_view() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareData("shared.xml");
+    indexView("EFGH", "JKLM", "KLMN");
+    indexView("FGHI", "JKLM");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st");
@@ -70,7 +85,9 @@ public class SearchActionTest {
 
   @Test
   public void return_projects_from_subview() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareData("shared.xml");
+    indexView("EFGH", "JKLM", "KLMN");
+    indexView("FGHI", "JKLM");
     userSessionRule.login("john").addComponentUuidPermission(UserRole.USER, "EFGH", "FGHI");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "FGHI").setParam("q", "st");
@@ -79,7 +96,8 @@ public class SearchActionTest {
 
   @Test
   public void return_only_authorized_projects_from_view() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "return_only_authorized_projects_from_view.xml");
+    prepareData("return_only_authorized_projects_from_view.xml");
+    indexView("EFGH", "JKLM", "KLMN");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st");
@@ -88,7 +106,9 @@ public class SearchActionTest {
 
   @Test
   public void return_paged_result() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareData("shared.xml");
+    indexView("EFGH", "JKLM", "KLMN");
+    indexView("FGHI", "JKLM");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st").setParam(Param.PAGE, "2")
@@ -98,7 +118,9 @@ public class SearchActionTest {
 
   @Test
   public void return_only_first_page() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareData("shared.xml");
+    indexView("EFGH", "JKLM", "KLMN");
+    indexView("FGHI", "JKLM");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st").setParam(Param.PAGE, "1")
@@ -108,7 +130,9 @@ public class SearchActionTest {
 
   @Test
   public void fail_when_search_param_is_too_short() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareData("shared.xml");
+    indexView("EFGH", "JKLM", "KLMN");
+    indexView("FGHI", "JKLM");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "s");
@@ -120,4 +144,14 @@ public class SearchActionTest {
       assertThat(e).hasMessage("Minimum search is 2 characters");
     }
   }
+
+  private void prepareData(String dataset) {
+    dbTester.prepareDbUnit(getClass(), dataset);
+    new ComponentIndexer(dbClient, esTester.client()).setEnabled(true).index();
+    new IssueAuthorizationIndexer(dbClient, esTester.client()).setEnabled(true).index();
+  }
+
+  private void indexView(String viewUuid, String... projectUuids) {
+    new ViewIndexer(dbClient, esTester.client()).index(new ViewDoc().setUuid(viewUuid).setProjects(Arrays.asList(projectUuids)));
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.ws;
+
+import java.util.Arrays;
+import java.util.Locale;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.i18n.I18n;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.resources.ResourceType;
+import org.sonar.api.resources.ResourceTypes;
+import org.sonar.api.security.DefaultGroups;
+import org.sonar.server.component.index.ComponentDoc;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.component.index.ComponentIndexDefinition;
+import org.sonar.server.es.EsTester;
+import org.sonar.server.issue.index.IssueAuthorizationDao;
+import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.issue.index.IssueIndexDefinition;
+import org.sonar.server.tester.UserSessionRule;
+import org.sonar.server.ws.WsTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Fail.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SuggestionsActionTest {
+
+  @ClassRule
+  public static EsTester esTester = new EsTester().addDefinitions(new ComponentIndexDefinition(new Settings()), new IssueIndexDefinition(new Settings()));
+
+  @Rule
+  public UserSessionRule userSessionRule = UserSessionRule.standalone();
+
+  ResourceTypes resourceTypes = mock(ResourceTypes.class);
+  I18n i18n = mock(I18n.class);
+  WsTester tester;
+
+  @Before
+  public void setUp() {
+    esTester.truncateIndices();
+    when(resourceTypes.getAll()).thenReturn(Arrays.asList(
+      ResourceType.builder(Qualifiers.PROJECT).setProperty("iconPath", "/images/q/TRK.png").build(),
+      ResourceType.builder(Qualifiers.FILE).setProperty("iconPath", "/images/q/FIL.png").build()));
+    when(i18n.message(any(Locale.class), eq("qualifiers.TRK"), anyString())).thenReturn("Projects");
+    when(i18n.message(any(Locale.class), eq("qualifiers.FIL"), anyString())).thenReturn("Files");
+
+    ComponentIndex componentIndex = new ComponentIndex(esTester.client(), userSessionRule);
+    tester = new WsTester(new ComponentsWs(mock(AppAction.class), mock(SearchAction.class),
+      new SuggestionsAction(componentIndex, resourceTypes, i18n, userSessionRule)));
+  }
+
+  @Test
+  public void return_suggestions_by_qualifier() throws Exception {
+    indexComponents(
+      new ComponentDoc().setUuid("P1").setProjectUuid("P1").setKey("org.struts:struts").setName("Struts").setLongName("Apache Struts").setQualifier(Qualifiers.PROJECT),
+      new ComponentDoc().setUuid("F1").setProjectUuid("P1").setKey("org.struts:struts:src/Struts.java").setName("Struts.java").setLongName("src/Struts.java").setQualifier(Qualifiers.FILE),
+      new ComponentDoc().setUuid("F2").setProjectUuid("P1").setKey("org.struts:struts:src/Action.java").setName("Action.java").setQualifier(Qualifiers.FILE));
+
+    WsTester.TestRequest request = tester.newGetRequest("api/components", "suggestions").setParam("s", "stru");
+    request.execute().assertJson(getClass(), "return_suggestions_by_qualifier.json");
+  }
+
+  @Test
+  public void fail_when_search_param_is_too_short() throws Exception {
+    WsTester.TestRequest request = tester.newGetRequest("api/components", "suggestions").setParam("s", "s");
+
+    try {
+      request.execute();
+      failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Minimum search is 2 characters");
+    }
+  }
+
+  private static void indexComponents(ComponentDoc... docs) {
+    BulkRequestBuilder bulk = esTester.client().prepareBulk().setRefresh(true);
+    for (ComponentDoc doc : docs) {
+      bulk.add(new IndexRequest(ComponentIndexDefinition.INDEX, ComponentIndexDefinition.TYPE_COMPONENT, doc.uuid())
+        .parent(doc.projectUuid())
+        .routing(doc.projectUuid())
+        .source(doc.getFields()));
+    }
+    bulk.get();
+    new IssueAuthorizationIndexer(null, esTester.client()).index(Arrays.asList(new IssueAuthorizationDao.Dto("P1", 1L).addGroup(DefaultGroups.ANYONE)));
+  }
+}
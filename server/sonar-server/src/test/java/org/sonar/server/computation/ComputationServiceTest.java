@@ -24,10 +24,17 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang.RandomStringUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.sonar.api.utils.System2;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
@@ -37,8 +44,10 @@ import org.sonar.server.computation.activity.ActivityManager;
 import org.sonar.server.computation.step.ComputationStep;
 import org.sonar.server.computation.step.ComputationSteps;
 
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -66,7 +75,7 @@ public class ComputationServiceTest {
   public void process_new_project() throws Exception {
     logTester.setLevel(LoggerLevel.INFO);
 
-    when(steps.instances()).thenReturn(Arrays.asList(projectStep1, projectStep2));
+    when(steps.stages()).thenReturn(Arrays.asList(singletonList(projectStep1), singletonList(projectStep2)));
 
     sut.process();
 
@@ -86,7 +95,7 @@ public class ComputationServiceTest {
 
   @Test
   public void debug_logs() throws Exception {
-    when(steps.instances()).thenReturn(Collections.<ComputationStep>emptyList());
+    when(steps.stages()).thenReturn(Collections.<List<ComputationStep>>emptyList());
     logTester.setLevel(LoggerLevel.DEBUG);
 
     sut.process();
@@ -97,7 +106,7 @@ public class ComputationServiceTest {
   @Test
   public void fail_if_step_throws_error() throws Exception {
     String errorMessage = "Failed to unzip";
-    when(steps.instances()).thenReturn(ImmutableList.of(projectStep1));
+    when(steps.stages()).thenReturn(ImmutableList.of(singletonList(projectStep1)));
     doThrow(new IllegalStateException(errorMessage)).when(projectStep1).execute();
 
     try {
@@ -112,7 +121,7 @@ public class ComputationServiceTest {
 
   @Test
   public void step_error() throws Exception {
-    when(steps.instances()).thenReturn(Arrays.asList(projectStep1));
+    when(steps.stages()).thenReturn(Arrays.asList(singletonList(projectStep1)));
     doThrow(new IllegalStateException("pb")).when(projectStep1).execute();
 
     try {
@@ -125,6 +134,66 @@ public class ComputationServiceTest {
     }
   }
 
+  @Test
+  public void execute_steps_of_a_stage_concurrently() throws Exception {
+    final CountDownLatch allStarted = new CountDownLatch(2);
+    Answer<Void> waitForOtherStep = new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        allStarted.countDown();
+        if (!allStarted.await(10, TimeUnit.SECONDS)) {
+          throw new IllegalStateException("Steps are not executed concurrently");
+        }
+        return null;
+      }
+    };
+    doAnswer(waitForOtherStep).when(projectStep1).execute();
+    doAnswer(waitForOtherStep).when(projectStep2).execute();
+    when(steps.stages()).thenReturn(singletonList(Arrays.asList(projectStep1, projectStep2)));
+
+    sut.process();
+
+    assertThat(dto.getStatus()).isEqualTo(Status.SUCCESS);
+  }
+
+  @Test
+  public void concurrent_stages_share_the_same_threads() throws Exception {
+    final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+    Answer<Void> recordThread = new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        threadNames.add(Thread.currentThread().getName());
+        return null;
+      }
+    };
+    ComputationStep projectStep3 = mockStep();
+    ComputationStep projectStep4 = mockStep();
+    for (ComputationStep step : Arrays.asList(projectStep1, projectStep2, projectStep3, projectStep4)) {
+      doAnswer(recordThread).when(step).execute();
+    }
+    when(steps.stages()).thenReturn(Arrays.asList(Arrays.asList(projectStep1, projectStep2), Arrays.asList(projectStep3, projectStep4)));
+
+    sut.process();
+
+    assertThat(threadNames).isNotEmpty();
+    assertThat(threadNames).isSubsetOf(Arrays.asList("computation-1-step-0", "computation-1-step-1"));
+  }
+
+  @Test
+  public void fail_if_a_concurrent_step_throws_error() throws Exception {
+    doThrow(new IllegalStateException("pb")).when(projectStep2).execute();
+    when(steps.stages()).thenReturn(singletonList(Arrays.asList(projectStep1, projectStep2)));
+
+    try {
+      sut.process();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).isEqualTo("pb");
+      assertThat(dto.getStatus()).isEqualTo(Status.FAILED);
+      verify(projectStep1).execute();
+    }
+  }
+
   private ComputationStep mockStep() {
     ComputationStep step = mock(ComputationStep.class);
     when(step.getDescription()).thenReturn(RandomStringUtils.randomAscii(5));
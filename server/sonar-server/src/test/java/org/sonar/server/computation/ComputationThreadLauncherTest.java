@@ -20,6 +20,8 @@
 
 package org.sonar.server.computation;
 
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
@@ -28,13 +30,22 @@ import org.junit.Test;
 import org.junit.rules.DisableOnDebug;
 import org.junit.rules.TestRule;
 import org.junit.rules.Timeout;
+import org.sonar.api.config.Settings;
 import org.sonar.api.platform.Server;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.sonar.core.computation.db.AnalysisReportDto;
 import org.sonar.core.platform.ComponentContainer;
+import org.sonar.server.computation.container.ComputeEngineContainer;
 import org.sonar.server.computation.container.ContainerFactory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ComputationThreadLauncherTest {
 
@@ -55,12 +66,14 @@ public class ComputationThreadLauncherTest {
 
   @After
   public void after() {
-    sut.stop();
+    if (sut != null) {
+      sut.stop();
+    }
   }
 
   @Test
   public void call_findAndBook_when_launching_a_recurrent_task() throws Exception {
-    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, 0, 1, TimeUnit.MILLISECONDS);
+    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, 1, 0, 1, TimeUnit.MILLISECONDS);
 
     sut.onServerStart(mock(Server.class));
 
@@ -71,7 +84,7 @@ public class ComputationThreadLauncherTest {
 
   @Test
   public void call_findAndBook_when_executing_task_immediately() throws Exception {
-    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, 1, 1, TimeUnit.HOURS);
+    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, 1, 1, 1, TimeUnit.HOURS);
     sut.start();
 
     sut.startAnalysisTaskNow();
@@ -83,10 +96,52 @@ public class ComputationThreadLauncherTest {
 
   @Test
   public void test_real_constructor() throws Exception {
-    sut = new ComputationThreadLauncher(queue, componentContainer);
+    sut = new ComputationThreadLauncher(queue, componentContainer, new Settings());
     sut.start();
   }
 
+  @Test
+  public void workers_process_reports_of_different_projects_in_parallel() throws Exception {
+    final CountDownLatch bothStarted = new CountDownLatch(2);
+    ComputeEngineContainer container = mock(ComputeEngineContainer.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        bothStarted.countDown();
+        bothStarted.await(10, TimeUnit.SECONDS);
+        return null;
+      }
+    }).when(container).process();
+    when(containerFactory.create(any(ComponentContainer.class), any(ReportQueue.Item.class))).thenReturn(container);
+    when(queue.pop()).thenReturn(newItem(1L, "P1"), newItem(2L, "P2"), null);
+
+    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, 2, 0, 1, TimeUnit.HOURS);
+    sut.onServerStart(mock(Server.class));
+
+    assertThat(bothStarted.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void number_of_workers() {
+    Settings settings = new Settings();
+    assertThat(ComputationThreadLauncher.numberOfWorkers(settings)).isEqualTo(1);
+
+    settings.setProperty(ComputationThreadLauncher.WORKERS_PROPERTY, 4);
+    assertThat(ComputationThreadLauncher.numberOfWorkers(settings)).isEqualTo(4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_negative_number_of_workers() {
+    Settings settings = new Settings();
+    settings.setProperty(ComputationThreadLauncher.WORKERS_PROPERTY, -1);
+
+    ComputationThreadLauncher.numberOfWorkers(settings);
+  }
+
+  private static ReportQueue.Item newItem(long id, String projectKey) {
+    return new ReportQueue.Item(AnalysisReportDto.newForTests(id).setProjectKey(projectKey), new File("report.zip"));
+  }
+
   private void sleep() throws InterruptedException {
     TimeUnit.MILLISECONDS.sleep(500L);
   }
@@ -74,6 +74,17 @@ public class ComputationThreadTest {
     verify(containerFactory).create(componentContainer, item);
   }
 
+  @Test
+  public void process_next_returns_false_when_queue_is_empty() throws IOException {
+    AnalysisReportDto report = AnalysisReportDto.newForTests(1L);
+    ReportQueue.Item item = new ReportQueue.Item(report, temp.newFile());
+    when(queue.pop()).thenReturn(item, null);
+    when(containerFactory.create(componentContainer, item)).thenReturn(mock(ComputeEngineContainer.class));
+
+    assertThat(sut.processNext()).isTrue();
+    assertThat(sut.processNext()).isFalse();
+  }
+
   @Test
   public void handle_error_during_queue_pop() {
     when(queue.pop()).thenThrow(new IllegalStateException());
@@ -0,0 +1,57 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.zip.ZipFile;
+import org.sonar.api.utils.ZipUtils;
+
+/**
+ * Zips the content of a report directory when it is read for the first time, so that tests can write
+ * the report with {@link org.sonar.batch.protocol.output.BatchReportWriter} before reading it.
+ */
+public class BatchReportDirectoryZipHolder implements BatchReportZipHolder {
+  private final File directory;
+  private ZipFile zipFile;
+
+  public BatchReportDirectoryZipHolder(File directory) {
+    this.directory = Objects.requireNonNull(directory);
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  @Override
+  public ZipFile getZipFile() {
+    if (zipFile == null) {
+      try {
+        File zip = new File(directory.getParentFile(), directory.getName() + ".zip");
+        ZipUtils.zipDir(directory, zip);
+        zipFile = new ZipFile(zip);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to zip " + directory, e);
+      }
+    }
+    return zipFile;
+  }
+}
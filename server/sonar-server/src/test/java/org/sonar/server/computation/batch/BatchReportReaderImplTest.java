@@ -63,7 +63,7 @@ public class BatchReportReaderImplTest {
 
   @Before
   public void setUp() throws Exception {
-    BatchReportDirectoryHolder holder = new ImmutableBatchReportDirectoryHolder(tempFolder.newDir());
+    BatchReportDirectoryZipHolder holder = new BatchReportDirectoryZipHolder(tempFolder.newDir());
     underTest = new BatchReportReaderImpl(holder);
     writer = new BatchReportWriter(holder.getDirectory());
     fileStructure = new FileStructure(holder.getDirectory());
@@ -0,0 +1,69 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.batch;
+
+import java.util.zip.ZipFile;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class BatchReportZipHolderImplTest {
+
+  @Test(expected = IllegalStateException.class)
+  public void getZipFile_throws_ISE_if_holder_is_empty() {
+    new BatchReportZipHolderImpl().getZipFile();
+  }
+
+  @Test
+  public void getZipFile_returns_ZipFile_set_with_setZipFile() {
+    ZipFile zipFile = mock(ZipFile.class);
+    BatchReportZipHolderImpl holder = new BatchReportZipHolderImpl();
+    holder.setZipFile(zipFile);
+
+    assertThat(holder.getZipFile()).isSameAs(zipFile);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void setZipFile_throws_ISE_if_already_set() {
+    BatchReportZipHolderImpl holder = new BatchReportZipHolderImpl();
+    holder.setZipFile(mock(ZipFile.class));
+    holder.setZipFile(mock(ZipFile.class));
+  }
+
+  @Test
+  public void stop_closes_zip() throws Exception {
+    ZipFile zipFile = mock(ZipFile.class);
+    BatchReportZipHolderImpl holder = new BatchReportZipHolderImpl();
+    holder.setZipFile(zipFile);
+
+    holder.stop();
+
+    verify(zipFile).close();
+  }
+
+  @Test
+  public void stop_does_nothing_if_holder_is_empty() {
+    BatchReportZipHolderImpl holder = new BatchReportZipHolderImpl();
+    holder.start();
+    holder.stop();
+  }
+}
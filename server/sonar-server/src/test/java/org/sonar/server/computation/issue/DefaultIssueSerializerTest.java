@@ -0,0 +1,219 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.issue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.issue.internal.FieldDiffs;
+import org.sonar.api.issue.internal.IssueChangeContext;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rule.Severity;
+import org.sonar.api.utils.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultIssueSerializerTest {
+
+  DefaultIssueSerializer serializer = new DefaultIssueSerializer();
+
+  @Test
+  public void write_and_read_all_fields() throws Exception {
+    DefaultIssue issue = new DefaultIssue()
+      .setKey("ISSUE1")
+      .setComponentUuid("FILE1")
+      .setComponentKey("org.sonar:foo:src/Foo.java")
+      .setModuleUuid("MODULE1")
+      .setModuleUuidPath(".PROJECT1.MODULE1.")
+      .setProjectUuid("PROJECT1")
+      .setProjectKey("org.sonar:foo")
+      .setRuleKey(RuleKey.of("squid", "S001"))
+      .setLanguage("java")
+      .setSeverity(Severity.BLOCKER)
+      .setManualSeverity(true)
+      .setMessage("the message")
+      .setLine(12)
+      .setEffortToFix(3.5)
+      .setDebt(Duration.create(15L))
+      .setStatus(Issue.STATUS_RESOLVED)
+      .setResolution(Issue.RESOLUTION_FIXED)
+      .setReporter("reporter")
+      .setAssignee("assignee")
+      .setChecksum("checksum")
+      .setAuthorLogin("author")
+      .setActionPlanKey("PLAN1")
+      .setCreationDate(new Date(1_400_000_000_000L))
+      .setUpdateDate(new Date(1_500_000_000_000L))
+      .setCloseDate(new Date(1_600_000_000_000L))
+      .setSelectedAt(1_700_000_000_000L)
+      .setNew(false)
+      .setEndOfLife(true)
+      .setOnDisabledRule(true)
+      .setChanged(true)
+      .setSendNotifications(true)
+      .setAttribute("JIRA", "FOO-123")
+      .setTags(Arrays.asList("bug", "security"));
+
+    DefaultIssue read = writeAndRead(issue);
+
+    assertThat(read.key()).isEqualTo("ISSUE1");
+    assertThat(read.componentUuid()).isEqualTo("FILE1");
+    assertThat(read.componentKey()).isEqualTo("org.sonar:foo:src/Foo.java");
+    assertThat(read.moduleUuid()).isEqualTo("MODULE1");
+    assertThat(read.moduleUuidPath()).isEqualTo(".PROJECT1.MODULE1.");
+    assertThat(read.projectUuid()).isEqualTo("PROJECT1");
+    assertThat(read.projectKey()).isEqualTo("org.sonar:foo");
+    assertThat(read.ruleKey()).isEqualTo(RuleKey.of("squid", "S001"));
+    assertThat(read.language()).isEqualTo("java");
+    assertThat(read.severity()).isEqualTo(Severity.BLOCKER);
+    assertThat(read.manualSeverity()).isTrue();
+    assertThat(read.message()).isEqualTo("the message");
+    assertThat(read.line()).isEqualTo(12);
+    assertThat(read.effortToFix()).isEqualTo(3.5);
+    assertThat(read.debt()).isEqualTo(Duration.create(15L));
+    assertThat(read.status()).isEqualTo(Issue.STATUS_RESOLVED);
+    assertThat(read.resolution()).isEqualTo(Issue.RESOLUTION_FIXED);
+    assertThat(read.reporter()).isEqualTo("reporter");
+    assertThat(read.assignee()).isEqualTo("assignee");
+    assertThat(read.checksum()).isEqualTo("checksum");
+    assertThat(read.authorLogin()).isEqualTo("author");
+    assertThat(read.actionPlanKey()).isEqualTo("PLAN1");
+    assertThat(read.creationDate()).isEqualTo(issue.creationDate());
+    assertThat(read.updateDate()).isEqualTo(issue.updateDate());
+    assertThat(read.closeDate()).isEqualTo(issue.closeDate());
+    assertThat(read.selectedAt()).isEqualTo(1_700_000_000_000L);
+    assertThat(read.isNew()).isFalse();
+    assertThat(read.isEndOfLife()).isTrue();
+    assertThat(read.isOnDisabledRule()).isTrue();
+    assertThat(read.isChanged()).isTrue();
+    assertThat(read.mustSendNotifications()).isTrue();
+    assertThat(read.attributes()).containsEntry("JIRA", "FOO-123").hasSize(1);
+    assertThat(read.tags()).containsExactly("bug", "security");
+    assertThat(read.comments()).isEmpty();
+    assertThat(read.changes()).isEmpty();
+    assertThat(read.currentChange()).isNull();
+  }
+
+  @Test
+  public void write_and_read_issue_with_null_fields() throws Exception {
+    DefaultIssue issue = new DefaultIssue().setKey("ISSUE1");
+
+    DefaultIssue read = writeAndRead(issue);
+
+    assertThat(read.key()).isEqualTo("ISSUE1");
+    assertThat(read.componentUuid()).isNull();
+    assertThat(read.ruleKey()).isNull();
+    assertThat(read.line()).isNull();
+    assertThat(read.effortToFix()).isNull();
+    assertThat(read.debt()).isNull();
+    assertThat(read.status()).isNull();
+    assertThat(read.creationDate()).isNull();
+    assertThat(read.selectedAt()).isNull();
+    assertThat(read.isNew()).isTrue();
+    assertThat(read.attributes()).isEmpty();
+    assertThat(read.tags()).isEmpty();
+  }
+
+  @Test
+  public void write_and_read_comments() throws Exception {
+    DefaultIssue issue = new DefaultIssue().setKey("ISSUE1");
+    issue.addComment(DefaultIssueComment.create("ISSUE1", "john", "first comment").setKey("C1").setCreatedAt(new Date(1_000L)));
+    issue.addComment(DefaultIssueComment.create("ISSUE1", null, StringUtils.repeat("long ", 20_000)).setKey("C2").setNew(false));
+
+    DefaultIssue read = writeAndRead(issue);
+
+    assertThat(read.comments()).hasSize(2);
+    DefaultIssueComment first = (DefaultIssueComment) read.comments().get(0);
+    assertThat(first.key()).isEqualTo("C1");
+    assertThat(first.issueKey()).isEqualTo("ISSUE1");
+    assertThat(first.userLogin()).isEqualTo("john");
+    assertThat(first.markdownText()).isEqualTo("first comment");
+    assertThat(first.createdAt()).isEqualTo(new Date(1_000L));
+    assertThat(first.isNew()).isTrue();
+    DefaultIssueComment second = (DefaultIssueComment) read.comments().get(1);
+    assertThat(second.userLogin()).isNull();
+    assertThat(second.markdownText()).hasSize(100_000);
+    assertThat(second.isNew()).isFalse();
+  }
+
+  @Test
+  public void write_and_read_changelog_and_current_change() throws Exception {
+    DefaultIssue issue = new DefaultIssue().setKey("ISSUE1");
+    FieldDiffs oldChange = new FieldDiffs().setIssueKey("ISSUE1").setUserLogin("john").setCreationDate(new Date(1_000L))
+      .setDiff("severity", Severity.MINOR, Severity.MAJOR);
+    issue.addChange(oldChange);
+    issue.setFieldChange(IssueChangeContext.createUser(new Date(2_000L), "jane"), "technicalDebt", 10L, 20L);
+    issue.setFieldChange(IssueChangeContext.createUser(new Date(2_000L), "jane"), "line", 3, null);
+
+    DefaultIssue read = writeAndRead(issue);
+
+    assertThat(read.changes()).hasSize(issue.changes().size());
+    FieldDiffs readOldChange = read.changes().get(0);
+    assertThat(readOldChange.issueKey()).isEqualTo("ISSUE1");
+    assertThat(readOldChange.userLogin()).isEqualTo("john");
+    assertThat(readOldChange.creationDate()).isEqualTo(new Date(1_000L));
+    assertThat(readOldChange.get("severity").oldValue()).isEqualTo(Severity.MINOR);
+    assertThat(readOldChange.get("severity").newValue()).isEqualTo(Severity.MAJOR);
+
+    FieldDiffs currentChange = read.currentChange();
+    assertThat(currentChange.userLogin()).isEqualTo("jane");
+    assertThat(currentChange.get("technicalDebt").oldValue()).isEqualTo(10L);
+    assertThat(currentChange.get("technicalDebt").newValue()).isEqualTo(20L);
+    assertThat(currentChange.get("line").oldValue()).isEqualTo(3);
+    assertThat(currentChange.get("line").newValue()).isNull();
+    // same instance as in changelog
+    assertThat(read.changes()).contains(currentChange);
+    assertThat(read.changes().get(read.changes().size() - 1)).isSameAs(currentChange);
+  }
+
+  @Test
+  public void write_and_read_current_change_missing_from_changelog() throws Exception {
+    DefaultIssue issue = new DefaultIssue().setKey("ISSUE1");
+    issue.setCurrentChange(new FieldDiffs().setDiff("status", "OPEN", "CLOSED"));
+    issue.setChanges(Arrays.asList(new FieldDiffs().setDiff("assignee", "john", "jane")));
+
+    DefaultIssue read = writeAndRead(issue);
+
+    assertThat(read.changes()).hasSize(1);
+    assertThat(read.changes().get(0).get("assignee").newValue()).isEqualTo("jane");
+    assertThat(read.currentChange().get("status").newValue()).isEqualTo("CLOSED");
+  }
+
+  private DefaultIssue writeAndRead(DefaultIssue issue) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      serializer.write(issue, output);
+    }
+    try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      DefaultIssue read = serializer.read(input);
+      assertThat(input.read()).as("all bytes are read").isEqualTo(-1);
+      return read;
+    }
+  }
+}
@@ -222,5 +222,7 @@ public class IssueComputationTest {
 
   private void process() {
     sut.processComponentIssues(Arrays.asList(inputIssue.build()), "FILE_A", 1, PROJECT_KEY, "PROJECT_UUID");
+    // issues are buffered until the end of processing
+    sut.afterReportProcessing();
   }
 }
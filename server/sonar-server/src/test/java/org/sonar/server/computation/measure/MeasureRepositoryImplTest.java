@@ -30,6 +30,7 @@ import com.tngtech.java.junit.dataprovider.UseDataProvider;
 import java.util.List;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import org.apache.commons.lang.StringUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -46,6 +47,7 @@ import org.sonar.server.component.db.ComponentDao;
 import org.sonar.server.component.db.SnapshotDao;
 import org.sonar.server.computation.batch.BatchReportReader;
 import org.sonar.server.computation.batch.BatchReportReaderRule;
+import org.sonar.server.computation.batch.TreeRootHolderRule;
 import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DumbComponent;
 import org.sonar.server.computation.debt.Characteristic;
@@ -73,10 +75,16 @@ public class MeasureRepositoryImplTest {
   public static final DbTester dbTester = new DbTester();
   @Rule
   public BatchReportReaderRule reportReader = new BatchReportReaderRule();
+  @Rule
+  public TreeRootHolderRule treeRootHolder = new TreeRootHolderRule();
 
   private static final String FILE_COMPONENT_KEY = "file cpt key";
   private static final DumbComponent FILE_COMPONENT = DumbComponent.builder(Component.Type.FILE, 1).setKey(FILE_COMPONENT_KEY).build();
   private static final DumbComponent OTHER_COMPONENT = DumbComponent.builder(Component.Type.FILE, 2).setKey("some other key").build();
+  private static final DumbComponent MODULE = DumbComponent.builder(Component.Type.MODULE, 3).setKey("module key").setUuid("MODULE_UUID")
+    .addChildren(FILE_COMPONENT).build();
+  private static final DumbComponent PROJECT = DumbComponent.builder(Component.Type.PROJECT, 4).setKey("project key").setUuid("PROJECT_UUID")
+    .addChildren(MODULE).build();
   private static final String METRIC_KEY_1 = "metric 1";
   private static final int METRIC_ID_1 = 1;
   private static final String METRIC_KEY_2 = "metric 2";
@@ -94,19 +102,22 @@ public class MeasureRepositoryImplTest {
   private DbClient dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), new MeasureDao(), new SnapshotDao(), new MetricDao(), new ComponentDao());
   private MetricRepository metricRepository = mock(MetricRepository.class);
   private RuleCache ruleCache = mock(RuleCache.class);
-  private MeasureRepositoryImpl underTest = new MeasureRepositoryImpl(dbClient, reportReader, metricRepository, ruleCache);
+  private MeasureRepositoryImpl underTest = new MeasureRepositoryImpl(dbClient, reportReader, metricRepository, ruleCache, treeRootHolder);
 
   private DbClient mockedDbClient = mock(DbClient.class);
   private BatchReportReader mockBatchReportReader = mock(BatchReportReader.class);
-  private MeasureRepositoryImpl underTestWithMock = new MeasureRepositoryImpl(mockedDbClient, mockBatchReportReader, metricRepository, ruleCache);
+  private MeasureRepositoryImpl underTestWithMock = new MeasureRepositoryImpl(mockedDbClient, mockBatchReportReader, metricRepository, ruleCache, treeRootHolder);
 
   @CheckForNull
   private DbSession dbSession;
 
   @Before
   public void setUp() throws Exception {
+    treeRootHolder.setRoot(PROJECT);
+    when(metric1.getId()).thenReturn(METRIC_ID_1);
     when(metric1.getKey()).thenReturn(METRIC_KEY_1);
     when(metric1.getType()).thenReturn(Metric.MetricType.STRING);
+    when(metric2.getId()).thenReturn(METRIC_ID_2);
     when(metric2.getKey()).thenReturn(METRIC_KEY_2);
     when(metric2.getType()).thenReturn(Metric.MetricType.STRING);
 
@@ -120,6 +131,7 @@ public class MeasureRepositoryImplTest {
     if (dbSession != null) {
       dbSession.close();
     }
+    dbTester.truncateTables();
   }
 
   @Test
@@ -169,6 +181,59 @@ public class MeasureRepositoryImplTest {
     assertThat(res).isAbsent();
   }
 
+  @Test
+  public void getBaseMeasure_loads_all_measures_of_project_at_once() {
+    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    dbSession = dbClient.openSession(false);
+    dbClient.measureDao().insert(dbSession, createMeasureDto(METRIC_ID_1, LAST_SNAPSHOT_ID));
+    dbSession.commit();
+
+    assertThat(underTest.getBaseMeasure(FILE_COMPONENT, metric1)).isPresent();
+
+    // measures are kept in memory
+    dbTester.truncateTables();
+    assertThat(underTest.getBaseMeasure(FILE_COMPONENT, metric1).get().getStringValue()).isEqualTo(SOME_DATA);
+    assertThat(underTest.getBaseMeasure(FILE_COMPONENT, metric2)).isAbsent();
+    assertThat(underTest.getBaseMeasure(MODULE, metric1)).isAbsent();
+  }
+
+  @Test
+  public void getBaseMeasure_loads_measures_per_module_when_project_has_too_many_measures() {
+    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    dbSession = dbClient.openSession(false);
+    dbClient.measureDao().insert(dbSession, createMeasureDto(METRIC_ID_1, LAST_SNAPSHOT_ID));
+    dbSession.commit();
+    MeasureRepositoryImpl underTest = new MeasureRepositoryImpl(dbClient, reportReader, metricRepository, ruleCache, treeRootHolder, 0);
+
+    Optional<Measure> res = underTest.getBaseMeasure(FILE_COMPONENT, metric1);
+
+    assertThat(res).isPresent();
+    assertThat(res.get().getStringValue()).isEqualTo(SOME_DATA);
+    assertThat(underTest.getBaseMeasure(FILE_COMPONENT, metric2)).isAbsent();
+  }
+
+  @Test
+  public void getBaseMeasure_loads_large_data_on_demand() {
+    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    String largeData = StringUtils.repeat("x", 5000);
+    dbSession = dbClient.openSession(false);
+    dbClient.measureDao().insert(dbSession, createMeasureDto(METRIC_ID_1, LAST_SNAPSHOT_ID).setData(largeData));
+    dbSession.commit();
+
+    assertThat(underTest.getBaseMeasure(FILE_COMPONENT, metric1).get().getStringValue()).isEqualTo(largeData);
+  }
+
+  @Test
+  public void getBaseMeasure_of_component_outside_of_tree_is_loaded_from_db() {
+    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    DumbComponent component = DumbComponent.builder(Component.Type.FILE, 5).setKey(FILE_COMPONENT_KEY).build();
+    dbSession = dbClient.openSession(false);
+    dbClient.measureDao().insert(dbSession, createMeasureDto(METRIC_ID_1, LAST_SNAPSHOT_ID));
+    dbSession.commit();
+
+    assertThat(underTest.getBaseMeasure(component, metric1)).isPresent();
+  }
+
   @Test(expected = NullPointerException.class)
   public void add_throws_NPE_if_Component_argument_is_null() {
     underTest.add(null, metric1, SOME_MEASURE);
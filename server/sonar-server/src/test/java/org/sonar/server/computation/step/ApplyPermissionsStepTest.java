@@ -43,6 +43,7 @@ import org.sonar.core.user.GroupRoleDto;
 import org.sonar.core.user.RoleDao;
 import org.sonar.server.component.ComponentTesting;
 import org.sonar.server.component.db.ComponentDao;
+import org.sonar.server.component.index.ComponentIndexDefinition;
 import org.sonar.server.computation.batch.TreeRootHolderRule;
 import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DbIdsRepository;
@@ -62,7 +63,7 @@ public class ApplyPermissionsStepTest extends BaseStepTest {
   private static final String PROJECT_UUID = "PROJECT_UUID";
 
   @ClassRule
-  public static EsTester esTester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()));
+  public static EsTester esTester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()), new ComponentIndexDefinition(new Settings()));
 
   @ClassRule
   public static DbTester dbTester = new DbTester();
@@ -25,8 +25,11 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import java.util.List;
 import java.util.Set;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.picocontainer.ComponentAdapter;
 import org.reflections.Reflections;
 import org.sonar.core.platform.ComponentContainer;
@@ -35,7 +38,9 @@ import org.sonar.server.computation.container.ComputeEngineContainerImpl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ComputationStepsTest {
 
@@ -49,6 +54,48 @@ public class ComputationStepsTest {
     }
   }
 
+  @Test
+  public void independent_consecutive_steps_are_grouped_in_a_same_stage() {
+    ComputeEngineContainerImpl ceContainer = mock(ComputeEngineContainerImpl.class);
+    when(ceContainer.getStep(any(Class.class))).thenAnswer(new Answer<ComputationStep>() {
+      @Override
+      public ComputationStep answer(InvocationOnMock invocation) throws Throwable {
+        return (ComputationStep) mock((Class) invocation.getArguments()[0]);
+      }
+    });
+    ComputationSteps steps = new ComputationSteps(ceContainer);
+
+    List<List<ComputationStep>> stages = steps.stages();
+
+    int nbOfSteps = 0;
+    for (List<ComputationStep> stage : stages) {
+      nbOfSteps += stage.size();
+    }
+    assertThat(nbOfSteps).isEqualTo(steps.orderedStepClasses().size());
+    assertThat(stages.get(0)).hasSize(1);
+    assertThat(stages.get(0).get(0)).isInstanceOf(OpenReportStep.class);
+
+    List<ComputationStep> persistStage = stageOf(stages, PersistFileSourcesStep.class);
+    assertThat(persistStage).hasSize(5);
+    assertThat(persistStage.get(0)).isInstanceOf(PersistIssuesStep.class);
+    // both write FILE_SOURCES
+    assertThat(stageOf(stages, PersistTestsStep.class)).hasSize(1);
+    assertThat(stageOf(stages, PersistMeasuresStep.class)).hasSize(1);
+    assertThat(stageOf(stages, IndexIssuesStep.class)).hasSize(4);
+    assertThat(stageOf(stages, ApplyPermissionsStep.class)).hasSize(1);
+  }
+
+  private static List<ComputationStep> stageOf(List<List<ComputationStep>> stages, Class<? extends ComputationStep> stepClass) {
+    for (List<ComputationStep> stage : stages) {
+      for (ComputationStep step : stage) {
+        if (stepClass.isInstance(step)) {
+          return stage;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Step not found: " + stepClass);
+  }
+
   @Test
   public void all_steps_from_package_step_are_present_in_container() {
     ComputeEngineContainerImpl ceContainer = new ComputeEngineContainerImpl(new ComponentContainer(), mock(ReportQueue.Item.class));
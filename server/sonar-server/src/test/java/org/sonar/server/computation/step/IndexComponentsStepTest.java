@@ -24,6 +24,7 @@ import java.io.IOException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.sonar.core.resource.ResourceIndexerDao;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.computation.batch.BatchReportReaderRule;
 import org.sonar.server.computation.batch.TreeRootHolderRule;
 import org.sonar.server.computation.component.Component;
@@ -43,9 +44,10 @@ public class IndexComponentsStepTest extends BaseStepTest {
   @Rule
   public BatchReportReaderRule reportReader = new BatchReportReaderRule();
 
+  ComponentIndexer componentIndexer = mock(ComponentIndexer.class);
   ResourceIndexerDao resourceIndexerDao = mock(ResourceIndexerDao.class);
   DbIdsRepository dbIdsRepository = new DbIdsRepository();
-  IndexComponentsStep sut = new IndexComponentsStep(resourceIndexerDao, dbIdsRepository, treeRootHolder);
+  IndexComponentsStep sut = new IndexComponentsStep(componentIndexer, resourceIndexerDao, dbIdsRepository, treeRootHolder);
 
   @Test
   public void call_indexProject_of_dao() throws IOException {
@@ -58,6 +60,17 @@ public class IndexComponentsStepTest extends BaseStepTest {
     verify(resourceIndexerDao).indexProject(123L);
   }
 
+  @Test
+  public void index_components_of_project() {
+    Component project = DumbComponent.builder(Component.Type.PROJECT, 1).setUuid("PROJECT_UUID").setKey(PROJECT_KEY).build();
+    dbIdsRepository.setComponentId(project, 123L);
+    treeRootHolder.setRoot(project);
+
+    sut.execute();
+
+    verify(componentIndexer).index("PROJECT_UUID");
+  }
+
   @Override
   protected ComputationStep step() {
     return sut;
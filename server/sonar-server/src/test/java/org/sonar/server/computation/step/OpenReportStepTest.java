@@ -20,12 +20,15 @@
 package org.sonar.server.computation.step;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -34,7 +37,7 @@ import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
 import org.sonar.core.computation.db.AnalysisReportDto;
 import org.sonar.server.computation.ReportQueue;
-import org.sonar.server.computation.batch.MutableBatchReportDirectoryHolder;
+import org.sonar.server.computation.batch.MutableBatchReportZipHolder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
@@ -42,92 +45,91 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
-public class ReportExtractionStepTest {
+public class OpenReportStepTest {
 
   @Rule
   public JUnitTempFolder tempFolder = new JUnitTempFolder();
   @Rule
   public LogTester logTester = new LogTester().setLevel(LoggerLevel.INFO);
 
-  private MutableBatchReportDirectoryHolder reportDirectoryHolder = mock(MutableBatchReportDirectoryHolder.class);
+  private MutableBatchReportZipHolder reportZipHolder = mock(MutableBatchReportZipHolder.class);
   private AnalysisReportDto dto = newDefaultReport();
-  private ArgumentCaptor<File> fileCaptor = ArgumentCaptor.forClass(File.class);
+  private ArgumentCaptor<ZipFile> zipCaptor = ArgumentCaptor.forClass(ZipFile.class);
+
+  @After
+  public void tearDown() throws Exception {
+    for (ZipFile zipFile : zipCaptor.getAllValues()) {
+      zipFile.close();
+    }
+  }
 
   @Test
   public void fail_if_corrupted_zip() throws Exception {
     File zip = tempFolder.newFile();
     FileUtils.write(zip, "not a file");
 
-    ReportExtractionStep underTest = new ReportExtractionStep(new ReportQueue.Item(dto, zip), tempFolder, reportDirectoryHolder);
+    OpenReportStep underTest = new OpenReportStep(new ReportQueue.Item(dto, zip), reportZipHolder);
 
     try {
       underTest.execute();
       fail();
     } catch (IllegalStateException e) {
-      assertThat(e.getMessage()).startsWith("Fail to unzip " + zip.getAbsolutePath() + " into ");
+      assertThat(e.getMessage()).isEqualTo("Fail to open zip " + zip.getAbsolutePath());
     }
-    verifyNoMoreInteractions(reportDirectoryHolder);
+    verifyNoMoreInteractions(reportZipHolder);
   }
 
   @Test
-  public void verify_zip_decompression() throws URISyntaxException, IOException {
-    new ReportExtractionStep(new ReportQueue.Item(dto, demoZipFile()), tempFolder, reportDirectoryHolder).execute();
-
-    verify(reportDirectoryHolder).setDirectory(fileCaptor.capture());
-    verifyNoMoreInteractions(reportDirectoryHolder);
-
-    File createDir = fileCaptor.getValue();
-    assertThat(createDir.exists()).isTrue();
-    assertThat(createDir.isDirectory()).isTrue();
-    verifyFile(createDir, "1.txt", "1\n");
-    verifyFile(createDir, "2.txt", "2\n");
-    File subDir1 = verifyDir(createDir, "subdir1");
-    verifyFile(subDir1, "3.txt", "3\n");
-    verifyFile(subDir1, "4.txt", "4\n");
-    File subDir2 = verifyDir(createDir, "subdir2");
-    verifyFile(subDir2, "5.txt", "5\n");
-    File subdir3 = verifyDir(subDir2, "subdir3");
-    verifyFile(subdir3, "6.txt", "6\n");
+  public void entries_of_zip_are_readable_without_being_extracted() throws Exception {
+    new OpenReportStep(new ReportQueue.Item(dto, demoZipFile()), reportZipHolder).execute();
+
+    verify(reportZipHolder).setZipFile(zipCaptor.capture());
+    verifyNoMoreInteractions(reportZipHolder);
+
+    ZipFile zipFile = zipCaptor.getValue();
+    verifyEntry(zipFile, "1.txt", "1\n");
+    verifyEntry(zipFile, "2.txt", "2\n");
+    verifyEntry(zipFile, "subdir1/3.txt", "3\n");
+    verifyEntry(zipFile, "subdir1/4.txt", "4\n");
+    verifyEntry(zipFile, "subdir2/5.txt", "5\n");
+    verifyEntry(zipFile, "subdir2/subdir3/6.txt", "6\n");
   }
 
   @Test
   public void verify_show_log_at_DEBUG_level() throws URISyntaxException {
     logTester.setLevel(LoggerLevel.DEBUG);
 
-    new ReportExtractionStep(new ReportQueue.Item(dto, demoZipFile()), tempFolder, reportDirectoryHolder).execute();
+    new OpenReportStep(new ReportQueue.Item(dto, demoZipFile()), reportZipHolder).execute();
+    verify(reportZipHolder).setZipFile(zipCaptor.capture());
 
     List<String> logs = logTester.logs();
     assertThat(logs).hasSize(1);
     String log = logs.get(0);
-    assertThat(log.startsWith("Report extracted | size=")).isTrue();
+    assertThat(log.startsWith("Report opened | size=")).isTrue();
     assertThat(log.contains(" | project=P1 | time=")).isTrue();
   }
 
-  private File demoZipFile() throws URISyntaxException {
-    return new File(getClass().getResource(getClass().getSimpleName() + "/" + "demozip.zip").toURI());
-  }
-
   @Test
   public void no_log_at_INFO_level() throws URISyntaxException {
     logTester.setLevel(LoggerLevel.INFO);
 
-    new ReportExtractionStep(new ReportQueue.Item(dto, demoZipFile()), tempFolder, reportDirectoryHolder).execute();
+    new OpenReportStep(new ReportQueue.Item(dto, demoZipFile()), reportZipHolder).execute();
+    verify(reportZipHolder).setZipFile(zipCaptor.capture());
 
     assertThat(logTester.logs()).isEmpty();
   }
 
-  private File verifyDir(File dir, String subDir) {
-    File file = new File(dir, subDir);
-    assertThat(file.exists()).isTrue();
-    assertThat(file.isDirectory()).isTrue();
-    return file;
+  private File demoZipFile() throws URISyntaxException {
+    return new File(getClass().getResource(getClass().getSimpleName() + "/" + "demozip.zip").toURI());
   }
 
-  private void verifyFile(File dir, String filename, String content) throws IOException {
-    File file = new File(dir, filename);
-    assertThat(file.exists()).isTrue();
-    assertThat(file.isDirectory()).isFalse();
-    assertThat(IOUtils.toString(new FileInputStream(file), "UTF-8")).isEqualTo(content);
+  private static void verifyEntry(ZipFile zipFile, String name, String content) throws IOException {
+    ZipEntry entry = zipFile.getEntry(name);
+    assertThat(entry).isNotNull();
+    assertThat(entry.isDirectory()).isFalse();
+    try (InputStream input = zipFile.getInputStream(entry)) {
+      assertThat(IOUtils.toString(input, "UTF-8")).isEqualTo(content);
+    }
   }
 
   private static AnalysisReportDto newDefaultReport() {
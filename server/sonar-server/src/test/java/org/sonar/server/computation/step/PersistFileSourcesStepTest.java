@@ -411,6 +411,82 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
     assertThat(fileSourceDto.getSrcHash()).isEqualTo("137f72c3708c6bd0de00a0e5a69c699b");
   }
 
+  @Test
+  public void persist_data_hash_provided_by_report() throws Exception {
+    initBasicReport(1);
+    putFileWithSourceDataHash(1, "REPORT_DATA_HASH");
+
+    sut.execute();
+
+    FileSourceDto fileSourceDto = dbClient.fileSourceDao().selectSource(FILE_UUID);
+    assertThat(fileSourceDto.getDataHash()).isEqualTo("REPORT_DATA_HASH");
+    assertThat(FileSourceDto.decodeSourceData(fileSourceDto.getBinaryData()).getLines(0).getSource()).isEqualTo("line1");
+  }
+
+  @Test
+  public void skip_file_when_data_hash_provided_by_report_has_not_changed() throws Exception {
+    // Existing sources
+    long past = 150000L;
+    dbClient.fileSourceDao().insert(session, new FileSourceDto()
+      .setProjectUuid(PROJECT_UUID)
+      .setFileUuid(FILE_UUID)
+      .setDataType(Type.SOURCE)
+      .setSrcHash("5b4bd9815cdb17b8ceae19eb1810c34c")
+      .setLineHashes("6438c669e0d0de98e6929c2cc0fac474\n")
+      .setDataHash("REPORT_DATA_HASH")
+      .setSourceData(FileSourceDb.Data.newBuilder()
+        .addLines(FileSourceDb.Line.newBuilder()
+          .setLine(1)
+          .setSource("old line")
+          .build())
+        .build())
+      .setCreatedAt(past)
+      .setUpdatedAt(past));
+    session.commit();
+
+    initBasicReport(1);
+    putFileWithSourceDataHash(1, "REPORT_DATA_HASH");
+
+    sut.execute();
+
+    // data of report is not even read
+    FileSourceDto fileSourceDto = dbClient.fileSourceDao().selectSource(FILE_UUID);
+    assertThat(fileSourceDto.getUpdatedAt()).isEqualTo(past);
+    assertThat(FileSourceDto.decodeSourceData(fileSourceDto.getBinaryData()).getLines(0).getSource()).isEqualTo("old line");
+  }
+
+  @Test
+  public void update_sources_when_data_hash_provided_by_report_has_changed() throws Exception {
+    // Existing sources
+    long past = 150000L;
+    dbClient.fileSourceDao().insert(session, new FileSourceDto()
+      .setProjectUuid(PROJECT_UUID)
+      .setFileUuid(FILE_UUID)
+      .setDataType(Type.SOURCE)
+      .setSrcHash("5b4bd9815cdb17b8ceae19eb1810c34c")
+      .setLineHashes("6438c669e0d0de98e6929c2cc0fac474\n")
+      .setDataHash("OLD_REPORT_DATA_HASH")
+      .setSourceData(FileSourceDb.Data.newBuilder()
+        .addLines(FileSourceDb.Line.newBuilder()
+          .setLine(1)
+          .setSource("old line")
+          .build())
+        .build())
+      .setCreatedAt(past)
+      .setUpdatedAt(past));
+    session.commit();
+
+    initBasicReport(1);
+    putFileWithSourceDataHash(1, "NEW_REPORT_DATA_HASH");
+
+    sut.execute();
+
+    FileSourceDto fileSourceDto = dbClient.fileSourceDao().selectSource(FILE_UUID);
+    assertThat(fileSourceDto.getDataHash()).isEqualTo("NEW_REPORT_DATA_HASH");
+    assertThat(fileSourceDto.getUpdatedAt()).isEqualTo(now);
+    assertThat(FileSourceDto.decodeSourceData(fileSourceDto.getBinaryData()).getLines(0).getSource()).isEqualTo("line1");
+  }
+
   @Test
   public void display_file_path_when_exception_is_generated() throws Exception {
     initBasicReport(1);
@@ -463,6 +539,15 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
     reportReader.putFileSourceLines(FILE_REF, lines);
   }
 
+  private void putFileWithSourceDataHash(int numberOfLines, String sourceDataHash) {
+    reportReader.putComponent(BatchReport.Component.newBuilder()
+      .setRef(FILE_REF)
+      .setType(Constants.ComponentType.FILE)
+      .setLines(numberOfLines)
+      .setSourceDataHash(sourceDataHash)
+      .build());
+  }
+
   private static class EmptyLanguageRepository implements LanguageRepository {
     @Override
     public Optional<Language> find(String languageKey) {
@@ -29,6 +29,7 @@ import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.System2;
 import org.sonar.api.utils.internal.Uuids;
@@ -51,6 +52,7 @@ import org.sonar.server.computation.measure.MeasureRepository;
 import org.sonar.server.computation.measure.MeasureRepositoryImpl;
 import org.sonar.server.computation.metric.MetricRepositoryImpl;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.measure.persistence.MeasureBulkInserter;
 import org.sonar.server.measure.persistence.MeasureDao;
 import org.sonar.server.metric.persistence.MetricDao;
 import org.sonar.server.rule.RuleTesting;
@@ -80,6 +82,7 @@ public class PersistMeasuresStepTest extends BaseStepTest {
   DbClient dbClient;
   DbSession session;
   DbIdsRepository dbIdsRepository = new DbIdsRepository();
+  Settings settings = new Settings();
   MetricDto stringMetric;
   MetricDto doubleMetric;
   MetricDto optimizedMetric;
@@ -110,10 +113,10 @@ public class PersistMeasuresStepTest extends BaseStepTest {
     RuleCache ruleCache = new RuleCache(new RuleCacheLoader(dbClient));
     MetricRepositoryImpl metricRepository = new MetricRepositoryImpl(dbClient);
     metricRepository.start();
-    MeasureRepository measureRepository = new MeasureRepositoryImpl(dbClient, reportReader, metricRepository, ruleCache);
+    MeasureRepository measureRepository = new MeasureRepositoryImpl(dbClient, reportReader, metricRepository, ruleCache, treeRootHolder);
     session.commit();
 
-    sut = new PersistMeasuresStep(dbClient, metricRepository, dbIdsRepository, treeRootHolder, measureRepository);
+    sut = new PersistMeasuresStep(dbClient, settings, metricRepository, dbIdsRepository, treeRootHolder, measureRepository);
 
     projectDto = addComponent("project-key");
     fileDto = addComponent("file-key");
@@ -232,6 +235,38 @@ public class PersistMeasuresStepTest extends BaseStepTest {
     assertThat(retrieveDtos()).isEmpty();
   }
 
+  @Test
+  public void insert_measures_by_batches() {
+    settings.setProperty(PersistMeasuresStep.BATCH_SIZE_PROPERTY, 2);
+    reportReader.putMeasures(PROJECT_REF, Arrays.asList(
+      BatchReport.Measure.newBuilder().setValueType(MeasureValueType.STRING).setStringValue("project-data").setMetricKey(STRING_METRIC_KEY).build(),
+      BatchReport.Measure.newBuilder().setValueType(MeasureValueType.DOUBLE).setDoubleValue(1d).setMetricKey(DOUBLE_METRIC_KEY).build()));
+    reportReader.putMeasures(FILE_REF, Arrays.asList(
+      BatchReport.Measure.newBuilder().setValueType(MeasureValueType.STRING).setStringValue("file-data").setMetricKey(STRING_METRIC_KEY).build()));
+
+    sut.execute();
+    session.commit();
+
+    assertThat(dbTester.countRowsOfTable("project_measures")).isEqualTo(3);
+  }
+
+  @Test
+  public void batch_size_is_loaded_from_settings() {
+    Settings settings = new Settings();
+    assertThat(PersistMeasuresStep.batchSize(settings)).isEqualTo(MeasureBulkInserter.DEFAULT_BATCH_SIZE);
+
+    settings.setProperty(PersistMeasuresStep.BATCH_SIZE_PROPERTY, 1000);
+    assertThat(PersistMeasuresStep.batchSize(settings)).isEqualTo(1000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_batch_size_is_negative() {
+    Settings settings = new Settings();
+    settings.setProperty(PersistMeasuresStep.BATCH_SIZE_PROPERTY, -1);
+
+    PersistMeasuresStep.batchSize(settings);
+  }
+
   private ComponentDto addComponent(String key) {
     ComponentDto componentDto = new ComponentDto().setKey(key).setUuid(Uuids.create());
     dbClient.componentDao().insert(session, componentDto);
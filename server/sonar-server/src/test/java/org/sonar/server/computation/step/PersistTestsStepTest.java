@@ -105,6 +105,8 @@ public class PersistTestsStepTest extends BaseStepTest {
         ).build()
       ).build();
     treeRootHolder.setRoot(root);
+    reportReader.putComponent(newTestFileComponent(TEST_FILE_REF_1).build());
+    reportReader.putComponent(newTestFileComponent(TEST_FILE_REF_2).build());
   }
 
   @After
@@ -273,6 +275,47 @@ public class PersistTestsStepTest extends BaseStepTest {
     assertThat(test.getCoveredFile(0).getFileUuid()).isEqualTo(MAIN_FILE_UUID_1);
   }
 
+  @Test
+  public void persist_data_hash_provided_by_report() {
+    reportReader.putComponent(newTestFileComponent(TEST_FILE_REF_1).setTestDataHash("REPORT_DATA_HASH").build());
+    reportReader.putTests(TEST_FILE_REF_1, Arrays.asList(newTest(1)));
+
+    sut.execute();
+
+    assertThat(dbClient.fileSourceDao().selectTest(TEST_FILE_UUID_1).getDataHash()).isEqualTo("REPORT_DATA_HASH");
+  }
+
+  @Test
+  public void skip_test_file_when_data_hash_provided_by_report_has_not_changed() {
+    dbClient.fileSourceDao().insert(session, new FileSourceDto()
+      .setProjectUuid(PROJECT_UUID)
+      .setFileUuid(TEST_FILE_UUID_1)
+      .setTestData(Arrays.asList(FileSourceDb.Test.newBuilder()
+        .setUuid("test-uuid-1")
+        .setName("name#1")
+        .build()))
+      .setDataHash("REPORT_DATA_HASH")
+      .setCreatedAt(100_000)
+      .setUpdatedAt(100_000));
+    session.commit();
+
+    reportReader.putComponent(newTestFileComponent(TEST_FILE_REF_1).setTestDataHash("REPORT_DATA_HASH").build());
+    reportReader.putTests(TEST_FILE_REF_1, Arrays.asList(newTest(1)));
+
+    sut.execute();
+
+    FileSourceDto dto = dbClient.fileSourceDao().selectTest(TEST_FILE_UUID_1);
+    assertThat(dto.getUpdatedAt()).isEqualTo(100_000);
+    assertThat(dto.getTestData().get(0).getUuid()).isEqualTo("test-uuid-1");
+  }
+
+  private static BatchReport.Component.Builder newTestFileComponent(int ref) {
+    return BatchReport.Component.newBuilder()
+      .setRef(ref)
+      .setType(Constants.ComponentType.FILE)
+      .setIsTest(true);
+  }
+
   private BatchReport.Test newTest(int id) {
     return BatchReport.Test.newBuilder()
       .setStatus(Constants.TestStatus.FAILURE)
@@ -35,6 +35,7 @@ import org.sonar.test.DbTests;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +53,7 @@ public class BaseDataChangeTest extends AbstractDaoTestCase {
   @Before
   public void setUp() {
     db.executeUpdateSql("truncate table persons");
+    db.executeUpdateSql("truncate table properties");
   }
 
   @Test
@@ -405,6 +407,112 @@ public class BaseDataChangeTest extends AbstractDaoTestCase {
     db.assertDbUnit(getClass(), "persons.xml", "persons");
   }
 
+  @Test
+  public void partitioned_mass_update() throws Exception {
+    db.prepareDbUnit(getClass(), "persons.xml");
+
+    new BaseDataChange(db.database()) {
+      @Override
+      public void execute(Context context) throws SQLException {
+        MassUpdate massUpdate = context.prepareMassUpdate().partitionById("persons", 2).setChunkSize(1L).checkpoint("persons");
+        massUpdate.select("select id from persons where id>=? and id>=? and id<?").setLong(1, 2L);
+        massUpdate.update("update persons set login=?, age=? where id=?");
+        massUpdate.execute(new MassUpdate.Handler() {
+          @Override
+          public boolean handle(Select.Row row, SqlStatement update) throws SQLException {
+            long id = row.getNullableLong(1);
+            update
+              .setString(1, "login" + id)
+              .setInt(2, 10 + (int) id)
+              .setLong(3, id);
+            return true;
+          }
+        });
+      }
+    }.execute();
+
+    db.assertDbUnit(getClass(), "mass-update-result.xml", "persons");
+    // checkpoint is dropped when mass update is completed
+    assertThat(db.countRowsOfTable("properties")).isEqualTo(0);
+  }
+
+  @Test
+  public void partitioned_mass_update_resumes_from_checkpoint() throws Exception {
+    db.prepareDbUnit(getClass(), "persons.xml");
+    db.executeUpdateSql("insert into properties (prop_key, text_value) values ('" + MassUpdateCheckpoint.PROPERTY_PREFIX + "persons', '3')");
+
+    final List<Long> ids = new ArrayList<>();
+    new BaseDataChange(db.database()) {
+      @Override
+      public void execute(Context context) throws SQLException {
+        MassUpdate massUpdate = context.prepareMassUpdate().partitionById("persons", 1).setChunkSize(1L).checkpoint("persons");
+        massUpdate.select("select id from persons where id>=? and id<?");
+        massUpdate.update("update persons set login=?, age=? where id=?");
+        massUpdate.execute(new MassUpdate.Handler() {
+          @Override
+          public boolean handle(Select.Row row, SqlStatement update) throws SQLException {
+            ids.add(row.getNullableLong(1));
+            return false;
+          }
+        });
+      }
+    }.execute();
+
+    assertThat(ids).containsOnly(3L);
+    assertThat(db.countRowsOfTable("properties")).isEqualTo(0);
+  }
+
+  @Test
+  public void partitioned_mass_update_records_checkpoint_of_committed_rows() throws Exception {
+    db.prepareDbUnit(getClass(), "persons.xml");
+
+    try {
+      new BaseDataChange(db.database()) {
+        @Override
+        public void execute(Context context) throws SQLException {
+          MassUpdate massUpdate = context.prepareMassUpdate().partitionById("persons", 1).setChunkSize(2L).checkpoint("persons");
+          massUpdate.select("select id from persons where id>=? and id<?");
+          massUpdate.update("update persons set login=?, age=? where id=?");
+          massUpdate.execute(new MassUpdate.Handler() {
+            @Override
+            public boolean handle(Select.Row row, SqlStatement update) throws SQLException {
+              long id = row.getNullableLong(1);
+              if (id == 3L) {
+                throw new IllegalStateException("Unexpected error");
+              }
+              update.setString(1, "login" + id).setInt(2, 10 + (int) id).setLong(3, id);
+              return true;
+            }
+          });
+        }
+      }.execute();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).isEqualTo("Error during processing of row: [id=3]");
+    }
+
+    assertThat(db.countSql("select count(*) from persons where login like 'login%'")).isEqualTo(2);
+    // rows of first chunk [1,3) are committed
+    Map<String, Object> checkpoint = db.selectFirst("select prop_key as \"key\", text_value as \"value\" from properties");
+    assertThat(checkpoint.get("key")).isEqualTo(MassUpdateCheckpoint.PROPERTY_PREFIX + "persons");
+    assertThat(checkpoint.get("value")).isEqualTo("3");
+  }
+
+  @Test
+  public void fail_to_partition_mass_update_after_select() throws Exception {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Partitioning must be defined before SELECT and UPDATE requests");
+
+    new BaseDataChange(db.database()) {
+      @Override
+      public void execute(Context context) throws SQLException {
+        MassUpdate massUpdate = context.prepareMassUpdate();
+        massUpdate.select("select id from persons where id>=? and id<?");
+        massUpdate.partitionById("persons", 2);
+      }
+    }.execute();
+  }
+
   @Test
   public void bad_mass_update() throws Exception {
     db.prepareDbUnit(getClass(), "persons.xml");
@@ -35,6 +35,7 @@ import org.sonar.api.web.UserRole;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.component.SnapshotDto;
 import org.sonar.core.issue.db.IssueDto;
+import org.sonar.core.notification.db.NotificationQueueDao;
 import org.sonar.core.permission.GlobalPermissions;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.rule.RuleDto;
@@ -45,6 +46,7 @@ import org.sonar.server.component.db.ComponentDao;
 import org.sonar.server.component.db.SnapshotDao;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.db.IssueDao;
+import org.sonar.server.issue.index.IssueIndex;
 import org.sonar.server.issue.index.IssueIndexer;
 import org.sonar.server.permission.InternalPermissionService;
 import org.sonar.server.permission.PermissionChange;
@@ -128,6 +130,13 @@ public class IssueBulkChangeServiceMediumTest {
     IssueBulkChangeResult result = service.execute(issueBulkChangeQuery, userSession);
     assertThat(result.issuesChanged()).hasSize(2);
     assertThat(result.issuesNotChanged()).isEmpty();
+
+    // changes are persisted, indexed and notified
+    assertThat(tester.get(IssueDao.class).selectByKey(session, issue1.getKey()).getAssignee()).isEqualTo("fred");
+    assertThat(tester.get(IssueDao.class).selectByKey(session, issue2.getKey()).getAssignee()).isEqualTo("fred");
+    assertThat(tester.get(IssueIndex.class).getByKey(issue1.getKey()).assignee()).isEqualTo("fred");
+    assertThat(tester.get(IssueIndex.class).getByKey(issue2.getKey()).assignee()).isEqualTo("fred");
+    assertThat(tester.get(NotificationQueueDao.class).count()).isEqualTo(2L);
   }
 
   @Test
@@ -26,6 +26,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.sonar.api.config.Settings;
 import org.sonar.core.persistence.DbTester;
+import org.sonar.server.component.index.ComponentIndexDefinition;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.EsTester;
 import org.sonar.test.DbTests;
@@ -43,7 +44,7 @@ public class IssueAuthorizationIndexerTest {
   public static DbTester dbTester = new DbTester();
 
   @ClassRule
-  public static EsTester esTester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()));
+  public static EsTester esTester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()), new ComponentIndexDefinition(new Settings()));
 
   @Before
   public void setUp() {
@@ -44,6 +44,7 @@ import org.sonar.api.utils.KeyValueFormat;
 import org.sonar.api.utils.System2;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.server.component.ComponentTesting;
+import org.sonar.server.component.index.ComponentIndexDefinition;
 import org.sonar.server.es.EsTester;
 import org.sonar.server.es.SearchOptions;
 import org.sonar.server.es.SearchResult;
@@ -65,7 +66,7 @@ import static org.mockito.Mockito.when;
 public class IssueIndexTest {
 
   @ClassRule
-  public static EsTester tester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()), new ViewIndexDefinition(new Settings()));
+  public static EsTester tester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()), new ComponentIndexDefinition(new Settings()), new ViewIndexDefinition(new Settings()));
   @Rule
   public UserSessionRule userSessionRule = UserSessionRule.standalone();
 
@@ -21,6 +21,10 @@
 package org.sonar.server.issue.ws;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -58,6 +62,10 @@ import org.sonar.server.tester.ServerTester;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.server.ws.WsTester;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class SearchActionMediumTest {
@@ -644,6 +652,42 @@ public class SearchActionMediumTest {
     result.assertJson(this.getClass(), "paging_with_page_size_to_minus_one.json");
   }
 
+  @Test
+  public void write_issues_by_batches_before_linked_components() throws Exception {
+    RuleDto rule = newRule();
+    ComponentDto project1 = insertComponent(ComponentTesting.newProjectDto("ABCD").setKey("MyProject1"));
+    setDefaultProjectPermission(project1);
+    ComponentDto project2 = insertComponent(ComponentTesting.newProjectDto("EFGH").setKey("MyProject2"));
+    setDefaultProjectPermission(project2);
+    List<ComponentDto> files = Arrays.asList(
+      insertComponent(ComponentTesting.newFileDto(project1, "BCDE").setKey("MyComponent1")),
+      insertComponent(ComponentTesting.newFileDto(project1, "CDEF").setKey("MyComponent2")),
+      insertComponent(ComponentTesting.newFileDto(project2, "FGHI").setKey("MyComponent3")));
+    // more than two batches of issues, each one referencing the files of both projects
+    for (int i = 0; i < 260; i++) {
+      ComponentDto file = files.get(i % files.size());
+      ComponentDto project = file.projectUuid().equals(project1.uuid()) ? project1 : project2;
+      tester.get(IssueDao.class).insert(session, IssueTesting.newDto(rule, file, project));
+    }
+    session.commit();
+    tester.get(IssueIndexer.class).indexAll();
+
+    String json = wsTester.newGetRequest(IssuesWs.API_ENDPOINT, SearchAction.SEARCH_ACTION)
+      .setParam(WebService.Param.PAGE_SIZE, "500")
+      .execute().outputAsString();
+
+    int issuesIndex = json.indexOf("\"issues\":");
+    assertThat(issuesIndex).isGreaterThan(0);
+    assertThat(json.indexOf("\"components\":")).isGreaterThan(issuesIndex);
+    assertThat(json.indexOf("\"projects\":")).isGreaterThan(issuesIndex);
+
+    JsonObject response = new JsonParser().parse(json).getAsJsonObject();
+    assertThat(response.get("total").getAsInt()).isEqualTo(260);
+    assertThat(response.getAsJsonArray("issues").size()).isEqualTo(260);
+    assertThat(keys(response.getAsJsonArray("components"))).containsOnly("MyProject1", "MyProject2", "MyComponent1", "MyComponent2", "MyComponent3");
+    assertThat(keys(response.getAsJsonArray("projects"))).containsOnly("MyProject1", "MyProject2");
+  }
+
   @Test
   public void deprecated_paging() throws Exception {
     RuleDto rule = newRule();
@@ -673,6 +717,14 @@ public class SearchActionMediumTest {
     result.assertJson(this.getClass(), "default_page_size_is_100.json");
   }
 
+  private static List<String> keys(JsonArray components) {
+    List<String> keys = new ArrayList<>();
+    for (JsonElement component : components) {
+      keys.add(component.getAsJsonObject().get("key").getAsString());
+    }
+    return keys;
+  }
+
   private RuleDto newRule() {
     RuleDto rule = RuleTesting.newXooX1()
       .setName("Rule name")
@@ -38,12 +38,13 @@ public class MeasureFilterEngineTest {
     MeasureFilter filter = new MeasureFilter();
     when(factory.create(filterMap)).thenReturn(filter);
     MeasureFilterExecutor executor = mock(MeasureFilterExecutor.class);
+    when(executor.executePage(any(MeasureFilter.class), any(MeasureFilterContext.class))).thenReturn(new MeasureFilterResult());
 
     MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor);
 
     final long userId = 50L;
     engine.execute(filterMap, userId);
-    verify(executor).execute(refEq(filter), argThat(new BaseMatcher<MeasureFilterContext>() {
+    verify(executor).executePage(refEq(filter), argThat(new BaseMatcher<MeasureFilterContext>() {
       public boolean matches(Object o) {
         MeasureFilterContext context = (MeasureFilterContext) o;
         return "{qualifiers=TRK}".equals(context.getData()) && context.getUserId() == userId;
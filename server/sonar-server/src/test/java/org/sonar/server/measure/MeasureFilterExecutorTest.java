@@ -23,13 +23,18 @@ import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.Metric;
 import org.sonar.api.utils.DateUtils;
 import org.sonar.api.utils.System2;
 import org.sonar.core.component.SnapshotDto;
 import org.sonar.core.persistence.DbTester;
+import org.sonar.core.properties.PropertiesDao;
 import org.sonar.core.resource.ResourceDao;
+import org.sonar.core.user.AuthorizationDao;
+import org.sonar.server.es.EsClient;
+import org.sonar.server.es.IndexDefinitions;
 import org.sonar.test.DbTests;
 
 import java.sql.SQLException;
@@ -39,6 +44,7 @@ import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 @Category(DbTests.class)
 public class MeasureFilterExecutorTest {
@@ -62,7 +68,9 @@ public class MeasureFilterExecutorTest {
 
   @Before
   public void before() {
-    executor = new MeasureFilterExecutor(db.myBatis(), db.database(), new ResourceDao(db.myBatis(), System2.INSTANCE));
+    Settings settings = new Settings().setProperty(IndexDefinitions.DISABLE_INDEXES_PROPERTY, true);
+    executor = new MeasureFilterExecutor(db.myBatis(), db.database(), new ResourceDao(db.myBatis(), System2.INSTANCE),
+      new PropertiesDao(db.myBatis()), mock(EsClient.class), new AuthorizationDao(db.myBatis()), settings);
   }
 
   @Test
@@ -120,6 +128,22 @@ public class MeasureFilterExecutorTest {
     assertThat(MeasureFilterExecutor.isValid(filter, context)).isTrue();
   }
 
+  @Test
+  public void filter_is_indexed_if_all_components_are_analysed_by_compute_engine() {
+    MeasureFilterContext context = new MeasureFilterContext();
+    assertThat(MeasureFilterExecutor.isIndexed(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "FIL")), context)).isTrue();
+    assertThat(MeasureFilterExecutor.isIndexed(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "VW")), context)).isFalse();
+    assertThat(MeasureFilterExecutor.isIndexed(new MeasureFilter().setResourceQualifiers(Arrays.asList("DEV")), context)).isFalse();
+    // favourites can be of any qualifier
+    assertThat(MeasureFilterExecutor.isIndexed(new MeasureFilter().setUserFavourites(true), context)).isFalse();
+
+    context.setBaseSnapshot(new SnapshotDto().setId(123L).setQualifier("TRK"));
+    assertThat(MeasureFilterExecutor.isIndexed(new MeasureFilter().setBaseResourceKey("java_project"), context)).isTrue();
+
+    context.setBaseSnapshot(new SnapshotDto().setId(123L).setQualifier("VW"));
+    assertThat(MeasureFilterExecutor.isIndexed(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setBaseResourceKey("view"), context)).isFalse();
+  }
+
   @Test
   public void projects_without_measure_conditions() throws SQLException {
     db.prepareDbUnit(getClass(), "shared.xml");
@@ -431,6 +455,25 @@ public class MeasureFilterExecutorTest {
     verifyJavaTinyFile(rows.get(0));
   }
 
+  @Test
+  public void paginate_rows_of_browsable_projects() throws SQLException {
+    db.prepareDbUnit(getClass(), "shared.xml", "browse_java_project.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "CLA")).setSortAsc(true).setPageSize(2);
+    MeasureFilterResult result = executor.executePage(filter, new MeasureFilterContext());
+
+    // rows of the php project are excluded
+    assertThat(result.getTotal()).isEqualTo(3);
+    assertThat(result.hasSecurityExclusions()).isTrue();
+    assertThat(result.getRows()).hasSize(2);
+    verifyJavaProject(result.getRows().get(0));
+    verifyJavaBigFile(result.getRows().get(1));
+
+    result = executor.executePage(filter.setPageIndex(2), new MeasureFilterContext());
+    assertThat(result.getTotal()).isEqualTo(3);
+    assertThat(result.getRows()).hasSize(1);
+    verifyJavaTinyFile(result.getRows().get(0));
+  }
+
   @Test
   public void filter_by_min_date() throws SQLException {
     db.prepareDbUnit(getClass(), "shared.xml");
@@ -114,6 +114,25 @@ public class MeasureFilterFactoryTest {
     assertThat(filter.sort().isAsc()).isFalse();
   }
 
+  @Test
+  public void pagination() {
+    MeasureFilterFactory factory = new MeasureFilterFactory(newMetricFinder(), system);
+    Map<String, Object> props = ImmutableMap.<String, Object>of("page", "3", "pageSize", "20");
+    MeasureFilter filter = factory.create(props);
+
+    assertThat(filter.getPageIndex()).isEqualTo(3);
+    assertThat(filter.getPageSize()).isEqualTo(20);
+  }
+
+  @Test
+  public void all_rows_by_default() {
+    MeasureFilterFactory factory = new MeasureFilterFactory(newMetricFinder(), system);
+    MeasureFilter filter = factory.create(Maps.<String, Object>newHashMap());
+
+    assertThat(filter.getPageIndex()).isEqualTo(1);
+    assertThat(filter.getPageSize()).isNull();
+  }
+
   @Test
   public void ascending_sort_by_default() {
     MeasureFilterFactory factory = new MeasureFilterFactory(newMetricFinder(), system);
@@ -0,0 +1,411 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.Metric;
+import org.sonar.api.utils.DateUtils;
+import org.sonar.api.utils.System2;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.core.properties.PropertiesDao;
+import org.sonar.core.resource.ResourceDao;
+import org.sonar.core.user.AuthorizationDao;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.EsTester;
+import org.sonar.server.measure.index.MeasureIndexDefinition;
+import org.sonar.server.measure.index.MeasureIndexer;
+import org.sonar.test.DbTests;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Same filters as {@link MeasureFilterExecutorTest}, executed on the index "measures" instead of database.
+ */
+@Category(DbTests.class)
+public class MeasureFilterIndexQueryTest {
+
+  private static final long JAVA_PROJECT_ID = 1L;
+  private static final long JAVA_FILE_BIG_ID = 3L;
+  private static final long JAVA_FILE_TINY_ID = 4L;
+  private static final long JAVA_PROJECT_SNAPSHOT_ID = 101L;
+  private static final long JAVA_FILE_BIG_SNAPSHOT_ID = 103L;
+  private static final long JAVA_FILE_TINY_SNAPSHOT_ID = 104L;
+  private static final long JAVA_PACKAGE_SNAPSHOT_ID = 102L;
+  private static final long PHP_PROJECT_ID = 10L;
+  private static final long PHP_SNAPSHOT_ID = 110L;
+  private static final long VIEW_ID = 20L;
+  private static final long VIEW_SNAPSHOT_ID = 120L;
+  private static final Metric METRIC_LINES = new Metric.Builder("lines", "Lines", Metric.ValueType.INT).create().setId(1);
+  private static final Metric METRIC_PROFILE = new Metric.Builder("profile", "Profile", Metric.ValueType.STRING).create().setId(2);
+  private static final Metric METRIC_COVERAGE = new Metric.Builder("coverage", "Coverage", Metric.ValueType.FLOAT).create().setId(3);
+  private static final Metric METRIC_ALERT = new Metric.Builder(CoreMetrics.ALERT_STATUS_KEY, "Alert", Metric.ValueType.LEVEL).create().setId(5);
+
+  @ClassRule
+  public static DbTester db = new DbTester();
+
+  @ClassRule
+  public static EsTester es = new EsTester().addDefinitions(new MeasureIndexDefinition(new Settings()));
+
+  MeasureFilterExecutor executor;
+
+  @Before
+  public void before() {
+    db.truncateTables();
+    es.truncateIndices();
+    executor = new MeasureFilterExecutor(db.myBatis(), db.database(), new ResourceDao(db.myBatis(), System2.INSTANCE),
+      new PropertiesDao(db.myBatis()), es.client(), new AuthorizationDao(db.myBatis()), new Settings());
+  }
+
+  @Test
+  public void projects_without_measure_conditions() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOn(MeasureFilterSort.Field.DATE);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(2);
+    verifyJavaProject(rows.get(0));
+    verifyPhpProject(rows.get(1));
+  }
+
+  @Test
+  public void sort_by_resource_name() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("CLA")).setSortAsc(true);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+    assertThat(rows).hasSize(2);
+    verifyJavaBigFile(rows.get(0));
+    verifyJavaTinyFile(rows.get(1));
+
+    rows = executor.execute(filter.setSortAsc(false), new MeasureFilterContext());
+    verifyJavaTinyFile(rows.get(0));
+    verifyJavaBigFile(rows.get(1));
+  }
+
+  @Test
+  public void sort_by_resource_key_and_version() throws Exception {
+    prepare("shared.xml");
+    List<MeasureFilterRow> rows = executor.execute(new MeasureFilter().setResourceQualifiers(Arrays.asList("CLA")).setSortOn(MeasureFilterSort.Field.KEY),
+      new MeasureFilterContext());
+    verifyJavaBigFile(rows.get(0));
+    verifyJavaTinyFile(rows.get(1));
+
+    rows = executor.execute(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOn(MeasureFilterSort.Field.VERSION),
+      new MeasureFilterContext());
+    verifyJavaProject(rows.get(0));
+    verifyPhpProject(rows.get(1));
+  }
+
+  @Test
+  public void sort_by_text_measure() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOnMetric(METRIC_PROFILE);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(2);
+    // php way, then Sonar way
+    verifyPhpProject(rows.get(0));
+    verifyJavaProject(rows.get(1));
+  }
+
+  @Test
+  public void sort_by_numeric_measure() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("CLA")).setSortOnMetric(METRIC_LINES);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+    verifyJavaTinyFile(rows.get(0));
+    verifyJavaBigFile(rows.get(1));
+
+    rows = executor.execute(filter.setSortAsc(false), new MeasureFilterContext());
+    verifyJavaBigFile(rows.get(0));
+    verifyJavaTinyFile(rows.get(1));
+  }
+
+  @Test
+  public void null_measures_are_always_ordered_last() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOnMetric(METRIC_COVERAGE);
+
+    // Java project has coverage but not PHP
+    List<MeasureFilterRow> rows = executor.execute(filter.setSortAsc(true), new MeasureFilterContext());
+    verifyJavaProject(rows.get(0));
+    verifyPhpProject(rows.get(1));
+
+    rows = executor.execute(filter.setSortAsc(false), new MeasureFilterContext());
+    verifyJavaProject(rows.get(0));
+    verifyPhpProject(rows.get(1));
+  }
+
+  @Test
+  public void sort_by_variation() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOnMetric(METRIC_LINES).setSortOnPeriod(5);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(2);
+    // +400, then +4900
+    verifyJavaProject(rows.get(0));
+    verifyPhpProject(rows.get(1));
+  }
+
+  @Test
+  public void sort_by_created_at() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOn(MeasureFilterSort.Field.PROJECT_CREATION_DATE)
+      .setSortAsc(false);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    verifyPhpProject(rows.get(0));
+    assertThat(DateUtils.formatDate(new Date(rows.get(0).getSortDate()))).isEqualTo("2012-12-12");
+    verifyJavaProject(rows.get(1));
+    assertThat(DateUtils.formatDate(new Date(rows.get(1).getSortDate()))).isEqualTo("2008-12-19");
+  }
+
+  @Test
+  public void sort_by_alert() throws Exception {
+    prepare("sort_by_alert.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOnMetric(METRIC_ALERT);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    // Php Project OK, Java Project WARN then Js Project ERROR
+    assertThat(rows).hasSize(3);
+    verifyPhpProject(rows.get(0));
+    verifyJavaProject(rows.get(1));
+    verifyProject(rows.get(2), 120L, 20L, 20L);
+  }
+
+  @Test
+  public void condition_on_alert_levels() throws Exception {
+    prepare("sort_by_alert.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK"))
+      .addCondition(new MeasureFilterCondition(METRIC_ALERT, MeasureFilterCondition.Operator.IN, "('OK', 'ERROR')"));
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(2);
+    assertThat(rows.get(0).getSnapshotId()).isIn(PHP_SNAPSHOT_ID, 120L);
+    assertThat(rows.get(1).getSnapshotId()).isIn(PHP_SNAPSHOT_ID, 120L);
+  }
+
+  @Test
+  public void conditions_on_numeric_measures_and_variations() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("CLA"))
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.GREATER, 2))
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.LESS_OR_EQUALS, 50));
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+    assertThat(rows).hasSize(1);
+    verifyJavaTinyFile(rows.get(0));
+
+    filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK"))
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.GREATER, 1000).setPeriod(5));
+    rows = executor.execute(filter, new MeasureFilterContext());
+    assertThat(rows).hasSize(1);
+    verifyPhpProject(rows.get(0));
+  }
+
+  @Test
+  public void filter_by_range_of_dates() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK"))
+      .setFromDate(DateUtils.parseDate("2007-01-01"))
+      .setToDate(DateUtils.parseDate("2010-01-01"));
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(1);
+    verifyJavaProject(rows.get(0));
+  }
+
+  @Test
+  public void filter_by_component_name_and_key() throws Exception {
+    prepare("shared.xml");
+    List<MeasureFilterRow> rows = executor.execute(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setResourceName("PHP Proj"),
+      new MeasureFilterContext());
+    assertThat(rows).hasSize(1);
+    verifyPhpProject(rows.get(0));
+
+    rows = executor.execute(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setResourceKey("Va_proje"), new MeasureFilterContext());
+    assertThat(rows).hasSize(1);
+    verifyJavaProject(rows.get(0));
+
+    rows = executor.execute(new MeasureFilter().setResourceQualifiers(Arrays.asList("CLA")).setResourceKey("big"), new MeasureFilterContext());
+    assertThat(rows).hasSize(1);
+    verifyJavaBigFile(rows.get(0));
+  }
+
+  @Test
+  public void wildcards_are_escaped_when_filter_by_component_name_or_key() throws Exception {
+    prepare("shared.xml");
+
+    assertThat(executor.execute(new MeasureFilter().setResourceQualifiers(newArrayList("CLA")).setResourceKey("*"), new MeasureFilterContext())).isEmpty();
+    assertThat(executor.execute(new MeasureFilter().setResourceQualifiers(newArrayList("CLA")).setResourceName("B?g"), new MeasureFilterContext())).isEmpty();
+  }
+
+  @Test
+  public void filter_by_base_resource() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("CLA")).setBaseResourceKey("java_project");
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(2);
+    verifyJavaBigFile(rows.get(0));
+    verifyJavaTinyFile(rows.get(1));
+  }
+
+  @Test
+  public void filter_by_parent_resource() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setBaseResourceKey("java_project").setOnBaseResourceChildren(true);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(1);
+    assertThat(rows.get(0).getSnapshotId()).isEqualTo(JAVA_PACKAGE_SNAPSHOT_ID);
+  }
+
+  @Test
+  public void filter_by_user_favourites() throws Exception {
+    prepare("shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "FIL")).setUserFavourites(true);
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext().setUserId(50L));
+
+    assertThat(rows).hasSize(2);
+    verifyJavaBigFile(rows.get(0));
+    verifyPhpProject(rows.get(1));
+
+    // no favourites
+    assertThat(executor.execute(filter, new MeasureFilterContext().setUserId(999L))).isEmpty();
+  }
+
+  @Test
+  public void filter_views_on_database() throws Exception {
+    prepare("shared.xml");
+    // views are not reindexed when their snapshots change
+    db.prepareDbUnit(MeasureFilterExecutorTest.class, "shared.xml", "view.xml");
+
+    List<MeasureFilterRow> rows = executor.execute(new MeasureFilter().setResourceQualifiers(Arrays.asList("VW")), new MeasureFilterContext());
+    assertThat(rows).hasSize(1);
+    verifyProject(rows.get(0), VIEW_SNAPSHOT_ID, VIEW_ID, VIEW_ID);
+
+    // projects are still read from index
+    rows = executor.execute(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")), new MeasureFilterContext());
+    assertThat(rows).hasSize(2);
+  }
+
+  @Test
+  public void ignore_person_measures() throws Exception {
+    prepare("ignore_person_measures.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).addCondition(
+      new MeasureFilterCondition(new Metric("ncloc").setId(1), MeasureFilterCondition.Operator.GREATER, 0.0));
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(1);
+    assertThat(rows.get(0).getSnapshotId()).isEqualTo(101L);
+  }
+
+  @Test
+  public void parse_text_values_of_operator_in() {
+    assertThat(MeasureFilterIndexQuery.parseTextValues("('OK', 'WARN')")).containsExactly("OK", "WARN");
+    assertThat(MeasureFilterIndexQuery.parseTextValues("('ERROR')")).containsExactly("ERROR");
+    assertThat(MeasureFilterIndexQuery.parseTextValues("()")).isEmpty();
+  }
+
+  @Test
+  public void paginate_rows() throws Exception {
+    prepare("shared.xml", "browse_all_projects.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "CLA")).setSortAsc(true);
+    List<MeasureFilterRow> all = executor.execute(filter, new MeasureFilterContext());
+    assertThat(all).hasSize(4);
+
+    MeasureFilterResult result = executor.executePage(filter.setPageSize(3), new MeasureFilterContext());
+    assertThat(result.getTotal()).isEqualTo(4);
+    assertThat(result.hasSecurityExclusions()).isFalse();
+    assertThat(result.getRows()).extracting("snapshotId").containsExactly(all.get(0).getSnapshotId(), all.get(1).getSnapshotId(), all.get(2).getSnapshotId());
+
+    result = executor.executePage(filter.setPageIndex(2), new MeasureFilterContext());
+    assertThat(result.getTotal()).isEqualTo(4);
+    assertThat(result.getRows()).extracting("snapshotId").containsExactly(all.get(3).getSnapshotId());
+
+    result = executor.executePage(filter.setPageIndex(3), new MeasureFilterContext());
+    assertThat(result.getTotal()).isEqualTo(4);
+    assertThat(result.getRows()).isEmpty();
+  }
+
+  @Test
+  public void paginate_rows_sorted_by_alert() throws Exception {
+    prepare("sort_by_alert.xml", "browse_all_projects.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setSortOnMetric(METRIC_ALERT)
+      .setPageIndex(2).setPageSize(2);
+    MeasureFilterResult result = executor.executePage(filter, new MeasureFilterContext());
+
+    // the project 20 is not browsable
+    assertThat(result.getTotal()).isEqualTo(2);
+    assertThat(result.hasSecurityExclusions()).isTrue();
+    assertThat(result.getRows()).isEmpty();
+
+    result = executor.executePage(filter.setPageIndex(1), new MeasureFilterContext());
+    verifyPhpProject(result.getRows().get(0));
+    verifyJavaProject(result.getRows().get(1));
+  }
+
+  @Test
+  public void exclude_rows_of_projects_that_are_not_browsable() throws Exception {
+    prepare("shared.xml", "browse_java_project.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "CLA")).setPageSize(10);
+    MeasureFilterResult result = executor.executePage(filter, new MeasureFilterContext());
+
+    assertThat(result.getTotal()).isEqualTo(3);
+    assertThat(result.hasSecurityExclusions()).isTrue();
+    assertThat(result.getRows()).extracting("resourceRootId").containsOnly(JAVA_PROJECT_ID);
+  }
+
+  private void prepare(String... datasets) {
+    db.prepareDbUnit(MeasureFilterExecutorTest.class, datasets);
+    new MeasureIndexer(new DbClient(db.database(), db.myBatis()), es.client()).setEnabled(true).index();
+  }
+
+  private void verifyJavaProject(MeasureFilterRow row) {
+    verifyProject(row, JAVA_PROJECT_SNAPSHOT_ID, JAVA_PROJECT_ID, JAVA_PROJECT_ID);
+  }
+
+  private void verifyJavaBigFile(MeasureFilterRow row) {
+    verifyProject(row, JAVA_FILE_BIG_SNAPSHOT_ID, JAVA_FILE_BIG_ID, JAVA_PROJECT_ID);
+  }
+
+  private void verifyJavaTinyFile(MeasureFilterRow row) {
+    verifyProject(row, JAVA_FILE_TINY_SNAPSHOT_ID, JAVA_FILE_TINY_ID, JAVA_PROJECT_ID);
+  }
+
+  private void verifyPhpProject(MeasureFilterRow row) {
+    verifyProject(row, PHP_SNAPSHOT_ID, PHP_PROJECT_ID, PHP_PROJECT_ID);
+  }
+
+  private void verifyProject(MeasureFilterRow row, Long snapshotId, Long resourceId, Long resourceRootId) {
+    assertThat(row.getSnapshotId()).isEqualTo(snapshotId);
+    assertThat(row.getResourceId()).isEqualTo(resourceId);
+    assertThat(row.getResourceRootId()).isEqualTo(resourceRootId);
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.EsTester;
+import org.sonar.test.DbTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Category(DbTests.class)
+public class MeasureIndexerTest {
+
+  @ClassRule
+  public static DbTester dbTester = new DbTester();
+
+  @ClassRule
+  public static EsTester esTester = new EsTester().addDefinitions(new MeasureIndexDefinition(new Settings()));
+
+  MeasureIndexer indexer;
+
+  @Before
+  public void setUp() {
+    dbTester.truncateTables();
+    esTester.truncateIndices();
+    indexer = (MeasureIndexer) new MeasureIndexer(new DbClient(dbTester.database(), dbTester.myBatis()), esTester.client()).setEnabled(true);
+  }
+
+  @Test
+  public void index_nothing() {
+    indexer.index();
+    assertThat(esTester.countDocuments(MeasureIndexDefinition.INDEX, MeasureIndexDefinition.TYPE_COMPONENT)).isEqualTo(0L);
+  }
+
+  @Test
+  public void index_last_snapshots() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    indexer.index();
+
+    Map<String, ComponentMeasuresDoc> docsByUuid = docsByUuid();
+    assertThat(docsByUuid.keySet()).containsOnly("ABCD", "BCDE", "EFGH");
+
+    ComponentMeasuresDoc project = docsByUuid.get("ABCD");
+    assertThat(project.projectUuid()).isEqualTo("ABCD");
+    assertThat(project.snapshotId()).isEqualTo(101L);
+    assertThat(project.resourceId()).isEqualTo(1L);
+    assertThat(project.rootProjectId()).isEqualTo(1L);
+    assertThat(project.getFields())
+      .containsEntry(MeasureIndexDefinition.FIELD_KEY, "org.struts:struts")
+      .containsEntry(MeasureIndexDefinition.FIELD_NAME, "Struts")
+      .containsEntry(MeasureIndexDefinition.FIELD_LONG_NAME, "Apache Struts")
+      .containsEntry(MeasureIndexDefinition.FIELD_VERSION, "1.0")
+      .containsEntry(MeasureIndexDefinition.FIELD_COPY, false);
+
+    ComponentMeasuresDoc file = docsByUuid.get("BCDE");
+    assertThat(file.projectUuid()).isEqualTo("ABCD");
+    assertThat(file.getFields())
+      .containsEntry(MeasureIndexDefinition.FIELD_PARENT_SNAPSHOT_ID, 101)
+      .containsEntry(MeasureIndexDefinition.FIELD_SNAPSHOT_PATH, "101.");
+  }
+
+  @Test
+  public void index_measures_and_variations() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    indexer.index();
+
+    ComponentMeasuresDoc project = docsByUuid().get("ABCD");
+    // measures on rules, characteristics and developers are ignored
+    assertThat(project.measures()).hasSize(2);
+    assertThat(project.measure(1))
+      .containsEntry(MeasureIndexDefinition.FIELD_MEASURE_VALUE, 510.0)
+      .containsEntry("variation1", 10.0)
+      .containsEntry("variation5", 400.0)
+      .doesNotContainKey("variation2");
+    assertThat(project.measure(2))
+      .containsEntry(MeasureIndexDefinition.FIELD_MEASURE_TEXT_VALUE, "OK")
+      .doesNotContainKey(MeasureIndexDefinition.FIELD_MEASURE_VALUE);
+    assertThat(project.measure(3)).isNull();
+
+    assertThat(docsByUuid().get("BCDE").measure(1)).containsEntry(MeasureIndexDefinition.FIELD_MEASURE_VALUE, 500.0);
+    assertThat(docsByUuid().get("EFGH").measure(1)).containsEntry(MeasureIndexDefinition.FIELD_MEASURE_VALUE, 42.0);
+  }
+
+  @Test
+  public void index_only_if_index_is_empty() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    indexer.index();
+    dbTester.executeUpdateSql("UPDATE project_measures SET value=1000 WHERE id=2");
+
+    indexer.index();
+
+    assertThat(docsByUuid().get("ABCD").measure(1)).containsEntry(MeasureIndexDefinition.FIELD_MEASURE_VALUE, 510.0);
+  }
+
+  @Test
+  public void index_project() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    indexer.index("ABCD");
+
+    assertThat(docsByUuid().keySet()).containsOnly("ABCD", "BCDE");
+
+    // new analysis, file has been removed
+    dbTester.executeUpdateSql("UPDATE snapshots SET islast=false");
+    dbTester.executeUpdateSql("UPDATE snapshots SET islast=true, status='P' WHERE id=103");
+    indexer.index("ABCD");
+
+    Map<String, ComponentMeasuresDoc> docsByUuid = docsByUuid();
+    assertThat(docsByUuid.keySet()).containsOnly("ABCD");
+    assertThat(docsByUuid.get("ABCD").snapshotId()).isEqualTo(103L);
+    assertThat(docsByUuid.get("ABCD").measures()).isEmpty();
+  }
+
+  @Test
+  public void delete_project() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    indexer.index();
+
+    indexer.deleteProject("ABCD");
+
+    assertThat(docsByUuid().keySet()).containsOnly("EFGH");
+  }
+
+  @Test
+  public void do_nothing_if_disabled() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    indexer.setEnabled(false).index();
+
+    assertThat(esTester.countDocuments(MeasureIndexDefinition.INDEX, MeasureIndexDefinition.TYPE_COMPONENT)).isEqualTo(0L);
+  }
+
+  private Map<String, ComponentMeasuresDoc> docsByUuid() {
+    List<ComponentMeasuresDoc> docs = esTester.getDocuments(MeasureIndexDefinition.INDEX, MeasureIndexDefinition.TYPE_COMPONENT, ComponentMeasuresDoc.class);
+    return Maps.uniqueIndex(docs, new Function<ComponentMeasuresDoc, String>() {
+      @Override
+      public String apply(ComponentMeasuresDoc doc) {
+        return doc.uuid();
+      }
+    });
+  }
+}
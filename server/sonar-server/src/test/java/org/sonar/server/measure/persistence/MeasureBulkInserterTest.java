@@ -0,0 +1,142 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.persistence;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.core.measure.db.MeasureDto;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.core.persistence.dialect.Dialect;
+import org.sonar.core.persistence.dialect.Oracle;
+import org.sonar.test.DbTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Category(DbTests.class)
+public class MeasureBulkInserterTest {
+
+  @ClassRule
+  public static DbTester db = new DbTester();
+
+  DbSession session;
+  MeasureDao dao = new MeasureDao();
+
+  @Before
+  public void setUp() {
+    db.truncateTables();
+    session = db.myBatis().openSession(true);
+  }
+
+  @After
+  public void tearDown() {
+    session.close();
+  }
+
+  @Test
+  public void insert_with_multi_row_statements() {
+    MeasureBulkInserter sut = new MeasureBulkInserter(dao, session, db.database().getDialect(), 2);
+    assertThat(sut.isMultiRowInsert()).isTrue();
+
+    insertMeasures(sut, 5);
+    // the fifth row is still in buffer
+    assertThat(sut.getCount()).isEqualTo(4);
+
+    sut.flush();
+    session.commit();
+
+    assertThat(sut.getCount()).isEqualTo(5);
+    assertThat(selectValues()).containsExactly(0d, 1d, 2d, 3d, 4d);
+  }
+
+  @Test
+  public void insert_with_single_row_statements_on_oracle() {
+    Dialect oracle = mock(Dialect.class);
+    when(oracle.getId()).thenReturn(Oracle.ID);
+    MeasureBulkInserter sut = new MeasureBulkInserter(dao, session, oracle, 2);
+    assertThat(sut.isMultiRowInsert()).isFalse();
+
+    insertMeasures(sut, 5);
+    sut.flush();
+    session.commit();
+
+    assertThat(sut.getCount()).isEqualTo(5);
+    assertThat(selectValues()).containsExactly(0d, 1d, 2d, 3d, 4d);
+  }
+
+  @Test
+  public void measures_with_large_data_are_inserted_in_order() {
+    MeasureBulkInserter sut = new MeasureBulkInserter(dao, session, db.database().getDialect(), 10);
+
+    sut.insert(newMeasure(0));
+    sut.insert(newMeasure(1).setData(Strings.repeat("a", 5000)));
+    sut.insert(newMeasure(2));
+    sut.flush();
+    session.commit();
+
+    assertThat(selectValues()).containsExactly(0d, 1d, 2d);
+    List<Map<String, Object>> rows = db.select("select measure_data as \"data\", text_value as \"text\" from project_measures where value=1");
+    assertThat(rows.get(0).get("data")).isNotNull();
+    assertThat(rows.get(0).get("text")).isNull();
+  }
+
+  @Test
+  public void flush_does_nothing_when_buffer_is_empty() {
+    MeasureBulkInserter sut = new MeasureBulkInserter(dao, session, db.database().getDialect(), 10);
+
+    sut.flush();
+    session.commit();
+
+    assertThat(sut.getCount()).isZero();
+    assertThat(db.countRowsOfTable("project_measures")).isZero();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_batch_size_is_not_positive() {
+    new MeasureBulkInserter(dao, session, db.database().getDialect(), 0);
+  }
+
+  private static void insertMeasures(MeasureBulkInserter sut, int count) {
+    for (int i = 0; i < count; i++) {
+      sut.insert(newMeasure(i));
+    }
+  }
+
+  private static MeasureDto newMeasure(int index) {
+    return new MeasureDto().setMetricId(1).setSnapshotId(10L).setComponentId(100L).setValue((double) index);
+  }
+
+  private List<Object> selectValues() {
+    List<Object> values = new ArrayList<>();
+    for (Map<String, Object> row : db.select("select value as \"value\" from project_measures order by id")) {
+      values.add(row.get("value"));
+    }
+    return values;
+  }
+}
@@ -26,6 +26,8 @@ import com.google.common.collect.ImmutableSet;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -146,6 +148,44 @@ public class MeasureDaoTest {
     assertThat(sut.existsByKey(session, "org.struts:struts-core:src/org/struts/RequestContext.java", "unknown")).isFalse();
   }
 
+  @Test
+  public void select_last_measures_by_project_uuid() {
+    db.prepareDbUnit(getClass(), "last_measures.xml");
+
+    List<MeasureDto> measures = newArrayList();
+    sut.selectLastMeasuresByProjectUuid(session, "ABCD", new CollectingHandler(measures));
+    assertThat(measures).hasSize(6);
+    assertThat(measures).extracting("componentKey").containsOnly("project", "project:org.foo", "project:org.foo.Bar");
+    assertThat(measures).extracting("metricId").containsOnly(1, 2);
+
+    measures.clear();
+    sut.selectLastMeasuresByProjectUuid(session, "UNKNOWN", new CollectingHandler(measures));
+    assertThat(measures).isEmpty();
+  }
+
+  @Test
+  public void select_last_measures_by_module_uuid() {
+    db.prepareDbUnit(getClass(), "last_measures.xml");
+
+    List<MeasureDto> measures = newArrayList();
+    sut.selectLastMeasuresByModuleUuid(session, "ABCD", new CollectingHandler(measures));
+    assertThat(measures).hasSize(6);
+
+    measures.clear();
+    sut.selectLastMeasuresByModuleUuid(session, "CDEF", new CollectingHandler(measures));
+    assertThat(measures).hasSize(2);
+    assertThat(measures).extracting("componentKey").containsOnly("project:org.foo.Bar");
+  }
+
+  @Test
+  public void select_last_measures_ignores_measures_of_previous_analyses() {
+    db.prepareDbUnit(getClass(), "past_measures.xml");
+
+    List<MeasureDto> measures = newArrayList();
+    sut.selectLastMeasuresByProjectUuid(session, "ABCD", new CollectingHandler(measures));
+    assertThat(measures).isEmpty();
+  }
+
   @Test
   public void select_past_measures_by_component_uuid_and_root_snapshot_id_and_metric_keys() {
     db.prepareDbUnit(getClass(), "past_measures.xml");
@@ -329,4 +369,17 @@ public class MeasureDaoTest {
       }
     });
   }
+
+  private static class CollectingHandler implements ResultHandler {
+    private final List<MeasureDto> measures;
+
+    CollectingHandler(List<MeasureDto> measures) {
+      this.measures = measures;
+    }
+
+    @Override
+    public void handleResult(ResultContext context) {
+      measures.add((MeasureDto) context.getResultObject());
+    }
+  }
 }
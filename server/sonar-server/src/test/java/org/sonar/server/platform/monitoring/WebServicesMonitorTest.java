@@ -0,0 +1,70 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.utils.System2;
+import org.sonar.server.ws.WebServiceStatistics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WebServicesMonitorTest {
+
+  WebServiceStatistics statistics = new WebServiceStatistics(new Settings(), System2.INSTANCE);
+  WebServicesMonitor sut = new WebServicesMonitor(statistics);
+
+  @Test
+  public void name() {
+    assertThat(sut.name()).isEqualTo("Web Services");
+  }
+
+  @Test
+  public void attributes() {
+    LinkedHashMap<String, Object> attributes = sut.attributes();
+
+    assertThat(attributes).containsKeys("Requests", "Requests In Progress", "Slow Requests", "Slow Request Threshold (ms)");
+    assertThat(attributes.get("Requests")).isEqualTo(0L);
+  }
+
+  @Test
+  public void action_latencies() {
+    assertThat(sut.getActionLatencies()).isEmpty();
+
+    WebServiceStatistics.ActionStatistics action = mock(WebServiceStatistics.ActionStatistics.class);
+    when(action.path()).thenReturn("api/issues/search");
+    when(action.requests()).thenReturn(10L);
+    when(action.requestsInProgress()).thenReturn(1);
+    when(action.percentile(50.0)).thenReturn(20L);
+    when(action.percentile(95.0)).thenReturn(100L);
+    when(action.percentile(99.0)).thenReturn(200L);
+    when(action.maxDuration()).thenReturn(180L);
+    WebServiceStatistics mockStatistics = mock(WebServiceStatistics.class);
+    when(mockStatistics.actions()).thenReturn(Arrays.asList(action));
+
+    assertThat(new WebServicesMonitor(mockStatistics).getActionLatencies()).containsExactly(
+      "api/issues/search: requests=10, inProgress=1, failures=0, p50=20ms, p95=100ms, p99=200ms, max=180ms");
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.ws;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.server.ws.internal.SimpleGetRequest;
+import org.sonar.api.utils.System2;
+import org.sonar.core.permission.GlobalPermissions;
+import org.sonar.server.exceptions.ForbiddenException;
+import org.sonar.server.tester.UserSessionRule;
+import org.sonar.server.ws.WebServiceStatistics;
+import org.sonar.server.ws.WsTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WsStatsActionTest {
+
+  @Rule
+  public UserSessionRule userSessionRule = UserSessionRule.standalone().login("login");
+
+  WebServiceStatistics statistics = new WebServiceStatistics(new Settings(), System2.INSTANCE);
+  WsStatsAction sut = new WsStatsAction(statistics, userSessionRule);
+
+  @Test(expected = ForbiddenException.class)
+  public void fail_if_not_system_administrator() {
+    userSessionRule.setGlobalPermissions(GlobalPermissions.SCAN_EXECUTION);
+
+    sut.handle(new SimpleGetRequest(), new WsTester.TestResponse());
+  }
+
+  @Test
+  public void write_json() {
+    userSessionRule.setGlobalPermissions(GlobalPermissions.SYSTEM_ADMIN);
+
+    WsTester.TestResponse response = new WsTester.TestResponse();
+    sut.handle(new SimpleGetRequest(), response);
+
+    assertThat(response.outputAsString()).isEqualTo("{\"requestsInProgress\":0,\"slowRequests\":0,\"slowRequestThreshold\":5000,\"actions\":[]}");
+  }
+
+  @Test
+  public void define() {
+    WsTester tester = new WsTester(new SystemWs(sut));
+
+    assertThat(tester.controller("api/system").action("ws_stats").isInternal()).isTrue();
+    assertThat(tester.controller("api/system").action("ws_stats").responseExampleAsString()).isNotEmpty();
+  }
+}
@@ -272,6 +272,40 @@ public class ActiveRuleBackendMediumTest {
     assertThat(activeRules).hasSize(nb);
   }
 
+  @Test
+  public void index_params_of_many_active_rules_in_one_stack() {
+    QualityProfileDto profile1 = QProfileTesting.newXooP1();
+    QualityProfileDto profile2 = QProfileTesting.newXooP2();
+    db.qualityProfileDao().insert(dbSession, profile1, profile2);
+    int nb = 20;
+    for (int i = 0; i < nb; i++) {
+      RuleDto rule = newRuleDto(RuleKey.of("xoo", "S00" + i));
+      db.ruleDao().insert(dbSession, rule);
+      RuleParamDto param = new RuleParamDto().setName("max").setType("INTEGER");
+      db.ruleDao().addRuleParam(dbSession, rule, param);
+
+      for (QualityProfileDto profile : ImmutableList.of(profile1, profile2)) {
+        ActiveRuleDto activeRule = ActiveRuleDto.createFor(profile, rule).setSeverity(Severity.MAJOR);
+        db.activeRuleDao().insert(dbSession, activeRule);
+        db.activeRuleDao().addParam(dbSession, activeRule, ActiveRuleParamDto.createFor(param).setValue(profile.getKey() + i));
+        // updated after insertion, in the same stack
+        db.activeRuleDao().update(dbSession, activeRule.setSeverity(Severity.BLOCKER));
+      }
+    }
+    dbSession.commit();
+
+    for (QualityProfileDto profile : ImmutableList.of(profile1, profile2)) {
+      List<ActiveRule> activeRules = Lists.newArrayList(index.get(ActiveRuleIndex.class).findByProfile(profile.getKey()));
+      assertThat(activeRules).hasSize(nb);
+      for (ActiveRule activeRule : activeRules) {
+        assertThat(activeRule.key().qProfile()).isEqualTo(profile.getKey());
+        assertThat(activeRule.severity()).isEqualTo(Severity.BLOCKER);
+        assertThat(activeRule.params()).hasSize(1);
+        assertThat(activeRule.params().get("max")).startsWith(profile.getKey());
+      }
+    }
+  }
+
   @Test
   public void count_by_profile() {
     QualityProfileDto profileDto1 = QProfileTesting.newXooP1();
@@ -37,6 +37,8 @@ import org.sonar.core.qualityprofile.db.QualityProfileDao;
 import org.sonar.core.rule.RuleDto;
 import org.sonar.core.rule.RuleParamDto;
 import org.sonar.core.technicaldebt.db.CharacteristicDao;
+import org.sonar.core.template.LoadedTemplateDao;
+import org.sonar.core.template.LoadedTemplateDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.qualityprofile.RuleActivator;
 import org.sonar.server.qualityprofile.db.ActiveRuleDao;
@@ -67,7 +69,7 @@ public class RegisterRulesTest extends AbstractDaoTestCase {
     RuleDao ruleDao = new RuleDao(system);
     ActiveRuleDao activeRuleDao = new ActiveRuleDao(new QualityProfileDao(getMyBatis(), system), ruleDao, system);
     dbClient = new DbClient(getDatabase(), getMyBatis(), ruleDao, activeRuleDao,
-      new QualityProfileDao(getMyBatis(), system), new CharacteristicDao(getMyBatis()));
+      new QualityProfileDao(getMyBatis(), system), new CharacteristicDao(getMyBatis()), new LoadedTemplateDao(getMyBatis()));
     dbSession = dbClient.openSession(false);
   }
 
@@ -194,6 +196,52 @@ public class RegisterRulesTest extends AbstractDaoTestCase {
     assertThat(rule2.getUpdatedAt()).isEqualTo(DATE2);
   }
 
+  @Test
+  public void store_hash_of_repository_definitions() {
+    execute(new FakeRepositoryV1());
+    List<LoadedTemplateDto> hashes = dbClient.loadedTemplateDao().selectByType(dbSession, LoadedTemplateDto.RULE_REPOSITORY_TYPE);
+    assertThat(hashes).hasSize(1);
+    String hashV1 = hashes.get(0).getKey();
+    assertThat(hashV1).startsWith("fake:");
+
+    // definitions did not change
+    execute(new FakeRepositoryV1());
+    hashes = dbClient.loadedTemplateDao().selectByType(dbSession, LoadedTemplateDto.RULE_REPOSITORY_TYPE);
+    assertThat(hashes).extracting("key").containsOnly(hashV1);
+
+    // definitions changed
+    execute(new FakeRepositoryV2());
+    hashes = dbClient.loadedTemplateDao().selectByType(dbSession, LoadedTemplateDto.RULE_REPOSITORY_TYPE);
+    assertThat(hashes).hasSize(1);
+    assertThat(hashes.get(0).getKey()).startsWith("fake:").isNotEqualTo(hashV1);
+
+    // repository is uninstalled
+    execute();
+    assertThat(dbClient.loadedTemplateDao().selectByType(dbSession, LoadedTemplateDto.RULE_REPOSITORY_TYPE)).isEmpty();
+  }
+
+  @Test
+  public void update_rules_of_unchanged_repository_when_db_is_not_up_to_date() {
+    execute(new FakeRepositoryV1());
+
+    // rule is disabled in db while its definition is still loaded, for example when language plugin is temporarily uninstalled
+    RuleKey ruleKey1 = RuleKey.of("fake", "rule1");
+    RuleDto rule1 = dbClient.ruleDao().getNullableByKey(dbSession, ruleKey1);
+    rule1.setStatus(RuleStatus.REMOVED);
+    dbClient.ruleDao().update(dbSession, rule1);
+    dbSession.commit();
+
+    when(system.now()).thenReturn(DATE2.getTime());
+    execute(new FakeRepositoryV1());
+
+    rule1 = dbClient.ruleDao().getNullableByKey(dbSession, ruleKey1);
+    assertThat(rule1.getStatus()).isEqualTo(RuleStatus.BETA);
+    assertThat(dbClient.ruleDao().findRuleParamsByRuleKey(dbSession, ruleKey1)).hasSize(2);
+    // other rule is not updated
+    RuleDto rule2 = dbClient.ruleDao().getNullableByKey(dbSession, RuleKey.of("fake", "rule2"));
+    assertThat(rule2.getUpdatedAt()).isEqualTo(DATE1);
+  }
+
   @Test
   public void mass_insert() {
     execute(new BigRepository());
@@ -0,0 +1,62 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.rule;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.sonar.api.server.rule.RulesDefinition;
+import org.sonar.core.technicaldebt.db.CharacteristicDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuleRepositoryHashTest {
+
+  static final Map<String, CharacteristicDto> NO_CHARACTERISTICS = Collections.emptyMap();
+
+  @Test
+  public void same_hash_for_same_definitions() {
+    String hash = RuleRepositoryHash.of(repositories(new RegisterRulesTest.FakeRepositoryV1()), NO_CHARACTERISTICS);
+
+    assertThat(hash).isNotEmpty().isEqualTo(RuleRepositoryHash.of(repositories(new RegisterRulesTest.FakeRepositoryV1()), NO_CHARACTERISTICS));
+    assertThat(hash).isNotEqualTo(RuleRepositoryHash.of(repositories(new RegisterRulesTest.FakeRepositoryV2()), NO_CHARACTERISTICS));
+  }
+
+  @Test
+  public void hash_depends_on_referenced_characteristics() {
+    List<RulesDefinition.ExtendedRepository> repositories = repositories(new RegisterRulesTest.FakeRepositoryV1());
+    String hash = RuleRepositoryHash.of(repositories, NO_CHARACTERISTICS);
+
+    Map<String, CharacteristicDto> characteristics = ImmutableMap.of("MEMORY_EFFICIENCY", new CharacteristicDto().setId(2).setParentId(1));
+    assertThat(RuleRepositoryHash.of(repositories, characteristics)).isNotEqualTo(hash);
+
+    // characteristics which are not referenced by rules are ignored
+    Map<String, CharacteristicDto> otherCharacteristics = ImmutableMap.of("OTHER", new CharacteristicDto().setId(3).setParentId(1));
+    assertThat(RuleRepositoryHash.of(repositories, otherCharacteristics)).isEqualTo(hash);
+  }
+
+  private static List<RulesDefinition.ExtendedRepository> repositories(RulesDefinition definition) {
+    RulesDefinition.Context context = new RulesDefinition.Context();
+    definition.define(context);
+    return Collections.<RulesDefinition.ExtendedRepository>singletonList(context.repository("fake"));
+  }
+}
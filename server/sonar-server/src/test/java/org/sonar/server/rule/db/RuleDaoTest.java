@@ -325,6 +325,18 @@ public class RuleDaoTest extends AbstractDaoTestCase {
     assertThat(ruleDto.getRuleId()).isEqualTo(1);
   }
 
+  @Test
+  public void select_parameters_by_repository_key() {
+    setupData("select_parameters_by_rule_id");
+
+    List<RuleParamDto> ruleDtos = dao.findRuleParamsByRepositoryKey(session, "checkstyle");
+    assertThat(ruleDtos).hasSize(1);
+    assertThat(ruleDtos.get(0).getName()).isEqualTo("myParameter");
+    assertThat(ruleDtos.get(0).getRuleId()).isEqualTo(1);
+
+    assertThat(dao.findRuleParamsByRepositoryKey(session, "unknown")).isEmpty();
+  }
+
   @Test
   public void insert_parameter() {
     setupData("insert_parameter");
@@ -0,0 +1,87 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.search;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.sonar.server.db.fake.FakeDto;
+import org.sonar.server.search.action.DeleteKey;
+import org.sonar.server.search.action.IndexAction;
+import org.sonar.server.search.action.InsertDto;
+import org.sonar.server.search.action.RefreshIndex;
+import org.sonar.server.search.action.UpsertDto;
+import org.sonar.server.search.action.UpsertNestedItem;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexQueueTest {
+
+  static final String TYPE = "fake";
+
+  @Test
+  public void coalesce_successive_upserts_of_same_document() {
+    IndexAction<?> first = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+    IndexAction<?> other = new UpsertDto<>(TYPE, new FakeDto().setKey("B"));
+    IndexAction<?> last = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+
+    List<IndexAction<?>> actions = IndexQueue.coalesce(ImmutableList.<IndexAction<?>>of(first, other, last));
+
+    assertThat(actions).containsExactly(other, last);
+  }
+
+  @Test
+  public void do_not_coalesce_upserts_of_different_index_types() {
+    IndexAction<?> first = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+    IndexAction<?> second = new UpsertDto<>("other", new FakeDto().setKey("A"));
+
+    assertThat(IndexQueue.coalesce(ImmutableList.<IndexAction<?>>of(first, second))).containsExactly(first, second);
+  }
+
+  @Test
+  public void do_not_coalesce_upserts_separated_by_another_action_on_same_document() {
+    IndexAction<?> upsert = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+    IndexAction<?> nested = new UpsertNestedItem<>(TYPE, "A", "item");
+    IndexAction<?> delete = new DeleteKey<>(TYPE, "A");
+    IndexAction<?> secondUpsert = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+    IndexAction<?> lastUpsert = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+
+    List<IndexAction<?>> actions = IndexQueue.coalesce(ImmutableList.<IndexAction<?>>of(upsert, nested, upsert, delete, secondUpsert, lastUpsert));
+
+    assertThat(actions).containsExactly(upsert, nested, upsert, delete, lastUpsert);
+  }
+
+  @Test
+  public void do_not_coalesce_insert_and_upsert() {
+    IndexAction<?> insert = new InsertDto<>(TYPE, new FakeDto().setKey("A"), false);
+    IndexAction<?> upsert = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+
+    assertThat(IndexQueue.coalesce(ImmutableList.<IndexAction<?>>of(insert, upsert))).containsExactly(insert, upsert);
+  }
+
+  @Test
+  public void keep_refresh_actions() {
+    IndexAction<?> upsert = new UpsertDto<>(TYPE, new FakeDto().setKey("A"));
+    IndexAction<?> refresh = new RefreshIndex(TYPE);
+
+    assertThat(IndexQueue.coalesce(ImmutableList.<IndexAction<?>>of(upsert, refresh, upsert))).containsExactly(refresh, upsert);
+  }
+}
@@ -22,6 +22,13 @@ package org.sonar.server.source;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.sonar.server.source.index.SourceLineDoc;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -76,4 +83,52 @@ public class HtmlSourceDecoratorTest {
     assertThat(sourceDecorator.getDecoratedSourceAsHtml(sourceLine, highlighting, symbols)).isEqualTo("<span class=\"a\">@<span class=\"sym-1 sym\">Deprecated</span></span>");
   }
 
+  @Test
+  public void decorate_range_of_lines() {
+    List<String> html = sourceDecorator.getDecoratedSourceAsHtml("FILE_UUID", Arrays.asList(
+      newLine(1, "package org.polop;", "0,7,k", "8,17,42", 1L),
+      newLine(2, "  if (a < b)", "2,4,k", null, 1L)));
+
+    assertThat(html).containsExactly(
+      "<span class=\"k\">package</span> <span class=\"sym-42 sym\">org.polop</span>;",
+      "  <span class=\"k\">if</span> (a &lt; b)");
+  }
+
+  @Test
+  public void cache_decorated_lines_while_file_is_not_reindexed() {
+    sourceDecorator.getDecoratedSourceAsHtml("FILE_UUID", Arrays.asList(newLine(1, "a", "0,1,k", null, 1L)));
+
+    // same update date, decorated line is read from cache
+    List<String> html = sourceDecorator.getDecoratedSourceAsHtml("FILE_UUID", Arrays.asList(newLine(1, "b", null, null, 1L)));
+    assertThat(html).containsExactly("<span class=\"k\">a</span>");
+
+    // file has been reindexed
+    html = sourceDecorator.getDecoratedSourceAsHtml("FILE_UUID", Arrays.asList(newLine(1, "b", null, null, 2L)));
+    assertThat(html).containsExactly("b");
+  }
+
+  @Test
+  public void do_not_use_cache_if_lines_have_different_update_dates() {
+    sourceDecorator.getDecoratedSourceAsHtml("FILE_UUID", Arrays.asList(newLine(1, "a", null, null, 1L), newLine(2, "a", null, null, 1L)));
+
+    // file is being reindexed
+    List<String> html = sourceDecorator.getDecoratedSourceAsHtml("FILE_UUID", Arrays.asList(newLine(1, "b", null, null, 1L), newLine(2, "b", null, null, 2L)));
+    assertThat(html).containsExactly("b", "b");
+  }
+
+  @Test
+  public void evict_least_recently_used_files() {
+    sourceDecorator = new HtmlSourceDecorator(2);
+    sourceDecorator.getDecoratedSourceAsHtml("FILE1", Arrays.asList(newLine(1, "a", null, null, 1L)));
+    sourceDecorator.getDecoratedSourceAsHtml("FILE2", Arrays.asList(newLine(1, "a", null, null, 1L)));
+    sourceDecorator.getDecoratedSourceAsHtml("FILE3", Arrays.asList(newLine(1, "a", null, null, 1L)));
+
+    assertThat(sourceDecorator.getDecoratedSourceAsHtml("FILE1", Arrays.asList(newLine(1, "b", null, null, 1L)))).containsExactly("b");
+    assertThat(sourceDecorator.getDecoratedSourceAsHtml("FILE3", Arrays.asList(newLine(1, "b", null, null, 1L)))).containsExactly("a");
+  }
+
+  private static SourceLineDoc newLine(int line, String source, @Nullable String highlighting, @Nullable String symbols, long updatedAt) {
+    return new SourceLineDoc().setLine(line).setSource(source).setHighlighting(highlighting).setSymbols(symbols).setUpdateDate(new Date(updatedAt));
+  }
+
 }
@@ -60,25 +60,23 @@ public class SourceServiceTest {
 
   @Test
   public void get_html_lines() {
-    when(sourceLineIndex.getLines(COMPONENT_UUID, 1, Integer.MAX_VALUE)).thenReturn(
-      Arrays.asList(new SourceLineDoc().setSource("source").setHighlighting("highlight").setSymbols("symbols")));
+    List<SourceLineDoc> lines = Arrays.asList(new SourceLineDoc().setSource("source").setHighlighting("highlight").setSymbols("symbols"));
+    when(sourceLineIndex.getLines(COMPONENT_UUID, 1, Integer.MAX_VALUE)).thenReturn(lines);
 
     service.getLinesAsHtml(COMPONENT_UUID, null, null);
 
-    verify(sourceDecorator).getDecoratedSourceAsHtml("source", "highlight", "symbols");
+    verify(sourceDecorator).getDecoratedSourceAsHtml(COMPONENT_UUID, lines);
   }
 
   @Test
   public void get_block_of_lines() {
+    List<SourceLineDoc> lines = Arrays.asList(new SourceLineDoc().setSource("source").setHighlighting("highlight").setSymbols("symbols"),
+      new SourceLineDoc().setSource("source2").setHighlighting("highlight2").setSymbols("symbols2"));
+    when(sourceLineIndex.getLines(COMPONENT_UUID, 5, 10)).thenReturn(lines);
 
-    when(sourceLineIndex.getLines(COMPONENT_UUID, 1, Integer.MAX_VALUE)).thenReturn(
-      Arrays.asList(new SourceLineDoc().setSource("source").setHighlighting("highlight").setSymbols("symbols"),
-        new SourceLineDoc().setSource("source2").setHighlighting("highlight2").setSymbols("symbols2")));
-
-    service.getLinesAsHtml(COMPONENT_UUID, null, null);
+    service.getLinesAsHtml(COMPONENT_UUID, 5, 10);
 
-    verify(sourceDecorator).getDecoratedSourceAsHtml("source", "highlight", "symbols");
-    verify(sourceDecorator).getDecoratedSourceAsHtml("source2", "highlight2", "symbols2");
+    verify(sourceDecorator).getDecoratedSourceAsHtml(COMPONENT_UUID, lines);
   }
 
   @Test
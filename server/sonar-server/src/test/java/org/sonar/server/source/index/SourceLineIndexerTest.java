@@ -42,6 +42,7 @@ import org.sonar.test.TestUtils;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -161,6 +162,55 @@ public class SourceLineIndexerTest {
       );
   }
 
+  /**
+   * File F1 in project P1 had two lines and has now one line -> line 2 is removed
+   * File F2 in project P1 has one line -> untouched
+   */
+  @Test
+  public void delete_lines_removed_since_last_indexation() throws Exception {
+    indexLine("P1", "F1", 1);
+    indexLine("P1", "F1", 2);
+    indexLine("P1", "F2", 1);
+
+    FileSourceDb.Data.Builder dataBuilder = FileSourceDb.Data.newBuilder();
+    dataBuilder.addLinesBuilder().setLine(1).setSource("new source").build();
+    FileSourcesUpdaterHelper.Row dbRow = SourceLineResultSetIterator.toRow("P1", "F1", new Date(), dataBuilder.build());
+    indexer.index(Iterators.singletonIterator(dbRow));
+
+    assertThat(countDocuments()).isEqualTo(2L);
+    SearchResponse fileSearch = prepareSearch()
+      .setQuery(QueryBuilders.termQuery(FIELD_FILE_UUID, "F1"))
+      .get();
+    assertThat(fileSearch.getHits().getTotalHits()).isEqualTo(1L);
+    assertThat(fileSearch.getHits().getHits()[0].sourceAsMap()).contains(entry(FIELD_LINE, 1), entry(FIELD_SOURCE, "new source"));
+  }
+
+  @Test
+  public void delete_lines_removed_since_last_indexation_when_rows_of_projects_are_interleaved() throws Exception {
+    indexLine("P1", "F1", 1);
+    indexLine("P1", "F1", 2);
+    indexLine("P1", "F2", 1);
+    indexLine("P2", "F3", 1);
+    indexLine("P2", "F3", 2);
+
+    FileSourceDb.Data.Builder dataBuilder = FileSourceDb.Data.newBuilder();
+    dataBuilder.addLinesBuilder().setLine(1).setSource("new source").build();
+    FileSourceDb.Data data = dataBuilder.build();
+    indexer.index(Arrays.asList(
+      SourceLineResultSetIterator.toRow("P1", "F1", new Date(), data),
+      SourceLineResultSetIterator.toRow("P2", "F3", new Date(), data),
+      SourceLineResultSetIterator.toRow("P1", "F2", new Date(), data)).iterator());
+
+    assertThat(countDocuments()).isEqualTo(3L);
+    for (String fileUuid : Arrays.asList("F1", "F2", "F3")) {
+      SearchResponse fileSearch = prepareSearch()
+        .setQuery(QueryBuilders.termQuery(FIELD_FILE_UUID, fileUuid))
+        .get();
+      assertThat(fileSearch.getHits().getTotalHits()).isEqualTo(1L);
+      assertThat(fileSearch.getHits().getHits()[0].sourceAsMap()).contains(entry(FIELD_LINE, 1), entry(FIELD_SOURCE, "new source"));
+    }
+  }
+
   @Test
   public void delete_file_uuid() throws Exception {
     indexLine("P1", "F1", 1);
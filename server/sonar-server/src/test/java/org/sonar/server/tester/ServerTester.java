@@ -41,6 +41,7 @@ import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.platform.ComponentContainer;
 import org.sonar.process.ProcessProperties;
 import org.sonar.server.es.EsServerHolder;
+import org.sonar.server.es.IndexDefinitions;
 import org.sonar.server.platform.BackendCleanup;
 import org.sonar.server.platform.ServerTesterPlatform;
 import org.sonar.server.plugins.UpdateCenterClient;
@@ -119,7 +120,7 @@ public class ServerTester extends ExternalResource {
         }
       }
       if (!esIndexes) {
-        properties.put("sonar.internal.es.disableIndexes", true);
+        properties.put(IndexDefinitions.DISABLE_INDEXES_PROPERTY, true);
       }
       platform = new ServerTesterPlatform();
       platform.init(properties, servletContext);
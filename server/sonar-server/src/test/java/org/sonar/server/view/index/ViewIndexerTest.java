@@ -42,6 +42,7 @@ import org.sonar.core.user.GroupRoleDto;
 import org.sonar.core.user.RoleDao;
 import org.sonar.server.component.ComponentTesting;
 import org.sonar.server.component.db.ComponentDao;
+import org.sonar.server.component.index.ComponentIndexDefinition;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.EsTester;
 import org.sonar.server.es.SearchOptions;
@@ -69,7 +70,7 @@ public class ViewIndexerTest {
   public static DbTester dbTester = new DbTester();
 
   @ClassRule
-  public static EsTester esTester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()), new ViewIndexDefinition(new Settings()));
+  public static EsTester esTester = new EsTester().addDefinitions(new IssueIndexDefinition(new Settings()), new ComponentIndexDefinition(new Settings()), new ViewIndexDefinition(new Settings()));
 
   @Rule
   public UserSessionRule userSessionRule = UserSessionRule.standalone();
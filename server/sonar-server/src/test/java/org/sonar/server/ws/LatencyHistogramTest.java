@@ -0,0 +1,61 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.ws;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+  LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void zero_if_no_durations() {
+    assertThat(histogram.percentile(50.0)).isZero();
+    assertThat(histogram.percentile(99.0)).isZero();
+  }
+
+  @Test
+  public void percentiles_are_upper_bounds_of_buckets() {
+    for (int i = 0; i < 90; i++) {
+      histogram.record(3L);
+    }
+    for (int i = 0; i < 9; i++) {
+      histogram.record(150L);
+    }
+    histogram.record(4_000L);
+
+    assertThat(histogram.percentile(50.0)).isEqualTo(5L);
+    assertThat(histogram.percentile(90.0)).isEqualTo(5L);
+    assertThat(histogram.percentile(95.0)).isEqualTo(200L);
+    assertThat(histogram.percentile(99.0)).isEqualTo(200L);
+    assertThat(histogram.percentile(100.0)).isEqualTo(5_000L);
+  }
+
+  @Test
+  public void durations_greater_than_last_bound() {
+    histogram.record(0L);
+    histogram.record(3_600_000L);
+
+    assertThat(histogram.percentile(50.0)).isEqualTo(1L);
+    assertThat(histogram.percentile(100.0)).isEqualTo(60_000L);
+  }
+}
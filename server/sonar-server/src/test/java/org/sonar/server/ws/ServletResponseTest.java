@@ -0,0 +1,125 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.ws;
+
+import com.google.common.base.Strings;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.server.plugins.MimeTypes;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class ServletResponseTest {
+
+  HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+  ByteArrayOutputStream servletOutput = new ByteArrayOutputStream();
+
+  @Before
+  public void setUp() throws Exception {
+    when(servletResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+      @Override
+      public void write(int b) {
+        servletOutput.write(b);
+      }
+
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+
+      @Override
+      public void setWriteListener(WriteListener writeListener) {
+        throw new UnsupportedOperationException();
+      }
+    });
+  }
+
+  @Test
+  public void buffer_small_output() throws Exception {
+    ServletResponse response = new ServletResponse(servletResponse);
+    response.stream().setMediaType(MimeTypes.JSON);
+    write(response, "{}");
+    response.stream().flush();
+
+    assertThat(response.stream().isCommitted()).isFalse();
+    assertThat(response.stream().outputAsString()).isEqualTo("{}");
+    verifyZeroInteractions(servletResponse);
+  }
+
+  @Test
+  public void write_large_output_to_servlet_response() throws Exception {
+    ServletResponse response = new ServletResponse(servletResponse);
+    response.stream().setMediaType(MimeTypes.JSON).setStatus(201);
+    response.setHeader("foo", "bar");
+    String large = Strings.repeat("a", ServletResponse.BUFFER_SIZE);
+    write(response, large);
+
+    assertThat(response.stream().isCommitted()).isTrue();
+    verify(servletResponse).setStatus(201);
+    verify(servletResponse).setContentType(MimeTypes.JSON);
+    verify(servletResponse).setHeader("foo", "bar");
+    verify(servletResponse, never()).flushBuffer();
+
+    write(response, "end");
+    response.stream().flush();
+
+    assertThat(new String(servletOutput.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(large + "end");
+    assertThat(response.stream().outputAsBytes()).isEmpty();
+    verify(servletResponse).flushBuffer();
+  }
+
+  @Test
+  public void buffer_whole_output_without_servlet_response() throws Exception {
+    ServletResponse response = new ServletResponse();
+    String large = Strings.repeat("a", ServletResponse.BUFFER_SIZE * 2);
+    write(response, large);
+    response.stream().flush();
+
+    assertThat(response.stream().isCommitted()).isFalse();
+    assertThat(response.stream().outputAsString()).isEqualTo(large);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void fail_to_reset_committed_response() throws Exception {
+    ServletResponse response = new ServletResponse(servletResponse);
+    write(response, Strings.repeat("a", ServletResponse.BUFFER_SIZE));
+
+    response.stream().reset();
+  }
+
+  private static void write(ServletResponse response, String s) throws IOException {
+    OutputStream output = response.stream().output();
+    output.write(s.getBytes(StandardCharsets.UTF_8));
+  }
+}
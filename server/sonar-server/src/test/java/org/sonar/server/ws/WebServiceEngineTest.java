@@ -30,12 +30,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.sonar.api.config.Settings;
 import org.sonar.api.i18n.I18n;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.RequestHandler;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
 import org.sonar.api.server.ws.internal.ValidatingRequest;
+import org.sonar.api.utils.System2;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.Errors;
 import org.sonar.server.exceptions.Message;
@@ -95,7 +97,8 @@ public class WebServiceEngineTest {
   @Rule
   public UserSessionRule userSessionRule = UserSessionRule.standalone();
   I18n i18n = mock(I18n.class);
-  WebServiceEngine engine = new WebServiceEngine(new WebService[] {new SystemWs()}, i18n, userSessionRule);
+  WebServiceStatistics statistics = new WebServiceStatistics(new Settings(), System2.INSTANCE);
+  WebServiceEngine engine = new WebServiceEngine(new WebService[] {new SystemWs()}, i18n, userSessionRule, statistics);
 
   @Before
   public void start() {
@@ -131,6 +134,27 @@ public class WebServiceEngineTest {
     assertThat(response.stream().outputAsString()).isEmpty();
   }
 
+  @Test
+  public void record_statistics_of_requests() {
+    engine.execute(new SimpleRequest("GET"), new ServletResponse(), "api/system", "health");
+    engine.execute(new SimpleRequest("GET"), new ServletResponse(), "api/system", "health");
+    engine.execute(new SimpleRequest("GET"), new ServletResponse(), "api/system", "fail");
+    engine.execute(new SimpleRequest("GET"), new ServletResponse(), "api/xxx", "health");
+
+    assertThat(statistics.requests()).isEqualTo(3);
+    assertThat(statistics.requestsInProgress()).isZero();
+    assertThat(statistics.actions()).extracting("path").containsOnly("api/system/health", "api/system/fail");
+    for (WebServiceStatistics.ActionStatistics action : statistics.actions()) {
+      if (action.path().equals("api/system/fail")) {
+        assertThat(action.requests()).isEqualTo(1);
+        assertThat(action.failures()).isEqualTo(1);
+      } else {
+        assertThat(action.requests()).isEqualTo(2);
+        assertThat(action.failures()).isZero();
+      }
+    }
+  }
+
   @Test
   public void bad_controller() {
     ValidatingRequest request = new SimpleRequest("GET");
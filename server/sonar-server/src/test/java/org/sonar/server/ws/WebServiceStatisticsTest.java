@@ -0,0 +1,91 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.ws;
+
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.utils.System2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WebServiceStatisticsTest {
+
+  System2 system2 = mock(System2.class);
+
+  @Test
+  public void record_requests_by_action() {
+    WebServiceStatistics sut = new WebServiceStatistics(new Settings(), system2);
+
+    when(system2.now()).thenReturn(1000L);
+    long startedAt1 = sut.requestStarted("api/issues/search");
+    long startedAt2 = sut.requestStarted("api/issues/search");
+    long startedAt3 = sut.requestStarted("api/rules/search");
+    assertThat(sut.requestsInProgress()).isEqualTo(3);
+
+    when(system2.now()).thenReturn(1010L);
+    sut.requestFinished("api/issues/search", startedAt1, false, "request1");
+    when(system2.now()).thenReturn(1400L);
+    sut.requestFinished("api/issues/search", startedAt2, true, "request2");
+
+    assertThat(sut.requests()).isEqualTo(2);
+    assertThat(sut.requestsInProgress()).isEqualTo(1);
+    assertThat(sut.slowRequests()).isZero();
+
+    // slowest first
+    WebServiceStatistics.ActionStatistics issues = sut.actions().get(0);
+    assertThat(issues.path()).isEqualTo("api/issues/search");
+    assertThat(issues.requests()).isEqualTo(2);
+    assertThat(issues.failures()).isEqualTo(1);
+    assertThat(issues.requestsInProgress()).isZero();
+    assertThat(issues.maxDuration()).isEqualTo(400L);
+    assertThat(issues.percentile(50.0)).isEqualTo(10L);
+    assertThat(issues.percentile(99.0)).isEqualTo(500L);
+
+    WebServiceStatistics.ActionStatistics rules = sut.actions().get(1);
+    assertThat(rules.path()).isEqualTo("api/rules/search");
+    assertThat(rules.requests()).isZero();
+    assertThat(rules.requestsInProgress()).isEqualTo(1);
+
+    sut.requestFinished("api/rules/search", startedAt3, false, "request3");
+    assertThat(sut.requestsInProgress()).isZero();
+  }
+
+  @Test
+  public void count_slow_requests() {
+    WebServiceStatistics sut = new WebServiceStatistics(new Settings().setProperty(WebServiceStatistics.PROPERTY_SLOW_REQUEST_THRESHOLD, 100), system2);
+    assertThat(sut.slowRequestThreshold()).isEqualTo(100L);
+
+    when(system2.now()).thenReturn(1000L);
+    long startedAt = sut.requestStarted("api/issues/search");
+    when(system2.now()).thenReturn(1200L);
+    sut.requestFinished("api/issues/search", startedAt, false, "request");
+
+    assertThat(sut.slowRequests()).isEqualTo(1);
+  }
+
+  @Test
+  public void default_slow_request_threshold() {
+    WebServiceStatistics sut = new WebServiceStatistics(new Settings(), system2);
+
+    assertThat(sut.slowRequestThreshold()).isEqualTo(WebServiceStatistics.DEFAULT_SLOW_REQUEST_THRESHOLD);
+  }
+}
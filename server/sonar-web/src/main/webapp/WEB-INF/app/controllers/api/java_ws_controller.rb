@@ -29,18 +29,22 @@ class Api::JavaWsController < Api::ApiController
 
   def index
     ws_request = Java::OrgSonarServerWs::ServletRequest.new(servlet_request, params.to_java)
-    ws_response = Java::OrgSonarServerWs::ServletResponse.new()
+    ws_response = Java::OrgSonarServerWs::ServletResponse.new(request.env['java.servlet_response'])
     engine = Java::OrgSonarServerPlatform::Platform.component(Java::OrgSonarServerWs::WebServiceEngine.java_class)
     engine.execute(ws_request, ws_response, params[:wspath], params[:wsaction])
 
-    ws_response.getHeaderNames().to_a.each do |name|
-      response.header[name] = ws_response.getHeader(name)
+    if ws_response.stream().isCommitted()
+      # large response is already written to HttpServletResponse, it's ignored by JRuby-Rack
+      render :nothing => true
+    else
+      ws_response.getHeaderNames().to_a.each do |name|
+        response.header[name] = ws_response.getHeader(name)
+      end
+
+      render :text => ws_response.stream().outputAsBytes(),
+             :status => ws_response.stream().httpStatus(),
+             :content_type => ws_response.stream().mediaType()
     end
-
-    # response is already written to HttpServletResponse
-    render :text => ws_response.stream().output().toByteArray(),
-           :status => ws_response.stream().httpStatus(),
-           :content_type => ws_response.stream().mediaType()
   end
 
   def redirect_to_ws_listing
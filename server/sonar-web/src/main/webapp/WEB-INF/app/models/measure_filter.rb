@@ -207,8 +207,7 @@ class MeasureFilter < ActiveRecord::Base
     if result.error
       errors.add_to_base(Api::Utils.message("measure_filter.error.#{result.error}"))
     else
-      rows = result.getRows()
-      snapshot_ids = filter_authorized_snapshot_ids(rows, controller)
+      snapshot_ids = filter_page_snapshot_ids(result)
       base_project = filter_authorized_base_project(base_resource, controller)
       load_results(snapshot_ids, base_project)
     end
@@ -240,16 +239,14 @@ class MeasureFilter < ActiveRecord::Base
     controller.has_role?(:user, base_resource) ? base_resource : nil
   end
 
-  def filter_authorized_snapshot_ids(rows, controller)
-    project_ids = rows.map { |row| row.getResourceRootId() }.compact.uniq
-    authorized_project_ids = controller.select_authorized(:user, project_ids)
-    snapshot_ids = rows.map { |row| row.getSnapshotId() if authorized_project_ids.include?(row.getResourceRootId()) }.compact
-    @security_exclusions = (snapshot_ids.size<rows.size)
+  # rows are already restricted to the authorized projects and paginated by the measure filter engine
+  def filter_page_snapshot_ids(result)
+    @security_exclusions = result.hasSecurityExclusions()
     @pagination = Api::Pagination.new
     @pagination.per_page=(criteria(:pageSize)||999999).to_i
     @pagination.page=(criteria(:page)||1).to_i
-    @pagination.count = snapshot_ids.size
-    snapshot_ids[@pagination.offset ... (@pagination.offset+@pagination.limit)] || []
+    @pagination.count = result.getTotal()
+    result.getRows().map { |row| row.getSnapshotId() }
   end
 
   def load_results(snapshot_ids, base_resource)
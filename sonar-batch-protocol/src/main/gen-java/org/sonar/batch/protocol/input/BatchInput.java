@@ -2851,6 +2851,6498 @@ public final class BatchInput {
     // @@protoc_insertion_point(class_scope:User)
   }
 
+  public interface ProjectRepositoriesHeaderOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ProjectRepositoriesHeader)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional int64 timestamp = 1;</code>
+     */
+    boolean hasTimestamp();
+    /**
+     * <code>optional int64 timestamp = 1;</code>
+     */
+    long getTimestamp();
+
+    /**
+     * <code>optional int64 last_analysis_date = 2;</code>
+     */
+    boolean hasLastAnalysisDate();
+    /**
+     * <code>optional int64 last_analysis_date = 2;</code>
+     */
+    long getLastAnalysisDate();
+
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    java.util.List<org.sonar.batch.protocol.input.BatchInput.ModuleSetting> 
+        getSettingList();
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ModuleSetting getSetting(int index);
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    int getSettingCount();
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder> 
+        getSettingOrBuilderList();
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder getSettingOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    java.util.List<org.sonar.batch.protocol.input.BatchInput.QProfile> 
+        getQprofileList();
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.QProfile getQprofile(int index);
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    int getQprofileCount();
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder> 
+        getQprofileOrBuilderList();
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder getQprofileOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRule> 
+        getActiveRuleList();
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ActiveRule getActiveRule(int index);
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    int getActiveRuleCount();
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder> 
+        getActiveRuleOrBuilderList();
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder getActiveRuleOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code ProjectRepositoriesHeader}
+   */
+  public static final class ProjectRepositoriesHeader extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:ProjectRepositoriesHeader)
+      ProjectRepositoriesHeaderOrBuilder {
+    // Use ProjectRepositoriesHeader.newBuilder() to construct.
+    private ProjectRepositoriesHeader(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private ProjectRepositoriesHeader(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final ProjectRepositoriesHeader defaultInstance;
+    public static ProjectRepositoriesHeader getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public ProjectRepositoriesHeader getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ProjectRepositoriesHeader(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              timestamp_ = input.readInt64();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              lastAnalysisDate_ = input.readInt64();
+              break;
+            }
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                setting_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.ModuleSetting>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              setting_.add(input.readMessage(org.sonar.batch.protocol.input.BatchInput.ModuleSetting.PARSER, extensionRegistry));
+              break;
+            }
+            case 34: {
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                qprofile_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.QProfile>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              qprofile_.add(input.readMessage(org.sonar.batch.protocol.input.BatchInput.QProfile.PARSER, extensionRegistry));
+              break;
+            }
+            case 42: {
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+                activeRule_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.ActiveRule>();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              activeRule_.add(input.readMessage(org.sonar.batch.protocol.input.BatchInput.ActiveRule.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          setting_ = java.util.Collections.unmodifiableList(setting_);
+        }
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          qprofile_ = java.util.Collections.unmodifiableList(qprofile_);
+        }
+        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+          activeRule_ = java.util.Collections.unmodifiableList(activeRule_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesHeader_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesHeader_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<ProjectRepositoriesHeader> PARSER =
+        new com.google.protobuf.AbstractParser<ProjectRepositoriesHeader>() {
+      public ProjectRepositoriesHeader parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ProjectRepositoriesHeader(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ProjectRepositoriesHeader> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int TIMESTAMP_FIELD_NUMBER = 1;
+    private long timestamp_;
+    /**
+     * <code>optional int64 timestamp = 1;</code>
+     */
+    public boolean hasTimestamp() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional int64 timestamp = 1;</code>
+     */
+    public long getTimestamp() {
+      return timestamp_;
+    }
+
+    public static final int LAST_ANALYSIS_DATE_FIELD_NUMBER = 2;
+    private long lastAnalysisDate_;
+    /**
+     * <code>optional int64 last_analysis_date = 2;</code>
+     */
+    public boolean hasLastAnalysisDate() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional int64 last_analysis_date = 2;</code>
+     */
+    public long getLastAnalysisDate() {
+      return lastAnalysisDate_;
+    }
+
+    public static final int SETTING_FIELD_NUMBER = 3;
+    private java.util.List<org.sonar.batch.protocol.input.BatchInput.ModuleSetting> setting_;
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    public java.util.List<org.sonar.batch.protocol.input.BatchInput.ModuleSetting> getSettingList() {
+      return setting_;
+    }
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder> 
+        getSettingOrBuilderList() {
+      return setting_;
+    }
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    public int getSettingCount() {
+      return setting_.size();
+    }
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ModuleSetting getSetting(int index) {
+      return setting_.get(index);
+    }
+    /**
+     * <code>repeated .ModuleSetting setting = 3;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder getSettingOrBuilder(
+        int index) {
+      return setting_.get(index);
+    }
+
+    public static final int QPROFILE_FIELD_NUMBER = 4;
+    private java.util.List<org.sonar.batch.protocol.input.BatchInput.QProfile> qprofile_;
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    public java.util.List<org.sonar.batch.protocol.input.BatchInput.QProfile> getQprofileList() {
+      return qprofile_;
+    }
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder> 
+        getQprofileOrBuilderList() {
+      return qprofile_;
+    }
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    public int getQprofileCount() {
+      return qprofile_.size();
+    }
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.QProfile getQprofile(int index) {
+      return qprofile_.get(index);
+    }
+    /**
+     * <code>repeated .QProfile qprofile = 4;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder getQprofileOrBuilder(
+        int index) {
+      return qprofile_.get(index);
+    }
+
+    public static final int ACTIVE_RULE_FIELD_NUMBER = 5;
+    private java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRule> activeRule_;
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    public java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRule> getActiveRuleList() {
+      return activeRule_;
+    }
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder> 
+        getActiveRuleOrBuilderList() {
+      return activeRule_;
+    }
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    public int getActiveRuleCount() {
+      return activeRule_.size();
+    }
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ActiveRule getActiveRule(int index) {
+      return activeRule_.get(index);
+    }
+    /**
+     * <code>repeated .ActiveRule active_rule = 5;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder getActiveRuleOrBuilder(
+        int index) {
+      return activeRule_.get(index);
+    }
+
+    private void initFields() {
+      timestamp_ = 0L;
+      lastAnalysisDate_ = 0L;
+      setting_ = java.util.Collections.emptyList();
+      qprofile_ = java.util.Collections.emptyList();
+      activeRule_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, timestamp_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeInt64(2, lastAnalysisDate_);
+      }
+      for (int i = 0; i < setting_.size(); i++) {
+        output.writeMessage(3, setting_.get(i));
+      }
+      for (int i = 0; i < qprofile_.size(); i++) {
+        output.writeMessage(4, qprofile_.get(i));
+      }
+      for (int i = 0; i < activeRule_.size(); i++) {
+        output.writeMessage(5, activeRule_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, timestamp_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(2, lastAnalysisDate_);
+      }
+      for (int i = 0; i < setting_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, setting_.get(i));
+      }
+      for (int i = 0; i < qprofile_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, qprofile_.get(i));
+      }
+      for (int i = 0; i < activeRule_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, activeRule_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code ProjectRepositoriesHeader}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ProjectRepositoriesHeader)
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeaderOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesHeader_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesHeader_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getSettingFieldBuilder();
+          getQprofileFieldBuilder();
+          getActiveRuleFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        timestamp_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        lastAnalysisDate_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        if (settingBuilder_ == null) {
+          setting_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        } else {
+          settingBuilder_.clear();
+        }
+        if (qprofileBuilder_ == null) {
+          qprofile_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000008);
+        } else {
+          qprofileBuilder_.clear();
+        }
+        if (activeRuleBuilder_ == null) {
+          activeRule_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        } else {
+          activeRuleBuilder_.clear();
+        }
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesHeader_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader build() {
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader result = new org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.timestamp_ = timestamp_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.lastAnalysisDate_ = lastAnalysisDate_;
+        if (settingBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            setting_ = java.util.Collections.unmodifiableList(setting_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.setting_ = setting_;
+        } else {
+          result.setting_ = settingBuilder_.build();
+        }
+        if (qprofileBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) == 0x00000008)) {
+            qprofile_ = java.util.Collections.unmodifiableList(qprofile_);
+            bitField0_ = (bitField0_ & ~0x00000008);
+          }
+          result.qprofile_ = qprofile_;
+        } else {
+          result.qprofile_ = qprofileBuilder_.build();
+        }
+        if (activeRuleBuilder_ == null) {
+          if (((bitField0_ & 0x00000010) == 0x00000010)) {
+            activeRule_ = java.util.Collections.unmodifiableList(activeRule_);
+            bitField0_ = (bitField0_ & ~0x00000010);
+          }
+          result.activeRule_ = activeRule_;
+        } else {
+          result.activeRule_ = activeRuleBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader.getDefaultInstance()) return this;
+        if (other.hasTimestamp()) {
+          setTimestamp(other.getTimestamp());
+        }
+        if (other.hasLastAnalysisDate()) {
+          setLastAnalysisDate(other.getLastAnalysisDate());
+        }
+        if (settingBuilder_ == null) {
+          if (!other.setting_.isEmpty()) {
+            if (setting_.isEmpty()) {
+              setting_ = other.setting_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureSettingIsMutable();
+              setting_.addAll(other.setting_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.setting_.isEmpty()) {
+            if (settingBuilder_.isEmpty()) {
+              settingBuilder_.dispose();
+              settingBuilder_ = null;
+              setting_ = other.setting_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              settingBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getSettingFieldBuilder() : null;
+            } else {
+              settingBuilder_.addAllMessages(other.setting_);
+            }
+          }
+        }
+        if (qprofileBuilder_ == null) {
+          if (!other.qprofile_.isEmpty()) {
+            if (qprofile_.isEmpty()) {
+              qprofile_ = other.qprofile_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+            } else {
+              ensureQprofileIsMutable();
+              qprofile_.addAll(other.qprofile_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.qprofile_.isEmpty()) {
+            if (qprofileBuilder_.isEmpty()) {
+              qprofileBuilder_.dispose();
+              qprofileBuilder_ = null;
+              qprofile_ = other.qprofile_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+              qprofileBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getQprofileFieldBuilder() : null;
+            } else {
+              qprofileBuilder_.addAllMessages(other.qprofile_);
+            }
+          }
+        }
+        if (activeRuleBuilder_ == null) {
+          if (!other.activeRule_.isEmpty()) {
+            if (activeRule_.isEmpty()) {
+              activeRule_ = other.activeRule_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+            } else {
+              ensureActiveRuleIsMutable();
+              activeRule_.addAll(other.activeRule_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.activeRule_.isEmpty()) {
+            if (activeRuleBuilder_.isEmpty()) {
+              activeRuleBuilder_.dispose();
+              activeRuleBuilder_ = null;
+              activeRule_ = other.activeRule_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+              activeRuleBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getActiveRuleFieldBuilder() : null;
+            } else {
+              activeRuleBuilder_.addAllMessages(other.activeRule_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesHeader) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private long timestamp_ ;
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      public boolean hasTimestamp() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      public long getTimestamp() {
+        return timestamp_;
+      }
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      public Builder setTimestamp(long value) {
+        bitField0_ |= 0x00000001;
+        timestamp_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      public Builder clearTimestamp() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        timestamp_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long lastAnalysisDate_ ;
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      public boolean hasLastAnalysisDate() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      public long getLastAnalysisDate() {
+        return lastAnalysisDate_;
+      }
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      public Builder setLastAnalysisDate(long value) {
+        bitField0_ |= 0x00000002;
+        lastAnalysisDate_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      public Builder clearLastAnalysisDate() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        lastAnalysisDate_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.sonar.batch.protocol.input.BatchInput.ModuleSetting> setting_ =
+        java.util.Collections.emptyList();
+      private void ensureSettingIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          setting_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.ModuleSetting>(setting_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ModuleSetting, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder, org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder> settingBuilder_;
+
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.ModuleSetting> getSettingList() {
+        if (settingBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(setting_);
+        } else {
+          return settingBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public int getSettingCount() {
+        if (settingBuilder_ == null) {
+          return setting_.size();
+        } else {
+          return settingBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSetting getSetting(int index) {
+        if (settingBuilder_ == null) {
+          return setting_.get(index);
+        } else {
+          return settingBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder setSetting(
+          int index, org.sonar.batch.protocol.input.BatchInput.ModuleSetting value) {
+        if (settingBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureSettingIsMutable();
+          setting_.set(index, value);
+          onChanged();
+        } else {
+          settingBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder setSetting(
+          int index, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder builderForValue) {
+        if (settingBuilder_ == null) {
+          ensureSettingIsMutable();
+          setting_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          settingBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder addSetting(org.sonar.batch.protocol.input.BatchInput.ModuleSetting value) {
+        if (settingBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureSettingIsMutable();
+          setting_.add(value);
+          onChanged();
+        } else {
+          settingBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder addSetting(
+          int index, org.sonar.batch.protocol.input.BatchInput.ModuleSetting value) {
+        if (settingBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureSettingIsMutable();
+          setting_.add(index, value);
+          onChanged();
+        } else {
+          settingBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder addSetting(
+          org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder builderForValue) {
+        if (settingBuilder_ == null) {
+          ensureSettingIsMutable();
+          setting_.add(builderForValue.build());
+          onChanged();
+        } else {
+          settingBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder addSetting(
+          int index, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder builderForValue) {
+        if (settingBuilder_ == null) {
+          ensureSettingIsMutable();
+          setting_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          settingBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder addAllSetting(
+          java.lang.Iterable<? extends org.sonar.batch.protocol.input.BatchInput.ModuleSetting> values) {
+        if (settingBuilder_ == null) {
+          ensureSettingIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, setting_);
+          onChanged();
+        } else {
+          settingBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder clearSetting() {
+        if (settingBuilder_ == null) {
+          setting_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          settingBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public Builder removeSetting(int index) {
+        if (settingBuilder_ == null) {
+          ensureSettingIsMutable();
+          setting_.remove(index);
+          onChanged();
+        } else {
+          settingBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder getSettingBuilder(
+          int index) {
+        return getSettingFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder getSettingOrBuilder(
+          int index) {
+        if (settingBuilder_ == null) {
+          return setting_.get(index);  } else {
+          return settingBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder> 
+           getSettingOrBuilderList() {
+        if (settingBuilder_ != null) {
+          return settingBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(setting_);
+        }
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder addSettingBuilder() {
+        return getSettingFieldBuilder().addBuilder(
+            org.sonar.batch.protocol.input.BatchInput.ModuleSetting.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder addSettingBuilder(
+          int index) {
+        return getSettingFieldBuilder().addBuilder(
+            index, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ModuleSetting setting = 3;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder> 
+           getSettingBuilderList() {
+        return getSettingFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ModuleSetting, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder, org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder> 
+          getSettingFieldBuilder() {
+        if (settingBuilder_ == null) {
+          settingBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.ModuleSetting, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder, org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder>(
+                  setting_,
+                  ((bitField0_ & 0x00000004) == 0x00000004),
+                  getParentForChildren(),
+                  isClean());
+          setting_ = null;
+        }
+        return settingBuilder_;
+      }
+
+      private java.util.List<org.sonar.batch.protocol.input.BatchInput.QProfile> qprofile_ =
+        java.util.Collections.emptyList();
+      private void ensureQprofileIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          qprofile_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.QProfile>(qprofile_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.QProfile, org.sonar.batch.protocol.input.BatchInput.QProfile.Builder, org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder> qprofileBuilder_;
+
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.QProfile> getQprofileList() {
+        if (qprofileBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(qprofile_);
+        } else {
+          return qprofileBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public int getQprofileCount() {
+        if (qprofileBuilder_ == null) {
+          return qprofile_.size();
+        } else {
+          return qprofileBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.QProfile getQprofile(int index) {
+        if (qprofileBuilder_ == null) {
+          return qprofile_.get(index);
+        } else {
+          return qprofileBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder setQprofile(
+          int index, org.sonar.batch.protocol.input.BatchInput.QProfile value) {
+        if (qprofileBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureQprofileIsMutable();
+          qprofile_.set(index, value);
+          onChanged();
+        } else {
+          qprofileBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder setQprofile(
+          int index, org.sonar.batch.protocol.input.BatchInput.QProfile.Builder builderForValue) {
+        if (qprofileBuilder_ == null) {
+          ensureQprofileIsMutable();
+          qprofile_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          qprofileBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder addQprofile(org.sonar.batch.protocol.input.BatchInput.QProfile value) {
+        if (qprofileBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureQprofileIsMutable();
+          qprofile_.add(value);
+          onChanged();
+        } else {
+          qprofileBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder addQprofile(
+          int index, org.sonar.batch.protocol.input.BatchInput.QProfile value) {
+        if (qprofileBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureQprofileIsMutable();
+          qprofile_.add(index, value);
+          onChanged();
+        } else {
+          qprofileBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder addQprofile(
+          org.sonar.batch.protocol.input.BatchInput.QProfile.Builder builderForValue) {
+        if (qprofileBuilder_ == null) {
+          ensureQprofileIsMutable();
+          qprofile_.add(builderForValue.build());
+          onChanged();
+        } else {
+          qprofileBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder addQprofile(
+          int index, org.sonar.batch.protocol.input.BatchInput.QProfile.Builder builderForValue) {
+        if (qprofileBuilder_ == null) {
+          ensureQprofileIsMutable();
+          qprofile_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          qprofileBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder addAllQprofile(
+          java.lang.Iterable<? extends org.sonar.batch.protocol.input.BatchInput.QProfile> values) {
+        if (qprofileBuilder_ == null) {
+          ensureQprofileIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, qprofile_);
+          onChanged();
+        } else {
+          qprofileBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder clearQprofile() {
+        if (qprofileBuilder_ == null) {
+          qprofile_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000008);
+          onChanged();
+        } else {
+          qprofileBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public Builder removeQprofile(int index) {
+        if (qprofileBuilder_ == null) {
+          ensureQprofileIsMutable();
+          qprofile_.remove(index);
+          onChanged();
+        } else {
+          qprofileBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.QProfile.Builder getQprofileBuilder(
+          int index) {
+        return getQprofileFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder getQprofileOrBuilder(
+          int index) {
+        if (qprofileBuilder_ == null) {
+          return qprofile_.get(index);  } else {
+          return qprofileBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder> 
+           getQprofileOrBuilderList() {
+        if (qprofileBuilder_ != null) {
+          return qprofileBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(qprofile_);
+        }
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.QProfile.Builder addQprofileBuilder() {
+        return getQprofileFieldBuilder().addBuilder(
+            org.sonar.batch.protocol.input.BatchInput.QProfile.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.QProfile.Builder addQprofileBuilder(
+          int index) {
+        return getQprofileFieldBuilder().addBuilder(
+            index, org.sonar.batch.protocol.input.BatchInput.QProfile.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .QProfile qprofile = 4;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.QProfile.Builder> 
+           getQprofileBuilderList() {
+        return getQprofileFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.QProfile, org.sonar.batch.protocol.input.BatchInput.QProfile.Builder, org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder> 
+          getQprofileFieldBuilder() {
+        if (qprofileBuilder_ == null) {
+          qprofileBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.QProfile, org.sonar.batch.protocol.input.BatchInput.QProfile.Builder, org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder>(
+                  qprofile_,
+                  ((bitField0_ & 0x00000008) == 0x00000008),
+                  getParentForChildren(),
+                  isClean());
+          qprofile_ = null;
+        }
+        return qprofileBuilder_;
+      }
+
+      private java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRule> activeRule_ =
+        java.util.Collections.emptyList();
+      private void ensureActiveRuleIsMutable() {
+        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+          activeRule_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.ActiveRule>(activeRule_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ActiveRule, org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder, org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder> activeRuleBuilder_;
+
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRule> getActiveRuleList() {
+        if (activeRuleBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(activeRule_);
+        } else {
+          return activeRuleBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public int getActiveRuleCount() {
+        if (activeRuleBuilder_ == null) {
+          return activeRule_.size();
+        } else {
+          return activeRuleBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRule getActiveRule(int index) {
+        if (activeRuleBuilder_ == null) {
+          return activeRule_.get(index);
+        } else {
+          return activeRuleBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder setActiveRule(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRule value) {
+        if (activeRuleBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureActiveRuleIsMutable();
+          activeRule_.set(index, value);
+          onChanged();
+        } else {
+          activeRuleBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder setActiveRule(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder builderForValue) {
+        if (activeRuleBuilder_ == null) {
+          ensureActiveRuleIsMutable();
+          activeRule_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          activeRuleBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder addActiveRule(org.sonar.batch.protocol.input.BatchInput.ActiveRule value) {
+        if (activeRuleBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureActiveRuleIsMutable();
+          activeRule_.add(value);
+          onChanged();
+        } else {
+          activeRuleBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder addActiveRule(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRule value) {
+        if (activeRuleBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureActiveRuleIsMutable();
+          activeRule_.add(index, value);
+          onChanged();
+        } else {
+          activeRuleBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder addActiveRule(
+          org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder builderForValue) {
+        if (activeRuleBuilder_ == null) {
+          ensureActiveRuleIsMutable();
+          activeRule_.add(builderForValue.build());
+          onChanged();
+        } else {
+          activeRuleBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder addActiveRule(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder builderForValue) {
+        if (activeRuleBuilder_ == null) {
+          ensureActiveRuleIsMutable();
+          activeRule_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          activeRuleBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder addAllActiveRule(
+          java.lang.Iterable<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRule> values) {
+        if (activeRuleBuilder_ == null) {
+          ensureActiveRuleIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, activeRule_);
+          onChanged();
+        } else {
+          activeRuleBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder clearActiveRule() {
+        if (activeRuleBuilder_ == null) {
+          activeRule_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000010);
+          onChanged();
+        } else {
+          activeRuleBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public Builder removeActiveRule(int index) {
+        if (activeRuleBuilder_ == null) {
+          ensureActiveRuleIsMutable();
+          activeRule_.remove(index);
+          onChanged();
+        } else {
+          activeRuleBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder getActiveRuleBuilder(
+          int index) {
+        return getActiveRuleFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder getActiveRuleOrBuilder(
+          int index) {
+        if (activeRuleBuilder_ == null) {
+          return activeRule_.get(index);  } else {
+          return activeRuleBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder> 
+           getActiveRuleOrBuilderList() {
+        if (activeRuleBuilder_ != null) {
+          return activeRuleBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(activeRule_);
+        }
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder addActiveRuleBuilder() {
+        return getActiveRuleFieldBuilder().addBuilder(
+            org.sonar.batch.protocol.input.BatchInput.ActiveRule.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder addActiveRuleBuilder(
+          int index) {
+        return getActiveRuleFieldBuilder().addBuilder(
+            index, org.sonar.batch.protocol.input.BatchInput.ActiveRule.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ActiveRule active_rule = 5;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder> 
+           getActiveRuleBuilderList() {
+        return getActiveRuleFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ActiveRule, org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder, org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder> 
+          getActiveRuleFieldBuilder() {
+        if (activeRuleBuilder_ == null) {
+          activeRuleBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.ActiveRule, org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder, org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder>(
+                  activeRule_,
+                  ((bitField0_ & 0x00000010) == 0x00000010),
+                  getParentForChildren(),
+                  isClean());
+          activeRule_ = null;
+        }
+        return activeRuleBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ProjectRepositoriesHeader)
+    }
+
+    static {
+      defaultInstance = new ProjectRepositoriesHeader(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ProjectRepositoriesHeader)
+  }
+
+  public interface ModuleSettingOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ModuleSetting)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    boolean hasModuleKey();
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    java.lang.String getModuleKey();
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getModuleKeyBytes();
+
+    /**
+     * <code>optional string key = 2;</code>
+     */
+    boolean hasKey();
+    /**
+     * <code>optional string key = 2;</code>
+     */
+    java.lang.String getKey();
+    /**
+     * <code>optional string key = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
+
+    /**
+     * <code>optional string value = 3;</code>
+     */
+    boolean hasValue();
+    /**
+     * <code>optional string value = 3;</code>
+     */
+    java.lang.String getValue();
+    /**
+     * <code>optional string value = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getValueBytes();
+  }
+  /**
+   * Protobuf type {@code ModuleSetting}
+   */
+  public static final class ModuleSetting extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:ModuleSetting)
+      ModuleSettingOrBuilder {
+    // Use ModuleSetting.newBuilder() to construct.
+    private ModuleSetting(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private ModuleSetting(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final ModuleSetting defaultInstance;
+    public static ModuleSetting getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public ModuleSetting getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ModuleSetting(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              moduleKey_ = bs;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              key_ = bs;
+              break;
+            }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000004;
+              value_ = bs;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ModuleSetting_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ModuleSetting_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.ModuleSetting.class, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<ModuleSetting> PARSER =
+        new com.google.protobuf.AbstractParser<ModuleSetting>() {
+      public ModuleSetting parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ModuleSetting(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ModuleSetting> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int MODULE_KEY_FIELD_NUMBER = 1;
+    private java.lang.Object moduleKey_;
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    public boolean hasModuleKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    public java.lang.String getModuleKey() {
+      java.lang.Object ref = moduleKey_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          moduleKey_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getModuleKeyBytes() {
+      java.lang.Object ref = moduleKey_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        moduleKey_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int KEY_FIELD_NUMBER = 2;
+    private java.lang.Object key_;
+    /**
+     * <code>optional string key = 2;</code>
+     */
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string key = 2;</code>
+     */
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          key_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string key = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 3;
+    private java.lang.Object value_;
+    /**
+     * <code>optional string value = 3;</code>
+     */
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional string value = 3;</code>
+     */
+    public java.lang.String getValue() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          value_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string value = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getValueBytes() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        value_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private void initFields() {
+      moduleKey_ = "";
+      key_ = "";
+      value_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getModuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, getValueBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getModuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getValueBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ModuleSetting parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ModuleSetting prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code ModuleSetting}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ModuleSetting)
+        org.sonar.batch.protocol.input.BatchInput.ModuleSettingOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ModuleSetting_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ModuleSetting_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ModuleSetting.class, org.sonar.batch.protocol.input.BatchInput.ModuleSetting.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.ModuleSetting.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        moduleKey_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        key_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        value_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ModuleSetting_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSetting getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.ModuleSetting.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSetting build() {
+        org.sonar.batch.protocol.input.BatchInput.ModuleSetting result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ModuleSetting buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.ModuleSetting result = new org.sonar.batch.protocol.input.BatchInput.ModuleSetting(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.moduleKey_ = moduleKey_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.value_ = value_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.ModuleSetting) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ModuleSetting)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ModuleSetting other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.ModuleSetting.getDefaultInstance()) return this;
+        if (other.hasModuleKey()) {
+          bitField0_ |= 0x00000001;
+          moduleKey_ = other.moduleKey_;
+          onChanged();
+        }
+        if (other.hasKey()) {
+          bitField0_ |= 0x00000002;
+          key_ = other.key_;
+          onChanged();
+        }
+        if (other.hasValue()) {
+          bitField0_ |= 0x00000004;
+          value_ = other.value_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.ModuleSetting parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ModuleSetting) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object moduleKey_ = "";
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public boolean hasModuleKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public java.lang.String getModuleKey() {
+        java.lang.Object ref = moduleKey_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            moduleKey_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getModuleKeyBytes() {
+        java.lang.Object ref = moduleKey_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          moduleKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public Builder setModuleKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        moduleKey_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public Builder clearModuleKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        moduleKey_ = getDefaultInstance().getModuleKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public Builder setModuleKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        moduleKey_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object key_ = "";
+      /**
+       * <code>optional string key = 2;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string key = 2;</code>
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            key_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 2;</code>
+       */
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 2;</code>
+       */
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 2;</code>
+       */
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object value_ = "";
+      /**
+       * <code>optional string value = 3;</code>
+       */
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string value = 3;</code>
+       */
+      public java.lang.String getValue() {
+        java.lang.Object ref = value_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            value_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getValueBytes() {
+        java.lang.Object ref = value_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          value_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 3;</code>
+       */
+      public Builder setValue(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 3;</code>
+       */
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 3;</code>
+       */
+      public Builder setValueBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ModuleSetting)
+    }
+
+    static {
+      defaultInstance = new ModuleSetting(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ModuleSetting)
+  }
+
+  public interface QProfileOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:QProfile)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    boolean hasKey();
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    java.lang.String getKey();
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
+
+    /**
+     * <code>optional string name = 2;</code>
+     */
+    boolean hasName();
+    /**
+     * <code>optional string name = 2;</code>
+     */
+    java.lang.String getName();
+    /**
+     * <code>optional string name = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getNameBytes();
+
+    /**
+     * <code>optional string language = 3;</code>
+     */
+    boolean hasLanguage();
+    /**
+     * <code>optional string language = 3;</code>
+     */
+    java.lang.String getLanguage();
+    /**
+     * <code>optional string language = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getLanguageBytes();
+
+    /**
+     * <code>optional int64 rules_updated_at = 4;</code>
+     */
+    boolean hasRulesUpdatedAt();
+    /**
+     * <code>optional int64 rules_updated_at = 4;</code>
+     */
+    long getRulesUpdatedAt();
+  }
+  /**
+   * Protobuf type {@code QProfile}
+   */
+  public static final class QProfile extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:QProfile)
+      QProfileOrBuilder {
+    // Use QProfile.newBuilder() to construct.
+    private QProfile(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private QProfile(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final QProfile defaultInstance;
+    public static QProfile getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public QProfile getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private QProfile(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              key_ = bs;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              name_ = bs;
+              break;
+            }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000004;
+              language_ = bs;
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000008;
+              rulesUpdatedAt_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_QProfile_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_QProfile_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.QProfile.class, org.sonar.batch.protocol.input.BatchInput.QProfile.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<QProfile> PARSER =
+        new com.google.protobuf.AbstractParser<QProfile>() {
+      public QProfile parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new QProfile(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<QProfile> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int KEY_FIELD_NUMBER = 1;
+    private java.lang.Object key_;
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          key_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int NAME_FIELD_NUMBER = 2;
+    private java.lang.Object name_;
+    /**
+     * <code>optional string name = 2;</code>
+     */
+    public boolean hasName() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string name = 2;</code>
+     */
+    public java.lang.String getName() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          name_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string name = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getNameBytes() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        name_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int LANGUAGE_FIELD_NUMBER = 3;
+    private java.lang.Object language_;
+    /**
+     * <code>optional string language = 3;</code>
+     */
+    public boolean hasLanguage() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional string language = 3;</code>
+     */
+    public java.lang.String getLanguage() {
+      java.lang.Object ref = language_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          language_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string language = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getLanguageBytes() {
+      java.lang.Object ref = language_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        language_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int RULES_UPDATED_AT_FIELD_NUMBER = 4;
+    private long rulesUpdatedAt_;
+    /**
+     * <code>optional int64 rules_updated_at = 4;</code>
+     */
+    public boolean hasRulesUpdatedAt() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional int64 rules_updated_at = 4;</code>
+     */
+    public long getRulesUpdatedAt() {
+      return rulesUpdatedAt_;
+    }
+
+    private void initFields() {
+      key_ = "";
+      name_ = "";
+      language_ = "";
+      rulesUpdatedAt_ = 0L;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getNameBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, getLanguageBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeInt64(4, rulesUpdatedAt_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getNameBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getLanguageBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(4, rulesUpdatedAt_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.QProfile parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.QProfile prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code QProfile}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:QProfile)
+        org.sonar.batch.protocol.input.BatchInput.QProfileOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_QProfile_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_QProfile_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.QProfile.class, org.sonar.batch.protocol.input.BatchInput.QProfile.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.QProfile.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        key_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        name_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        language_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        rulesUpdatedAt_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_QProfile_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.QProfile getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.QProfile.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.QProfile build() {
+        org.sonar.batch.protocol.input.BatchInput.QProfile result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.QProfile buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.QProfile result = new org.sonar.batch.protocol.input.BatchInput.QProfile(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.name_ = name_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.language_ = language_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.rulesUpdatedAt_ = rulesUpdatedAt_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.QProfile) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.QProfile)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.QProfile other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.QProfile.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          bitField0_ |= 0x00000001;
+          key_ = other.key_;
+          onChanged();
+        }
+        if (other.hasName()) {
+          bitField0_ |= 0x00000002;
+          name_ = other.name_;
+          onChanged();
+        }
+        if (other.hasLanguage()) {
+          bitField0_ |= 0x00000004;
+          language_ = other.language_;
+          onChanged();
+        }
+        if (other.hasRulesUpdatedAt()) {
+          setRulesUpdatedAt(other.getRulesUpdatedAt());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.QProfile parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.QProfile) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object key_ = "";
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            key_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object name_ = "";
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public boolean hasName() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public java.lang.String getName() {
+        java.lang.Object ref = name_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            name_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getNameBytes() {
+        java.lang.Object ref = name_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          name_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public Builder setName(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        name_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public Builder clearName() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        name_ = getDefaultInstance().getName();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public Builder setNameBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        name_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object language_ = "";
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public boolean hasLanguage() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public java.lang.String getLanguage() {
+        java.lang.Object ref = language_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            language_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getLanguageBytes() {
+        java.lang.Object ref = language_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          language_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public Builder setLanguage(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        language_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public Builder clearLanguage() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        language_ = getDefaultInstance().getLanguage();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public Builder setLanguageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        language_ = value;
+        onChanged();
+        return this;
+      }
+
+      private long rulesUpdatedAt_ ;
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      public boolean hasRulesUpdatedAt() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      public long getRulesUpdatedAt() {
+        return rulesUpdatedAt_;
+      }
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      public Builder setRulesUpdatedAt(long value) {
+        bitField0_ |= 0x00000008;
+        rulesUpdatedAt_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      public Builder clearRulesUpdatedAt() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        rulesUpdatedAt_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:QProfile)
+    }
+
+    static {
+      defaultInstance = new QProfile(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:QProfile)
+  }
+
+  public interface ActiveRuleOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ActiveRule)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string repository_key = 1;</code>
+     */
+    boolean hasRepositoryKey();
+    /**
+     * <code>optional string repository_key = 1;</code>
+     */
+    java.lang.String getRepositoryKey();
+    /**
+     * <code>optional string repository_key = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getRepositoryKeyBytes();
+
+    /**
+     * <code>optional string rule_key = 2;</code>
+     */
+    boolean hasRuleKey();
+    /**
+     * <code>optional string rule_key = 2;</code>
+     */
+    java.lang.String getRuleKey();
+    /**
+     * <code>optional string rule_key = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getRuleKeyBytes();
+
+    /**
+     * <code>optional string template_rule_key = 3;</code>
+     */
+    boolean hasTemplateRuleKey();
+    /**
+     * <code>optional string template_rule_key = 3;</code>
+     */
+    java.lang.String getTemplateRuleKey();
+    /**
+     * <code>optional string template_rule_key = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getTemplateRuleKeyBytes();
+
+    /**
+     * <code>optional string name = 4;</code>
+     */
+    boolean hasName();
+    /**
+     * <code>optional string name = 4;</code>
+     */
+    java.lang.String getName();
+    /**
+     * <code>optional string name = 4;</code>
+     */
+    com.google.protobuf.ByteString
+        getNameBytes();
+
+    /**
+     * <code>optional string severity = 5;</code>
+     */
+    boolean hasSeverity();
+    /**
+     * <code>optional string severity = 5;</code>
+     */
+    java.lang.String getSeverity();
+    /**
+     * <code>optional string severity = 5;</code>
+     */
+    com.google.protobuf.ByteString
+        getSeverityBytes();
+
+    /**
+     * <code>optional string internal_key = 6;</code>
+     */
+    boolean hasInternalKey();
+    /**
+     * <code>optional string internal_key = 6;</code>
+     */
+    java.lang.String getInternalKey();
+    /**
+     * <code>optional string internal_key = 6;</code>
+     */
+    com.google.protobuf.ByteString
+        getInternalKeyBytes();
+
+    /**
+     * <code>optional string language = 7;</code>
+     */
+    boolean hasLanguage();
+    /**
+     * <code>optional string language = 7;</code>
+     */
+    java.lang.String getLanguage();
+    /**
+     * <code>optional string language = 7;</code>
+     */
+    com.google.protobuf.ByteString
+        getLanguageBytes();
+
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam> 
+        getParamList();
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam getParam(int index);
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    int getParamCount();
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder> 
+        getParamOrBuilderList();
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder getParamOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code ActiveRule}
+   */
+  public static final class ActiveRule extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:ActiveRule)
+      ActiveRuleOrBuilder {
+    // Use ActiveRule.newBuilder() to construct.
+    private ActiveRule(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private ActiveRule(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final ActiveRule defaultInstance;
+    public static ActiveRule getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public ActiveRule getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ActiveRule(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              repositoryKey_ = bs;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              ruleKey_ = bs;
+              break;
+            }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000004;
+              templateRuleKey_ = bs;
+              break;
+            }
+            case 34: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000008;
+              name_ = bs;
+              break;
+            }
+            case 42: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000010;
+              severity_ = bs;
+              break;
+            }
+            case 50: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000020;
+              internalKey_ = bs;
+              break;
+            }
+            case 58: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000040;
+              language_ = bs;
+              break;
+            }
+            case 66: {
+              if (!((mutable_bitField0_ & 0x00000080) == 0x00000080)) {
+                param_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam>();
+                mutable_bitField0_ |= 0x00000080;
+              }
+              param_.add(input.readMessage(org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000080) == 0x00000080)) {
+          param_ = java.util.Collections.unmodifiableList(param_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRule_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRule_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.ActiveRule.class, org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<ActiveRule> PARSER =
+        new com.google.protobuf.AbstractParser<ActiveRule>() {
+      public ActiveRule parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ActiveRule(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ActiveRule> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int REPOSITORY_KEY_FIELD_NUMBER = 1;
+    private java.lang.Object repositoryKey_;
+    /**
+     * <code>optional string repository_key = 1;</code>
+     */
+    public boolean hasRepositoryKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string repository_key = 1;</code>
+     */
+    public java.lang.String getRepositoryKey() {
+      java.lang.Object ref = repositoryKey_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          repositoryKey_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string repository_key = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getRepositoryKeyBytes() {
+      java.lang.Object ref = repositoryKey_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        repositoryKey_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int RULE_KEY_FIELD_NUMBER = 2;
+    private java.lang.Object ruleKey_;
+    /**
+     * <code>optional string rule_key = 2;</code>
+     */
+    public boolean hasRuleKey() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string rule_key = 2;</code>
+     */
+    public java.lang.String getRuleKey() {
+      java.lang.Object ref = ruleKey_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          ruleKey_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string rule_key = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getRuleKeyBytes() {
+      java.lang.Object ref = ruleKey_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        ruleKey_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int TEMPLATE_RULE_KEY_FIELD_NUMBER = 3;
+    private java.lang.Object templateRuleKey_;
+    /**
+     * <code>optional string template_rule_key = 3;</code>
+     */
+    public boolean hasTemplateRuleKey() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional string template_rule_key = 3;</code>
+     */
+    public java.lang.String getTemplateRuleKey() {
+      java.lang.Object ref = templateRuleKey_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          templateRuleKey_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string template_rule_key = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getTemplateRuleKeyBytes() {
+      java.lang.Object ref = templateRuleKey_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        templateRuleKey_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int NAME_FIELD_NUMBER = 4;
+    private java.lang.Object name_;
+    /**
+     * <code>optional string name = 4;</code>
+     */
+    public boolean hasName() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional string name = 4;</code>
+     */
+    public java.lang.String getName() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          name_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string name = 4;</code>
+     */
+    public com.google.protobuf.ByteString
+        getNameBytes() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        name_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int SEVERITY_FIELD_NUMBER = 5;
+    private java.lang.Object severity_;
+    /**
+     * <code>optional string severity = 5;</code>
+     */
+    public boolean hasSeverity() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>optional string severity = 5;</code>
+     */
+    public java.lang.String getSeverity() {
+      java.lang.Object ref = severity_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          severity_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string severity = 5;</code>
+     */
+    public com.google.protobuf.ByteString
+        getSeverityBytes() {
+      java.lang.Object ref = severity_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        severity_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int INTERNAL_KEY_FIELD_NUMBER = 6;
+    private java.lang.Object internalKey_;
+    /**
+     * <code>optional string internal_key = 6;</code>
+     */
+    public boolean hasInternalKey() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional string internal_key = 6;</code>
+     */
+    public java.lang.String getInternalKey() {
+      java.lang.Object ref = internalKey_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          internalKey_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string internal_key = 6;</code>
+     */
+    public com.google.protobuf.ByteString
+        getInternalKeyBytes() {
+      java.lang.Object ref = internalKey_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        internalKey_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int LANGUAGE_FIELD_NUMBER = 7;
+    private java.lang.Object language_;
+    /**
+     * <code>optional string language = 7;</code>
+     */
+    public boolean hasLanguage() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional string language = 7;</code>
+     */
+    public java.lang.String getLanguage() {
+      java.lang.Object ref = language_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          language_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string language = 7;</code>
+     */
+    public com.google.protobuf.ByteString
+        getLanguageBytes() {
+      java.lang.Object ref = language_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        language_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int PARAM_FIELD_NUMBER = 8;
+    private java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam> param_;
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    public java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam> getParamList() {
+      return param_;
+    }
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder> 
+        getParamOrBuilderList() {
+      return param_;
+    }
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    public int getParamCount() {
+      return param_.size();
+    }
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam getParam(int index) {
+      return param_.get(index);
+    }
+    /**
+     * <code>repeated .ActiveRuleParam param = 8;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder getParamOrBuilder(
+        int index) {
+      return param_.get(index);
+    }
+
+    private void initFields() {
+      repositoryKey_ = "";
+      ruleKey_ = "";
+      templateRuleKey_ = "";
+      name_ = "";
+      severity_ = "";
+      internalKey_ = "";
+      language_ = "";
+      param_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getRepositoryKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getRuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, getTemplateRuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeBytes(4, getNameBytes());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeBytes(5, getSeverityBytes());
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeBytes(6, getInternalKeyBytes());
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeBytes(7, getLanguageBytes());
+      }
+      for (int i = 0; i < param_.size(); i++) {
+        output.writeMessage(8, param_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getRepositoryKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getRuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getTemplateRuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(4, getNameBytes());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(5, getSeverityBytes());
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(6, getInternalKeyBytes());
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(7, getLanguageBytes());
+      }
+      for (int i = 0; i < param_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(8, param_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRule parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ActiveRule prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code ActiveRule}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ActiveRule)
+        org.sonar.batch.protocol.input.BatchInput.ActiveRuleOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRule_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRule_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ActiveRule.class, org.sonar.batch.protocol.input.BatchInput.ActiveRule.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.ActiveRule.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getParamFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        repositoryKey_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        ruleKey_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        templateRuleKey_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        name_ = "";
+        bitField0_ = (bitField0_ & ~0x00000008);
+        severity_ = "";
+        bitField0_ = (bitField0_ & ~0x00000010);
+        internalKey_ = "";
+        bitField0_ = (bitField0_ & ~0x00000020);
+        language_ = "";
+        bitField0_ = (bitField0_ & ~0x00000040);
+        if (paramBuilder_ == null) {
+          param_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000080);
+        } else {
+          paramBuilder_.clear();
+        }
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRule_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRule getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.ActiveRule.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRule build() {
+        org.sonar.batch.protocol.input.BatchInput.ActiveRule result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRule buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.ActiveRule result = new org.sonar.batch.protocol.input.BatchInput.ActiveRule(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.repositoryKey_ = repositoryKey_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.ruleKey_ = ruleKey_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.templateRuleKey_ = templateRuleKey_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.name_ = name_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.severity_ = severity_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.internalKey_ = internalKey_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.language_ = language_;
+        if (paramBuilder_ == null) {
+          if (((bitField0_ & 0x00000080) == 0x00000080)) {
+            param_ = java.util.Collections.unmodifiableList(param_);
+            bitField0_ = (bitField0_ & ~0x00000080);
+          }
+          result.param_ = param_;
+        } else {
+          result.param_ = paramBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.ActiveRule) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ActiveRule)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ActiveRule other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.ActiveRule.getDefaultInstance()) return this;
+        if (other.hasRepositoryKey()) {
+          bitField0_ |= 0x00000001;
+          repositoryKey_ = other.repositoryKey_;
+          onChanged();
+        }
+        if (other.hasRuleKey()) {
+          bitField0_ |= 0x00000002;
+          ruleKey_ = other.ruleKey_;
+          onChanged();
+        }
+        if (other.hasTemplateRuleKey()) {
+          bitField0_ |= 0x00000004;
+          templateRuleKey_ = other.templateRuleKey_;
+          onChanged();
+        }
+        if (other.hasName()) {
+          bitField0_ |= 0x00000008;
+          name_ = other.name_;
+          onChanged();
+        }
+        if (other.hasSeverity()) {
+          bitField0_ |= 0x00000010;
+          severity_ = other.severity_;
+          onChanged();
+        }
+        if (other.hasInternalKey()) {
+          bitField0_ |= 0x00000020;
+          internalKey_ = other.internalKey_;
+          onChanged();
+        }
+        if (other.hasLanguage()) {
+          bitField0_ |= 0x00000040;
+          language_ = other.language_;
+          onChanged();
+        }
+        if (paramBuilder_ == null) {
+          if (!other.param_.isEmpty()) {
+            if (param_.isEmpty()) {
+              param_ = other.param_;
+              bitField0_ = (bitField0_ & ~0x00000080);
+            } else {
+              ensureParamIsMutable();
+              param_.addAll(other.param_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.param_.isEmpty()) {
+            if (paramBuilder_.isEmpty()) {
+              paramBuilder_.dispose();
+              paramBuilder_ = null;
+              param_ = other.param_;
+              bitField0_ = (bitField0_ & ~0x00000080);
+              paramBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getParamFieldBuilder() : null;
+            } else {
+              paramBuilder_.addAllMessages(other.param_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.ActiveRule parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ActiveRule) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object repositoryKey_ = "";
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public boolean hasRepositoryKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public java.lang.String getRepositoryKey() {
+        java.lang.Object ref = repositoryKey_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            repositoryKey_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRepositoryKeyBytes() {
+        java.lang.Object ref = repositoryKey_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          repositoryKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public Builder setRepositoryKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        repositoryKey_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public Builder clearRepositoryKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        repositoryKey_ = getDefaultInstance().getRepositoryKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public Builder setRepositoryKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        repositoryKey_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object ruleKey_ = "";
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public boolean hasRuleKey() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public java.lang.String getRuleKey() {
+        java.lang.Object ref = ruleKey_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            ruleKey_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRuleKeyBytes() {
+        java.lang.Object ref = ruleKey_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          ruleKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public Builder setRuleKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        ruleKey_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public Builder clearRuleKey() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        ruleKey_ = getDefaultInstance().getRuleKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public Builder setRuleKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        ruleKey_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object templateRuleKey_ = "";
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public boolean hasTemplateRuleKey() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public java.lang.String getTemplateRuleKey() {
+        java.lang.Object ref = templateRuleKey_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            templateRuleKey_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getTemplateRuleKeyBytes() {
+        java.lang.Object ref = templateRuleKey_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          templateRuleKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public Builder setTemplateRuleKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        templateRuleKey_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public Builder clearTemplateRuleKey() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        templateRuleKey_ = getDefaultInstance().getTemplateRuleKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public Builder setTemplateRuleKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        templateRuleKey_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object name_ = "";
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public boolean hasName() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public java.lang.String getName() {
+        java.lang.Object ref = name_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            name_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public com.google.protobuf.ByteString
+          getNameBytes() {
+        java.lang.Object ref = name_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          name_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public Builder setName(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+        name_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public Builder clearName() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        name_ = getDefaultInstance().getName();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public Builder setNameBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+        name_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object severity_ = "";
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public boolean hasSeverity() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public java.lang.String getSeverity() {
+        java.lang.Object ref = severity_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            severity_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getSeverityBytes() {
+        java.lang.Object ref = severity_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          severity_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public Builder setSeverity(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+        severity_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public Builder clearSeverity() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        severity_ = getDefaultInstance().getSeverity();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public Builder setSeverityBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+        severity_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object internalKey_ = "";
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public boolean hasInternalKey() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public java.lang.String getInternalKey() {
+        java.lang.Object ref = internalKey_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            internalKey_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public com.google.protobuf.ByteString
+          getInternalKeyBytes() {
+        java.lang.Object ref = internalKey_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          internalKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public Builder setInternalKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000020;
+        internalKey_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public Builder clearInternalKey() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        internalKey_ = getDefaultInstance().getInternalKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public Builder setInternalKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000020;
+        internalKey_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object language_ = "";
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public boolean hasLanguage() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public java.lang.String getLanguage() {
+        java.lang.Object ref = language_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            language_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public com.google.protobuf.ByteString
+          getLanguageBytes() {
+        java.lang.Object ref = language_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          language_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public Builder setLanguage(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000040;
+        language_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public Builder clearLanguage() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        language_ = getDefaultInstance().getLanguage();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public Builder setLanguageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000040;
+        language_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam> param_ =
+        java.util.Collections.emptyList();
+      private void ensureParamIsMutable() {
+        if (!((bitField0_ & 0x00000080) == 0x00000080)) {
+          param_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam>(param_);
+          bitField0_ |= 0x00000080;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder> paramBuilder_;
+
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam> getParamList() {
+        if (paramBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(param_);
+        } else {
+          return paramBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public int getParamCount() {
+        if (paramBuilder_ == null) {
+          return param_.size();
+        } else {
+          return paramBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam getParam(int index) {
+        if (paramBuilder_ == null) {
+          return param_.get(index);
+        } else {
+          return paramBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder setParam(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam value) {
+        if (paramBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureParamIsMutable();
+          param_.set(index, value);
+          onChanged();
+        } else {
+          paramBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder setParam(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder builderForValue) {
+        if (paramBuilder_ == null) {
+          ensureParamIsMutable();
+          param_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          paramBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder addParam(org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam value) {
+        if (paramBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureParamIsMutable();
+          param_.add(value);
+          onChanged();
+        } else {
+          paramBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder addParam(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam value) {
+        if (paramBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureParamIsMutable();
+          param_.add(index, value);
+          onChanged();
+        } else {
+          paramBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder addParam(
+          org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder builderForValue) {
+        if (paramBuilder_ == null) {
+          ensureParamIsMutable();
+          param_.add(builderForValue.build());
+          onChanged();
+        } else {
+          paramBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder addParam(
+          int index, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder builderForValue) {
+        if (paramBuilder_ == null) {
+          ensureParamIsMutable();
+          param_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          paramBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder addAllParam(
+          java.lang.Iterable<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam> values) {
+        if (paramBuilder_ == null) {
+          ensureParamIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, param_);
+          onChanged();
+        } else {
+          paramBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder clearParam() {
+        if (paramBuilder_ == null) {
+          param_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000080);
+          onChanged();
+        } else {
+          paramBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public Builder removeParam(int index) {
+        if (paramBuilder_ == null) {
+          ensureParamIsMutable();
+          param_.remove(index);
+          onChanged();
+        } else {
+          paramBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder getParamBuilder(
+          int index) {
+        return getParamFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder getParamOrBuilder(
+          int index) {
+        if (paramBuilder_ == null) {
+          return param_.get(index);  } else {
+          return paramBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder> 
+           getParamOrBuilderList() {
+        if (paramBuilder_ != null) {
+          return paramBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(param_);
+        }
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder addParamBuilder() {
+        return getParamFieldBuilder().addBuilder(
+            org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder addParamBuilder(
+          int index) {
+        return getParamFieldBuilder().addBuilder(
+            index, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ActiveRuleParam param = 8;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder> 
+           getParamBuilderList() {
+        return getParamFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder> 
+          getParamFieldBuilder() {
+        if (paramBuilder_ == null) {
+          paramBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder>(
+                  param_,
+                  ((bitField0_ & 0x00000080) == 0x00000080),
+                  getParentForChildren(),
+                  isClean());
+          param_ = null;
+        }
+        return paramBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ActiveRule)
+    }
+
+    static {
+      defaultInstance = new ActiveRule(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ActiveRule)
+  }
+
+  public interface ActiveRuleParamOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ActiveRuleParam)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    boolean hasKey();
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    java.lang.String getKey();
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
+
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    boolean hasValue();
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    java.lang.String getValue();
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getValueBytes();
+  }
+  /**
+   * Protobuf type {@code ActiveRuleParam}
+   */
+  public static final class ActiveRuleParam extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:ActiveRuleParam)
+      ActiveRuleParamOrBuilder {
+    // Use ActiveRuleParam.newBuilder() to construct.
+    private ActiveRuleParam(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private ActiveRuleParam(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final ActiveRuleParam defaultInstance;
+    public static ActiveRuleParam getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public ActiveRuleParam getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ActiveRuleParam(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              key_ = bs;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              value_ = bs;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRuleParam_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRuleParam_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.class, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<ActiveRuleParam> PARSER =
+        new com.google.protobuf.AbstractParser<ActiveRuleParam>() {
+      public ActiveRuleParam parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ActiveRuleParam(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ActiveRuleParam> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int KEY_FIELD_NUMBER = 1;
+    private java.lang.Object key_;
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          key_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 2;
+    private java.lang.Object value_;
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    public java.lang.String getValue() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          value_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getValueBytes() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        value_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private void initFields() {
+      key_ = "";
+      value_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getValueBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getValueBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code ActiveRuleParam}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ActiveRuleParam)
+        org.sonar.batch.protocol.input.BatchInput.ActiveRuleParamOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRuleParam_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRuleParam_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.class, org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        key_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        value_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ActiveRuleParam_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam build() {
+        org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam result = new org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.value_ = value_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          bitField0_ |= 0x00000001;
+          key_ = other.key_;
+          onChanged();
+        }
+        if (other.hasValue()) {
+          bitField0_ |= 0x00000002;
+          value_ = other.value_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ActiveRuleParam) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object key_ = "";
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            key_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object value_ = "";
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public java.lang.String getValue() {
+        java.lang.Object ref = value_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            value_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getValueBytes() {
+        java.lang.Object ref = value_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          value_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public Builder setValue(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public Builder setValueBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ActiveRuleParam)
+    }
+
+    static {
+      defaultInstance = new ActiveRuleParam(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ActiveRuleParam)
+  }
+
+  public interface FileDataOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:FileData)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    boolean hasModuleKey();
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    java.lang.String getModuleKey();
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getModuleKeyBytes();
+
+    /**
+     * <code>optional string path = 2;</code>
+     */
+    boolean hasPath();
+    /**
+     * <code>optional string path = 2;</code>
+     */
+    java.lang.String getPath();
+    /**
+     * <code>optional string path = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getPathBytes();
+
+    /**
+     * <code>optional string hash = 3;</code>
+     */
+    boolean hasHash();
+    /**
+     * <code>optional string hash = 3;</code>
+     */
+    java.lang.String getHash();
+    /**
+     * <code>optional string hash = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getHashBytes();
+
+    /**
+     * <code>optional bool need_blame = 4;</code>
+     */
+    boolean hasNeedBlame();
+    /**
+     * <code>optional bool need_blame = 4;</code>
+     */
+    boolean getNeedBlame();
+  }
+  /**
+   * Protobuf type {@code FileData}
+   */
+  public static final class FileData extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:FileData)
+      FileDataOrBuilder {
+    // Use FileData.newBuilder() to construct.
+    private FileData(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private FileData(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final FileData defaultInstance;
+    public static FileData getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public FileData getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private FileData(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              moduleKey_ = bs;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              path_ = bs;
+              break;
+            }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000004;
+              hash_ = bs;
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000008;
+              needBlame_ = input.readBool();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_FileData_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_FileData_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.FileData.class, org.sonar.batch.protocol.input.BatchInput.FileData.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<FileData> PARSER =
+        new com.google.protobuf.AbstractParser<FileData>() {
+      public FileData parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new FileData(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<FileData> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int MODULE_KEY_FIELD_NUMBER = 1;
+    private java.lang.Object moduleKey_;
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    public boolean hasModuleKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    public java.lang.String getModuleKey() {
+      java.lang.Object ref = moduleKey_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          moduleKey_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string module_key = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getModuleKeyBytes() {
+      java.lang.Object ref = moduleKey_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        moduleKey_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int PATH_FIELD_NUMBER = 2;
+    private java.lang.Object path_;
+    /**
+     * <code>optional string path = 2;</code>
+     */
+    public boolean hasPath() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string path = 2;</code>
+     */
+    public java.lang.String getPath() {
+      java.lang.Object ref = path_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          path_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string path = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getPathBytes() {
+      java.lang.Object ref = path_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        path_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int HASH_FIELD_NUMBER = 3;
+    private java.lang.Object hash_;
+    /**
+     * <code>optional string hash = 3;</code>
+     */
+    public boolean hasHash() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional string hash = 3;</code>
+     */
+    public java.lang.String getHash() {
+      java.lang.Object ref = hash_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          hash_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string hash = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getHashBytes() {
+      java.lang.Object ref = hash_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        hash_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int NEED_BLAME_FIELD_NUMBER = 4;
+    private boolean needBlame_;
+    /**
+     * <code>optional bool need_blame = 4;</code>
+     */
+    public boolean hasNeedBlame() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional bool need_blame = 4;</code>
+     */
+    public boolean getNeedBlame() {
+      return needBlame_;
+    }
+
+    private void initFields() {
+      moduleKey_ = "";
+      path_ = "";
+      hash_ = "";
+      needBlame_ = false;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getModuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getPathBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, getHashBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeBool(4, needBlame_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getModuleKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getPathBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getHashBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(4, needBlame_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileData parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.FileData prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code FileData}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:FileData)
+        org.sonar.batch.protocol.input.BatchInput.FileDataOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_FileData_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_FileData_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.FileData.class, org.sonar.batch.protocol.input.BatchInput.FileData.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.FileData.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        moduleKey_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        path_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        hash_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        needBlame_ = false;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_FileData_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.FileData getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.FileData.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.FileData build() {
+        org.sonar.batch.protocol.input.BatchInput.FileData result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.FileData buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.FileData result = new org.sonar.batch.protocol.input.BatchInput.FileData(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.moduleKey_ = moduleKey_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.path_ = path_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.hash_ = hash_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.needBlame_ = needBlame_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.FileData) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.FileData)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.FileData other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.FileData.getDefaultInstance()) return this;
+        if (other.hasModuleKey()) {
+          bitField0_ |= 0x00000001;
+          moduleKey_ = other.moduleKey_;
+          onChanged();
+        }
+        if (other.hasPath()) {
+          bitField0_ |= 0x00000002;
+          path_ = other.path_;
+          onChanged();
+        }
+        if (other.hasHash()) {
+          bitField0_ |= 0x00000004;
+          hash_ = other.hash_;
+          onChanged();
+        }
+        if (other.hasNeedBlame()) {
+          setNeedBlame(other.getNeedBlame());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.FileData parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.FileData) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object moduleKey_ = "";
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public boolean hasModuleKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public java.lang.String getModuleKey() {
+        java.lang.Object ref = moduleKey_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            moduleKey_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getModuleKeyBytes() {
+        java.lang.Object ref = moduleKey_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          moduleKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public Builder setModuleKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        moduleKey_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public Builder clearModuleKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        moduleKey_ = getDefaultInstance().getModuleKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public Builder setModuleKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        moduleKey_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object path_ = "";
+      /**
+       * <code>optional string path = 2;</code>
+       */
+      public boolean hasPath() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string path = 2;</code>
+       */
+      public java.lang.String getPath() {
+        java.lang.Object ref = path_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            path_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string path = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getPathBytes() {
+        java.lang.Object ref = path_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          path_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string path = 2;</code>
+       */
+      public Builder setPath(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        path_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string path = 2;</code>
+       */
+      public Builder clearPath() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        path_ = getDefaultInstance().getPath();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string path = 2;</code>
+       */
+      public Builder setPathBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        path_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object hash_ = "";
+      /**
+       * <code>optional string hash = 3;</code>
+       */
+      public boolean hasHash() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string hash = 3;</code>
+       */
+      public java.lang.String getHash() {
+        java.lang.Object ref = hash_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            hash_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string hash = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getHashBytes() {
+        java.lang.Object ref = hash_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          hash_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string hash = 3;</code>
+       */
+      public Builder setHash(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        hash_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string hash = 3;</code>
+       */
+      public Builder clearHash() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        hash_ = getDefaultInstance().getHash();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string hash = 3;</code>
+       */
+      public Builder setHashBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        hash_ = value;
+        onChanged();
+        return this;
+      }
+
+      private boolean needBlame_ ;
+      /**
+       * <code>optional bool need_blame = 4;</code>
+       */
+      public boolean hasNeedBlame() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional bool need_blame = 4;</code>
+       */
+      public boolean getNeedBlame() {
+        return needBlame_;
+      }
+      /**
+       * <code>optional bool need_blame = 4;</code>
+       */
+      public Builder setNeedBlame(boolean value) {
+        bitField0_ |= 0x00000008;
+        needBlame_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool need_blame = 4;</code>
+       */
+      public Builder clearNeedBlame() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        needBlame_ = false;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:FileData)
+    }
+
+    static {
+      defaultInstance = new FileData(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:FileData)
+  }
+
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_ServerIssue_descriptor;
   private static
@@ -2861,6 +9353,36 @@ public final class BatchInput {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_User_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ProjectRepositoriesHeader_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ProjectRepositoriesHeader_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ModuleSetting_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ModuleSetting_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_QProfile_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_QProfile_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ActiveRule_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ActiveRule_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ActiveRuleParam_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ActiveRuleParam_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_FileData_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_FileData_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -2879,7 +9401,23 @@ public final class BatchInput {
       "\001(\t\022\016\n\006status\030\013 \001(\t\022\020\n\010checksum\030\014 \001(\t\022\026\n" +
       "\016assignee_login\030\r \001(\t\022\025\n\rcreation_date\030\016" +
       " \001(\003\"#\n\004User\022\r\n\005login\030\001 \001(\t\022\014\n\004name\030\002 \001(" +
-      "\tB\"\n\036org.sonar.batch.protocol.inputH\001"
+      "\t\"\252\001\n\031ProjectRepositoriesHeader\022\021\n\ttimes" +
+      "tamp\030\001 \001(\003\022\032\n\022last_analysis_date\030\002 \001(\003\022\037" +
+      "\n\007setting\030\003 \003(\0132\016.ModuleSetting\022\033\n\010qprof" +
+      "ile\030\004 \003(\0132\t.QProfile\022 \n\013active_rule\030\005 \003(" +
+      "\0132\013.ActiveRule\"?\n\rModuleSetting\022\022\n\nmodul" +
+      "e_key\030\001 \001(\t\022\013\n\003key\030\002 \001(\t\022\r\n\005value\030\003 \001(\t\"" +
+      "Q\n\010QProfile\022\013\n\003key\030\001 \001(\t\022\014\n\004name\030\002 \001(\t\022\020" +
+      "\n\010language\030\003 \001(\t\022\030\n\020rules_updated_at\030\004 \001" +
+      "(\003\"\272\001\n\nActiveRule\022\026\n\016repository_key\030\001 \001(" +
+      "\t\022\020\n\010rule_key\030\002 \001(\t\022\031\n\021template_rule_key" +
+      "\030\003 \001(\t\022\014\n\004name\030\004 \001(\t\022\020\n\010severity\030\005 \001(\t\022\024" +
+      "\n\014internal_key\030\006 \001(\t\022\020\n\010language\030\007 \001(\t\022\037" +
+      "\n\005param\030\010 \003(\0132\020.ActiveRuleParam\"-\n\017Activ" +
+      "eRuleParam\022\013\n\003key\030\001 \001(\t\022\r\n\005value\030\002 \001(\t\"N" +
+      "\n\010FileData\022\022\n\nmodule_key\030\001 \001(\t\022\014\n\004path\030\002" +
+      " \001(\t\022\014\n\004hash\030\003 \001(\t\022\022\n\nneed_blame\030\004 \001(\010B\"" +
+      "\n\036org.sonar.batch.protocol.inputH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -2906,6 +9444,42 @@ public final class BatchInput {
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_User_descriptor,
         new java.lang.String[] { "Login", "Name", });
+    internal_static_ProjectRepositoriesHeader_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_ProjectRepositoriesHeader_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ProjectRepositoriesHeader_descriptor,
+        new java.lang.String[] { "Timestamp", "LastAnalysisDate", "Setting", "Qprofile", "ActiveRule",  });
+    internal_static_ModuleSetting_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_ModuleSetting_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ModuleSetting_descriptor,
+        new java.lang.String[] { "ModuleKey", "Key", "Value",  });
+    internal_static_QProfile_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_QProfile_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_QProfile_descriptor,
+        new java.lang.String[] { "Key", "Name", "Language", "RulesUpdatedAt",  });
+    internal_static_ActiveRule_descriptor =
+      getDescriptor().getMessageTypes().get(5);
+    internal_static_ActiveRule_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ActiveRule_descriptor,
+        new java.lang.String[] { "RepositoryKey", "RuleKey", "TemplateRuleKey", "Name", "Severity", "InternalKey", "Language", "Param",  });
+    internal_static_ActiveRuleParam_descriptor =
+      getDescriptor().getMessageTypes().get(6);
+    internal_static_ActiveRuleParam_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ActiveRuleParam_descriptor,
+        new java.lang.String[] { "Key", "Value",  });
+    internal_static_FileData_descriptor =
+      getDescriptor().getMessageTypes().get(7);
+    internal_static_FileData_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_FileData_descriptor,
+        new java.lang.String[] { "ModuleKey", "Path", "Hash", "NeedBlame",  });
     org.sonar.batch.protocol.Constants.getDescriptor();
   }
 
@@ -1725,6 +1725,64 @@ public final class BatchReport {
      */
     com.google.protobuf.ByteString
         getDescriptionBytes();
+
+    /**
+     * <code>optional string source_data_hash = 13;</code>
+     *
+     * <pre>
+     * Only available on FILE type. Hash of the report data used to build the file source
+     * (source, coverages, changesets, highlightings, symbols and duplications). It does
+     * not change as long as the data stored in db for the file does not need to change.
+     * </pre>
+     */
+    boolean hasSourceDataHash();
+    /**
+     * <code>optional string source_data_hash = 13;</code>
+     *
+     * <pre>
+     * Only available on FILE type. Hash of the report data used to build the file source
+     * (source, coverages, changesets, highlightings, symbols and duplications). It does
+     * not change as long as the data stored in db for the file does not need to change.
+     * </pre>
+     */
+    java.lang.String getSourceDataHash();
+    /**
+     * <code>optional string source_data_hash = 13;</code>
+     *
+     * <pre>
+     * Only available on FILE type. Hash of the report data used to build the file source
+     * (source, coverages, changesets, highlightings, symbols and duplications). It does
+     * not change as long as the data stored in db for the file does not need to change.
+     * </pre>
+     */
+    com.google.protobuf.ByteString
+        getSourceDataHashBytes();
+
+    /**
+     * <code>optional string test_data_hash = 14;</code>
+     *
+     * <pre>
+     * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+     * </pre>
+     */
+    boolean hasTestDataHash();
+    /**
+     * <code>optional string test_data_hash = 14;</code>
+     *
+     * <pre>
+     * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+     * </pre>
+     */
+    java.lang.String getTestDataHash();
+    /**
+     * <code>optional string test_data_hash = 14;</code>
+     *
+     * <pre>
+     * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+     * </pre>
+     */
+    com.google.protobuf.ByteString
+        getTestDataHashBytes();
   }
   /**
    * Protobuf type {@code Component}
@@ -1869,6 +1927,18 @@ public final class BatchReport {
               description_ = bs;
               break;
             }
+            case 106: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000400;
+              sourceDataHash_ = bs;
+              break;
+            }
+            case 114: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000800;
+              testDataHash_ = bs;
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -2332,6 +2402,120 @@ public final class BatchReport {
       }
     }
 
+    public static final int SOURCE_DATA_HASH_FIELD_NUMBER = 13;
+    private java.lang.Object sourceDataHash_;
+    /**
+     * <code>optional string source_data_hash = 13;</code>
+     *
+     * <pre>
+     * Only available on FILE type. Hash of the report data used to build the file source
+     * (source, coverages, changesets, highlightings, symbols and duplications). It does
+     * not change as long as the data stored in db for the file does not need to change.
+     * </pre>
+     */
+    public boolean hasSourceDataHash() {
+      return ((bitField0_ & 0x00000400) == 0x00000400);
+    }
+    /**
+     * <code>optional string source_data_hash = 13;</code>
+     *
+     * <pre>
+     * Only available on FILE type. Hash of the report data used to build the file source
+     * (source, coverages, changesets, highlightings, symbols and duplications). It does
+     * not change as long as the data stored in db for the file does not need to change.
+     * </pre>
+     */
+    public java.lang.String getSourceDataHash() {
+      java.lang.Object ref = sourceDataHash_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          sourceDataHash_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string source_data_hash = 13;</code>
+     *
+     * <pre>
+     * Only available on FILE type. Hash of the report data used to build the file source
+     * (source, coverages, changesets, highlightings, symbols and duplications). It does
+     * not change as long as the data stored in db for the file does not need to change.
+     * </pre>
+     */
+    public com.google.protobuf.ByteString
+        getSourceDataHashBytes() {
+      java.lang.Object ref = sourceDataHash_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        sourceDataHash_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int TEST_DATA_HASH_FIELD_NUMBER = 14;
+    private java.lang.Object testDataHash_;
+    /**
+     * <code>optional string test_data_hash = 14;</code>
+     *
+     * <pre>
+     * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+     * </pre>
+     */
+    public boolean hasTestDataHash() {
+      return ((bitField0_ & 0x00000800) == 0x00000800);
+    }
+    /**
+     * <code>optional string test_data_hash = 14;</code>
+     *
+     * <pre>
+     * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+     * </pre>
+     */
+    public java.lang.String getTestDataHash() {
+      java.lang.Object ref = testDataHash_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          testDataHash_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string test_data_hash = 14;</code>
+     *
+     * <pre>
+     * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+     * </pre>
+     */
+    public com.google.protobuf.ByteString
+        getTestDataHashBytes() {
+      java.lang.Object ref = testDataHash_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        testDataHash_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private void initFields() {
       ref_ = 0;
       path_ = "";
@@ -2345,6 +2529,8 @@ public final class BatchReport {
       key_ = "";
       lines_ = 0;
       description_ = "";
+      sourceDataHash_ = "";
+      testDataHash_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -2399,6 +2585,12 @@ public final class BatchReport {
       if (((bitField0_ & 0x00000200) == 0x00000200)) {
         output.writeBytes(12, getDescriptionBytes());
       }
+      if (((bitField0_ & 0x00000400) == 0x00000400)) {
+        output.writeBytes(13, getSourceDataHashBytes());
+      }
+      if (((bitField0_ & 0x00000800) == 0x00000800)) {
+        output.writeBytes(14, getTestDataHashBytes());
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -2466,6 +2658,14 @@ public final class BatchReport {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(12, getDescriptionBytes());
       }
+      if (((bitField0_ & 0x00000400) == 0x00000400)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(13, getSourceDataHashBytes());
+      }
+      if (((bitField0_ & 0x00000800) == 0x00000800)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(14, getTestDataHashBytes());
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -2612,6 +2812,10 @@ public final class BatchReport {
         bitField0_ = (bitField0_ & ~0x00000400);
         description_ = "";
         bitField0_ = (bitField0_ & ~0x00000800);
+        sourceDataHash_ = "";
+        bitField0_ = (bitField0_ & ~0x00001000);
+        testDataHash_ = "";
+        bitField0_ = (bitField0_ & ~0x00002000);
         return this;
       }
 
@@ -2694,6 +2898,14 @@ public final class BatchReport {
           to_bitField0_ |= 0x00000200;
         }
         result.description_ = description_;
+        if (((from_bitField0_ & 0x00001000) == 0x00001000)) {
+          to_bitField0_ |= 0x00000400;
+        }
+        result.sourceDataHash_ = sourceDataHash_;
+        if (((from_bitField0_ & 0x00002000) == 0x00002000)) {
+          to_bitField0_ |= 0x00000800;
+        }
+        result.testDataHash_ = testDataHash_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -2788,6 +3000,16 @@ public final class BatchReport {
           description_ = other.description_;
           onChanged();
         }
+        if (other.hasSourceDataHash()) {
+          bitField0_ |= 0x00001000;
+          sourceDataHash_ = other.sourceDataHash_;
+          onChanged();
+        }
+        if (other.hasTestDataHash()) {
+          bitField0_ |= 0x00002000;
+          testDataHash_ = other.testDataHash_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -3802,6 +4024,218 @@ public final class BatchReport {
         return this;
       }
 
+      private java.lang.Object sourceDataHash_ = "";
+      /**
+       * <code>optional string source_data_hash = 13;</code>
+       *
+       * <pre>
+       * Only available on FILE type. Hash of the report data used to build the file source
+       * (source, coverages, changesets, highlightings, symbols and duplications). It does
+       * not change as long as the data stored in db for the file does not need to change.
+       * </pre>
+       */
+      public boolean hasSourceDataHash() {
+        return ((bitField0_ & 0x00001000) == 0x00001000);
+      }
+      /**
+       * <code>optional string source_data_hash = 13;</code>
+       *
+       * <pre>
+       * Only available on FILE type. Hash of the report data used to build the file source
+       * (source, coverages, changesets, highlightings, symbols and duplications). It does
+       * not change as long as the data stored in db for the file does not need to change.
+       * </pre>
+       */
+      public java.lang.String getSourceDataHash() {
+        java.lang.Object ref = sourceDataHash_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            sourceDataHash_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string source_data_hash = 13;</code>
+       *
+       * <pre>
+       * Only available on FILE type. Hash of the report data used to build the file source
+       * (source, coverages, changesets, highlightings, symbols and duplications). It does
+       * not change as long as the data stored in db for the file does not need to change.
+       * </pre>
+       */
+      public com.google.protobuf.ByteString
+          getSourceDataHashBytes() {
+        java.lang.Object ref = sourceDataHash_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          sourceDataHash_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string source_data_hash = 13;</code>
+       *
+       * <pre>
+       * Only available on FILE type. Hash of the report data used to build the file source
+       * (source, coverages, changesets, highlightings, symbols and duplications). It does
+       * not change as long as the data stored in db for the file does not need to change.
+       * </pre>
+       */
+      public Builder setSourceDataHash(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00001000;
+        sourceDataHash_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string source_data_hash = 13;</code>
+       *
+       * <pre>
+       * Only available on FILE type. Hash of the report data used to build the file source
+       * (source, coverages, changesets, highlightings, symbols and duplications). It does
+       * not change as long as the data stored in db for the file does not need to change.
+       * </pre>
+       */
+      public Builder clearSourceDataHash() {
+        bitField0_ = (bitField0_ & ~0x00001000);
+        sourceDataHash_ = getDefaultInstance().getSourceDataHash();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string source_data_hash = 13;</code>
+       *
+       * <pre>
+       * Only available on FILE type. Hash of the report data used to build the file source
+       * (source, coverages, changesets, highlightings, symbols and duplications). It does
+       * not change as long as the data stored in db for the file does not need to change.
+       * </pre>
+       */
+      public Builder setSourceDataHashBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00001000;
+        sourceDataHash_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object testDataHash_ = "";
+      /**
+       * <code>optional string test_data_hash = 14;</code>
+       *
+       * <pre>
+       * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+       * </pre>
+       */
+      public boolean hasTestDataHash() {
+        return ((bitField0_ & 0x00002000) == 0x00002000);
+      }
+      /**
+       * <code>optional string test_data_hash = 14;</code>
+       *
+       * <pre>
+       * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+       * </pre>
+       */
+      public java.lang.String getTestDataHash() {
+        java.lang.Object ref = testDataHash_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            testDataHash_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string test_data_hash = 14;</code>
+       *
+       * <pre>
+       * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+       * </pre>
+       */
+      public com.google.protobuf.ByteString
+          getTestDataHashBytes() {
+        java.lang.Object ref = testDataHash_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          testDataHash_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string test_data_hash = 14;</code>
+       *
+       * <pre>
+       * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+       * </pre>
+       */
+      public Builder setTestDataHash(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00002000;
+        testDataHash_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string test_data_hash = 14;</code>
+       *
+       * <pre>
+       * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+       * </pre>
+       */
+      public Builder clearTestDataHash() {
+        bitField0_ = (bitField0_ & ~0x00002000);
+        testDataHash_ = getDefaultInstance().getTestDataHash();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string test_data_hash = 14;</code>
+       *
+       * <pre>
+       * Only available on FILE type, when tests are reported. Hash of the tests and coverage details.
+       * </pre>
+       */
+      public Builder setTestDataHashBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00002000;
+        testDataHash_ = value;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:Component)
     }
 
@@ -22062,71 +22496,72 @@ public final class BatchReport {
       "ject_key\030\002 \001(\t\022\016\n\006branch\030\003 \001(\t\022\032\n\022root_c" +
       "omponent_ref\030\004 \001(\005\022 \n\030deleted_components" +
       "_count\030\005 \001(\005\"?\n\rComponentLink\022 \n\004type\030\001 " +
-      "\001(\0162\022.ComponentLinkType\022\014\n\004href\030\002 \001(\t\"\354\001" +
+      "\001(\0162\022.ComponentLinkType\022\014\n\004href\030\002 \001(\t\"\236\002" +
       "\n\tComponent\022\013\n\003ref\030\001 \001(\005\022\014\n\004path\030\002 \001(\t\022\014" +
       "\n\004name\030\003 \001(\t\022\034\n\004type\030\004 \001(\0162\016.ComponentTy" +
       "pe\022\017\n\007is_test\030\005 \001(\010\022\020\n\010language\030\006 \001(\t\022\025\n" +
       "\tchild_ref\030\007 \003(\005B\002\020\001\022\034\n\004link\030\010 \003(\0132\016.Com",
       "ponentLink\022\017\n\007version\030\t \001(\t\022\013\n\003key\030\n \001(\t" +
-      "\022\r\n\005lines\030\013 \001(\005\022\023\n\013description\030\014 \001(\t\"\261\003\n" +
-      "\007Measure\022%\n\nvalue_type\030\001 \001(\0162\021.MeasureVa" +
-      "lueType\022\025\n\rboolean_value\030\002 \001(\010\022\021\n\tint_va" +
-      "lue\030\003 \001(\005\022\022\n\nlong_value\030\004 \001(\003\022\024\n\014double_" +
-      "value\030\005 \001(\001\022\024\n\014string_value\030\006 \001(\t\022\022\n\nmet" +
-      "ric_key\030\007 \001(\t\022\023\n\013description\030\t \001(\t\022\020\n\010ru" +
-      "le_key\030\n \001(\t\022\024\n\014alert_status\030\014 \001(\t\022\022\n\nal" +
-      "ert_text\030\r \001(\t\022\031\n\021variation_value_1\030\016 \001(" +
-      "\001\022\031\n\021variation_value_2\030\017 \001(\001\022\031\n\021variatio",
-      "n_value_3\030\020 \001(\001\022\031\n\021variation_value_4\030\021 \001" +
-      "(\001\022\031\n\021variation_value_5\030\022 \001(\001\022\026\n\016charact" +
-      "eric_id\030\023 \001(\005\022\021\n\tperson_id\030\024 \001(\005\"<\n\010Meas" +
-      "ures\022\025\n\rcomponent_ref\030\001 \001(\005\022\031\n\007measure\030\002" +
-      " \003(\0132\010.Measure\"\231\004\n\005Issue\022\027\n\017rule_reposit" +
-      "ory\030\001 \001(\t\022\020\n\010rule_key\030\002 \001(\t\022\014\n\004line\030\003 \001(" +
-      "\005\022\013\n\003msg\030\004 \001(\t\022\033\n\010severity\030\005 \001(\0162\t.Sever" +
-      "ity\022\013\n\003tag\030\006 \003(\t\022\025\n\reffort_to_fix\030\007 \001(\001\022" +
-      "\016\n\006is_new\030\010 \001(\010\022\014\n\004uuid\030\t \001(\t\022\027\n\017debt_in" +
-      "_minutes\030\n \001(\003\022\022\n\nresolution\030\013 \001(\t\022\016\n\006st",
-      "atus\030\014 \001(\t\022\020\n\010checksum\030\r \001(\t\022\027\n\017manual_s" +
-      "everity\030\016 \001(\010\022\020\n\010reporter\030\017 \001(\t\022\020\n\010assig" +
-      "nee\030\020 \001(\t\022\027\n\017action_plan_key\030\021 \001(\t\022\022\n\nat" +
-      "tributes\030\022 \001(\t\022\024\n\014author_login\030\023 \001(\t\022\025\n\r" +
-      "creation_date\030\024 \001(\003\022\022\n\nclose_date\030\025 \001(\003\022" +
-      "\023\n\013update_date\030\026 \001(\003\022\023\n\013selected_at\030\027 \001(" +
-      "\003\022\023\n\013diff_fields\030\030 \001(\t\022\022\n\nis_changed\030\031 \001" +
-      "(\010\022\036\n\026must_send_notification\030\032 \001(\010\"N\n\006Is" +
-      "sues\022\025\n\rcomponent_ref\030\001 \001(\005\022\025\n\005issue\030\002 \003" +
-      "(\0132\006.Issue\022\026\n\016component_uuid\030\003 \001(\t\"\254\001\n\nC",
-      "hangesets\022\025\n\rcomponent_ref\030\001 \001(\005\022(\n\tchan" +
-      "geset\030\002 \003(\0132\025.Changesets.Changeset\022 \n\024ch" +
-      "angesetIndexByLine\030\003 \003(\005B\002\020\001\032;\n\tChangese" +
-      "t\022\020\n\010revision\030\001 \001(\t\022\016\n\006author\030\002 \001(\t\022\014\n\004d" +
-      "ate\030\003 \001(\003\"R\n\tDuplicate\022\026\n\016other_file_ref" +
-      "\030\001 \001(\005\022\025\n\005range\030\002 \001(\0132\006.Range\022\026\n\016other_f" +
-      "ile_key\030\003 \001(\t\"M\n\013Duplication\022\037\n\017origin_p" +
-      "osition\030\001 \001(\0132\006.Range\022\035\n\tduplicate\030\002 \003(\013" +
-      "2\n.Duplicate\"H\n\014Duplications\022\025\n\rcomponen" +
-      "t_ref\030\001 \001(\005\022!\n\013duplication\030\002 \003(\0132\014.Dupli",
-      "cation\"W\n\005Range\022\022\n\nstart_line\030\001 \001(\005\022\020\n\010e" +
-      "nd_line\030\002 \001(\005\022\024\n\014start_offset\030\003 \001(\005\022\022\n\ne" +
-      "nd_offset\030\004 \001(\005\"~\n\007Symbols\022\020\n\010file_ref\030\001" +
-      " \001(\005\022\037\n\006symbol\030\002 \003(\0132\017.Symbols.Symbol\032@\n" +
-      "\006Symbol\022\033\n\013declaration\030\001 \001(\0132\006.Range\022\031\n\t" +
-      "reference\030\002 \003(\0132\006.Range\"\260\001\n\010Coverage\022\014\n\004" +
-      "line\030\001 \001(\005\022\022\n\nconditions\030\002 \001(\005\022\017\n\007ut_hit" +
-      "s\030\003 \001(\010\022\017\n\007it_hits\030\004 \001(\010\022\035\n\025ut_covered_c" +
-      "onditions\030\005 \001(\005\022\035\n\025it_covered_conditions" +
-      "\030\006 \001(\005\022\"\n\032overall_covered_conditions\030\007 \001",
-      "(\005\"L\n\022SyntaxHighlighting\022\025\n\005range\030\001 \001(\0132" +
-      "\006.Range\022\037\n\004type\030\002 \001(\0162\021.HighlightingType" +
-      "\"j\n\004Test\022\014\n\004name\030\001 \001(\t\022\033\n\006status\030\002 \001(\0162\013" +
-      ".TestStatus\022\026\n\016duration_in_ms\030\003 \001(\003\022\022\n\ns" +
-      "tacktrace\030\004 \001(\t\022\013\n\003msg\030\005 \001(\t\"\221\001\n\016Coverag" +
-      "eDetail\022\021\n\ttest_name\030\001 \001(\t\0221\n\014covered_fi" +
-      "le\030\002 \003(\0132\033.CoverageDetail.CoveredFile\0329\n" +
-      "\013CoveredFile\022\020\n\010file_ref\030\001 \001(\005\022\030\n\014covere" +
-      "d_line\030\002 \003(\005B\002\020\001B#\n\037org.sonar.batch.prot" +
-      "ocol.outputH\001"
+      "\022\r\n\005lines\030\013 \001(\005\022\023\n\013description\030\014 \001(\t\022\030\n\020" +
+      "source_data_hash\030\r \001(\t\022\026\n\016test_data_hash" +
+      "\030\016 \001(\t\"\261\003\n\007Measure\022%\n\nvalue_type\030\001 \001(\0162\021" +
+      ".MeasureValueType\022\025\n\rboolean_value\030\002 \001(\010" +
+      "\022\021\n\tint_value\030\003 \001(\005\022\022\n\nlong_value\030\004 \001(\003\022" +
+      "\024\n\014double_value\030\005 \001(\001\022\024\n\014string_value\030\006 " +
+      "\001(\t\022\022\n\nmetric_key\030\007 \001(\t\022\023\n\013description\030\t" +
+      " \001(\t\022\020\n\010rule_key\030\n \001(\t\022\024\n\014alert_status\030\014" +
+      " \001(\t\022\022\n\nalert_text\030\r \001(\t\022\031\n\021variation_va",
+      "lue_1\030\016 \001(\001\022\031\n\021variation_value_2\030\017 \001(\001\022\031" +
+      "\n\021variation_value_3\030\020 \001(\001\022\031\n\021variation_v" +
+      "alue_4\030\021 \001(\001\022\031\n\021variation_value_5\030\022 \001(\001\022" +
+      "\026\n\016characteric_id\030\023 \001(\005\022\021\n\tperson_id\030\024 \001" +
+      "(\005\"<\n\010Measures\022\025\n\rcomponent_ref\030\001 \001(\005\022\031\n" +
+      "\007measure\030\002 \003(\0132\010.Measure\"\231\004\n\005Issue\022\027\n\017ru" +
+      "le_repository\030\001 \001(\t\022\020\n\010rule_key\030\002 \001(\t\022\014\n" +
+      "\004line\030\003 \001(\005\022\013\n\003msg\030\004 \001(\t\022\033\n\010severity\030\005 \001" +
+      "(\0162\t.Severity\022\013\n\003tag\030\006 \003(\t\022\025\n\reffort_to_" +
+      "fix\030\007 \001(\001\022\016\n\006is_new\030\010 \001(\010\022\014\n\004uuid\030\t \001(\t\022",
+      "\027\n\017debt_in_minutes\030\n \001(\003\022\022\n\nresolution\030\013" +
+      " \001(\t\022\016\n\006status\030\014 \001(\t\022\020\n\010checksum\030\r \001(\t\022\027" +
+      "\n\017manual_severity\030\016 \001(\010\022\020\n\010reporter\030\017 \001(" +
+      "\t\022\020\n\010assignee\030\020 \001(\t\022\027\n\017action_plan_key\030\021" +
+      " \001(\t\022\022\n\nattributes\030\022 \001(\t\022\024\n\014author_login" +
+      "\030\023 \001(\t\022\025\n\rcreation_date\030\024 \001(\003\022\022\n\nclose_d" +
+      "ate\030\025 \001(\003\022\023\n\013update_date\030\026 \001(\003\022\023\n\013select" +
+      "ed_at\030\027 \001(\003\022\023\n\013diff_fields\030\030 \001(\t\022\022\n\nis_c" +
+      "hanged\030\031 \001(\010\022\036\n\026must_send_notification\030\032" +
+      " \001(\010\"N\n\006Issues\022\025\n\rcomponent_ref\030\001 \001(\005\022\025\n",
+      "\005issue\030\002 \003(\0132\006.Issue\022\026\n\016component_uuid\030\003" +
+      " \001(\t\"\254\001\n\nChangesets\022\025\n\rcomponent_ref\030\001 \001" +
+      "(\005\022(\n\tchangeset\030\002 \003(\0132\025.Changesets.Chang" +
+      "eset\022 \n\024changesetIndexByLine\030\003 \003(\005B\002\020\001\032;" +
+      "\n\tChangeset\022\020\n\010revision\030\001 \001(\t\022\016\n\006author\030" +
+      "\002 \001(\t\022\014\n\004date\030\003 \001(\003\"R\n\tDuplicate\022\026\n\016othe" +
+      "r_file_ref\030\001 \001(\005\022\025\n\005range\030\002 \001(\0132\006.Range\022" +
+      "\026\n\016other_file_key\030\003 \001(\t\"M\n\013Duplication\022\037" +
+      "\n\017origin_position\030\001 \001(\0132\006.Range\022\035\n\tdupli" +
+      "cate\030\002 \003(\0132\n.Duplicate\"H\n\014Duplications\022\025",
+      "\n\rcomponent_ref\030\001 \001(\005\022!\n\013duplication\030\002 \003" +
+      "(\0132\014.Duplication\"W\n\005Range\022\022\n\nstart_line\030" +
+      "\001 \001(\005\022\020\n\010end_line\030\002 \001(\005\022\024\n\014start_offset\030" +
+      "\003 \001(\005\022\022\n\nend_offset\030\004 \001(\005\"~\n\007Symbols\022\020\n\010" +
+      "file_ref\030\001 \001(\005\022\037\n\006symbol\030\002 \003(\0132\017.Symbols" +
+      ".Symbol\032@\n\006Symbol\022\033\n\013declaration\030\001 \001(\0132\006" +
+      ".Range\022\031\n\treference\030\002 \003(\0132\006.Range\"\260\001\n\010Co" +
+      "verage\022\014\n\004line\030\001 \001(\005\022\022\n\nconditions\030\002 \001(\005" +
+      "\022\017\n\007ut_hits\030\003 \001(\010\022\017\n\007it_hits\030\004 \001(\010\022\035\n\025ut" +
+      "_covered_conditions\030\005 \001(\005\022\035\n\025it_covered_",
+      "conditions\030\006 \001(\005\022\"\n\032overall_covered_cond" +
+      "itions\030\007 \001(\005\"L\n\022SyntaxHighlighting\022\025\n\005ra" +
+      "nge\030\001 \001(\0132\006.Range\022\037\n\004type\030\002 \001(\0162\021.Highli" +
+      "ghtingType\"j\n\004Test\022\014\n\004name\030\001 \001(\t\022\033\n\006stat" +
+      "us\030\002 \001(\0162\013.TestStatus\022\026\n\016duration_in_ms\030" +
+      "\003 \001(\003\022\022\n\nstacktrace\030\004 \001(\t\022\013\n\003msg\030\005 \001(\t\"\221" +
+      "\001\n\016CoverageDetail\022\021\n\ttest_name\030\001 \001(\t\0221\n\014" +
+      "covered_file\030\002 \003(\0132\033.CoverageDetail.Cove" +
+      "redFile\0329\n\013CoveredFile\022\020\n\010file_ref\030\001 \001(\005" +
+      "\022\030\n\014covered_line\030\002 \003(\005B\002\020\001B#\n\037org.sonar.",
+      "batch.protocol.outputH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -22158,7 +22593,7 @@ public final class BatchReport {
     internal_static_Component_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_Component_descriptor,
-        new java.lang.String[] { "Ref", "Path", "Name", "Type", "IsTest", "Language", "ChildRef", "Link", "Version", "Key", "Lines", "Description", });
+        new java.lang.String[] { "Ref", "Path", "Name", "Type", "IsTest", "Language", "ChildRef", "Link", "Version", "Key", "Lines", "Description", "SourceDataHash", "TestDataHash", });
     internal_static_Measure_descriptor =
       getDescriptor().getMessageTypes().get(3);
     internal_static_Measure_fieldAccessorTable = new
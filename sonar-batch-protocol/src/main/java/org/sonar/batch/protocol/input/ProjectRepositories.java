@@ -24,6 +24,9 @@ import org.sonar.batch.protocol.GsonHelper;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
 
 /**
@@ -115,4 +118,86 @@ public class ProjectRepositories {
     return GsonHelper.create().fromJson(json, ProjectRepositories.class);
   }
 
+  /**
+   * Writes the stream of protobuf messages described in batch_input.proto.
+   *
+   * @see ProjectRepositoriesWriter
+   */
+  public void toProtobuf(OutputStream output) throws IOException {
+    ProjectRepositoriesWriter writer = new ProjectRepositoriesWriter(output);
+    writer.setTimestamp(timestamp);
+    writer.setLastAnalysisDate(lastAnalysisDate);
+    for (Map.Entry<String, Map<String, String>> moduleSettings : settingsByModule.entrySet()) {
+      writer.addSettings(moduleSettings.getKey(), moduleSettings.getValue());
+    }
+    for (QProfile qProfile : qprofilesByLanguage.values()) {
+      writer.addQProfile(qProfile);
+    }
+    for (ActiveRule activeRule : activeRules) {
+      writer.addActiveRule(activeRule);
+    }
+    for (Map.Entry<String, Map<String, FileData>> moduleFileData : fileDataByModuleAndPath.entrySet()) {
+      for (Map.Entry<String, FileData> fileData : moduleFileData.getValue().entrySet()) {
+        writer.addFileData(moduleFileData.getKey(), fileData.getKey(), fileData.getValue());
+      }
+    }
+    writer.finish();
+  }
+
+  /**
+   * Reads the stream written by {@link ProjectRepositoriesWriter}. Messages are parsed one by one.
+   */
+  public static ProjectRepositories fromProtobuf(InputStream input) throws IOException {
+    ProjectRepositories ref = new ProjectRepositories();
+    BatchInput.ProjectRepositoriesHeader header = BatchInput.ProjectRepositoriesHeader.parseDelimitedFrom(input);
+    if (header == null) {
+      throw new IllegalStateException("Project repositories are empty");
+    }
+    // the header is ended by an empty message
+    while (header != null && header.getSerializedSize() > 0) {
+      ref.addHeader(header);
+      header = BatchInput.ProjectRepositoriesHeader.parseDelimitedFrom(input);
+    }
+
+    BatchInput.FileData fileData = BatchInput.FileData.parseDelimitedFrom(input);
+    while (fileData != null) {
+      ref.addFileData(fileData.hasModuleKey() ? fileData.getModuleKey() : null, fileData.getPath(),
+        new FileData(fileData.hasHash() ? fileData.getHash() : null, fileData.getNeedBlame()));
+      fileData = BatchInput.FileData.parseDelimitedFrom(input);
+    }
+    return ref;
+  }
+
+  private void addHeader(BatchInput.ProjectRepositoriesHeader header) {
+    if (header.hasTimestamp()) {
+      setTimestamp(header.getTimestamp());
+    }
+    if (header.hasLastAnalysisDate()) {
+      setLastAnalysisDate(new Date(header.getLastAnalysisDate()));
+    }
+    for (BatchInput.ModuleSetting setting : header.getSettingList()) {
+      addSettings(setting.getModuleKey(), Collections.singletonMap(setting.getKey(), setting.hasValue() ? setting.getValue() : null));
+    }
+    for (BatchInput.QProfile qProfile : header.getQprofileList()) {
+      addQProfile(new QProfile(qProfile.getKey(), qProfile.getName(), qProfile.getLanguage(),
+        qProfile.hasRulesUpdatedAt() ? new Date(qProfile.getRulesUpdatedAt()) : null));
+    }
+    for (BatchInput.ActiveRule activeRule : header.getActiveRuleList()) {
+      addActiveRule(fromProtobuf(activeRule));
+    }
+  }
+
+  private static ActiveRule fromProtobuf(BatchInput.ActiveRule activeRule) {
+    ActiveRule result = new ActiveRule(activeRule.getRepositoryKey(), activeRule.getRuleKey(),
+      activeRule.hasTemplateRuleKey() ? activeRule.getTemplateRuleKey() : null,
+      activeRule.getName(),
+      activeRule.hasSeverity() ? activeRule.getSeverity() : null,
+      activeRule.hasInternalKey() ? activeRule.getInternalKey() : null,
+      activeRule.hasLanguage() ? activeRule.getLanguage() : null);
+    for (BatchInput.ActiveRuleParam param : activeRule.getParamList()) {
+      result.addParam(param.getKey(), param.getValue());
+    }
+    return result;
+  }
+
 }
@@ -0,0 +1,150 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.protocol.input;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Writes the protobuf stream of project repositories described in batch_input.proto, without keeping
+ * the written data in memory. Each section is written as soon as it is added: settings of a module,
+ * quality profiles and active rules are written as {@link BatchInput.ProjectRepositoriesHeader} messages,
+ * then file data are written as {@link BatchInput.FileData} messages.
+ * <p/>
+ * Header sections must be added before file data. {@link #finish()} must be called once everything is added.
+ */
+public class ProjectRepositoriesWriter {
+
+  private final OutputStream output;
+  private final BatchInput.ProjectRepositoriesHeader.Builder headerBuilder = BatchInput.ProjectRepositoriesHeader.newBuilder();
+  private final BatchInput.FileData.Builder fileDataBuilder = BatchInput.FileData.newBuilder();
+  private boolean headerEnded = false;
+
+  public ProjectRepositoriesWriter(OutputStream output) {
+    this.output = output;
+  }
+
+  public ProjectRepositoriesWriter setTimestamp(long timestamp) throws IOException {
+    headerBuilder.setTimestamp(timestamp);
+    return writeHeader();
+  }
+
+  public ProjectRepositoriesWriter setLastAnalysisDate(@Nullable Date lastAnalysisDate) throws IOException {
+    if (lastAnalysisDate != null) {
+      headerBuilder.setLastAnalysisDate(lastAnalysisDate.getTime());
+    }
+    return writeHeader();
+  }
+
+  public ProjectRepositoriesWriter addSettings(String moduleKey, Map<String, String> settings) throws IOException {
+    BatchInput.ModuleSetting.Builder settingBuilder = BatchInput.ModuleSetting.newBuilder();
+    for (Map.Entry<String, String> setting : settings.entrySet()) {
+      settingBuilder.setModuleKey(moduleKey);
+      settingBuilder.setKey(setting.getKey());
+      if (setting.getValue() != null) {
+        settingBuilder.setValue(setting.getValue());
+      }
+      headerBuilder.addSetting(settingBuilder.build());
+      settingBuilder.clear();
+    }
+    return writeHeader();
+  }
+
+  public ProjectRepositoriesWriter addQProfile(QProfile qProfile) throws IOException {
+    BatchInput.QProfile.Builder builder = headerBuilder.addQprofileBuilder()
+      .setKey(qProfile.key())
+      .setName(qProfile.name())
+      .setLanguage(qProfile.language());
+    if (qProfile.rulesUpdatedAt() != null) {
+      builder.setRulesUpdatedAt(qProfile.rulesUpdatedAt().getTime());
+    }
+    return writeHeader();
+  }
+
+  public ProjectRepositoriesWriter addActiveRule(ActiveRule activeRule) throws IOException {
+    BatchInput.ActiveRule.Builder builder = headerBuilder.addActiveRuleBuilder()
+      .setRepositoryKey(activeRule.repositoryKey())
+      .setRuleKey(activeRule.ruleKey())
+      .setName(activeRule.name());
+    if (activeRule.templateRuleKey() != null) {
+      builder.setTemplateRuleKey(activeRule.templateRuleKey());
+    }
+    if (activeRule.severity() != null) {
+      builder.setSeverity(activeRule.severity());
+    }
+    if (activeRule.internalKey() != null) {
+      builder.setInternalKey(activeRule.internalKey());
+    }
+    if (activeRule.language() != null) {
+      builder.setLanguage(activeRule.language());
+    }
+    for (Map.Entry<String, String> param : activeRule.params().entrySet()) {
+      builder.addParamBuilder().setKey(param.getKey()).setValue(param.getValue());
+    }
+    return writeHeader();
+  }
+
+  public ProjectRepositoriesWriter addFileData(@Nullable String moduleKey, String path, FileData fileData) throws IOException {
+    endHeader();
+    if (moduleKey != null) {
+      fileDataBuilder.setModuleKey(moduleKey);
+    }
+    fileDataBuilder.setPath(path);
+    if (fileData.hash() != null) {
+      fileDataBuilder.setHash(fileData.hash());
+    }
+    fileDataBuilder.setNeedBlame(fileData.needBlame());
+    fileDataBuilder.build().writeDelimitedTo(output);
+    fileDataBuilder.clear();
+    return this;
+  }
+
+  /**
+   * Ends the header if no file data were added. The output stream is not closed.
+   */
+  public void finish() throws IOException {
+    endHeader();
+    output.flush();
+  }
+
+  private ProjectRepositoriesWriter writeHeader() throws IOException {
+    if (headerEnded) {
+      throw new IllegalStateException("Header sections must be added before file data");
+    }
+    BatchInput.ProjectRepositoriesHeader header = headerBuilder.build();
+    if (header.getSerializedSize() > 0) {
+      header.writeDelimitedTo(output);
+    }
+    headerBuilder.clear();
+    return this;
+  }
+
+  private void endHeader() throws IOException {
+    if (!headerEnded) {
+      // an empty message ends the header
+      BatchInput.ProjectRepositoriesHeader.getDefaultInstance().writeDelimitedTo(output);
+      headerEnded = true;
+    }
+  }
+}
@@ -52,6 +52,8 @@ public class FileStructure {
     }
   }
 
+  public static final String METADATA_FILENAME = "metadata.pb";
+
   private final File dir;
 
   public FileStructure(File dir) {
@@ -62,11 +64,18 @@ public class FileStructure {
   }
 
   public File metadataFile() {
-    return new File(dir, "metadata.pb");
+    return new File(dir, METADATA_FILENAME);
   }
 
   public File fileFor(Domain domain, int componentRef) {
-    return new File(dir, domain.filePrefix + componentRef + domain.fileSuffix);
+    return new File(dir, fileNameFor(domain, componentRef));
+  }
+
+  /**
+   * Name of the file relative to the report directory. It is also the name of the entry in the zipped report.
+   */
+  public static String fileNameFor(Domain domain, int componentRef) {
+    return domain.filePrefix + componentRef + domain.fileSuffix;
   }
 
 }
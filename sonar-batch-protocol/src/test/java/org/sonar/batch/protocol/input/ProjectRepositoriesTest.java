@@ -22,6 +22,8 @@ package org.sonar.batch.protocol.input;
 import org.junit.Test;
 import org.sonar.test.JsonAssert;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.HashMap;
@@ -92,4 +94,74 @@ public class ProjectRepositoriesTest {
 
     assertThat(ref.lastAnalysisDate().getTime()).isEqualTo(DATE_FORMAT.parse("2014-10-31T00:00:00+0100").getTime());
   }
+
+  @Test
+  public void protobuf_round_trip() throws Exception {
+    ProjectRepositories ref = new ProjectRepositories();
+    ref.addQProfile(new QProfile("squid-java", "Java", "java", DATE_FORMAT.parse("2013-01-01T12:00:00+0100")));
+    HashMap<String, String> settings = new HashMap<>();
+    settings.put("prop1", "value1");
+    settings.put("prop2", "value2");
+    ref.addSettings("foo", settings);
+    ActiveRule activeRule = new ActiveRule("repo", "rule", "templateRule", "Rule", "MAJOR", "rule1", "java");
+    activeRule.addParam("param1", "value1");
+    ref.addActiveRule(activeRule);
+    ref.addActiveRule(new ActiveRule("manual", "manual_rule", null, "Manual", null, null, null));
+    ref.setLastAnalysisDate(DATE_FORMAT.parse("2014-05-18T15:50:45+0100"));
+    ref.setTimestamp(10);
+    ref.addFileData("foo", "src/main/java/Foo.java", new FileData("xyz", true));
+    ref.addFileData("foo", "src/main/java/Foo2.java", new FileData(null, false));
+    ref.addFileData("bar", "src/main/java/Bar.java", new FileData("abc", true));
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ref.toProtobuf(output);
+    ProjectRepositories read = ProjectRepositories.fromProtobuf(new ByteArrayInputStream(output.toByteArray()));
+
+    assertThat(read.timestamp()).isEqualTo(10);
+    assertThat(read.lastAnalysisDate().getTime()).isEqualTo(DATE_FORMAT.parse("2014-05-18T15:50:45+0100").getTime());
+    assertThat(read.settings("foo")).containsEntry("prop1", "value1").containsEntry("prop2", "value2").hasSize(2);
+
+    QProfile qProfile = read.qProfiles().iterator().next();
+    assertThat(qProfile.key()).isEqualTo("squid-java");
+    assertThat(qProfile.name()).isEqualTo("Java");
+    assertThat(qProfile.language()).isEqualTo("java");
+    assertThat(qProfile.rulesUpdatedAt().getTime()).isEqualTo(DATE_FORMAT.parse("2013-01-01T12:00:00+0100").getTime());
+
+    assertThat(read.activeRules()).hasSize(2);
+    ActiveRule readRule = read.activeRules().iterator().next();
+    assertThat(readRule.repositoryKey()).isEqualTo("repo");
+    assertThat(readRule.ruleKey()).isEqualTo("rule");
+    assertThat(readRule.templateRuleKey()).isEqualTo("templateRule");
+    assertThat(readRule.name()).isEqualTo("Rule");
+    assertThat(readRule.severity()).isEqualTo("MAJOR");
+    assertThat(readRule.internalKey()).isEqualTo("rule1");
+    assertThat(readRule.language()).isEqualTo("java");
+    assertThat(readRule.params()).containsEntry("param1", "value1").hasSize(1);
+    ActiveRule manualRule = read.activeRules().toArray(new ActiveRule[2])[1];
+    assertThat(manualRule.templateRuleKey()).isNull();
+    assertThat(manualRule.severity()).isNull();
+    assertThat(manualRule.internalKey()).isNull();
+    assertThat(manualRule.language()).isNull();
+
+    assertThat(read.fileDataByPath("foo")).hasSize(2);
+    assertThat(read.fileData("foo", "src/main/java/Foo.java").hash()).isEqualTo("xyz");
+    assertThat(read.fileData("foo", "src/main/java/Foo.java").needBlame()).isTrue();
+    assertThat(read.fileData("foo", "src/main/java/Foo2.java").hash()).isNull();
+    assertThat(read.fileData("foo", "src/main/java/Foo2.java").needBlame()).isFalse();
+    assertThat(read.fileData("bar", "src/main/java/Bar.java").hash()).isEqualTo("abc");
+  }
+
+  @Test
+  public void protobuf_of_new_project() throws Exception {
+    ProjectRepositories ref = new ProjectRepositories();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ref.toProtobuf(output);
+    ProjectRepositories read = ProjectRepositories.fromProtobuf(new ByteArrayInputStream(output.toByteArray()));
+
+    assertThat(read.lastAnalysisDate()).isNull();
+    assertThat(read.qProfiles()).isEmpty();
+    assertThat(read.activeRules()).isEmpty();
+    assertThat(read.fileDataByPath("foo")).isEmpty();
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.protocol.input;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectRepositoriesWriterTest {
+
+  ByteArrayOutputStream output = new ByteArrayOutputStream();
+  ProjectRepositoriesWriter writer = new ProjectRepositoriesWriter(output);
+
+  @Test
+  public void write_sections_as_soon_as_added() throws Exception {
+    writer.addSettings("foo", Collections.singletonMap("prop", "value"));
+    int settingsSize = output.size();
+    assertThat(settingsSize).isGreaterThan(0);
+
+    writer.addActiveRule(new ActiveRule("repo", "rule", null, "Rule", "MAJOR", null, "java"));
+    int activeRuleSize = output.size();
+    assertThat(activeRuleSize).isGreaterThan(settingsSize);
+
+    writer.addFileData("foo", "src/Foo.java", new FileData("xyz", true));
+    assertThat(output.size()).isGreaterThan(activeRuleSize);
+    writer.finish();
+
+    ProjectRepositories read = ProjectRepositories.fromProtobuf(new ByteArrayInputStream(output.toByteArray()));
+    assertThat(read.settings("foo")).containsEntry("prop", "value");
+    assertThat(read.activeRules()).hasSize(1);
+    assertThat(read.fileData("foo", "src/Foo.java").hash()).isEqualTo("xyz");
+  }
+
+  @Test
+  public void read_header_without_file_data() throws Exception {
+    writer.addSettings("foo", Collections.singletonMap("prop", "value"));
+    writer.finish();
+
+    ProjectRepositories read = ProjectRepositories.fromProtobuf(new ByteArrayInputStream(output.toByteArray()));
+    assertThat(read.settings("foo")).containsEntry("prop", "value");
+    assertThat(read.fileDataByPath("foo")).isEmpty();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void fail_to_add_header_section_after_file_data() throws Exception {
+    writer.addFileData("foo", "src/Foo.java", new FileData("xyz", true));
+    writer.addSettings("foo", Collections.singletonMap("prop", "value"));
+  }
+}
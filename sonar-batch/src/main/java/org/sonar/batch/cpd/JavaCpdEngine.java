@@ -20,8 +20,11 @@
 
 package org.sonar.batch.cpd;
 
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +47,6 @@ import org.sonar.duplications.block.Block;
 import org.sonar.duplications.block.BlockChunker;
 import org.sonar.duplications.detector.suffixtree.SuffixTreeCloneDetectionAlgorithm;
 import org.sonar.duplications.index.CloneGroup;
-import org.sonar.duplications.index.CloneIndex;
 import org.sonar.duplications.index.ClonePart;
 import org.sonar.duplications.java.JavaStatementBuilder;
 import org.sonar.duplications.java.JavaTokenProducer;
@@ -58,7 +60,9 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -66,6 +70,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -80,6 +85,11 @@ public class JavaCpdEngine extends CpdEngine {
    */
   private static final int TIMEOUT = 5 * 60;
 
+  /**
+   * Number of threads used to detect duplications. Default is the number of processors minus one.
+   */
+  static final String THREADS_PROPERTY = "sonar.cpd.threads";
+
   private static final int MAX_CLONE_GROUP_PER_FILE = 100;
   private static final int MAX_CLONE_PART_PER_GROUP = 100;
 
@@ -118,7 +128,7 @@ public class JavaCpdEngine extends CpdEngine {
       return;
     }
     SonarDuplicationsIndex index = createIndex(project, languageKey, sourceFiles);
-    detect(index, context, sourceFiles);
+    detect(index, context, sourceFiles, numberOfThreads(settings), Predicates.<CloneGroup>alwaysTrue());
   }
 
   private SonarDuplicationsIndex createIndex(@Nullable Project project, String language, Iterable<InputFile> sourceFiles) {
@@ -151,45 +161,85 @@ public class JavaCpdEngine extends CpdEngine {
     return index;
   }
 
-  private void detect(SonarDuplicationsIndex index, org.sonar.api.batch.sensor.SensorContext context, List<InputFile> sourceFiles) {
-    ExecutorService executorService = Executors.newSingleThreadExecutor();
+  /**
+   * Files are processed concurrently by a pool of workers, but results are saved by the current thread
+   * in the order of source files, so that output does not depend on scheduling. At most
+   * {@code 2 * workers} files are pending at a time to bound memory.
+   */
+  static void detect(SonarDuplicationsIndex index, org.sonar.api.batch.sensor.SensorContext context, List<InputFile> sourceFiles, int workers,
+    Predicate<CloneGroup> filter) {
+    ExecutorService executorService = Executors.newFixedThreadPool(workers, new ThreadFactoryBuilder()
+      .setNameFormat("cpd-%d")
+      .setDaemon(true)
+      .build());
     try {
+      Deque<PendingDetection> pendingDetections = new ArrayDeque<>();
       for (InputFile inputFile : sourceFiles) {
-        LOG.debug("Detection of duplications for {}", inputFile);
-        String resourceEffectiveKey = ((DefaultInputFile) inputFile).key();
-
-        Collection<Block> fileBlocks = index.getByInputFile(inputFile, resourceEffectiveKey);
-
-        List<CloneGroup> clones;
-        try {
-          clones = executorService.submit(new Task(index, fileBlocks)).get(TIMEOUT, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-          clones = null;
-          LOG.warn("Timeout during detection of duplications for " + inputFile, e);
-        } catch (InterruptedException e) {
-          throw new SonarException("Fail during detection of duplication for " + inputFile, e);
-        } catch (ExecutionException e) {
-          throw new SonarException("Fail during detection of duplication for " + inputFile, e);
+        pendingDetections.add(new PendingDetection(inputFile, executorService.submit(new Task(index, inputFile)), filter));
+        if (pendingDetections.size() >= 2 * workers) {
+          pendingDetections.poll().save(context);
         }
-
-        save(context, inputFile, clones);
+      }
+      while (!pendingDetections.isEmpty()) {
+        pendingDetections.poll().save(context);
       }
     } finally {
-      executorService.shutdown();
+      executorService.shutdownNow();
+    }
+  }
+
+  static int numberOfThreads(Settings settings) {
+    int threads = settings.getInt(THREADS_PROPERTY);
+    if (threads < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", THREADS_PROPERTY, threads));
+    }
+    if (threads == 0) {
+      threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+    return threads;
+  }
+
+  private static class PendingDetection {
+    private final InputFile inputFile;
+    private final Future<List<CloneGroup>> future;
+    private final Predicate<CloneGroup> filter;
+
+    PendingDetection(InputFile inputFile, Future<List<CloneGroup>> future, Predicate<CloneGroup> filter) {
+      this.inputFile = inputFile;
+      this.future = future;
+      this.filter = filter;
+    }
+
+    void save(org.sonar.api.batch.sensor.SensorContext context) {
+      Iterable<CloneGroup> clones;
+      try {
+        clones = Iterables.filter(future.get(TIMEOUT, TimeUnit.SECONDS), filter);
+      } catch (TimeoutException e) {
+        clones = null;
+        future.cancel(true);
+        LOG.warn("Timeout during detection of duplications for " + inputFile, e);
+      } catch (InterruptedException e) {
+        throw new SonarException("Fail during detection of duplication for " + inputFile, e);
+      } catch (ExecutionException e) {
+        throw new SonarException("Fail during detection of duplication for " + inputFile, e);
+      }
+      JavaCpdEngine.save(context, inputFile, clones);
     }
   }
 
   static class Task implements Callable<List<CloneGroup>> {
-    private final CloneIndex index;
-    private final Collection<Block> fileBlocks;
+    private final SonarDuplicationsIndex index;
+    private final InputFile inputFile;
 
-    public Task(CloneIndex index, Collection<Block> fileBlocks) {
+    public Task(SonarDuplicationsIndex index, InputFile inputFile) {
       this.index = index;
-      this.fileBlocks = fileBlocks;
+      this.inputFile = inputFile;
     }
 
     @Override
     public List<CloneGroup> call() {
+      LOG.debug("Detection of duplications for {}", inputFile);
+      Collection<Block> fileBlocks = index.getByInputFile(inputFile, ((DefaultInputFile) inputFile).key());
       return SuffixTreeCloneDetectionAlgorithm.detect(index, fileBlocks);
     }
   }
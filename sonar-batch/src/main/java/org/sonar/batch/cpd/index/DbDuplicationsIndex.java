@@ -35,7 +35,16 @@ import org.sonar.duplications.block.ByteArray;
 
 public class DbDuplicationsIndex {
 
-  private final Map<ByteArray, Collection<Block>> cache = Maps.newHashMap();
+  /**
+   * Blocks of the file being analysed by the current thread, as files are analysed concurrently
+   * by {@link org.sonar.batch.cpd.JavaCpdEngine}.
+   */
+  private final ThreadLocal<Map<ByteArray, Collection<Block>>> cache = new ThreadLocal<Map<ByteArray, Collection<Block>>>() {
+    @Override
+    protected Map<ByteArray, Collection<Block>> initialValue() {
+      return Maps.newHashMap();
+    }
+  };
 
   private final BatchComponentCache resourceCache;
 
@@ -49,7 +58,8 @@ public class DbDuplicationsIndex {
 
   public void prepareCache(InputFile inputFile) {
     List<DuplicationUnitDto> units = new ArrayList<>();
-    cache.clear();
+    Map<ByteArray, Collection<Block>> blocksByHash = cache.get();
+    blocksByHash.clear();
     // TODO Godin: maybe remove conversion of units to blocks?
     for (DuplicationUnitDto unit : units) {
       String hash = unit.getHash();
@@ -67,17 +77,17 @@ public class DbDuplicationsIndex {
         .build();
 
       // Group blocks by hash
-      Collection<Block> sameHash = cache.get(block.getBlockHash());
+      Collection<Block> sameHash = blocksByHash.get(block.getBlockHash());
       if (sameHash == null) {
         sameHash = Lists.newArrayList();
-        cache.put(block.getBlockHash(), sameHash);
+        blocksByHash.put(block.getBlockHash(), sameHash);
       }
       sameHash.add(block);
     }
   }
 
   public Collection<Block> getByHash(ByteArray hash) {
-    Collection<Block> result = cache.get(hash);
+    Collection<Block> result = cache.get().get(hash);
     if (result != null) {
       return result;
     } else {
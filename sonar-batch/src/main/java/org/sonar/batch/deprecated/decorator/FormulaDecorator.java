@@ -29,6 +29,7 @@ import org.sonar.api.batch.DefaultFormulaContext;
 import org.sonar.api.batch.DefaultFormulaData;
 import org.sonar.api.batch.DependedUpon;
 import org.sonar.api.batch.DependsUpon;
+import org.sonar.api.batch.ThreadSafeDecorator;
 import org.sonar.api.measures.FormulaData;
 import org.sonar.api.measures.Measure;
 import org.sonar.api.measures.Metric;
@@ -39,10 +40,10 @@ import org.sonar.api.resources.Resource;
  * A pre-implementation of a decorator using a simple calculation formula
  * @since 1.11
  */
+@ThreadSafeDecorator
 public final class FormulaDecorator implements Decorator {
 
   private Metric metric;
-  private DefaultFormulaContext formulaContext;
   private Set<Decorator> executeAfterDecorators;
 
   /**
@@ -57,7 +58,6 @@ public final class FormulaDecorator implements Decorator {
       throw new IllegalArgumentException("No formula defined on metric");
     }
     this.metric = metric;
-    this.formulaContext = new DefaultFormulaContext(metric);
     this.executeAfterDecorators = executeAfterDecorators;
   }
 
@@ -103,6 +103,7 @@ public final class FormulaDecorator implements Decorator {
       return;
     }
 
+    DefaultFormulaContext formulaContext = new DefaultFormulaContext(metric);
     formulaContext.setDecoratorContext(context);
     FormulaData data = new DefaultFormulaData(context);
     Measure measure = metric.getFormula().calculate(data, formulaContext);
@@ -23,6 +23,8 @@ import com.google.common.collect.Lists;
 import org.sonar.api.batch.events.EventHandler;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Dispatches {@link BatchEvent}s. Eases decoupling by allowing objects to interact without having direct dependencies upon one another, and
@@ -31,6 +33,7 @@ import java.util.List;
 public class EventBus {
 
   private EventHandler[] registeredHandlers;
+  private final Map<Class<? extends EventHandler>, List<EventHandler>> dispatchLists = new ConcurrentHashMap<>();
 
   public EventBus(EventHandler[] handlers) {
     this.registeredHandlers = handlers;
@@ -43,6 +46,14 @@ public class EventBus {
     doFireEvent(event);
   }
 
+  /**
+   * Whether at least one handler listens to the given type of events. Allows to not create
+   * events that would not be dispatched.
+   */
+  public boolean hasHandlers(Class<? extends EventHandler> handlerType) {
+    return !getDispatchList(handlerType).isEmpty();
+  }
+
   private void doFireEvent(BatchEvent event) {
     List<EventHandler> handlers = getDispatchList(event.getType());
     for (EventHandler handler : handlers) {
@@ -51,11 +62,15 @@ public class EventBus {
   }
 
   private List<EventHandler> getDispatchList(Class<? extends EventHandler> handlerType) {
-    List<EventHandler> result = Lists.newArrayList();
-    for (EventHandler handler : registeredHandlers) {
-      if (handlerType.isAssignableFrom(handler.getClass())) {
-        result.add(handler);
+    List<EventHandler> result = dispatchLists.get(handlerType);
+    if (result == null) {
+      result = Lists.newArrayList();
+      for (EventHandler handler : registeredHandlers) {
+        if (handlerType.isAssignableFrom(handler.getClass())) {
+          result.add(handler);
+        }
       }
+      dispatchLists.put(handlerType, result);
     }
     return result;
   }
@@ -23,6 +23,7 @@ import com.google.common.collect.Sets;
 import com.persistit.Exchange;
 import com.persistit.Key;
 import com.persistit.KeyFilter;
+import com.persistit.Value;
 import com.persistit.exception.PersistitException;
 import org.apache.commons.lang.builder.ToStringBuilder;
 
@@ -31,20 +32,53 @@ import javax.annotation.CheckForNull;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>
- * This cache is not thread-safe, due to direct usage of {@link com.persistit.Exchange}
+ * This cache is thread-safe. As {@link com.persistit.Exchange} is not, each thread accesses the cache through its own exchange.
+ * These exchanges are released when caches are stopped.
  * </p>
  */
 public class Cache<V> {
 
   private final String name;
-  private final Exchange exchange;
+  private final Exchange originExchange;
+  // exchanges of the threads which accessed the cache, by thread id
+  private final ConcurrentMap<Long, Exchange> exchangesByThreadId = new ConcurrentHashMap<>();
 
-  Cache(String name, Exchange exchange) {
+  Cache(String name, Exchange originExchange) {
     this.name = name;
-    this.exchange = exchange;
+    this.originExchange = originExchange;
+  }
+
+  private Exchange exchange() {
+    long threadId = Thread.currentThread().getId();
+    Exchange exchange = exchangesByThreadId.get(threadId);
+    if (exchange == null) {
+      // only the current thread registers an exchange for its id
+      exchange = new Exchange(originExchange);
+      exchange.setMaximumValueSize(Value.MAXIMUM_SIZE);
+      exchangesByThreadId.put(threadId, exchange);
+    }
+    return exchange;
+  }
+
+  Exchange originExchange() {
+    return originExchange;
+  }
+
+  /**
+   * Drops the exchanges of all the threads which accessed the cache, including the threads
+   * of pools which are still alive.
+   */
+  void releaseExchanges() {
+    exchangesByThreadId.clear();
+  }
+
+  int countExchanges() {
+    return exchangesByThreadId.size();
   }
 
   public Cache<V> put(Object key, V value) {
@@ -69,8 +103,8 @@ public class Cache<V> {
 
   private Cache<V> doPut(V value) {
     try {
-      exchange.getValue().put(value);
-      exchange.store();
+      exchange().getValue().put(value);
+      exchange().store();
       return this;
     } catch (Exception e) {
       throw new IllegalStateException("Fail to put element in the cache " + name, e);
@@ -116,11 +150,11 @@ public class Cache<V> {
   @CheckForNull
   private V doGet() {
     try {
-      exchange.fetch();
-      if (!exchange.getValue().isDefined()) {
+      exchange().fetch();
+      if (!exchange().getValue().isDefined()) {
         return null;
       }
-      return (V) exchange.getValue().get();
+      return (V) exchange().getValue().get();
     } catch (Exception e) {
       // TODO add parameters to message
       throw new IllegalStateException("Fail to get element from cache " + name, e);
@@ -149,8 +183,8 @@ public class Cache<V> {
 
   private boolean doContainsKey() {
     try {
-      exchange.fetch();
-      return exchange.isValueDefined();
+      exchange().fetch();
+      return exchange().isValueDefined();
     } catch (Exception e) {
       // TODO add parameters to message
       throw new IllegalStateException("Fail to check if element is in cache " + name, e);
@@ -179,7 +213,7 @@ public class Cache<V> {
 
   private boolean doRemove() {
     try {
-      return exchange.remove();
+      return exchange().remove();
     } catch (Exception e) {
       // TODO add parameters to message
       throw new IllegalStateException("Fail to get element from cache " + name, e);
@@ -213,9 +247,9 @@ public class Cache<V> {
 
   private Cache<V> doClear() {
     try {
-      Key to = new Key(exchange.getKey());
+      Key to = new Key(exchange().getKey());
       to.append(Key.AFTER);
-      exchange.removeKeyRange(exchange.getKey(), to);
+      exchange().removeKeyRange(exchange().getKey(), to);
       return this;
     } catch (Exception e) {
       throw new IllegalStateException("Fail to clear values from cache " + name, e);
@@ -227,8 +261,8 @@ public class Cache<V> {
    */
   public void clear() {
     try {
-      exchange.clear();
-      exchange.removeAll();
+      exchange().clear();
+      exchange().removeAll();
     } catch (Exception e) {
       throw new IllegalStateException("Fail to clear cache", e);
     }
@@ -245,8 +279,8 @@ public class Cache<V> {
   public Set keySet(Object key) {
     try {
       Set<Object> keys = Sets.newLinkedHashSet();
-      exchange.clear();
-      Exchange iteratorExchange = new Exchange(exchange);
+      exchange().clear();
+      Exchange iteratorExchange = new Exchange(exchange());
       iteratorExchange.append(key);
       iteratorExchange.append(Key.BEFORE);
       while (iteratorExchange.next(false)) {
@@ -262,8 +296,8 @@ public class Cache<V> {
   public Set keySet(Object firstKey, Object secondKey) {
     try {
       Set<Object> keys = Sets.newLinkedHashSet();
-      exchange.clear();
-      Exchange iteratorExchange = new Exchange(exchange);
+      exchange().clear();
+      Exchange iteratorExchange = new Exchange(exchange());
       iteratorExchange.append(firstKey);
       iteratorExchange.append(secondKey);
       iteratorExchange.append(Key.BEFORE);
@@ -284,8 +318,8 @@ public class Cache<V> {
   public Set<Object> keySet() {
     try {
       Set<Object> keys = Sets.newLinkedHashSet();
-      exchange.clear();
-      Exchange iteratorExchange = new Exchange(exchange);
+      exchange().clear();
+      Exchange iteratorExchange = new Exchange(exchange());
       iteratorExchange.append(Key.BEFORE);
       while (iteratorExchange.next(false)) {
         keys.add(iteratorExchange.getKey().indexTo(-1).decode());
@@ -300,50 +334,50 @@ public class Cache<V> {
    * Lazy-loading values for given keys
    */
   public Iterable<V> values(Object firstKey, Object secondKey) {
-    return new ValueIterable<>(exchange, firstKey, secondKey);
+    return new ValueIterable<>(exchange(), firstKey, secondKey);
   }
 
   /**
    * Lazy-loading values for a given key
    */
   public Iterable<V> values(Object firstKey) {
-    return new ValueIterable<>(exchange, firstKey);
+    return new ValueIterable<>(exchange(), firstKey);
   }
 
   /**
    * Lazy-loading values
    */
   public Iterable<V> values() {
-    return new ValueIterable<>(exchange);
+    return new ValueIterable<>(exchange());
   }
 
   public Iterable<Entry<V>> entries() {
-    return new EntryIterable<>(exchange);
+    return new EntryIterable<>(exchange());
   }
 
   public Iterable<Entry<V>> entries(Object firstKey) {
-    return new EntryIterable<>(exchange, firstKey);
+    return new EntryIterable<>(exchange(), firstKey);
   }
 
   private void resetKey(Object key) {
-    exchange.clear();
-    exchange.append(key);
+    exchange().clear();
+    exchange().append(key);
   }
 
   private void resetKey(Object first, Object second) {
-    exchange.clear();
-    exchange.append(first).append(second);
+    exchange().clear();
+    exchange().append(first).append(second);
   }
 
   private void resetKey(Object first, Object second, Object third) {
-    exchange.clear();
-    exchange.append(first).append(second).append(third);
+    exchange().clear();
+    exchange().append(first).append(second).append(third);
   }
 
   private void resetKey(Object[] keys) {
-    exchange.clear();
+    exchange().clear();
     for (Object o : keys) {
-      exchange.append(o);
+      exchange().append(o);
     }
   }
 
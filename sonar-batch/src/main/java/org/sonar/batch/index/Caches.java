@@ -22,7 +22,6 @@ package org.sonar.batch.index;
 import com.google.common.collect.Maps;
 
 import java.util.Map;
-import java.util.Map.Entry;
 
 import com.google.common.base.Preconditions;
 import com.persistit.Exchange;
@@ -37,7 +36,7 @@ import org.sonar.api.batch.BatchSide;
 
 @BatchSide
 public class Caches implements Startable {
-  private final Map<String, Exchange> cacheMap = Maps.newHashMap();
+  private final Map<String, Cache<?>> cacheMap = Maps.newHashMap();
   private Persistit persistit;
   private Volume volume;
 
@@ -72,7 +71,7 @@ public class Caches implements Startable {
       Exchange exchange = persistit.getExchange(volume, cacheName, true);
       exchange.setMaximumValueSize(Value.MAXIMUM_SIZE);
       Cache<V> cache = new Cache<>(cacheName, exchange);
-      cacheMap.put(cacheName, exchange);
+      cacheMap.put(cacheName, cache);
       return cache;
     } catch (Exception e) {
       throw new IllegalStateException("Fail to create cache: " + cacheName, e);
@@ -81,8 +80,9 @@ public class Caches implements Startable {
 
   @Override
   public void stop() {
-    for (Entry<String, Exchange> e : cacheMap.entrySet()) {
-      persistit.releaseExchange(e.getValue());
+    for (Cache<?> cache : cacheMap.values()) {
+      cache.releaseExchanges();
+      persistit.releaseExchange(cache.originExchange());
     }
 
     cacheMap.clear();
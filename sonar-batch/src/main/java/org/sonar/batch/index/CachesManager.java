@@ -21,6 +21,7 @@ package org.sonar.batch.index;
 
 import org.sonar.api.utils.TempFolder;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.persistit.Persistit;
 import com.persistit.exception.PersistitException;
 import com.persistit.logging.Slf4jAdapter;
@@ -39,12 +40,33 @@ import java.util.Properties;
  */
 @BatchSide
 public class CachesManager implements Startable {
+
+  /**
+   * Memory allocated to the pool of 8Kb buffers, as defined by Persistit: "minimum,maximum,reserved,fraction".
+   * The pool uses 5% of the heap that is not reserved, between 1Mb and 64Mb, so that most of the data cached
+   * during analysis stays in memory instead of being swapped to the temporary volume.
+   */
+  static final String BUFFER_MEMORY = "1M,64M,16M,0.05";
+
   private File tempDir;
   private Persistit persistit;
   private final TempFolder tempFolder;
+  private final String bufferPoolProperty;
+  private final String bufferPoolValue;
 
   public CachesManager(TempFolder tempFolder) {
+    this(tempFolder, "buffer.memory.8192", BUFFER_MEMORY);
+  }
+
+  /**
+   * Allows to compare configurations of the Persistit buffer pool, for example
+   * {@code ("buffer.count.8192", "10")}.
+   */
+  @VisibleForTesting
+  public CachesManager(TempFolder tempFolder, String bufferPoolProperty, String bufferPoolValue) {
     this.tempFolder = tempFolder;
+    this.bufferPoolProperty = bufferPoolProperty;
+    this.bufferPoolValue = bufferPoolValue;
     initPersistit();
   }
 
@@ -57,7 +79,7 @@ public class CachesManager implements Startable {
       props.setProperty("datapath", tempDir.getAbsolutePath());
       props.setProperty("logpath", "${datapath}/log");
       props.setProperty("logfile", "${logpath}/persistit_${timestamp}.log");
-      props.setProperty("buffer.count.8192", "10");
+      props.setProperty(bufferPoolProperty, bufferPoolValue);
       props.setProperty("journalpath", "${datapath}/journal");
       props.setProperty("tmpvoldir", "${datapath}");
       props.setProperty("volume.1", "${datapath}/persistit,create,pageSize:8192,initialPages:10,extensionPages:100,maximumPages:25000");
@@ -30,19 +30,25 @@ import com.google.common.collect.Multimap;
 import org.sonar.api.batch.BatchSide;
 import org.sonar.api.batch.InstantiationStrategy;
 import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.rule.RuleKey;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @InstantiationStrategy(InstantiationStrategy.PER_BATCH)
 @BatchSide
 public class IssueTracking {
 
+  private static final int MAX_LINE_PAIRS = 250000;
+
   /**
    * @param sourceHashHolder Null when working on resource that is not a file (directory/project)
    */
@@ -159,15 +165,9 @@ public class IssueTracking {
       }
     }
 
-    // Check if remaining number of lines exceeds threshold
-    if (lastIssuesByLines.keySet().size() * newIssuesByLines.keySet().size() < 250000) {
-      List<LinePair> possibleLinePairs = Lists.newArrayList();
-      for (Integer oldLine : lastIssuesByLines.keySet()) {
-        for (Integer newLine : newIssuesByLines.keySet()) {
-          int weight = rec.computeLengthOfMaximalBlock(oldLine, newLine);
-          possibleLinePairs.add(new LinePair(oldLine, newLine, weight));
-        }
-      }
+    // Check if remaining number of line pairs exceeds threshold
+    List<LinePair> possibleLinePairs = possibleLinePairs(lastIssuesByLines, newIssuesByLines, rec);
+    if (possibleLinePairs != null) {
       Collections.sort(possibleLinePairs, LINE_PAIR_COMPARATOR);
       for (LinePair linePair : possibleLinePairs) {
         // High probability that lineA has been moved to lineB, so we can map all Issues on lineA to all Issues on lineB
@@ -176,13 +176,44 @@ public class IssueTracking {
     }
   }
 
+  /**
+   * Pairs of lines that could be mapped, i.e. lines having at least one issue on the same rule. Other pairs are
+   * not evaluated as their issues can't be mapped.
+   *
+   * @return null if the number of pairs exceeds {@link #MAX_LINE_PAIRS}
+   */
+  @CheckForNull
+  private static List<LinePair> possibleLinePairs(Multimap<Integer, ServerIssue> lastIssuesByLines, Multimap<Integer, DefaultIssue> newIssuesByLines,
+    IssueTrackingBlocksRecognizer rec) {
+    Multimap<RuleKey, Integer> newLinesByRule = LinkedHashMultimap.create();
+    for (Map.Entry<Integer, DefaultIssue> newIssueByLine : newIssuesByLines.entries()) {
+      newLinesByRule.put(newIssueByLine.getValue().ruleKey(), newIssueByLine.getKey());
+    }
+
+    List<LinePair> possibleLinePairs = Lists.newArrayList();
+    for (Integer oldLine : lastIssuesByLines.keySet()) {
+      Set<Integer> newLines = new LinkedHashSet<>();
+      for (ServerIssue lastIssue : lastIssuesByLines.get(oldLine)) {
+        newLines.addAll(newLinesByRule.get(lastIssue.ruleKey()));
+      }
+      if (possibleLinePairs.size() + newLines.size() >= MAX_LINE_PAIRS) {
+        return null;
+      }
+      for (Integer newLine : newLines) {
+        int weight = rec.computeLengthOfMaximalBlock(oldLine, newLine);
+        possibleLinePairs.add(new LinePair(oldLine, newLine, weight));
+      }
+    }
+    return possibleLinePairs;
+  }
+
   private void mapIssuesOnSameRule(Collection<DefaultIssue> newIssues, IssueTrackingResult result) {
     // Try then to match issues on same rule with same message and with same checksum
     for (DefaultIssue newIssue : newIssues) {
       if (isNotAlreadyMapped(newIssue, result)) {
         mapIssue(
           newIssue,
-          findLastIssueWithSameChecksumAndMessage(newIssue, result.unmatchedByKeyForRule(newIssue.ruleKey()).values()),
+          result.firstUnmatchedForRuleAndChecksumAndMessage(newIssue.ruleKey(), newIssue.checksum(), newIssue.message()),
           result);
       }
     }
@@ -192,7 +223,7 @@ public class IssueTracking {
       if (isNotAlreadyMapped(newIssue, result)) {
         mapIssue(
           newIssue,
-          findLastIssueWithSameLineAndMessage(newIssue, result.unmatchedByKeyForRule(newIssue.ruleKey()).values()),
+          result.firstUnmatchedForRuleAndLineAndMessage(newIssue.ruleKey(), newIssue.line(), newIssue.message()),
           result);
       }
     }
@@ -203,7 +234,7 @@ public class IssueTracking {
       if (isNotAlreadyMapped(newIssue, result)) {
         mapIssue(
           newIssue,
-          findLastIssueWithSameChecksum(newIssue, result.unmatchedByKeyForRule(newIssue.ruleKey()).values()),
+          result.firstUnmatchedForRuleAndChecksum(newIssue.ruleKey(), newIssue.checksum()),
           result);
       }
     }
@@ -242,33 +273,6 @@ public class IssueTracking {
     return previousIssuesByLines;
   }
 
-  private ServerIssue findLastIssueWithSameChecksum(DefaultIssue newIssue, Collection<ServerIssue> previousIssues) {
-    for (ServerIssue previousIssue : previousIssues) {
-      if (isSameChecksum(newIssue, previousIssue)) {
-        return previousIssue;
-      }
-    }
-    return null;
-  }
-
-  private ServerIssue findLastIssueWithSameLineAndMessage(DefaultIssue newIssue, Collection<ServerIssue> previousIssues) {
-    for (ServerIssue previousIssue : previousIssues) {
-      if (isSameLine(newIssue, previousIssue) && isSameMessage(newIssue, previousIssue)) {
-        return previousIssue;
-      }
-    }
-    return null;
-  }
-
-  private ServerIssue findLastIssueWithSameChecksumAndMessage(DefaultIssue newIssue, Collection<ServerIssue> previousIssues) {
-    for (ServerIssue previousIssue : previousIssues) {
-      if (isSameChecksum(newIssue, previousIssue) && isSameMessage(newIssue, previousIssue)) {
-        return previousIssue;
-      }
-    }
-    return null;
-  }
-
   private ServerIssue findLastIssueWithSameLineAndChecksum(DefaultIssue newIssue, IssueTrackingResult result) {
     Collection<ServerIssue> sameRuleAndSameLineAndSameChecksum = result.unmatchedForRuleAndForLineAndForChecksum(newIssue.ruleKey(), newIssue.line(), newIssue.checksum());
     if (!sameRuleAndSameLineAndSameChecksum.isEmpty()) {
@@ -278,25 +282,13 @@ public class IssueTracking {
   }
 
   private boolean isNotAlreadyMapped(ServerIssue previousIssue, IssueTrackingResult result) {
-    return result.unmatched().contains(previousIssue);
+    return result.isUnmatched(previousIssue);
   }
 
   private boolean isNotAlreadyMapped(DefaultIssue newIssue, IssueTrackingResult result) {
     return !result.isMatched(newIssue);
   }
 
-  private boolean isSameChecksum(DefaultIssue newIssue, ServerIssue previousIssue) {
-    return Objects.equal(previousIssue.checksum(), newIssue.checksum());
-  }
-
-  private boolean isSameLine(DefaultIssue newIssue, ServerIssue previousIssue) {
-    return Objects.equal(previousIssue.line(), newIssue.line());
-  }
-
-  private boolean isSameMessage(DefaultIssue newIssue, ServerIssue previousIssue) {
-    return Objects.equal(newIssue.message(), previousIssue.message());
-  }
-
   private void mapIssue(DefaultIssue issue, @Nullable ServerIssue ref, IssueTrackingResult result) {
     if (ref != null) {
       result.setMatch(issue, ref);
@@ -19,24 +19,35 @@
  */
 package org.sonar.batch.issue.tracking;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.api.issue.internal.DefaultIssue;
 import org.sonar.api.rule.RuleKey;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
+/**
+ * Unmatched issues are indexed by the different criteria used by {@link IssueTracking}, so that
+ * each new issue is matched in constant time.
+ */
 class IssueTrackingResult {
   private final Map<String, ServerIssue> unmatchedByKey = new HashMap<>();
   private final Map<RuleKey, Map<String, ServerIssue>> unmatchedByRuleAndKey = new HashMap<>();
   private final Map<RuleKey, Map<Integer, Multimap<String, ServerIssue>>> unmatchedByRuleAndLineAndChecksum = new HashMap<>();
+  private final Multimap<IssueKey, ServerIssue> unmatchedByRuleAndChecksum = LinkedHashMultimap.create();
+  private final Multimap<IssueKey, ServerIssue> unmatchedByRuleAndChecksumAndMessage = LinkedHashMultimap.create();
+  private final Multimap<IssueKey, ServerIssue> unmatchedByRuleAndLineAndMessage = LinkedHashMultimap.create();
   private final Map<DefaultIssue, ServerIssue> matched = Maps.newIdentityHashMap();
 
   Collection<ServerIssue> unmatched() {
@@ -64,6 +75,31 @@ class IssueTrackingResult {
     return unmatchedForRuleAndLine.get(checksumNotNull);
   }
 
+  @CheckForNull
+  ServerIssue firstUnmatchedForRuleAndChecksum(RuleKey ruleKey, @Nullable String checksum) {
+    return first(unmatchedByRuleAndChecksum.get(new IssueKey(ruleKey, null, checksum, null)));
+  }
+
+  @CheckForNull
+  ServerIssue firstUnmatchedForRuleAndChecksumAndMessage(RuleKey ruleKey, @Nullable String checksum, @Nullable String message) {
+    return first(unmatchedByRuleAndChecksumAndMessage.get(new IssueKey(ruleKey, null, checksum, message)));
+  }
+
+  @CheckForNull
+  ServerIssue firstUnmatchedForRuleAndLineAndMessage(RuleKey ruleKey, @Nullable Integer line, @Nullable String message) {
+    return first(unmatchedByRuleAndLineAndMessage.get(new IssueKey(ruleKey, line, null, message)));
+  }
+
+  @CheckForNull
+  private static ServerIssue first(Collection<ServerIssue> issues) {
+    Iterator<ServerIssue> it = issues.iterator();
+    return it.hasNext() ? it.next() : null;
+  }
+
+  boolean isUnmatched(ServerIssue issue) {
+    return unmatchedByKey.get(issue.key()) == issue;
+  }
+
   Collection<DefaultIssue> matched() {
     return matched.keySet();
   }
@@ -92,6 +128,10 @@ class IssueTrackingResult {
     Multimap<String, ServerIssue> unmatchedForRuleAndLine = unmatchedForRule.get(lineNotNull);
     String checksumNotNull = StringUtils.defaultString(i.checksum(), "");
     unmatchedForRuleAndLine.put(checksumNotNull, i);
+
+    unmatchedByRuleAndChecksum.put(new IssueKey(ruleKey, null, i.checksum(), null), i);
+    unmatchedByRuleAndChecksumAndMessage.put(new IssueKey(ruleKey, null, i.checksum(), i.message()), i);
+    unmatchedByRuleAndLineAndMessage.put(new IssueKey(ruleKey, i.line(), null, i.message()), i);
   }
 
   private Integer lineNotNull(ServerIssue i) {
@@ -107,5 +147,39 @@ class IssueTrackingResult {
     Integer lineNotNull = lineNotNull(matching);
     String checksumNotNull = StringUtils.defaultString(matching.checksum(), "");
     unmatchedByRuleAndLineAndChecksum.get(ruleKey).get(lineNotNull).get(checksumNotNull).remove(matching);
+    unmatchedByRuleAndChecksum.remove(new IssueKey(ruleKey, null, matching.checksum(), null), matching);
+    unmatchedByRuleAndChecksumAndMessage.remove(new IssueKey(ruleKey, null, matching.checksum(), matching.message()), matching);
+    unmatchedByRuleAndLineAndMessage.remove(new IssueKey(ruleKey, matching.line(), null, matching.message()), matching);
+  }
+
+  private static final class IssueKey {
+    private final RuleKey ruleKey;
+    private final Integer line;
+    private final String checksum;
+    private final String message;
+
+    IssueKey(RuleKey ruleKey, @Nullable Integer line, @Nullable String checksum, @Nullable String message) {
+      this.ruleKey = ruleKey;
+      this.line = line;
+      this.checksum = checksum;
+      this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      IssueKey other = (IssueKey) o;
+      return ruleKey.equals(other.ruleKey) && Objects.equal(line, other.line) && Objects.equal(checksum, other.checksum) && Objects.equal(message, other.message);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(ruleKey, line, checksum, message);
+    }
   }
 }
@@ -25,11 +25,16 @@ import org.sonar.api.batch.AnalysisMode;
 import org.sonar.api.batch.Decorator;
 import org.sonar.api.batch.DecoratorContext;
 import org.sonar.api.batch.SonarIndex;
+import org.sonar.api.batch.ThreadSafeDecorator;
+import org.sonar.api.batch.events.DecoratorExecutionHandler;
+import org.sonar.api.config.Settings;
 import org.sonar.api.measures.MetricFinder;
 import org.sonar.api.resources.Project;
 import org.sonar.api.resources.Resource;
 import org.sonar.api.utils.MessageException;
 import org.sonar.api.utils.SonarException;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
 import org.sonar.batch.bootstrap.BatchExtensionDictionnary;
 import org.sonar.batch.deprecated.decorator.DecoratorsSelector;
 import org.sonar.batch.deprecated.decorator.DefaultDecoratorContext;
@@ -39,10 +44,20 @@ import org.sonar.batch.sensor.coverage.CoverageExclusions;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 @BatchSide
 public class DecoratorsExecutor {
 
+  /**
+   * Number of threads used to decorate sibling resources concurrently. Decoration is sequential by default,
+   * and stays sequential if a decorator is not annotated with {@link ThreadSafeDecorator}.
+   */
+  static final String THREADS_PROPERTY = "sonar.decorators.threads";
+
+  private static final Logger LOG = Loggers.get(DecoratorsExecutor.class);
+
   private final DecoratorsSelector decoratorsSelector;
   private final SonarIndex index;
   private final EventBus eventBus;
@@ -51,9 +66,12 @@ public class DecoratorsExecutor {
   private final MeasureCache measureCache;
   private final MetricFinder metricFinder;
   private final AnalysisMode analysisMode;
+  private final Settings settings;
+  private boolean fireExecutionEvents = true;
 
   public DecoratorsExecutor(BatchExtensionDictionnary batchExtDictionnary, Project project, SonarIndex index, EventBus eventBus, CoverageExclusions coverageFilter,
-    MeasureCache measureCache, MetricFinder metricFinder, AnalysisMode analysisMode) {
+    MeasureCache measureCache, MetricFinder metricFinder, AnalysisMode analysisMode, Settings settings) {
+    this.settings = settings;
     this.measureCache = measureCache;
     this.metricFinder = metricFinder;
     this.analysisMode = analysisMode;
@@ -70,11 +88,40 @@ public class DecoratorsExecutor {
       return;
     }
     Collection<Decorator> decorators = decoratorsSelector.select(project);
+    fireExecutionEvents = eventBus.hasHandlers(DecoratorExecutionHandler.class);
     eventBus.fireEvent(new DecoratorsPhaseEvent(Lists.newArrayList(decorators), true));
-    ((DefaultDecoratorContext) decorateResource(project, decorators, true)).end();
+    int threads = threads();
+    if (threads > 1 && areThreadSafe(decorators)) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        pool.invoke(new DecorateTask(project, decorators, true)).end();
+      } finally {
+        pool.shutdown();
+      }
+    } else {
+      ((DefaultDecoratorContext) decorateResource(project, decorators, true)).end();
+    }
     eventBus.fireEvent(new DecoratorsPhaseEvent(Lists.newArrayList(decorators), false));
   }
 
+  private int threads() {
+    int threads = settings.getInt(THREADS_PROPERTY);
+    if (threads < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", THREADS_PROPERTY, threads));
+    }
+    return threads;
+  }
+
+  static boolean areThreadSafe(Collection<Decorator> decorators) {
+    for (Decorator decorator : decorators) {
+      if (!decorator.getClass().isAnnotationPresent(ThreadSafeDecorator.class)) {
+        LOG.info("Decorators are executed sequentially because {} is not thread-safe", decorator);
+        return false;
+      }
+    }
+    return true;
+  }
+
   DecoratorContext decorateResource(Resource resource, Collection<Decorator> decorators, boolean executeDecorators) {
     List<DecoratorContext> childrenContexts = Lists.newArrayList();
     for (Resource child : index.getChildren(resource)) {
@@ -83,6 +130,10 @@ public class DecoratorsExecutor {
       childrenContexts.add(childContext.end());
     }
 
+    return decorate(resource, childrenContexts, decorators, executeDecorators);
+  }
+
+  private DefaultDecoratorContext decorate(Resource resource, List<DecoratorContext> childrenContexts, Collection<Decorator> decorators, boolean executeDecorators) {
     DefaultDecoratorContext context = new DefaultDecoratorContext(resource, index, childrenContexts, measureCache, metricFinder, coverageFilter);
     context.init();
     if (executeDecorators) {
@@ -95,9 +146,13 @@ public class DecoratorsExecutor {
 
   void executeDecorator(Decorator decorator, DefaultDecoratorContext context, Resource resource) {
     try {
-      eventBus.fireEvent(new DecoratorExecutionEvent(decorator, true));
+      if (fireExecutionEvents) {
+        eventBus.fireEvent(new DecoratorExecutionEvent(decorator, true));
+      }
       decorator.decorate(resource, context);
-      eventBus.fireEvent(new DecoratorExecutionEvent(decorator, false));
+      if (fireExecutionEvents) {
+        eventBus.fireEvent(new DecoratorExecutionEvent(decorator, false));
+      }
 
     } catch (MessageException e) {
       throw e;
@@ -108,4 +163,35 @@ public class DecoratorsExecutor {
     }
   }
 
+  /**
+   * Decorates the subtrees of children concurrently, then the resource itself once
+   * all its children are decorated.
+   */
+  private class DecorateTask extends RecursiveTask<DefaultDecoratorContext> {
+    private final Resource resource;
+    private final Collection<Decorator> decorators;
+    private final boolean executeDecorators;
+
+    DecorateTask(Resource resource, Collection<Decorator> decorators, boolean executeDecorators) {
+      this.resource = resource;
+      this.decorators = decorators;
+      this.executeDecorators = executeDecorators;
+    }
+
+    @Override
+    protected DefaultDecoratorContext compute() {
+      List<DecorateTask> childrenTasks = Lists.newArrayList();
+      for (Resource child : index.getChildren(resource)) {
+        boolean isModule = child instanceof Project;
+        childrenTasks.add(new DecorateTask(child, decorators, !isModule));
+      }
+      invokeAll(childrenTasks);
+
+      List<DecoratorContext> childrenContexts = Lists.newArrayList();
+      for (DecorateTask childTask : childrenTasks) {
+        childrenContexts.add(childTask.join().end());
+      }
+      return decorate(resource, childrenContexts, decorators, executeDecorators);
+    }
+  }
 }
@@ -19,7 +19,15 @@
  */
 package org.sonar.batch.report;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import javax.annotation.CheckForNull;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.api.CoreProperties;
 import org.sonar.api.batch.bootstrap.ProjectDefinition;
@@ -34,15 +42,26 @@ import org.sonar.batch.protocol.Constants.ComponentLinkType;
 import org.sonar.batch.protocol.output.BatchReport;
 import org.sonar.batch.protocol.output.BatchReport.ComponentLink;
 import org.sonar.batch.protocol.output.BatchReportWriter;
+import org.sonar.batch.protocol.output.FileStructure;
+import org.sonar.batch.protocol.output.FileStructure.Domain;
 import org.sonar.batch.scan.ImmutableProjectReactor;
 
 /**
- * Adds components and analysis metadata to output report
+ * Adds components and analysis metadata to output report.
+ * <p/>
+ * Files are given the hashes of their data written by the other publishers, so that the Compute Engine
+ * can skip the files that did not change since previous analysis. As a consequence this publisher
+ * must be executed after all the other ones.
  */
 public class ComponentsPublisher implements ReportPublisherStep {
 
+  private static final Domain[] SOURCE_DATA_DOMAINS = {Domain.SOURCE, Domain.COVERAGES, Domain.CHANGESETS, Domain.SYNTAX_HIGHLIGHTINGS, Domain.SYMBOLS,
+    Domain.DUPLICATIONS};
+  private static final Domain[] TEST_DATA_DOMAINS = {Domain.TESTS, Domain.COVERAGE_DETAILS};
+
   private final BatchComponentCache resourceCache;
   private final ImmutableProjectReactor reactor;
+  private String fileRefsHash;
 
   public ComponentsPublisher(ImmutableProjectReactor reactor, BatchComponentCache resourceCache) {
     this.reactor = reactor;
@@ -52,6 +71,7 @@ public class ComponentsPublisher implements ReportPublisherStep {
   @Override
   public void publish(BatchReportWriter writer) {
     BatchComponent rootProject = resourceCache.get(reactor.getRoot().getKeyWithBranch());
+    fileRefsHash = computeFileRefsHash();
     recursiveWriteComponent(rootProject, writer);
   }
 
@@ -74,7 +94,9 @@ public class ComponentsPublisher implements ReportPublisherStep {
 
     if (batchComponent.isFile()) {
       builder.setIsTest(ResourceUtils.isUnitTestFile(r));
-      builder.setLines(((InputFile) batchComponent.inputPath()).lines());
+      int lines = ((InputFile) batchComponent.inputPath()).lines();
+      builder.setLines(lines);
+      writeDataHashes(batchComponent.batchId(), lines, writer, builder);
     }
     String name = getName(r);
     if (name != null) {
@@ -104,6 +126,50 @@ public class ComponentsPublisher implements ReportPublisherStep {
     }
   }
 
+  private void writeDataHashes(int fileRef, int lines, BatchReportWriter writer, BatchReport.Component.Builder builder) {
+    MessageDigest sourceDigest = DigestUtils.getMd5Digest();
+    sourceDigest.update(String.valueOf(lines).getBytes(StandardCharsets.UTF_8));
+    builder.setSourceDataHash(hashComponentData(sourceDigest, writer, fileRef, SOURCE_DATA_DOMAINS));
+
+    if (writer.hasComponentData(Domain.TESTS, fileRef)) {
+      // coverage details reference the covered files by their ref, which is not stable between analyses
+      MessageDigest testDigest = DigestUtils.getMd5Digest();
+      testDigest.update(fileRefsHash.getBytes(StandardCharsets.UTF_8));
+      builder.setTestDataHash(hashComponentData(testDigest, writer, fileRef, TEST_DATA_DOMAINS));
+    }
+  }
+
+  private static String hashComponentData(MessageDigest digest, BatchReportWriter writer, int componentRef, Domain... domains) {
+    FileStructure fileStructure = writer.getFileStructure();
+    byte[] buffer = new byte[8192];
+    for (Domain domain : domains) {
+      digest.update(domain.name().getBytes(StandardCharsets.UTF_8));
+      if (writer.hasComponentData(domain, componentRef)) {
+        File file = fileStructure.fileFor(domain, componentRef);
+        try (InputStream input = new FileInputStream(file)) {
+          int read = input.read(buffer);
+          while (read != -1) {
+            digest.update(buffer, 0, read);
+            read = input.read(buffer);
+          }
+        } catch (IOException e) {
+          throw new IllegalStateException("Unable to hash report file " + file, e);
+        }
+      }
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  private String computeFileRefsHash() {
+    MessageDigest digest = DigestUtils.getMd5Digest();
+    for (BatchComponent component : resourceCache.all()) {
+      if (component.isFile()) {
+        digest.update((component.batchId() + ":" + component.key() + "\n").getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
   private void writeVersion(BatchComponent c, BatchReport.Component.Builder builder) {
     if (c.isProjectOrModule()) {
       ProjectDefinition def = reactor.getProjectDefinition(c.key());
@@ -19,9 +19,13 @@
  */
 package org.sonar.batch.repository;
 
+import com.google.common.io.InputSupplier;
+import java.io.IOException;
+import java.io.InputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.bootstrap.ProjectReactor;
+import org.sonar.api.utils.HttpDownloader;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.bootstrap.ServerClient;
 import org.sonar.batch.bootstrap.AnalysisProperties;
@@ -52,7 +56,21 @@ public class DefaultProjectRepositoriesLoader implements ProjectRepositoriesLoad
       url += "&profile=" + ServerClient.encodeForUrl(taskProperties.properties().get(ModuleQProfiles.SONAR_PROFILE_PROP));
     }
     url += "&preview=" + analysisMode.isPreview();
-    return ProjectRepositories.fromJson(serverClient.request(url));
+    url += "&format=protobuf";
+    try {
+      InputSupplier<InputStream> request = serverClient.doRequest(url, "GET", null);
+      return parse(request);
+    } catch (HttpDownloader.HttpException e) {
+      throw serverClient.handleHttpException(e);
+    }
+  }
+
+  private static ProjectRepositories parse(InputSupplier<InputStream> input) {
+    try (InputStream is = input.getInput()) {
+      return ProjectRepositories.fromProtobuf(is);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to load project repositories", e);
+    }
   }
 
 }
@@ -197,13 +197,14 @@ public class ProjectScanContainer extends ComponentContainer {
 
     // Report
       ReportPublisher.class,
-      ComponentsPublisher.class,
       IssuesPublisher.class,
       MeasuresPublisher.class,
       DuplicationsPublisher.class,
       CoveragePublisher.class,
       SourcePublisher.class,
       TestExecutionAndCoveragePublisher.class,
+      // must be the last publisher as it hashes the data written by the other ones
+      ComponentsPublisher.class,
 
     ScanTaskObservers.class);
   }
@@ -51,6 +51,7 @@ class LanguageDetection {
    * Lower-case extension -> languages
    */
   private final Map<String, PathPattern[]> patternsByLanguage = Maps.newLinkedHashMap();
+  private final Map<String, PathPatternSet> patternSetsByLanguage = Maps.newHashMap();
   private final List<String> languagesToConsider = Lists.newArrayList();
   private final String forcedLanguage;
 
@@ -84,6 +85,9 @@ class LanguageDetection {
     } else {
       languagesToConsider.addAll(patternsByLanguage.keySet());
     }
+    for (Map.Entry<String, PathPattern[]> entry : patternsByLanguage.entrySet()) {
+      patternSetsByLanguage.put(entry.getKey(), new PathPatternSet(entry.getValue()));
+    }
   }
 
   Map<String, PathPattern[]> patternsByLanguage() {
@@ -118,15 +122,8 @@ class LanguageDetection {
   }
 
   private boolean isCandidateForLanguage(InputFile inputFile, String languageKey) {
-    PathPattern[] patterns = patternsByLanguage.get(languageKey);
-    if (patterns != null) {
-      for (PathPattern pathPattern : patterns) {
-        if (pathPattern.match(inputFile, false)) {
-          return true;
-        }
-      }
-    }
-    return false;
+    PathPatternSet patterns = patternSetsByLanguage.get(languageKey);
+    return patterns != null && patterns.match(inputFile, false);
   }
 
   private String getFileLangPatternPropKey(String languageKey) {
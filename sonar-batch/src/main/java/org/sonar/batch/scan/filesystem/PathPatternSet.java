@@ -0,0 +1,188 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.scan.filesystem;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang.StringUtils;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.PathPattern;
+
+import javax.annotation.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set of {@link PathPattern} compiled to be matched in a single pass. The most common shapes of
+ * relative patterns are not evaluated as regular expressions:
+ * <ul>
+ *   <li><code>**&#47;*.java</code> or <code>**&#47;*Test.java</code> - lookup of the end of the path</li>
+ *   <li><code>src/generated/**</code> - comparison of the start of the path</li>
+ *   <li><code>src/Foo.java</code> - lookup of the complete path</li>
+ * </ul>
+ * Other patterns, including absolute ones, are matched one by one.
+ * <p/>
+ * Instances are immutable, so they can be shared by the threads indexing files.
+ * <p/>
+ * Public only to be benchmarked, see PathPatternSetBenchmark in microbenchmark-template.
+ */
+public final class PathPatternSet {
+
+  private static final String SUFFIX_PREFIX = "**/*";
+
+  private final PathPattern[] patterns;
+  private boolean matchAll = false;
+  private final Set<String> paths = new HashSet<>();
+  private final List<String> directories = new ArrayList<>();
+  // suffixes of paths, by their extension
+  private final ListMultimap<String, String> suffixesByExtension = ArrayListMultimap.create();
+  private final List<String> suffixesWithoutExtension = new ArrayList<>();
+  private final List<PathPattern> otherPatterns = new ArrayList<>();
+
+  public PathPatternSet(PathPattern[] patterns) {
+    this.patterns = patterns;
+    for (PathPattern pattern : patterns) {
+      if (!compile(pattern.toString())) {
+        otherPatterns.add(pattern);
+      }
+    }
+  }
+
+  PathPattern[] patterns() {
+    return patterns;
+  }
+
+  boolean isEmpty() {
+    return patterns.length == 0;
+  }
+
+  boolean match(InputFile inputFile) {
+    return match(inputFile, true);
+  }
+
+  public boolean match(InputFile inputFile, boolean caseSensitiveFileExtension) {
+    if (patterns.length > otherPatterns.size()) {
+      String path = relativePath(inputFile, caseSensitiveFileExtension);
+      if (path != null && matchRelativePath(path)) {
+        return true;
+      }
+    }
+    for (PathPattern pattern : otherPatterns) {
+      if (pattern.match(inputFile, caseSensitiveFileExtension)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Same rules than {@link org.sonar.api.utils.WildcardPattern}, for the supported shapes of patterns.
+   */
+  private boolean compile(String pattern) {
+    // toString() is the declared pattern, prefixed by "file:" when it is absolute
+    if (StringUtils.startsWithIgnoreCase(pattern, "file:") || pattern.indexOf('?') >= 0) {
+      return false;
+    }
+    String path = pattern.replace('\\', '/');
+    path = StringUtils.removeStart(path, "/");
+    if (path.isEmpty() || path.endsWith("/")) {
+      return false;
+    }
+    if ("**".equals(path) || SUFFIX_PREFIX.equals(path)) {
+      matchAll = true;
+      return true;
+    }
+    if (path.startsWith(SUFFIX_PREFIX)) {
+      String suffix = path.substring(SUFFIX_PREFIX.length());
+      if (StringUtils.containsNone(suffix, "*/")) {
+        int dot = suffix.lastIndexOf('.');
+        if (dot >= 0) {
+          suffixesByExtension.put(suffix.substring(dot + 1), suffix);
+        } else {
+          suffixesWithoutExtension.add(suffix);
+        }
+        return true;
+      }
+      return false;
+    }
+    if (path.endsWith("/**")) {
+      String directory = StringUtils.removeEnd(path, "**");
+      if (directory.indexOf('*') < 0) {
+        directories.add(directory);
+        return true;
+      }
+      return false;
+    }
+    if (path.indexOf('*') < 0) {
+      paths.add(path);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean matchRelativePath(String relativePath) {
+    if (matchAll) {
+      return true;
+    }
+    String path = StringUtils.removeEnd(StringUtils.removeStart(relativePath, "/"), "/");
+    if (paths.contains(path)) {
+      return true;
+    }
+    int dot = path.lastIndexOf('.');
+    if (dot >= 0) {
+      for (String suffix : suffixesByExtension.get(path.substring(dot + 1))) {
+        if (path.endsWith(suffix)) {
+          return true;
+        }
+      }
+    }
+    for (String suffix : suffixesWithoutExtension) {
+      if (path.endsWith(suffix)) {
+        return true;
+      }
+    }
+    for (String directory : directories) {
+      if (path.startsWith(directory)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Same path than the one matched by {@link PathPattern#match(InputFile, boolean)} for relative patterns
+   */
+  @CheckForNull
+  private static String relativePath(InputFile inputFile, boolean caseSensitiveFileExtension) {
+    String path = inputFile.relativePath();
+    if (path != null && !caseSensitiveFileExtension) {
+      String extension = LanguageDetection.sanitizeExtension(FilenameUtils.getExtension(path));
+      if (StringUtils.isNotBlank(extension)) {
+        path = StringUtils.removeEndIgnoreCase(path, extension);
+        path = path + extension;
+      }
+    }
+    return path;
+  }
+}
@@ -19,12 +19,15 @@
  */
 package org.sonar.batch.cpd;
 
+import com.google.common.base.Predicates;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.duplication.NewDuplication;
@@ -32,15 +35,24 @@ import org.sonar.api.batch.sensor.duplication.internal.DefaultDuplication;
 import org.sonar.api.batch.sensor.internal.SensorStorage;
 import org.sonar.api.batch.sensor.measure.Measure;
 import org.sonar.api.batch.sensor.measure.internal.DefaultMeasure;
+import org.sonar.api.config.Settings;
 import org.sonar.api.measures.CoreMetrics;
+import org.sonar.batch.cpd.index.DbDuplicationsIndex;
+import org.sonar.batch.cpd.index.SonarDuplicationsIndex;
+import org.sonar.batch.index.BatchComponentCache;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
 import org.sonar.duplications.index.CloneGroup;
 import org.sonar.duplications.index.ClonePart;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -145,8 +157,83 @@ public class JavaCpdEngineTest {
       .isDuplicatedBy("key3", 15, 214));
   }
 
+  @Test
+  public void concurrent_detection_gives_same_results_as_sequential_one() throws Exception {
+    List<Object> sequential = detectDuplications(1);
+    List<Object> concurrent = detectDuplications(4);
+
+    assertThat(sequential).isNotEmpty();
+    assertThat(concurrent).containsExactlyElementsOf(sequential);
+  }
+
+  /**
+   * 40 files of 50 blocks, with the same blocks in every fourth file. Blocks are stored in the database index too,
+   * so that its cache is prepared for each file.
+   */
+  private List<Object> detectDuplications(int workers) throws IOException {
+    final List<Object> stored = Collections.synchronizedList(new ArrayList<>());
+    final SensorStorage recordingStorage = mock(SensorStorage.class, new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        stored.add(invocation.getArguments()[0]);
+        return null;
+      }
+    });
+    SensorContext context = mock(SensorContext.class);
+    when(context.newMeasure()).then(new Answer<Measure>() {
+      @Override
+      public Measure answer(InvocationOnMock invocation) {
+        return new DefaultMeasure(recordingStorage);
+      }
+    });
+    when(context.newDuplication()).then(new Answer<NewDuplication>() {
+      @Override
+      public NewDuplication answer(InvocationOnMock invocation) {
+        return new DefaultDuplication(recordingStorage);
+      }
+    });
+
+    SonarDuplicationsIndex index = new SonarDuplicationsIndex(new DbDuplicationsIndex(mock(BatchComponentCache.class, Mockito.RETURNS_DEEP_STUBS)));
+    List<InputFile> files = new ArrayList<>();
+    Path baseDir = temp.newFolder().toPath();
+    for (int i = 0; i < 40; i++) {
+      DefaultInputFile file = new DefaultInputFile("foo", "src/main/java/Foo" + i + ".java").setLines(1000);
+      file.setModuleBaseDir(baseDir);
+      List<Block> blocks = new ArrayList<>();
+      for (int j = 0; j < 50; j++) {
+        blocks.add(Block.builder()
+          .setResourceId(file.key())
+          .setBlockHash(new ByteArray((long) (i % 4) * 1000 + j))
+          .setIndexInFile(j)
+          .setLines(j * 10 + 1, j * 10 + 10)
+          .build());
+      }
+      index.insert(file, blocks);
+      files.add(file);
+    }
+
+    JavaCpdEngine.detect(index, context, files, workers, Predicates.<CloneGroup>alwaysTrue());
+    return stored;
+  }
+
+  @Test
+  public void number_of_threads_is_loaded_from_settings() {
+    Settings settings = new Settings();
+    assertThat(JavaCpdEngine.numberOfThreads(settings)).isGreaterThanOrEqualTo(1);
+
+    settings.setProperty(JavaCpdEngine.THREADS_PROPERTY, 3);
+    assertThat(JavaCpdEngine.numberOfThreads(settings)).isEqualTo(3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_number_of_threads_is_negative() {
+    Settings settings = new Settings();
+    settings.setProperty(JavaCpdEngine.THREADS_PROPERTY, -1);
+
+    JavaCpdEngine.numberOfThreads(settings);
+  }
+
   private CloneGroup newCloneGroup(ClonePart... parts) {
     return CloneGroup.builder().setLength(0).setOrigin(parts[0]).setParts(Arrays.asList(parts)).build();
   }
-
 }
@@ -22,6 +22,7 @@ package org.sonar.batch.events;
 import org.junit.Test;
 import org.sonar.api.batch.events.EventHandler;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -42,6 +43,15 @@ public class EventBusTest {
     verify(secondHandler).onEvent(secondEvent);
   }
 
+  @Test
+  public void shouldKnowWhetherEventsAreListened() {
+    FirstHandler firstHandler = mock(FirstHandler.class);
+    EventBus eventBus = new EventBus(new EventHandler[] { firstHandler });
+
+    assertThat(eventBus.hasHandlers(FirstHandler.class)).isTrue();
+    assertThat(eventBus.hasHandlers(SecondHandler.class)).isFalse();
+  }
+
   interface FirstHandler extends EventHandler {
     void onEvent(FirstEvent event);
   }
@@ -20,6 +20,14 @@
 package org.sonar.batch.index;
 
 import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 import org.sonar.batch.index.Cache.Entry;
 
@@ -247,4 +255,64 @@ public class CacheTest extends AbstractCachesTest {
     cache.clear("foo", "bar", "baz");
     cache.clear();
   }
+
+  @Test
+  public void concurrent_access() throws Exception {
+    final Cache<String> cache = caches.createCache("concurrent");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        final int thread = i;
+        futures.add(executor.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() {
+            for (int j = 0; j < 500; j++) {
+              cache.put(thread, j, "value" + j);
+              if (!("value" + j).equals(cache.get(thread, j))) {
+                return false;
+              }
+            }
+            return Iterables.size(cache.values(thread)) == 500;
+          }
+        }));
+      }
+      for (Future<Boolean> future : futures) {
+        assertThat(future.get()).isTrue();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(cache.keySet()).containsOnly(0, 1, 2, 3);
+  }
+
+  @Test
+  public void exchanges_of_all_threads_are_released_on_stop() throws Exception {
+    final Cache<String> cache = caches.createCache("threads");
+    final CountDownLatch bothStarted = new CountDownLatch(2);
+    Callable<Void> put = new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        // makes sure that the two tasks are executed by different threads
+        bothStarted.countDown();
+        bothStarted.await();
+        cache.put(Thread.currentThread().getName(), "value");
+        return null;
+      }
+    };
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (Future<Void> future : executor.invokeAll(Arrays.asList(put, put))) {
+        future.get();
+      }
+      cache.put("main", "value");
+      assertThat(cache.countExchanges()).isEqualTo(3);
+
+      caches.stop();
+
+      assertThat(cache.countExchanges()).isZero();
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
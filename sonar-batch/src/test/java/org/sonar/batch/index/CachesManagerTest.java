@@ -22,6 +22,7 @@ package org.sonar.batch.index;
 import org.sonar.batch.bootstrap.TempFolderProvider;
 
 import com.google.common.collect.ImmutableMap;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -56,6 +57,12 @@ public class CachesManagerTest {
     cachesMgr.start();
   }
 
+  @After
+  public void stop() {
+    // an open Persistit instance stays registered in JMX
+    cachesMgr.stop();
+  }
+
   @Test
   public void should_stop_and_clean_temp_dir() {
     File tempDir = cachesMgr.tempDir();
@@ -69,4 +76,23 @@ public class CachesManagerTest {
     assertThat(cachesMgr.tempDir()).isNull();
     assertThat(cachesMgr.persistit()).isNull();
   }
+
+  @Test
+  public void buffer_pool_is_sized_from_memory() {
+    assertThat(cachesMgr.persistit().getConfiguration().getBufferPoolMap().get(8192).getMaximumMemory()).isEqualTo(64L * 1024 * 1024);
+  }
+
+  @Test
+  public void buffer_pool_can_be_configured() throws IOException {
+    // only one Persistit instance can be registered in JMX at a time
+    cachesMgr.stop();
+
+    BootstrapProperties bootstrapProps = new BootstrapProperties(ImmutableMap.of(CoreProperties.WORKING_DIRECTORY, temp.newFolder().getAbsolutePath()));
+    CachesManager legacy = new CachesManager(new TempFolderProvider().provide(bootstrapProps), "buffer.count.8192", "10");
+    try {
+      assertThat(legacy.persistit().getConfiguration().getBufferPoolMap().get(8192).getMaximumCount()).isEqualTo(10);
+    } finally {
+      legacy.stop();
+    }
+  }
 }
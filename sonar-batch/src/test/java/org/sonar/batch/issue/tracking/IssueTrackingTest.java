@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -344,6 +345,31 @@ public class IssueTrackingTest {
     verifyZeroInteractions(lastSnapshots, sourceHashHolder);
   }
 
+  /**
+   * Generated files may have thousands of issues on the same rule. Issues are matched on checksum only
+   * (lines and messages changed), which is the last and most expensive pass. See IssueTrackingBenchmark
+   * in microbenchmark-template for performance.
+   */
+  @Test
+  public void track_thousands_of_issues_on_same_rule() {
+    int nbIssues = 10000;
+    List<ServerIssue> referenceIssues = newArrayList();
+    List<DefaultIssue> newIssues = newArrayList();
+    for (int i = 0; i < nbIssues; i++) {
+      referenceIssues.add(newReferenceIssue("old message " + i, i + 1, "squid", "AvoidCycle", "checksum" + i));
+      newIssues.add(newDefaultIssue("new message " + i, i + 2, RuleKey.of("squid", "AvoidCycle"), "checksum" + i));
+    }
+
+    IssueTrackingResult result = new IssueTrackingResult();
+    tracking.mapIssues(newIssues, referenceIssues, null, result);
+
+    assertThat(result.matched()).hasSize(nbIssues);
+    assertThat(result.unmatched()).isEmpty();
+    for (int i = 0; i < nbIssues; i++) {
+      assertThat(result.matching(newIssues.get(i))).isSameAs(referenceIssues.get(i));
+    }
+  }
+
   private static String load(String name) throws IOException {
     return Resources.toString(IssueTrackingTest.class.getResource("IssueTrackingTest/" + name + ".txt"), StandardCharsets.UTF_8);
   }
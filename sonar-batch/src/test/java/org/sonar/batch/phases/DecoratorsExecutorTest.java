@@ -19,12 +19,28 @@
  */
 package org.sonar.batch.phases;
 
+import com.google.common.collect.Lists;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.sonar.api.batch.AnalysisMode;
 import org.sonar.api.batch.Decorator;
 import org.sonar.api.batch.DecoratorContext;
 import org.sonar.api.batch.SonarIndex;
+import org.sonar.api.batch.ThreadSafeDecorator;
+import org.sonar.api.batch.events.DecoratorExecutionHandler;
+import org.sonar.api.config.Settings;
+import org.sonar.api.measures.Measure;
 import org.sonar.api.measures.MetricFinder;
+import org.sonar.api.resources.Directory;
 import org.sonar.api.resources.File;
 import org.sonar.api.resources.Project;
 import org.sonar.api.resources.Resource;
@@ -38,8 +54,13 @@ import org.sonar.batch.sensor.coverage.CoverageExclusions;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DecoratorsExecutorTest {
 
@@ -67,7 +88,7 @@ public class DecoratorsExecutorTest {
     doThrow(new SonarException()).when(decorator).decorate(any(Resource.class), any(DecoratorContext.class));
 
     DecoratorsExecutor executor = new DecoratorsExecutor(mock(BatchExtensionDictionnary.class), new Project("key"), mock(SonarIndex.class),
-      mock(EventBus.class), mock(CoverageExclusions.class), mock(MeasureCache.class), mock(MetricFinder.class), mock(AnalysisMode.class));
+      mock(EventBus.class), mock(CoverageExclusions.class), mock(MeasureCache.class), mock(MetricFinder.class), mock(AnalysisMode.class), new Settings());
     try {
       executor.executeDecorator(decorator, mock(DefaultDecoratorContext.class), File.create("src/org/foo/Bar.java", null, false));
       fail("Exception has not been thrown");
@@ -77,6 +98,129 @@ public class DecoratorsExecutorTest {
     }
   }
 
+  @Test
+  public void decorate_resources_sequentially_by_default() {
+    RecordingDecorator decorator = new RecordingDecorator();
+    Project project = new Project("key");
+    EventBus eventBus = mock(EventBus.class);
+    DecoratorsExecutor executor = newExecutor(project, newIndex(project), eventBus, new Settings(), decorator);
+
+    executor.execute();
+
+    assertThat(decorator.decoratedResources).containsOnly(project, DIR, FILE1, FILE2);
+    assertThat(decorator.threads).hasSize(1);
+  }
+
+  @Test
+  public void decorate_resources_concurrently() {
+    OverlappingFilesDecorator decorator = new OverlappingFilesDecorator();
+    Project project = new Project("key");
+    Settings settings = new Settings().setProperty(DecoratorsExecutor.THREADS_PROPERTY, 4);
+    DecoratorsExecutor executor = newExecutor(project, newIndex(project), mock(EventBus.class), settings, decorator);
+
+    executor.execute();
+
+    assertThat(decorator.decoratedResources).containsOnly(project, DIR, FILE1, FILE2);
+    // children are decorated before their parent
+    assertThat(decorator.decoratedResources.indexOf(project)).isEqualTo(3);
+    assertThat(decorator.decoratedResources.indexOf(DIR)).isEqualTo(2);
+    // sibling files are decorated at the same time by different workers
+    assertThat(decorator.overlapping).containsOnly(true, true);
+    assertThat(decorator.threads.size()).isGreaterThan(1);
+  }
+
+  @Test
+  public void decorate_sequentially_if_a_decorator_is_not_thread_safe() {
+    assertThat(DecoratorsExecutor.areThreadSafe(Arrays.<Decorator>asList(new RecordingDecorator()))).isTrue();
+    assertThat(DecoratorsExecutor.areThreadSafe(Arrays.<Decorator>asList(new RecordingDecorator(), new Decorator1()))).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_negative_number_of_threads() {
+    Project project = new Project("key");
+    Settings settings = new Settings().setProperty(DecoratorsExecutor.THREADS_PROPERTY, -1);
+    newExecutor(project, newIndex(project), mock(EventBus.class), settings, new RecordingDecorator()).execute();
+  }
+
+  @Test
+  public void do_not_create_execution_events_if_not_listened() {
+    Project project = new Project("key");
+    EventBus eventBus = mock(EventBus.class);
+    when(eventBus.hasHandlers(DecoratorExecutionHandler.class)).thenReturn(false);
+    newExecutor(project, newIndex(project), eventBus, new Settings(), new RecordingDecorator()).execute();
+    verify(eventBus, never()).fireEvent(isA(DecoratorExecutionEvent.class));
+
+    when(eventBus.hasHandlers(DecoratorExecutionHandler.class)).thenReturn(true);
+    newExecutor(project, newIndex(project), eventBus, new Settings(), new RecordingDecorator()).execute();
+    verify(eventBus, times(8)).fireEvent(isA(DecoratorExecutionEvent.class));
+  }
+
+  private static final Directory DIR = Directory.create("src");
+  private static final File FILE1 = File.create("src/Foo.java");
+  private static final File FILE2 = File.create("src/Bar.java");
+
+  private static SonarIndex newIndex(Project project) {
+    SonarIndex index = mock(SonarIndex.class);
+    when(index.getChildren(project)).thenReturn(Lists.<Resource>newArrayList(DIR));
+    when(index.getChildren(DIR)).thenReturn(Lists.<Resource>newArrayList(FILE1, FILE2));
+    when(index.getChildren(FILE1)).thenReturn(Collections.<Resource>emptyList());
+    when(index.getChildren(FILE2)).thenReturn(Collections.<Resource>emptyList());
+    return index;
+  }
+
+  private static DecoratorsExecutor newExecutor(Project project, SonarIndex index, EventBus eventBus, Settings settings, Decorator decorator) {
+    BatchExtensionDictionnary dictionnary = mock(BatchExtensionDictionnary.class);
+    when(dictionnary.select(Decorator.class, project, false, null)).thenReturn(Arrays.asList(decorator));
+    when(dictionnary.sort(any(Collection.class))).thenAnswer(new Answer<Object>() {
+      @Override
+      public Object answer(InvocationOnMock invocation) {
+        return invocation.getArguments()[0];
+      }
+    });
+    MeasureCache measureCache = mock(MeasureCache.class);
+    when(measureCache.byResource(any(Resource.class))).thenReturn(Collections.<Measure>emptyList());
+    return new DecoratorsExecutor(dictionnary, project, index, eventBus, mock(CoverageExclusions.class), measureCache,
+      mock(MetricFinder.class), mock(AnalysisMode.class), settings);
+  }
+
+  @ThreadSafeDecorator
+  static class RecordingDecorator implements Decorator {
+    final List<Resource> decoratedResources = Collections.synchronizedList(Lists.<Resource>newArrayList());
+    final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+
+    public void decorate(Resource resource, DecoratorContext context) {
+      decoratedResources.add(resource);
+      threads.add(Thread.currentThread());
+    }
+
+    public boolean shouldExecuteOnProject(Project project) {
+      return true;
+    }
+  }
+
+  /**
+   * Each file waits until the other one is being decorated
+   */
+  @ThreadSafeDecorator
+  static class OverlappingFilesDecorator extends RecordingDecorator {
+    final CountDownLatch filesLatch = new CountDownLatch(2);
+    final List<Boolean> overlapping = Collections.synchronizedList(Lists.<Boolean>newArrayList());
+
+    @Override
+    public void decorate(Resource resource, DecoratorContext context) {
+      if (resource instanceof File) {
+        filesLatch.countDown();
+        try {
+          overlapping.add(filesLatch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(e);
+        }
+      }
+      super.decorate(resource, context);
+    }
+  }
+
   static class Decorator1 implements Decorator {
     public void decorate(Resource resource, DecoratorContext context) {
     }
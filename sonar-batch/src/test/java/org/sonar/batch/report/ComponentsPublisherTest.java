@@ -20,6 +20,8 @@
 package org.sonar.batch.report;
 
 import java.io.File;
+import java.util.Arrays;
+import org.apache.commons.io.FileUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -32,7 +34,9 @@ import org.sonar.api.resources.Java;
 import org.sonar.api.resources.Project;
 import org.sonar.api.utils.DateUtils;
 import org.sonar.batch.index.BatchComponentCache;
+import org.sonar.batch.protocol.Constants;
 import org.sonar.batch.protocol.Constants.ComponentLinkType;
+import org.sonar.batch.protocol.output.BatchReport;
 import org.sonar.batch.protocol.output.BatchReport.Component;
 import org.sonar.batch.protocol.output.BatchReportReader;
 import org.sonar.batch.protocol.output.BatchReportWriter;
@@ -115,6 +119,56 @@ public class ComponentsPublisherTest {
     assertThat(module1Protobuf.getVersion()).isEqualTo("1.0");
   }
 
+  @Test
+  public void add_hashes_of_file_data() throws Exception {
+    ProjectDefinition rootDef = ProjectDefinition.create().setKey("foo");
+    rootDef.properties().put(CoreProperties.PROJECT_VERSION_PROPERTY, "1.0");
+    Project root = new Project("foo").setName("Root project")
+      .setAnalysisDate(DateUtils.parseDate(("2012-12-12")));
+    root.setId(1).setUuid("PROJECT_UUID");
+    resourceCache.add(root, null).setSnapshot(new Snapshot().setId(11));
+
+    org.sonar.api.resources.File file = org.sonar.api.resources.File.create("src/Foo.java", Java.INSTANCE, false);
+    file.setEffectiveKey("foo:src/Foo.java");
+    file.setId(2).setUuid("FILE_UUID");
+    resourceCache.add(file, root).setSnapshot(new Snapshot().setId(12)).setInputPath(new DefaultInputFile("foo", "src/Foo.java").setLines(1));
+
+    org.sonar.api.resources.File testFile = org.sonar.api.resources.File.create("test/FooTest.java", Java.INSTANCE, true);
+    testFile.setEffectiveKey("foo:test/FooTest.java");
+    testFile.setId(3).setUuid("TEST_FILE_UUID");
+    resourceCache.add(testFile, root).setSnapshot(new Snapshot().setId(13)).setInputPath(new DefaultInputFile("foo", "test/FooTest.java").setLines(1));
+
+    ImmutableProjectReactor reactor = new ImmutableProjectReactor(rootDef);
+    ComponentsPublisher publisher = new ComponentsPublisher(reactor, resourceCache);
+
+    File outputDir = temp.newFolder();
+    BatchReportWriter writer = new BatchReportWriter(outputDir);
+    FileUtils.write(writer.getSourceFile(2), "class Foo {}");
+    FileUtils.write(writer.getSourceFile(3), "class FooTest {}");
+    writer.writeTests(3, Arrays.asList(BatchReport.Test.newBuilder().setName("test").build()));
+    publisher.publish(writer);
+
+    BatchReportReader reader = new BatchReportReader(outputDir);
+    assertThat(reader.readComponent(1).hasSourceDataHash()).isFalse();
+    String sourceDataHash = reader.readComponent(2).getSourceDataHash();
+    assertThat(sourceDataHash).isNotEmpty();
+    assertThat(reader.readComponent(2).hasTestDataHash()).isFalse();
+    assertThat(reader.readComponent(3).getSourceDataHash()).isNotEmpty().isNotEqualTo(sourceDataHash);
+    assertThat(reader.readComponent(3).getTestDataHash()).isNotEmpty();
+
+    // same data -> same hash
+    publisher.publish(writer);
+    assertThat(reader.readComponent(2).getSourceDataHash()).isEqualTo(sourceDataHash);
+
+    // highlighting changed -> new hash
+    writer.writeComponentSyntaxHighlighting(2, Arrays.asList(BatchReport.SyntaxHighlighting.newBuilder()
+      .setRange(BatchReport.Range.newBuilder().setStartLine(1).setEndLine(1).setStartOffset(0).setEndOffset(5).build())
+      .setType(Constants.HighlightingType.KEYWORD)
+      .build()));
+    publisher.publish(writer);
+    assertThat(reader.readComponent(2).getSourceDataHash()).isNotEqualTo(sourceDataHash);
+  }
+
   @Test
   public void add_components_with_links_and_branch() throws Exception {
     // inputs
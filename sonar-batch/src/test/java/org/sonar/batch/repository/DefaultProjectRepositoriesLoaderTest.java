@@ -20,6 +20,11 @@
 package org.sonar.batch.repository;
 
 import com.google.common.collect.Maps;
+import com.google.common.io.InputSupplier;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import org.junit.Before;
 import org.junit.Test;
 import org.sonar.api.batch.bootstrap.ProjectDefinition;
@@ -27,9 +32,14 @@ import org.sonar.api.batch.bootstrap.ProjectReactor;
 import org.sonar.batch.bootstrap.AnalysisProperties;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.bootstrap.ServerClient;
+import org.sonar.batch.protocol.input.FileData;
+import org.sonar.batch.protocol.input.ProjectRepositories;
 import org.sonar.batch.rule.ModuleQProfiles;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -44,12 +54,12 @@ public class DefaultProjectRepositoriesLoaderTest {
   private AnalysisProperties taskProperties;
 
   @Before
-  public void prepare() {
+  public void prepare() throws IOException {
     serverClient = mock(ServerClient.class);
     analysisMode = mock(DefaultAnalysisMode.class);
     loader = new DefaultProjectRepositoriesLoader(serverClient, analysisMode);
     loader = spy(loader);
-    when(serverClient.request(anyString())).thenReturn("{}");
+    mockResponse(new ProjectRepositories());
     taskProperties = new AnalysisProperties(Maps.<String, String>newHashMap(), "");
   }
 
@@ -58,18 +68,18 @@ public class DefaultProjectRepositoriesLoaderTest {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
     when(analysisMode.isPreview()).thenReturn(false);
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&preview=false");
+    verifyRequest("/batch/project?key=foo&preview=false&format=protobuf");
 
     when(analysisMode.isPreview()).thenReturn(true);
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&preview=true");
+    verifyRequest("/batch/project?key=foo&preview=true&format=protobuf");
   }
 
   @Test
   public void passAndEncodeProjectKeyParameter() {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo bàr"));
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo+b%C3%A0r&preview=false");
+    verifyRequest("/batch/project?key=foo+b%C3%A0r&preview=false&format=protobuf");
   }
 
   @Test
@@ -77,7 +87,37 @@ public class DefaultProjectRepositoriesLoaderTest {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
     taskProperties.properties().put(ModuleQProfiles.SONAR_PROFILE_PROP, "my-profile#2");
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&profile=my-profile%232&preview=false");
+    verifyRequest("/batch/project?key=foo&profile=my-profile%232&preview=false&format=protobuf");
+  }
+
+  @Test
+  public void readProtobufResponse() throws IOException {
+    ProjectRepositories response = new ProjectRepositories();
+    response.setTimestamp(10L);
+    response.addFileData("foo", "src/Foo.java", new FileData("xyz", true));
+    mockResponse(response);
+    reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
+
+    ProjectRepositories ref = loader.load(reactor, taskProperties);
+
+    assertThat(ref.timestamp()).isEqualTo(10L);
+    assertThat(ref.fileData("foo", "src/Foo.java").hash()).isEqualTo("xyz");
+  }
+
+  private void mockResponse(ProjectRepositories response) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    response.toProtobuf(output);
+    final byte[] bytes = output.toByteArray();
+    when(serverClient.doRequest(anyString(), eq("GET"), (Integer) isNull())).thenReturn(new InputSupplier<InputStream>() {
+      @Override
+      public InputStream getInput() {
+        return new ByteArrayInputStream(bytes);
+      }
+    });
+  }
+
+  private void verifyRequest(String url) {
+    verify(serverClient).doRequest(url, "GET", null);
   }
 
 }
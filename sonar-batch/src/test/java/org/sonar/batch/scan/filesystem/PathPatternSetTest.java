@@ -0,0 +1,119 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.scan.filesystem;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.fs.internal.PathPattern;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathPatternSetTest {
+
+  static final String[] PATTERNS = {
+    "**/*.java", "**/*Dao.java", "/**/*.tar.gz", "**/*Test", "src/generated/**", "src\\legacy\\**", "src/main/Foo.java",
+    "**/*.JS", "src/**/*.xml", "**/Bar?.java", "*.txt", "**/vendor/**", "src/"
+  };
+
+  static final String[] PATHS = {
+    "Foo.java", "src/main/Foo.java", "src/main/FooDao.java", "src/main/Foo.JAVA", "lib/archive.tar.gz", "lib/archive.gz",
+    "src/FooTest", "src/Test/Foo", "src/generated/Foo.c", "src/generatedFoo.c", "src/legacy/Foo.c", "app.js", "app.JS",
+    "src/main/pom.xml", "pom.xml", "src/Bar1.java", "src/Bar12.c", "notes.txt", "doc/notes.txt", "a/vendor/b/c.c",
+    "src/a.java/Foo", "/src/main/Foo.java", "noext"
+  };
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void match_same_files_than_patterns() throws IOException {
+    Path baseDir = temp.newFolder().toPath();
+    for (String pattern : PATTERNS) {
+      PathPattern[] patterns = PathPattern.create(new String[] {pattern});
+      PathPatternSet set = new PathPatternSet(patterns);
+      for (String path : PATHS) {
+        InputFile inputFile = new DefaultInputFile("foo", path).setModuleBaseDir(baseDir);
+        assertThat(set.match(inputFile)).as(pattern + " on " + path).isEqualTo(patterns[0].match(inputFile));
+        assertThat(set.match(inputFile, false)).as(pattern + " on " + path + " ignoring case of extension").isEqualTo(patterns[0].match(inputFile, false));
+      }
+    }
+  }
+
+  @Test
+  public void match_same_files_than_all_patterns_one_by_one() throws IOException {
+    Path baseDir = temp.newFolder().toPath();
+    PathPattern[] patterns = PathPattern.create(PATTERNS);
+    PathPatternSet set = new PathPatternSet(patterns);
+    for (String path : PATHS) {
+      InputFile inputFile = new DefaultInputFile("foo", path).setModuleBaseDir(baseDir);
+      boolean matchOneByOne = false;
+      for (PathPattern pattern : patterns) {
+        matchOneByOne |= pattern.match(inputFile, false);
+      }
+      assertThat(set.match(inputFile, false)).as(path).isEqualTo(matchOneByOne);
+    }
+  }
+
+  @Test
+  public void match_any_pattern() throws IOException {
+    Path baseDir = temp.newFolder().toPath();
+    PathPatternSet set = new PathPatternSet(PathPattern.create(new String[] {"**/*Dao.java", "src/generated/**", "**/Bar?.java"}));
+
+    assertThat(set.match(new DefaultInputFile("foo", "src/main/FooDao.java").setModuleBaseDir(baseDir))).isTrue();
+    assertThat(set.match(new DefaultInputFile("foo", "src/generated/Foo.java").setModuleBaseDir(baseDir))).isTrue();
+    assertThat(set.match(new DefaultInputFile("foo", "src/Bar1.java").setModuleBaseDir(baseDir))).isTrue();
+    assertThat(set.match(new DefaultInputFile("foo", "src/main/Foo.java").setModuleBaseDir(baseDir))).isFalse();
+  }
+
+  @Test
+  public void match_all() throws IOException {
+    Path baseDir = temp.newFolder().toPath();
+    InputFile inputFile = new DefaultInputFile("foo", "src/main/Foo.java").setModuleBaseDir(baseDir);
+
+    assertThat(new PathPatternSet(PathPattern.create(new String[] {"**"})).match(inputFile)).isTrue();
+    assertThat(new PathPatternSet(PathPattern.create(new String[] {"**/*"})).match(inputFile)).isTrue();
+  }
+
+  @Test
+  public void match_absolute_patterns() throws IOException {
+    Path baseDir = temp.newFolder().toPath();
+    InputFile inputFile = new DefaultInputFile("foo", "src/main/Foo.java").setModuleBaseDir(baseDir);
+
+    PathPatternSet set = new PathPatternSet(PathPattern.create(new String[] {"file:**/src/main/*.java"}));
+    assertThat(set.match(inputFile)).isTrue();
+    set = new PathPatternSet(PathPattern.create(new String[] {"file:src/main/*.java"}));
+    assertThat(set.match(inputFile)).isFalse();
+  }
+
+  @Test
+  public void empty_set() throws IOException {
+    PathPatternSet set = new PathPatternSet(new PathPattern[0]);
+
+    assertThat(set.isEmpty()).isTrue();
+    assertThat(set.patterns()).isEmpty();
+    assertThat(set.match(new DefaultInputFile("foo", "src/main/Foo.java").setModuleBaseDir(temp.newFolder().toPath()))).isFalse();
+  }
+}
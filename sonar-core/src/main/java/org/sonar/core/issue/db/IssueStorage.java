@@ -71,8 +71,8 @@ public abstract class IssueStorage {
   }
 
   private void doSave(DbSession session, Iterable<DefaultIssue> issues) {
-    // Batch session can not be used for updates. It does not return the number of updated rows,
-    // required for detecting conflicts.
+    // Batch session can not be used for updates by default. It does not return the number of updated rows,
+    // required for detecting conflicts. See useBatchSessionForUpdates()
     long now = System.currentTimeMillis();
     List<DefaultIssue> toBeUpdated = batchInsertAndReturnIssuesToUpdate(session, issues, now);
     update(toBeUpdated, now);
@@ -83,6 +83,14 @@ public abstract class IssueStorage {
     // overridden on server-side to index ES
   }
 
+  /**
+   * Updates are executed in a batch session only if conflicts are not detected
+   * from the number of updated rows.
+   */
+  protected boolean useBatchSessionForUpdates() {
+    return false;
+  }
+
   private List<DefaultIssue> batchInsertAndReturnIssuesToUpdate(DbSession session, Iterable<DefaultIssue> issues, long now) {
     List<DefaultIssue> toBeUpdated = newArrayList();
     int count = 0;
@@ -107,7 +115,7 @@ public abstract class IssueStorage {
 
   private void update(List<DefaultIssue> toBeUpdated, long now) {
     if (!toBeUpdated.isEmpty()) {
-      DbSession session = mybatis.openSession(false);
+      DbSession session = mybatis.openSession(useBatchSessionForUpdates());
       try {
         IssueChangeMapper issueChangeMapper = session.getMapper(IssueChangeMapper.class);
         for (DefaultIssue issue : toBeUpdated) {
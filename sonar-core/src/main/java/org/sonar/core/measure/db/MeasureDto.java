@@ -79,6 +79,13 @@ public class MeasureDto {
     return textValue;
   }
 
+  /**
+   * Whether the data is too long to be stored in column text_value
+   */
+  public boolean hasLargeData() {
+    return dataValue != null;
+  }
+
   public MeasureDto setData(@Nullable String data) {
     if (data == null) {
       this.textValue = null;
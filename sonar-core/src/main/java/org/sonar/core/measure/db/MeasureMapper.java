@@ -40,5 +40,7 @@ public interface MeasureMapper {
 
   void insert(MeasureDto measureDto);
 
+  void insertMultiple(@Param("measures") List<MeasureDto> measures);
+
   List<String> selectMetricKeysForSnapshot(@Param("snapshotId") long snapshotId);
 }
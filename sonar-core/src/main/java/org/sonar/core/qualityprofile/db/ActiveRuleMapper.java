@@ -39,6 +39,8 @@ public interface ActiveRuleMapper {
   @CheckForNull
   ActiveRuleDto selectById(Integer id);
 
+  List<ActiveRuleDto> selectByIds(List<Integer> ids);
+
   List<ActiveRuleDto> selectByRuleId(int ruleId);
 
   List<ActiveRuleDto> selectByProfileKey(String key);
@@ -58,6 +60,8 @@ public interface ActiveRuleMapper {
 
   List<ActiveRuleParamDto> selectParamsByActiveRuleId(int activeRuleId);
 
+  List<ActiveRuleParamDto> selectParamsByActiveRuleIds(List<Integer> activeRuleIds);
+
   List<ActiveRuleParamDto> selectParamsByProfileKey(String profileKey);
 
   ActiveRuleDto selectByKey(@Param("profileKey") String profileKey,
@@ -55,6 +55,8 @@ public interface RuleMapper {
 
   List<RuleParamDto> selectParamsByRuleKey(RuleKey ruleKey);
 
+  List<RuleParamDto> selectParamsByRepositoryKey(String repositoryKey);
+
   RuleParamDto selectParamByRuleAndKey(@Param("ruleId") Integer ruleId, @Param("key") String key);
 
   void insertParameter(RuleParamDto param);
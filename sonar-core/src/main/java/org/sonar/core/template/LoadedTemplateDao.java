@@ -19,6 +19,7 @@
  */
 package org.sonar.core.template;
 
+import java.util.List;
 import org.apache.ibatis.session.SqlSession;
 import org.sonar.api.batch.BatchSide;
 import org.sonar.api.server.ServerSide;
@@ -49,6 +50,10 @@ public class LoadedTemplateDao implements DaoComponent {
     return session.getMapper(LoadedTemplateMapper.class).countByTypeAndKey(type, key);
   }
 
+  public List<LoadedTemplateDto> selectByType(DbSession session, String type) {
+    return session.getMapper(LoadedTemplateMapper.class).selectByType(type);
+  }
+
   public void insert(LoadedTemplateDto loadedTemplateDto) {
     SqlSession session = mybatis.openSession(false);
     try {
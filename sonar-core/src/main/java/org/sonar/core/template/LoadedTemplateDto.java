@@ -30,6 +30,7 @@ public final class LoadedTemplateDto {
   public static final String QUALITY_GATE_TYPE = "QUALITY_GATE";
   public static final String ONE_SHOT_TASK_TYPE = "ONE_SHOT_TASK";
   public static final String ISSUE_FILTER_TYPE = "ISSUE_FILTER";
+  public static final String RULE_REPOSITORY_TYPE = "RULE_REPOSITORY";
 
   private Long id;
   private String key;
@@ -19,12 +19,15 @@
  */
 package org.sonar.core.template;
 
+import java.util.List;
 import org.apache.ibatis.annotations.Param;
 
 public interface LoadedTemplateMapper {
 
   int countByTypeAndKey(@Param("type") String type, @Param("key") String key);
 
+  List<LoadedTemplateDto> selectByType(String type);
+
   void insert(LoadedTemplateDto template);
 
   void delete(@Param("type") String type, @Param("key") String key);
@@ -55,9 +55,9 @@ public class AuthorizationDao implements DaoComponent {
       @Override
       public List<Long> apply(List<Long> partition) {
         if (userId == null) {
-          return session.getMapper(AuthorizationMapper.class).keepAuthorizedProjectIdsForAnonymous(role, componentIds);
+          return session.getMapper(AuthorizationMapper.class).keepAuthorizedProjectIdsForAnonymous(role, partition);
         } else {
-          return session.getMapper(AuthorizationMapper.class).keepAuthorizedProjectIdsForUser(userId, role, componentIds);
+          return session.getMapper(AuthorizationMapper.class).keepAuthorizedProjectIdsForUser(userId, role, partition);
         }
       }
     });
@@ -298,6 +298,11 @@ public class IssueStorageTest extends AbstractDaoTestCase {
       IssueDto dto = IssueDto.toDtoForUpdate(issue, now);
       session.getMapper(IssueMapper.class).update(dto);
     }
+
+    @Override
+    protected boolean useBatchSessionForUpdates() {
+      return true;
+    }
   }
 
   static class FakeRuleFinder implements RuleFinder {
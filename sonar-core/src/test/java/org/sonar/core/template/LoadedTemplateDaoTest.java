@@ -19,9 +19,12 @@
  */
 package org.sonar.core.template;
 
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.sonar.core.persistence.AbstractDaoTestCase;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.persistence.MyBatis;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
@@ -43,6 +46,21 @@ public class LoadedTemplateDaoTest extends AbstractDaoTestCase {
     assertThat(dao.countByTypeAndKey("PROFILE", "HOTSPOTS"), is(0));
   }
 
+  @Test
+  public void shouldSelectByType() {
+    setupData("shouldSelectByType");
+
+    DbSession session = getMyBatis().openSession(false);
+    try {
+      List<LoadedTemplateDto> templates = dao.selectByType(session, "QUALITY_PROFILE");
+      assertThat(templates.size(), is(2));
+      assertThat(templates.get(0).getType(), is("QUALITY_PROFILE"));
+      assertThat(dao.selectByType(session, "UNKNOWN").isEmpty(), is(true));
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+  }
+
   @Test
   public void shouldInsert() {
     setupData("shouldInsert");
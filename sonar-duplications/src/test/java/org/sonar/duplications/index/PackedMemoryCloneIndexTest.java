@@ -24,7 +24,13 @@ import org.junit.Test;
 import org.sonar.duplications.block.Block;
 import org.sonar.duplications.block.ByteArray;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
@@ -109,6 +115,43 @@ public class PackedMemoryCloneIndexTest {
     index.getBySequenceHash(new ByteArray(1L));
   }
 
+  /**
+   * Given: index populated with many blocks.
+   * Expected: concurrent queries return the same results as sequential queries.
+   */
+  @Test
+  public void should_support_concurrent_queries() throws Exception {
+    for (int resource = 0; resource < 100; resource++) {
+      for (long hash = 0; hash < 50; hash++) {
+        index.insert(newBlock("resource" + resource, hash + resource));
+      }
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(new Callable<Integer>() {
+          @Override
+          public Integer call() {
+            int count = 0;
+            for (int resource = 0; resource < 100; resource++) {
+              count += index.getByResourceId("resource" + resource).size();
+              count += index.getBySequenceHash(new ByteArray((long) resource)).size();
+            }
+            return count;
+          }
+        }));
+      }
+      for (Future<Integer> future : futures) {
+        // 100 resources * 50 blocks + blocks of hashes 0 to 99 (1 + 2 + ... + 50 + 50 * 50)
+        assertThat(future.get(), is(5000 + 1275 + 2500));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   private static Block newBlock(String resourceId, long hash) {
     return Block.builder()
         .setResourceId(resourceId)
@@ -25,39 +25,68 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.io.UnsupportedEncodingException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardOpenOption.*;
 
+/**
+ * Cache of byte arrays stored as files, shared by the processes using the same directory.
+ * <p/>
+ * Entries are written atomically, so reading a cache hit does not require any lock. Loading a missing entry
+ * locks only its stripe, both within the JVM and across processes (a one-byte region of the file {@code .lock}),
+ * so that misses on keys of different stripes are loaded in parallel. Clearing and cleaning the cache lock
+ * all the stripes.
+ */
 public class PersistentCache {
   private static final Charset ENCODING = StandardCharsets.UTF_8;
   private static final String DIGEST_ALGO = "MD5";
   private static final String LOCK_FNAME = ".lock";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final int LOCK_STRIPES = 64;
 
   private Path baseDir;
 
   // eviction strategy is to expire entries after modification once a time duration has elapsed
   private final long defaultDurationToExpireMs;
   private final Log log;
-  private boolean forceUpdate;
+  private volatile boolean forceUpdate;
+
+  // read lock is held while loading an entry, write lock while clearing or cleaning the whole cache
+  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
+  private final Lock[] stripeLocks = new Lock[LOCK_STRIPES];
+
+  // a single channel is shared by the threads holding a lock, as closing a channel releases all the locks of the JVM
+  // on the file. It is closed when the last lock is released.
+  private FileChannel lockChannel;
+  private int lockChannelUsers = 0;
 
   public PersistentCache(Path baseDir, long defaultDurationToExpireMs, Log log, boolean forceUpdate) {
     this.baseDir = baseDir;
     this.defaultDurationToExpireMs = defaultDurationToExpireMs;
     this.log = log;
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      stripeLocks[i] = new ReentrantLock();
+    }
 
     reconfigure(forceUpdate);
     log.debug("cache: " + baseDir + ", default expiration time (ms): " + defaultDurationToExpireMs);
@@ -70,10 +99,13 @@ public class PersistentCache {
       log.debug("cache: forcing update");
     }
 
+    cacheLock.writeLock().lock();
     try {
       Files.createDirectories(baseDir);
     } catch (IOException e) {
       throw new IllegalStateException("failed to create cache dir", e);
+    } finally {
+      cacheLock.writeLock().unlock();
     }
   }
 
@@ -86,7 +118,7 @@ public class PersistentCache {
   }
 
   @CheckForNull
-  public synchronized String getString(@Nonnull String obj, @Nullable final Callable<String> valueLoader) throws Exception {
+  public String getString(@Nonnull String obj, @Nullable final Callable<String> valueLoader) throws Exception {
     byte[] cached = get(obj, new Callable<byte[]>() {
       @Override
       public byte[] call() throws Exception {
@@ -106,14 +138,30 @@ public class PersistentCache {
   }
 
   @CheckForNull
-  public synchronized byte[] get(@Nonnull String obj, @Nullable Callable<byte[]> valueLoader) throws Exception {
+  public byte[] get(@Nonnull String obj, @Nullable Callable<byte[]> valueLoader) throws Exception {
     String key = getKey(obj);
 
-    try {
-      lock();
-      if (!forceUpdate) {
-        byte[] cached = getCache(key);
+    if (!forceUpdate) {
+      byte[] cached = getCache(key, false);
+      if (cached != null) {
+        log.debug("cache hit for " + obj + " -> " + key);
+        return cached;
+      }
+    }
+
+    if (valueLoader == null) {
+      log.debug("cache miss for " + obj + " -> " + key);
+      return null;
+    }
 
+    int stripe = stripe(key);
+    Lock stripeLock = stripeLocks[stripe];
+    cacheLock.readLock().lock();
+    stripeLock.lock();
+    try (Closeable fileLock = lockFile(stripe, 1L)) {
+      if (!forceUpdate) {
+        // the entry may have been loaded by another thread or process while waiting for the lock
+        byte[] cached = getCache(key, true);
         if (cached != null) {
           log.debug("cache hit for " + obj + " -> " + key);
           return cached;
@@ -124,86 +172,98 @@ public class PersistentCache {
         log.debug("cache force update for " + obj + " -> " + key);
       }
 
-      if (valueLoader != null) {
-        byte[] value = valueLoader.call();
-        if (value != null) {
-          putCache(key, value);
-        }
-        return value;
+      byte[] value = valueLoader.call();
+      if (value != null) {
+        putCache(key, value);
       }
+      return value;
     } finally {
-      unlock();
+      stripeLock.unlock();
+      cacheLock.readLock().unlock();
     }
-
-    return null;
   }
 
   /**
    * Deletes all cache entries
    */
-  public synchronized void clear() {
+  public void clear() {
     log.info("cache: clearing");
-    try {
-      lock();
+    cacheLock.writeLock().lock();
+    try (Closeable fileLock = lockFile(0L, Long.MAX_VALUE)) {
       deleteCacheEntries(createClearFilter());
     } catch (IOException e) {
       log.error("Error clearing cache", e);
     } finally {
-      unlock();
+      cacheLock.writeLock().unlock();
     }
   }
 
   /**
    * Deletes cache entries that are no longer valid according to the default expiration time period.
    */
-  public synchronized void clean() {
+  public void clean() {
     log.info("cache: cleaning");
-    try {
-      lock();
+    cacheLock.writeLock().lock();
+    try (Closeable fileLock = lockFile(0L, Long.MAX_VALUE)) {
       deleteCacheEntries(createCleanFilter());
     } catch (IOException e) {
       log.error("Error cleaning cache", e);
     } finally {
-      unlock();
+      cacheLock.writeLock().unlock();
     }
   }
 
-  private void lock() throws IOException {
-    lock_raf = new RandomAccessFile(getLockPath().toFile(), "rw");
-    lock_fc = lock_raf.getChannel();
-    lock = lock_fc.lock();
+  static int stripe(String key) {
+    return (key.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES;
   }
 
-  private RandomAccessFile lock_raf;
-  private FileChannel lock_fc;
-  private FileLock lock;
-
-  private void unlock() {
-    if (lock != null) {
-      try {
-        lock.release();
-      } catch (IOException e) {
-        log.error("Error releasing lock", e);
-      }
+  /**
+   * Locks a region of the file {@code .lock} across processes. The returned lock must be closed, which also closes
+   * the lock channel if no other thread holds a lock.
+   */
+  private Closeable lockFile(long position, long size) throws IOException {
+    FileChannel channel = openLockChannel();
+    final FileLock fileLock;
+    try {
+      fileLock = channel.lock(position, size, false);
+    } catch (IOException | RuntimeException e) {
+      closeLockChannel();
+      throw e;
     }
-    if (lock_fc != null) {
-      try {
-        lock_fc.close();
-      } catch (IOException e) {
-        log.error("Error closing file channel", e);
+    return new Closeable() {
+      @Override
+      public void close() throws IOException {
+        try {
+          fileLock.release();
+        } finally {
+          closeLockChannel();
+        }
       }
+    };
+  }
+
+  private synchronized FileChannel openLockChannel() throws IOException {
+    if (lockChannel == null) {
+      lockChannel = FileChannel.open(getLockPath(), CREATE, WRITE);
     }
-    if (lock_raf != null) {
+    lockChannelUsers++;
+    return lockChannel;
+  }
+
+  private synchronized void closeLockChannel() {
+    lockChannelUsers--;
+    if (lockChannelUsers == 0) {
       try {
-        lock_raf.close();
+        lockChannel.close();
       } catch (IOException e) {
-        log.error("Error closing file", e);
+        log.error("Error closing file channel", e);
       }
+      lockChannel = null;
     }
+  }
 
-    lock = null;
-    lock_raf = null;
-    lock_fc = null;
+  synchronized boolean isLockChannelOpen() {
+    return lockChannel != null;
   }
 
   private String getKey(String uri) {
@@ -250,29 +310,48 @@ public class PersistentCache {
     };
   }
 
-  private void putCache(String key, byte[] value) throws UnsupportedEncodingException, IOException {
+  private void putCache(String key, byte[] value) throws IOException {
     Path cachePath = getCacheEntryPath(key);
-    Files.write(cachePath, value, CREATE, WRITE, TRUNCATE_EXISTING);
+    // readers do not lock, so they must never see a partially written entry. Contrary to Files#createTempFile(),
+    // the temporary file is created with the default permissions, so that the entry can be read by other users.
+    Path tempPath = baseDir.resolve(key + "." + UUID.randomUUID() + TEMP_FILE_SUFFIX);
+    try {
+      Files.write(tempPath, value, CREATE_NEW, WRITE);
+      Files.move(tempPath, cachePath, REPLACE_EXISTING, ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempPath);
+    }
   }
 
-  private byte[] getCache(String key) throws IOException {
+  /**
+   * @param deleteExpired whether the entry is deleted when expired. Must be true only when the stripe of the entry is locked.
+   */
+  @CheckForNull
+  private byte[] getCache(String key, boolean deleteExpired) throws IOException {
     Path cachePath = getCacheEntryPath(key);
 
-    if (!validateCacheEntry(cachePath, this.defaultDurationToExpireMs)) {
+    try {
+      if (!validateCacheEntry(cachePath, this.defaultDurationToExpireMs, deleteExpired)) {
+        return null;
+      }
+
+      return Files.readAllBytes(cachePath);
+    } catch (NoSuchFileException e) {
+      // deleted concurrently, for example when clearing the cache
       return null;
     }
-
-    return Files.readAllBytes(cachePath);
   }
 
-  private boolean validateCacheEntry(Path cacheEntryPath, long durationToExpireMs) throws IOException {
+  private boolean validateCacheEntry(Path cacheEntryPath, long durationToExpireMs, boolean deleteExpired) throws IOException {
     if (!Files.exists(cacheEntryPath)) {
       return false;
     }
 
     if (isCacheEntryExpired(cacheEntryPath, durationToExpireMs)) {
-      log.debug("cache: expiring entry");
-      Files.delete(cacheEntryPath);
+      if (deleteExpired) {
+        log.debug("cache: expiring entry");
+        Files.deleteIfExists(cacheEntryPath);
+      }
       return false;
     }
 
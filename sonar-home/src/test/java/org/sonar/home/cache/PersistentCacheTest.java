@@ -26,12 +26,22 @@ import org.junit.Rule;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.mock;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -113,6 +123,47 @@ public class PersistentCacheTest {
     assertCacheHit(true);
   }
 
+  @Test
+  public void entries_are_created_with_default_permissions() throws Exception {
+    Path root = tmp.getRoot().toPath();
+    assumeTrue(Files.getFileAttributeView(root, PosixFileAttributeView.class) != null);
+
+    assertCacheHit(false);
+    File[] entries = root.toFile().listFiles();
+    Path reference = Files.createFile(root.resolve("reference"));
+
+    Path entry = null;
+    for (File file : entries) {
+      if (!file.getName().equals(".lock")) {
+        entry = file.toPath();
+      }
+    }
+    assertThat(entry).isNotNull();
+    assertThat(Files.getPosixFilePermissions(entry)).isEqualTo(Files.getPosixFilePermissions(reference));
+  }
+
+  @Test
+  public void lock_channel_is_closed_once_entry_is_loaded() throws Exception {
+    assertCacheHit(false);
+    assertThat(cache.isLockChannelOpen()).isFalse();
+
+    cache.clean();
+    cache.clear();
+    assertThat(cache.isLockChannelOpen()).isFalse();
+  }
+
+  @Test
+  public void lock_channel_is_closed_when_loader_fails() throws Exception {
+    Callable<byte[]> c = mock(Callable.class);
+    when(c.call()).thenThrow(ArithmeticException.class);
+    try {
+      cache.get(URI, c);
+    } catch (ArithmeticException e) {
+      // expected
+    }
+    assertThat(cache.isLockChannelOpen()).isFalse();
+  }
+
   @Test
   public void testExpiration() throws Exception {
     // negative time to make sure it is expired on the second call
@@ -121,6 +172,93 @@ public class PersistentCacheTest {
     assertCacheHit(false);
   }
 
+  @Test
+  public void cache_hit_does_not_wait_for_loading_of_other_entry() throws Exception {
+    assertCacheHit(false);
+
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> slowLoad = executor.submit(new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+          return cache.getString("slow", new BlockingFiller(loading, release));
+        }
+      });
+      assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+      // the entry "slow" is still being loaded
+      assertCacheHit(true);
+
+      release.countDown();
+      assertThat(slowLoad.get(10, TimeUnit.SECONDS)).isEqualTo(VALUE);
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void load_entries_of_different_stripes_in_parallel() throws Exception {
+    String otherUri = "key2";
+    assertThat(PersistentCache.stripe(otherUri)).isNotEqualTo(PersistentCache.stripe("slow"));
+
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> slowLoad = executor.submit(new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+          return cache.getString("slow", new BlockingFiller(loading, release));
+        }
+      });
+      assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+      CacheFillerString c = new CacheFillerString();
+      assertThat(cache.getString(otherUri, c)).isEqualTo(VALUE);
+      assertThat(c.wasCalled).isTrue();
+
+      release.countDown();
+      assertThat(slowLoad.get(10, TimeUnit.SECONDS)).isEqualTo(VALUE);
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void load_entry_once_when_concurrent_misses() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+    final Callable<String> loader = new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        calls.incrementAndGet();
+        Thread.sleep(50);
+        return VALUE;
+      }
+    };
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<?>[] futures = new Future<?>[4];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = executor.submit(new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+            return cache.getString(URI, loader);
+          }
+        });
+      }
+      for (Future<?> future : futures) {
+        assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo(VALUE);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(calls.get()).isEqualTo(1);
+  }
+
   private void assertCacheHit(boolean hit) throws Exception {
     CacheFillerString c = new CacheFillerString();
     assertThat(cache.getString(URI, c)).isEqualTo(VALUE);
@@ -137,6 +275,23 @@ public class PersistentCacheTest {
     }
   }
 
+  private static class BlockingFiller implements Callable<String> {
+    private final CountDownLatch loading;
+    private final CountDownLatch release;
+
+    BlockingFiller(CountDownLatch loading, CountDownLatch release) {
+      this.loading = loading;
+      this.release = release;
+    }
+
+    @Override
+    public String call() throws Exception {
+      loading.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return VALUE;
+    }
+  }
+
   /**
    * WSCache should be transparent regarding exceptions: if an exception is thrown by the value loader, it should pass through
    * the cache to the original caller using the cache.
@@ -49,6 +49,10 @@ class AbsolutePathPredicate extends AbstractFilePredicate {
 
   @Override
   public Iterable<InputFile> get(Index index) {
+    if (index instanceof DefaultFileSystem.Cache) {
+      InputFile f = ((DefaultFileSystem.Cache) index).inputFileByAbsolutePath(path);
+      return f != null ? Arrays.asList(f) : Collections.<InputFile>emptyList();
+    }
     String relative = PathUtils.sanitize(new PathResolver().relativePath(baseDir.toFile(), new File(path)));
     if (relative == null) {
       return Collections.emptyList();
@@ -83,14 +83,28 @@ class AndPredicate extends AbstractFilePredicate {
     if (predicates.isEmpty()) {
       return index.inputFiles();
     }
-    // Optimization, use get on first predicate then filter with next predicates
+    // Optimization, use get on the most selective indexed predicate then filter with other predicates
+    int selected = 0;
     Iterable<InputFile> result = predicates.get(0).get(index);
-    for (int i = 1; i < predicates.size(); i++) {
-      result = predicates.get(i).filter(result);
+    for (int i = 1; i < predicates.size() && isLargerThanOne(result) && predicates.get(i).priority() >= USE_SECONDARY_INDEX; i++) {
+      Iterable<InputFile> candidates = predicates.get(i).get(index);
+      if (candidates instanceof Collection && ((Collection) candidates).size() < ((Collection) result).size()) {
+        result = candidates;
+        selected = i;
+      }
+    }
+    for (int i = 0; i < predicates.size(); i++) {
+      if (i != selected) {
+        result = predicates.get(i).filter(result);
+      }
     }
     return result;
   }
 
+  private static boolean isLargerThanOne(Iterable<InputFile> files) {
+    return files instanceof Collection && ((Collection) files).size() > 1;
+  }
+
   @VisibleForTesting
   Collection<OptimizedFilePredicate> predicates() {
     return predicates;
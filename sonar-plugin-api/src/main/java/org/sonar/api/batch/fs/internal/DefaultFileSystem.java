@@ -21,6 +21,8 @@ package org.sonar.api.batch.fs.internal;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
 import org.sonar.api.batch.fs.FilePredicate;
 import org.sonar.api.batch.fs.FilePredicates;
 import org.sonar.api.batch.fs.FileSystem;
@@ -37,6 +39,7 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -226,7 +229,17 @@ public class DefaultFileSystem implements FileSystem {
     // nothing to do by default
   }
 
+  /**
+   * Besides the lookup by relative path provided by implementations, files are indexed by language, type, status
+   * and absolute path. These secondary indexes are maintained when files are added, so language, type and status
+   * must be set before adding files.
+   */
   public abstract static class Cache implements Index {
+    private final SetMultimap<String, InputFile> filesByLanguage = LinkedHashMultimap.create();
+    private final SetMultimap<InputFile.Type, InputFile> filesByType = LinkedHashMultimap.create();
+    private final SetMultimap<InputFile.Status, InputFile> filesByStatus = LinkedHashMultimap.create();
+    private final Map<String, InputFile> filesByAbsolutePath = new HashMap<>();
+
     @Override
     public abstract Iterable<InputFile> inputFiles();
 
@@ -243,13 +256,70 @@ public class DefaultFileSystem implements FileSystem {
     protected abstract void doAdd(InputDir inputDir);
 
     final void add(InputFile inputFile) {
+      InputFile previous = inputFile(inputFile.relativePath());
+      if (previous != null) {
+        unindex(previous);
+        if (previous instanceof DefaultInputFile) {
+          ((DefaultInputFile) previous).setIndex(null);
+        }
+      }
       doAdd(inputFile);
+      index(inputFile);
+      if (inputFile instanceof DefaultInputFile) {
+        // language, type and status can still be changed once the file is added
+        ((DefaultInputFile) inputFile).setIndex(this);
+      }
+    }
+
+    /**
+     * Called when the language, type or status of an added file is changed
+     */
+    final void reindex(InputFile inputFile) {
+      unindex(inputFile);
+      index(inputFile);
     }
 
     public void add(InputDir inputDir) {
       doAdd(inputDir);
     }
 
+    Collection<InputFile> inputFilesByLanguage(String language) {
+      return Collections.unmodifiableSet(filesByLanguage.get(language));
+    }
+
+    Collection<InputFile> inputFilesByType(InputFile.Type type) {
+      return Collections.unmodifiableSet(filesByType.get(type));
+    }
+
+    Collection<InputFile> inputFilesByStatus(InputFile.Status status) {
+      return Collections.unmodifiableSet(filesByStatus.get(status));
+    }
+
+    @CheckForNull
+    InputFile inputFileByAbsolutePath(String absolutePath) {
+      return filesByAbsolutePath.get(absolutePath);
+    }
+
+    private void index(InputFile inputFile) {
+      if (inputFile.language() != null) {
+        filesByLanguage.put(inputFile.language(), inputFile);
+      }
+      if (inputFile.type() != null) {
+        filesByType.put(inputFile.type(), inputFile);
+      }
+      if (inputFile.status() != null) {
+        filesByStatus.put(inputFile.status(), inputFile);
+      }
+      filesByAbsolutePath.put(inputFile.absolutePath(), inputFile);
+    }
+
+    private void unindex(InputFile inputFile) {
+      // the values of language, type and status when the file was indexed are not known
+      filesByLanguage.values().remove(inputFile);
+      filesByType.values().remove(inputFile);
+      filesByStatus.values().remove(inputFile);
+      filesByAbsolutePath.remove(inputFile.absolutePath());
+    }
   }
 
   /**
@@ -37,6 +37,7 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * @since 4.2
@@ -55,6 +56,7 @@ public class DefaultInputFile implements InputFile, org.sonar.api.resources.Inpu
   private String hash;
   private int nonBlankLines;
   private int[] originalLineOffsets;
+  private DefaultFileSystem.Cache index;
 
   public DefaultInputFile(String moduleKey, String relativePath) {
     this.moduleKey = moduleKey;
@@ -137,20 +139,42 @@ public class DefaultInputFile implements InputFile, org.sonar.api.resources.Inpu
   }
 
   public DefaultInputFile setLanguage(@Nullable String language) {
-    this.language = language;
+    if (!Objects.equals(this.language, language)) {
+      this.language = language;
+      reindex();
+    }
     return this;
   }
 
   public DefaultInputFile setType(Type type) {
-    this.type = type;
+    if (this.type != type) {
+      this.type = type;
+      reindex();
+    }
     return this;
   }
 
   public DefaultInputFile setStatus(Status status) {
-    this.status = status;
+    if (this.status != status) {
+      this.status = status;
+      reindex();
+    }
     return this;
   }
 
+  /**
+   * Language, type and status are indexed by the file system the file has been added to
+   */
+  private void reindex() {
+    if (index != null) {
+      index.reindex(this);
+    }
+  }
+
+  void setIndex(@Nullable DefaultFileSystem.Cache index) {
+    this.index = index;
+  }
+
   public DefaultInputFile setLines(int lines) {
     this.lines = lines;
     return this;
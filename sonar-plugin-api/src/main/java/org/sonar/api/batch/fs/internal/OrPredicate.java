@@ -21,10 +21,14 @@ package org.sonar.api.batch.fs.internal;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.sonar.api.batch.fs.FilePredicate;
+import org.sonar.api.batch.fs.FileSystem.Index;
 import org.sonar.api.batch.fs.InputFile;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * @since 4.2
@@ -65,6 +69,28 @@ class OrPredicate extends AbstractFilePredicate {
     return false;
   }
 
+  @Override
+  public Iterable<InputFile> get(Index index) {
+    List<OptimizedFilePredicate> optimizedPredicates = new ArrayList<>();
+    for (FilePredicate predicate : predicates) {
+      OptimizedFilePredicate optimizedPredicate = OptimizedFilePredicateAdapter.create(predicate);
+      if (optimizedPredicate.priority() < USE_SECONDARY_INDEX) {
+        return super.get(index);
+      }
+      optimizedPredicates.add(optimizedPredicate);
+    }
+    // Optimization, union of the files returned by the indexes
+    Set<InputFile> result = new LinkedHashSet<>();
+    for (OptimizedFilePredicate optimizedPredicate : optimizedPredicates) {
+      Iterable<InputFile> files = optimizedPredicate.get(index);
+      if (!(files instanceof Collection)) {
+        return super.get(index);
+      }
+      result.addAll((Collection<InputFile>) files);
+    }
+    return result;
+  }
+
   @VisibleForTesting
   Collection<FilePredicate> predicates() {
     return predicates;
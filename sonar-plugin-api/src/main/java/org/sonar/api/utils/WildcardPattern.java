@@ -19,8 +19,8 @@
  */
 package org.sonar.api.utils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
@@ -28,7 +28,7 @@ import org.apache.commons.lang.StringUtils;
 /**
  * Implementation of Ant-style matching patterns.
  * Contrary to other implementations (like AntPathMatcher from Spring Framework) it is based on {@link Pattern Java Regular Expressions}.
- * To increase performance it holds an internal cache of all processed patterns.
+ * To increase performance it holds an internal cache of all processed patterns. This cache is thread-safe.
  * <p>
  * Following rules are applied:
  * <ul>
@@ -61,7 +61,7 @@ import org.apache.commons.lang.StringUtils;
  */
 public class WildcardPattern {
 
-  private static final Map<String, WildcardPattern> CACHE = new HashMap<>();
+  private static final ConcurrentMap<String, WildcardPattern> CACHE = new ConcurrentHashMap<>();
   private static final String SPECIAL_CHARS = "()[]^$.{}+|";
 
   private Pattern pattern;
@@ -200,8 +200,11 @@ public class WildcardPattern {
     String key = pattern + directorySeparator;
     WildcardPattern wildcardPattern = CACHE.get(key);
     if (wildcardPattern == null) {
-      wildcardPattern = new WildcardPattern(pattern, directorySeparator);
-      CACHE.put(key, wildcardPattern);
+      WildcardPattern newPattern = new WildcardPattern(pattern, directorySeparator);
+      wildcardPattern = CACHE.putIfAbsent(key, newPattern);
+      if (wildcardPattern == null) {
+        wildcardPattern = newPattern;
+      }
     }
     return wildcardPattern;
   }
@@ -72,4 +72,14 @@ public class AndPredicateTest {
     assertThat(andPredicate).isEqualTo(FalsePredicate.FALSE);
   }
 
+  @Test
+  public void sortIndexedPredicatesFirst() {
+    PathPatternPredicate pathPatternPredicate = new PathPatternPredicate(PathPattern.create("foo/**"));
+    LanguagePredicate languagePredicate = new LanguagePredicate("java");
+    RelativePathPredicate relativePathPredicate = new RelativePathPredicate("foo");
+    FilePredicate andPredicate = AndPredicate.create(Arrays.<FilePredicate>asList(pathPatternPredicate,
+      languagePredicate, relativePathPredicate));
+    assertThat(((AndPredicate) andPredicate).predicates()).containsExactly(relativePathPredicate, languagePredicate, pathPatternPredicate);
+  }
+
 }
@@ -24,9 +24,13 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.FilePredicates;
+import org.sonar.api.batch.fs.InputFile;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -107,6 +111,64 @@ public class DefaultFileSystemTest {
     assertThat(fs.languages()).containsOnly("java", "php");
   }
 
+  @Test
+  public void search_files_with_secondary_indexes() {
+    fs.add(new DefaultInputFile("foo", "src/Foo.php").setLanguage("php").setStatus(InputFile.Status.ADDED));
+    fs.add(new DefaultInputFile("foo", "src/Bar.java").setLanguage("java").setStatus(InputFile.Status.SAME));
+    fs.add(new DefaultInputFile("foo", "test/BarTest.java").setLanguage("java").setType(InputFile.Type.TEST).setStatus(InputFile.Status.CHANGED));
+    fs.add(new DefaultInputFile("foo", "src/readme.txt"));
+
+    FilePredicates p = fs.predicates();
+    assertThat(relativePaths(fs.inputFiles(p.hasType(InputFile.Type.TEST)))).containsOnly("test/BarTest.java");
+    assertThat(relativePaths(fs.inputFiles(p.hasStatus(InputFile.Status.SAME)))).containsOnly("src/Bar.java");
+    assertThat(relativePaths(fs.inputFiles(p.hasLanguages("java", "php")))).containsOnly("src/Foo.php", "src/Bar.java", "test/BarTest.java");
+    assertThat(relativePaths(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN))))).containsOnly("src/Bar.java");
+    assertThat(relativePaths(fs.inputFiles(p.and(p.hasType(InputFile.Type.MAIN), p.not(p.hasLanguage("java")))))).containsOnly("src/Foo.php", "src/readme.txt");
+    assertThat(relativePaths(fs.inputFiles(p.or(p.hasStatus(InputFile.Status.ADDED), p.hasType(InputFile.Type.TEST))))).containsOnly("src/Foo.php", "test/BarTest.java");
+    assertThat(relativePaths(fs.inputFiles(p.or(p.hasLanguage("java"), p.matchesPathPattern("**/*.txt"))))).containsOnly("src/Bar.java", "test/BarTest.java", "src/readme.txt");
+    assertThat(fs.inputFile(p.hasAbsolutePath(new File(basedir, "src/Bar.java").getAbsolutePath())).relativePath()).isEqualTo("src/Bar.java");
+    assertThat(fs.inputFile(p.hasAbsolutePath(new File(basedir, "src/Unknown.java").getAbsolutePath()))).isNull();
+  }
+
+  @Test
+  public void update_secondary_indexes_when_file_is_added_again() {
+    fs.add(new DefaultInputFile("foo", "src/Bar.java").setLanguage("java"));
+    fs.add(new DefaultInputFile("foo", "src/Bar.java").setLanguage("groovy").setType(InputFile.Type.TEST));
+
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("java"))).isEmpty();
+    assertThat(fs.inputFiles(fs.predicates().hasType(InputFile.Type.MAIN))).isEmpty();
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("groovy"))).hasSize(1);
+    assertThat(fs.inputFiles(fs.predicates().hasType(InputFile.Type.TEST))).hasSize(1);
+  }
+
+  @Test
+  public void update_secondary_indexes_when_added_file_is_changed() {
+    DefaultInputFile file = new DefaultInputFile("foo", "src/Bar.java").setLanguage("java");
+    fs.add(file);
+
+    file.setLanguage("groovy").setType(InputFile.Type.TEST).setStatus(InputFile.Status.CHANGED);
+
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("java"))).isEmpty();
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("groovy"))).containsOnly(file);
+    assertThat(fs.inputFiles(fs.predicates().hasType(InputFile.Type.MAIN))).isEmpty();
+    assertThat(fs.inputFiles(fs.predicates().and(fs.predicates().hasType(InputFile.Type.TEST), fs.predicates().hasStatus(InputFile.Status.CHANGED))))
+      .containsOnly(file);
+    assertThat(fs.inputFiles(fs.predicates().or(fs.predicates().hasLanguage("java"), fs.predicates().hasLanguage("groovy")))).containsOnly(file);
+  }
+
+  @Test
+  public void do_not_update_secondary_indexes_when_replaced_file_is_changed() {
+    DefaultInputFile replaced = new DefaultInputFile("foo", "src/Bar.java").setLanguage("java");
+    fs.add(replaced);
+    DefaultInputFile file = new DefaultInputFile("foo", "src/Bar.java").setLanguage("java");
+    fs.add(file);
+
+    replaced.setLanguage("groovy");
+
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("groovy"))).isEmpty();
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("java"))).hasSize(1);
+  }
+
   @Test
   public void input_file_returns_null_if_file_not_found() {
     assertThat(fs.inputFile(fs.predicates().hasRelativePath("src/Bar.java"))).isNull();
@@ -131,4 +193,12 @@ public class DefaultFileSystemTest {
     // it would fail if more than one java file
     assertThat(fs.inputFile(fs.predicates().hasLanguage("java"))).isNotNull();
   }
+
+  private static List<String> relativePaths(Iterable<InputFile> inputFiles) {
+    List<String> paths = new ArrayList<>();
+    for (InputFile inputFile : inputFiles) {
+      paths.add(inputFile.relativePath());
+    }
+    return paths;
+  }
 }